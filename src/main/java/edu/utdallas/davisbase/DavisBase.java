@@ -1,11 +1,13 @@
 package edu.utdallas.davisbase;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.util.Scanner;
 
+import edu.utdallas.davisbase.catalog.Catalog;
 import edu.utdallas.davisbase.command.Command;
 import edu.utdallas.davisbase.executor.Executor;
 import edu.utdallas.davisbase.executor.ExecutorConfiguration;
@@ -40,9 +42,12 @@ public class DavisBase {
     final StorageState storageState = new StorageState.Builder().build();
     this.storage = new Storage(storageConfiguration, storageState);
 
-    this.executor = new Executor(new ExecutorConfiguration(), this.storage);
+    // The compiler looks up the schemas that the executor changes, so both share one catalog.
+    final Catalog catalog = new Catalog(this.storage);
 
-    this.compiler = new edu.utdallas.davisbase.compiler.Compiler(this.storage);
+    this.executor = new Executor(new ExecutorConfiguration.Builder().build(), this.storage, catalog);
+
+    this.compiler = new edu.utdallas.davisbase.compiler.Compiler(this.storage, catalog);
 
     this.parser = new Parser();
 
@@ -66,7 +71,19 @@ public class DavisBase {
           CommandRepresentation representation = parser.parse(statement);
           Command command = compiler.compile(representation);
           Result result = executor.execute(command);
-          host.write(result);
+          if (result instanceof ExitResult) {
+            // Report what the indexes changed during this session cost to keep up to date.
+            host.writeIndexMaintenanceCosts(executor.getIndexMaintenanceCosts());
+          }
+          try {
+            // The rows of a SELECT are produced as the host writes them.
+            host.write(result);
+          }
+          finally {
+            if (result instanceof Closeable) {
+              ((Closeable) result).close();
+            }
+          }
           if (result instanceof ExitResult) {
             break;
           }
@@ -74,7 +91,13 @@ public class DavisBase {
         catch (DavisBaseException e) {
           host.write(e);
         }
+        catch (UncheckedDavisBaseException e) {
+          host.write(e.getCause());
+        }
       }
+
+      // Write back and close the table files whose handles are still cached for reuse.
+      storage.close();
     }
     catch (Throwable e) {
       try {
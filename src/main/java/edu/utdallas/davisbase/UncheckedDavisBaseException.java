@@ -0,0 +1,24 @@
+package edu.utdallas.davisbase;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Wraps a {@link DavisBaseException} with an unchecked exception, e.g. so that it can be thrown
+ * from an {@link java.util.Iterator Iterator} of rows that are produced as they are read.
+ *
+ * @see java.io.UncheckedIOException
+ */
+public class UncheckedDavisBaseException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public UncheckedDavisBaseException(DavisBaseException cause) {
+    super(checkNotNull(cause));
+  }
+
+  @Override
+  public synchronized DavisBaseException getCause() {
+    return (DavisBaseException) super.getCause();
+  }
+
+}
@@ -0,0 +1,320 @@
+package edu.utdallas.davisbase.catalog;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
+
+import edu.utdallas.davisbase.BooleanUtils;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.PrimaryKeyUtils;
+import edu.utdallas.davisbase.storage.IndexFile;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An in-memory cache of the schemas recorded in the {@link CatalogTable catalog tables}.
+ * <p>
+ * The catalog tables are scanned once, on the first lookup, into hash maps keyed by the lower-case
+ * names of the tables and of their columns, so that resolving a table or column costs a hash lookup
+ * rather than a full scan of {@code davisbase_columns}. The indexes, which are not recorded in the
+ * catalog tables, are found by the column that each index file records. Whoever changes the catalog
+ * tables or the indexes (i.e. the DDL statements) must then {@link #invalidate()} this cache.
+ * <p>
+ * A {@code Catalog} is not thread-safe.
+ */
+public class Catalog {
+
+  private final Storage context;
+
+  /**
+   * The schema of every table, keyed by its lower-case name, in the order of
+   * {@code davisbase_tables}, or null if not yet loaded.
+   */
+  private @Nullable Map<String, TableSchema> tables;
+
+  public Catalog(Storage context) {
+    checkNotNull(context, "context");
+
+    this.context = context;
+    this.tables = null;
+  }
+
+  /**
+   * @param tableName the name of the table, in any case (not null)
+   * @return whether the table exists
+   */
+  public boolean hasTable(String tableName) throws StorageException, IOException {
+    checkNotNull(tableName, "tableName");
+
+    return getTables().containsKey(tableName.toLowerCase());
+  }
+
+  /**
+   * @param tableName the name of the table, in any case (not null)
+   * @return the schema of the table, or null if the table does not exist
+   */
+  public @Nullable TableSchema getTable(String tableName) throws StorageException, IOException {
+    checkNotNull(tableName, "tableName");
+
+    return getTables().get(tableName.toLowerCase());
+  }
+
+  /**
+   * @return the name of every table, as it was created, in the order of {@code davisbase_tables}
+   *         (not null)
+   */
+  public List<String> getTableNames() throws StorageException, IOException {
+    final List<String> tableNames = new ArrayList<>();
+    for (final TableSchema table : getTables().values()) {
+      tableNames.add(table.getName());
+    }
+    return tableNames;
+  }
+
+  /**
+   * Discards the cached schemas, so that the next lookup scans the catalog tables again.
+   */
+  public void invalidate() {
+    tables = null;
+  }
+
+  //region Load
+
+  private Map<String, TableSchema> getTables() throws StorageException, IOException {
+    @Nullable Map<String, TableSchema> tables = this.tables;
+    if (tables == null) {
+      tables = load();
+      this.tables = tables;
+    }
+    return tables;
+  }
+
+  private Map<String, TableSchema> load() throws StorageException, IOException {
+    final Map<String, Map<String, Byte>> indexColumnIndexesByTable = new HashMap<>();
+    final Map<String, Map<Byte, String>> indexNamesByColumn = new HashMap<>();
+    final List<String> indexNames = context.getIndexNames();
+    indexNames.sort(null);  // If a column has several indexes, the first by name is used.
+    for (final String indexName : indexNames) {
+      try (final IndexFile index = context.openIndexFile(indexName)) {
+        final String tableName = index.getTableName().toLowerCase();
+        indexColumnIndexesByTable.computeIfAbsent(tableName, key -> new LinkedHashMap<>())
+            .put(indexName, index.getColumnIndex());
+        indexNamesByColumn.computeIfAbsent(tableName, key -> new HashMap<>())
+            .putIfAbsent(index.getColumnIndex(), indexName);
+      }
+    }
+
+    final Map<String, String> tableNames = new LinkedHashMap<>();
+    try (final TableFile table = context.openTableFile(CatalogTable.DAVISBASE_TABLES.getName())) {
+      while (table.goToNextRow()) {
+        final String tableName = castNonNull(
+            table.readText(DavisBaseTablesTableColumn.TABLE_NAME.getOrdinalPosition()));
+        tableNames.put(tableName.toLowerCase(), tableName);
+      }
+    }
+
+    final Map<String, List<ColumnSchema>> columnsByTable = new HashMap<>();
+    try (final TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName())) {
+      while (table.goToNextRow()) {
+        final String tableName = castNonNull(
+            table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()));
+        final byte ordinalPosition = castNonNull(
+            table.readTinyInt(DavisBaseColumnsTableColumn.ORDINAL_POSITION.getOrdinalPosition()));
+        final @Nullable Map<Byte, String> tableIndexNames = indexNamesByColumn.get(tableName.toLowerCase());
+        final ColumnSchema column = new ColumnSchema(
+            castNonNull(table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition())),
+            DataType.valueOf(castNonNull(
+                table.readText(DavisBaseColumnsTableColumn.DATA_TYPE.getOrdinalPosition()))),
+            ordinalPosition,
+            BooleanUtils.fromText(castNonNull(
+                table.readText(DavisBaseColumnsTableColumn.IS_NULLABLE.getOrdinalPosition()))),
+            BooleanUtils.fromText(castNonNull(
+                table.readText(DavisBaseColumnsTableColumn.IS_UNIQUE.getOrdinalPosition()))),
+            PrimaryKeyUtils.fromText(castNonNull(
+                table.readText(DavisBaseColumnsTableColumn.COLUMN_KEY.getOrdinalPosition()))),
+            (tableIndexNames != null) ? tableIndexNames.get(ordinalPosition) : null);
+        columnsByTable.computeIfAbsent(tableName.toLowerCase(), key -> new ArrayList<>()).add(column);
+      }
+    }
+
+    final Map<String, TableSchema> tables = new LinkedHashMap<>();
+    for (final Map.Entry<String, String> entry : tableNames.entrySet()) {
+      final List<ColumnSchema> columns = columnsByTable.getOrDefault(entry.getKey(), new ArrayList<>());
+      columns.sort((a, b) -> Byte.compare(a.getOrdinalPosition(), b.getOrdinalPosition()));
+      tables.put(entry.getKey(), new TableSchema(entry.getValue(), columns,
+          indexColumnIndexesByTable.getOrDefault(entry.getKey(), new LinkedHashMap<>())));
+    }
+    return tables;
+  }
+
+  //endregion
+
+  /**
+   * The schema of a table, as recorded in the catalog tables.
+   */
+  public static class TableSchema {
+
+    private final String name;
+    private final List<ColumnSchema> columns;
+    private final Map<String, ColumnSchema> columnsByName;
+    private final List<String> indexNames;
+    private final Map<String, Byte> indexColumnIndexes;
+
+    private TableSchema(String name, List<ColumnSchema> columns, Map<String, Byte> indexColumnIndexes) {
+      assert name != null : "name should not be null";
+      assert columns != null : "columns should not be null";
+      assert indexColumnIndexes != null : "indexColumnIndexes should not be null";
+
+      this.name = name;
+      this.columns = unmodifiableList(new ArrayList<>(columns));
+      this.indexNames = unmodifiableList(new ArrayList<>(indexColumnIndexes.keySet()));
+      this.indexColumnIndexes = new HashMap<>(indexColumnIndexes);
+      this.columnsByName = new HashMap<>();
+      for (final ColumnSchema column : columns) {
+        columnsByName.put(column.getName().toLowerCase(), column);
+      }
+    }
+
+    /**
+     * @return the name of this table, as it was created (not null)
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return an unmodifiable list of every column of this table, including {@code rowid}, ordered
+     *         by {@link ColumnSchema#getOrdinalPosition()} (not null)
+     */
+    public List<ColumnSchema> getColumns() {
+      return columns;
+    }
+
+    /**
+     * @param columnName the name of the column, in any case (not null)
+     * @return the schema of the column, or null if this table has no such column
+     */
+    public @Nullable ColumnSchema getColumn(String columnName) {
+      checkNotNull(columnName, "columnName");
+
+      return columnsByName.get(columnName.toLowerCase());
+    }
+
+    /**
+     * @param ordinalPosition the zero-based ordinal position of the column
+     * @return the schema of the column, or null if this table has no such column
+     */
+    public @Nullable ColumnSchema getColumn(int ordinalPosition) {
+      if (0 <= ordinalPosition && ordinalPosition < columns.size()
+          && columns.get(ordinalPosition).getOrdinalPosition() == ordinalPosition) {
+        return columns.get(ordinalPosition);
+      }
+      return null;
+    }
+
+    /**
+     * @return an unmodifiable list of the name of every index on this table (not null)
+     */
+    public List<String> getIndexNames() {
+      return indexNames;
+    }
+
+    /**
+     * @param indexName the name of an index on this table (not null)
+     * @return the schema of the column that the index indexes, or null if this table has no such
+     *         index or column
+     */
+    public @Nullable ColumnSchema getIndexColumn(String indexName) {
+      checkNotNull(indexName, "indexName");
+
+      final @Nullable Byte columnIndex = indexColumnIndexes.get(indexName);
+      return (columnIndex != null) ? getColumn(columnIndex) : null;
+    }
+
+    @Override
+    public String toString() {
+      return format("%s%s", name, columns);
+    }
+
+  }
+
+  /**
+   * The schema of a column of any table, as recorded in {@code davisbase_columns}.
+   */
+  public static class ColumnSchema implements CatalogTableColumn {
+
+    private final String name;
+    private final DataType dataType;
+    private final byte ordinalPosition;
+    private final boolean isNullable;
+    private final boolean isUnique;
+    private final boolean isPrimaryKey;
+    private final @Nullable String indexName;
+
+    private ColumnSchema(String name, DataType dataType, byte ordinalPosition, boolean isNullable, boolean isUnique, boolean isPrimaryKey, @Nullable String indexName) {
+      assert name != null : "name should not be null";
+      assert dataType != null : "dataType should not be null";
+
+      this.name = name;
+      this.dataType = dataType;
+      this.ordinalPosition = ordinalPosition;
+      this.isNullable = isNullable;
+      this.isUnique = isUnique;
+      this.isPrimaryKey = isPrimaryKey;
+      this.indexName = indexName;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public DataType getDataType() {
+      return dataType;
+    }
+
+    @Override
+    public byte getOrdinalPosition() {
+      return ordinalPosition;
+    }
+
+    @Override
+    public boolean isNullable() {
+      return isNullable;
+    }
+
+    @Override
+    public boolean isUnique() {
+      return isUnique;
+    }
+
+    @Override
+    public boolean isPrimaryKey() {
+      return isPrimaryKey;
+    }
+
+    /**
+     * @return the name of the index on this column, or null if this column has none
+     */
+    public @Nullable String getIndexName() {
+      return indexName;
+    }
+
+    @Override
+    public String toString() {
+      return format("%s %s", name, dataType);
+    }
+
+  }
+
+}
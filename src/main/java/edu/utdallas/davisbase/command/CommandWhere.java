@@ -2,17 +2,29 @@ package edu.utdallas.davisbase.command;
 
 import static java.lang.String.format;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.hash;
 
 import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import edu.utdallas.davisbase.DataType;
 
+/**
+ * A compiled {@code WHERE} clause, which is either a simple {@code column <operator> literal}
+ * comparison, or an AND or OR of two or more nested {@code CommandWhere}s.
+ * <p>
+ * There is no NOT, because the compiler pushes every negation down into the operators of the
+ * comparisons.
+ */
 public class CommandWhere {
 
   public static enum Operator {
@@ -24,9 +36,16 @@ public class CommandWhere {
     LESS_THAN_OR_EQUAL;
   }
 
-  private final CommandWhereColumn leftColumnReference;
-  private final Operator operator;
+  public static enum LogicalOperator {
+    AND,
+    OR;
+  }
+
+  private final @Nullable CommandWhereColumn leftColumnReference;
+  private final @Nullable Operator operator;
   private final @Nullable Object rightLiteralValue;
+  private final @Nullable LogicalOperator logicalOperator;
+  private final List<CommandWhere> operands;
 
   /**
    * @param leftColumnReference the specification of the column reference on the left side of the
@@ -49,22 +68,59 @@ public class CommandWhere {
     this.leftColumnReference = leftColumnReference;
     this.operator = operator;
     this.rightLiteralValue = rightLiteralValue;
+    this.logicalOperator = null;
+    this.operands = emptyList();
+  }
+
+  /**
+   * @param logicalOperator the {@link CommandWhere.LogicalOperator LogicalOperator} that combines
+   *                        the operands (not null)
+   * @param operands        the nested {@code WHERE} clause expressions to combine, in the order in
+   *                        which to evaluate them (not null, at least two elements, no element
+   *                        null)
+   */
+  public CommandWhere(LogicalOperator logicalOperator, List<CommandWhere> operands) {
+    checkNotNull(logicalOperator, "logicalOperator");
+    checkNotNull(operands, "operands");
+    checkArgument(operands.size() >= 2, "operands must have at least two elements, but has %s", operands.size());
+    for (int i = 0; i < operands.size(); i++) {
+      checkNotNull(operands.get(i), "operands.get(%d) is null", i);
+    }
+
+    this.leftColumnReference = null;
+    this.operator = null;
+    this.rightLiteralValue = null;
+    this.logicalOperator = logicalOperator;
+    // Copy to a new list for encapsulation, and wrap in an unmodifiable view for immutability.
+    this.operands = unmodifiableList(new ArrayList<>(operands));
+  }
+
+  /**
+   * @return whether this is a simple comparison, rather than an AND or OR of nested
+   *         {@code CommandWhere}s
+   */
+  public boolean isComparison() {
+    return logicalOperator == null;
   }
 
   /**
    * @return the specification of the column reference on the left side of the simple {@code WHERE}
    *         clause expression (not null)
+   * @throws IllegalStateException if this is not a {@link #isComparison() comparison}
    */
   public CommandWhereColumn getLeftColumnReference() {
-    return leftColumnReference;
+    checkState(isComparison(), "This CommandWhere is not a comparison.");
+    return castNonNull(leftColumnReference);
   }
 
   /**
    * @return the single binary relational {@link CommandWhere.Operator Operator} of this compiled
    *         {@code WHERE} clause (not null)
+   * @throws IllegalStateException if this is not a {@link #isComparison() comparison}
    */
   public Operator getOperator() {
-    return operator;
+    checkState(isComparison(), "This CommandWhere is not a comparison.");
+    return castNonNull(operator);
   }
 
   /**
@@ -77,6 +133,45 @@ public class CommandWhere {
     return rightLiteralValue;
   }
 
+  /**
+   * @return the {@link CommandWhere.LogicalOperator LogicalOperator} that combines the
+   *         {@link #getOperands() operands} (not null)
+   * @throws IllegalStateException if this is a {@link #isComparison() comparison}
+   */
+  public LogicalOperator getLogicalOperator() {
+    checkState(!isComparison(), "This CommandWhere is a comparison.");
+    return castNonNull(logicalOperator);
+  }
+
+  /**
+   * @return the nested {@code WHERE} clause expressions that are combined by the
+   *         {@link #getLogicalOperator() logical operator}, in the order in which to evaluate them
+   *         (not null, empty if and only if this is a {@link #isComparison() comparison})
+   */
+  public List<CommandWhere> getOperands() {
+    return operands;
+  }
+
+  /**
+   * @return the column reference of every comparison in this {@code WHERE} clause expression, in
+   *         order, including any duplicates (not null, not empty)
+   */
+  public List<CommandWhereColumn> getColumnReferences() {
+    final List<CommandWhereColumn> columnReferences = new ArrayList<>();
+    addColumnReferences(columnReferences);
+    return columnReferences;
+  }
+
+  private void addColumnReferences(List<CommandWhereColumn> columnReferences) {
+    if (isComparison()) {
+      columnReferences.add(getLeftColumnReference());
+      return;
+    }
+    for (final CommandWhere operand : operands) {
+      operand.addColumnReferences(columnReferences);
+    }
+  }
+
   @Override
   @SuppressWarnings("nullness")
   public boolean equals(Object obj) {
@@ -86,20 +181,28 @@ public class CommandWhere {
 
     CommandWhere other = (CommandWhere) obj;
     return
-        getLeftColumnReference() == other.getLeftColumnReference() &&
-        getOperator().equals(other.getOperator()) &&
-        Objects.equals(getRightLiteralValue(), other.getRightLiteralValue());
+        Objects.equals(leftColumnReference, other.leftColumnReference) &&
+        Objects.equals(operator, other.operator) &&
+        Objects.equals(getRightLiteralValue(), other.getRightLiteralValue()) &&
+        Objects.equals(logicalOperator, other.logicalOperator) &&
+        getOperands().equals(other.getOperands());
   }
 
   @Override
   @SuppressWarnings("nullness")
   public int hashCode() {
-    return hash(getLeftColumnReference(), getOperator(), getRightLiteralValue());
+    return hash(leftColumnReference, operator, getRightLiteralValue(), logicalOperator, getOperands());
   }
 
   @Override
   @SuppressWarnings("nullness")
   public String toString() {
+    if (!isComparison()) {
+      return toStringHelper(CommandWhere.class)
+          .add("logicalOperator", getLogicalOperator())
+          .add("operands", getOperands())
+          .toString();
+    }
     return toStringHelper(CommandWhere.class)
         .add("leftColumnReference", getLeftColumnReference())
         .add("operator", getOperator())
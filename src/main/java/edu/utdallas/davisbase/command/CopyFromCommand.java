@@ -0,0 +1,110 @@
+package edu.utdallas.davisbase.command;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CopyFromCommand implements Command {
+
+  private final String tableName;
+  private final String filePath;
+  private final boolean hasHeader;
+  private final char delimiter;
+  private final List<CopyFromCommandColumn> columns;
+
+  /**
+   * @param tableName the name of the table into which to copy rows (not null)
+   * @param filePath  the path of the CSV file from which to copy rows (not null)
+   * @param hasHeader whether the first record of the file is a header to skip
+   * @param delimiter the character separating the fields of each record of the file
+   * @param columns   the schema of every column of the table other than {@code rowId}, in the order
+   *                  of the fields of each record of the file (not null, not empty, no element null)
+   */
+  public CopyFromCommand(String tableName, String filePath, boolean hasHeader, char delimiter, List<CopyFromCommandColumn> columns) {
+    checkNotNull(tableName, "tableName");
+    checkNotNull(filePath, "filePath");
+    checkNotNull(columns, "columns");
+    checkArgument(!columns.isEmpty(), "columns is empty");
+    checkArgument(columns.stream().allMatch(c -> c != null), "columns contains null");
+
+    this.tableName = tableName;
+    this.filePath = filePath;
+    this.hasHeader = hasHeader;
+    this.delimiter = delimiter;
+    this.columns = unmodifiableList(new ArrayList<>(columns));
+  }
+
+  /**
+   * @return the name of the table into which to copy rows (not null)
+   */
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * @return the path of the CSV file from which to copy rows (not null)
+   */
+  public String getFilePath() {
+    return filePath;
+  }
+
+  /**
+   * @return whether the first record of the file is a header to skip
+   */
+  public boolean hasHeader() {
+    return hasHeader;
+  }
+
+  /**
+   * @return the character separating the fields of each record of the file
+   */
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  /**
+   * @return an unmodifiable view of the schema of every column of the table other than
+   *         {@code rowId}, in the order of the fields of each record of the file (not null, not
+   *         empty)
+   */
+  public List<CopyFromCommandColumn> getColumns() {
+    return columns;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj != null && obj instanceof CopyFromCommand)) {
+      return false;
+    }
+
+    CopyFromCommand other = (CopyFromCommand) obj;
+    return
+        getTableName().equals(other.getTableName()) &&
+        getFilePath().equals(other.getFilePath()) &&
+        hasHeader() == other.hasHeader() &&
+        getDelimiter() == other.getDelimiter() &&
+        getColumns().equals(other.getColumns());
+  }
+
+  @Override
+  public int hashCode() {
+    return hash(getTableName(), getFilePath(), hasHeader(), getDelimiter(), getColumns());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(CopyFromCommand.class)
+        .add("tableName", getTableName())
+        .add("filePath", getFilePath())
+        .add("hasHeader", hasHeader())
+        .add("delimiter", getDelimiter())
+        .add("columns", getColumns())
+        .toString();
+  }
+
+}
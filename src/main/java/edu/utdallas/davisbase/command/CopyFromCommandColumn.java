@@ -0,0 +1,110 @@
+package edu.utdallas.davisbase.command;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Objects.hash;
+import edu.utdallas.davisbase.DataType;
+
+/**
+ * A column schema of the target table of a compiled {@link CopyFromCommand}.
+ */
+public class CopyFromCommandColumn {
+
+  private final byte index;
+  private final String name;
+  private final DataType dataType;
+  private final boolean isNullable;
+  private final boolean isUnique;
+
+  /**
+   * @param index      the index of the column in the target table's schema, where everything other
+   *                   than {@code rowId} starts at {@code 1} (positive, less than
+   *                   {@link java.lang.Byte#MAX_VALUE Byte.MAX_VALUE})
+   * @param name       the name of the column (not null)
+   * @param dataType   the {@link DataType} of the column (not null)
+   * @param isNullable {@code false} if this column has the {@code NOT NULL} constraint, otherwise
+   *                   {@code true}
+   * @param isUnique   {@code true} if this column has the {@code UNIQUE} constraint, otherwise
+   *                   {@code false}
+   */
+  public CopyFromCommandColumn(byte index, String name, DataType dataType, boolean isNullable, boolean isUnique) {
+    checkElementIndex(index - 1, Byte.MAX_VALUE - 1);
+    checkNotNull(name, "name");
+    checkNotNull(dataType, "dataType");
+
+    this.index = index;
+    this.name = name;
+    this.dataType = dataType;
+    this.isNullable = isNullable;
+    this.isUnique = isUnique;
+  }
+
+  /**
+   * @return the index of the column in the target table's schema (positive, less than
+   *         {@link java.lang.Byte#MAX_VALUE Byte.MAX_VALUE})
+   */
+  public byte getIndex() {
+    return index;
+  }
+
+  /**
+   * @return the name of the column (not null)
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the {@link DataType} of the column (not null)
+   */
+  public DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * @return {@code false} if this column has the {@code NOT NULL} constraint, otherwise {@code true}
+   */
+  public boolean isNullable() {
+    return isNullable;
+  }
+
+  /**
+   * @return {@code true} if this column has the {@code UNIQUE} constraint, otherwise {@code false}
+   */
+  public boolean isUnique() {
+    return isUnique;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj != null && obj instanceof CopyFromCommandColumn)) {
+      return false;
+    }
+
+    CopyFromCommandColumn other = (CopyFromCommandColumn) obj;
+    return
+        getIndex() == other.getIndex() &&
+        getName().equals(other.getName()) &&
+        getDataType().equals(other.getDataType()) &&
+        isNullable() == other.isNullable() &&
+        isUnique() == other.isUnique();
+  }
+
+  @Override
+  public int hashCode() {
+    return hash(getIndex(), getName(), getDataType(), isNullable(), isUnique());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(CopyFromCommandColumn.class)
+        .add("index", getIndex())
+        .add("name", getName())
+        .add("dataType", getDataType())
+        .add("isNullable", isNullable())
+        .add("isUnique", isUnique())
+        .toString();
+  }
+
+}
@@ -0,0 +1,88 @@
+package edu.utdallas.davisbase.command;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Objects.hash;
+
+public class CopyToCommand implements Command {
+
+  private final SelectCommand select;
+  private final String filePath;
+  private final boolean hasHeader;
+  private final char delimiter;
+
+  /**
+   * @param select    the query whose rows to copy (not null)
+   * @param filePath  the path of the file to which to copy rows, which is replaced if it exists (not
+   *                  null)
+   * @param hasHeader whether to write a header record of the column names before the rows
+   * @param delimiter the character separating the fields of each record of the file
+   */
+  public CopyToCommand(SelectCommand select, String filePath, boolean hasHeader, char delimiter) {
+    checkNotNull(select, "select");
+    checkNotNull(filePath, "filePath");
+
+    this.select = select;
+    this.filePath = filePath;
+    this.hasHeader = hasHeader;
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * @return the query whose rows to copy (not null)
+   */
+  public SelectCommand getSelect() {
+    return select;
+  }
+
+  /**
+   * @return the path of the file to which to copy rows (not null)
+   */
+  public String getFilePath() {
+    return filePath;
+  }
+
+  /**
+   * @return whether to write a header record of the column names before the rows
+   */
+  public boolean hasHeader() {
+    return hasHeader;
+  }
+
+  /**
+   * @return the character separating the fields of each record of the file
+   */
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj != null && obj instanceof CopyToCommand)) {
+      return false;
+    }
+
+    CopyToCommand other = (CopyToCommand) obj;
+    return
+        getSelect().equals(other.getSelect()) &&
+        getFilePath().equals(other.getFilePath()) &&
+        hasHeader() == other.hasHeader() &&
+        getDelimiter() == other.getDelimiter();
+  }
+
+  @Override
+  public int hashCode() {
+    return hash(getSelect(), getFilePath(), hasHeader(), getDelimiter());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(CopyToCommand.class)
+        .add("select", getSelect())
+        .add("filePath", getFilePath())
+        .add("hasHeader", hasHeader())
+        .add("delimiter", getDelimiter())
+        .toString();
+  }
+
+}
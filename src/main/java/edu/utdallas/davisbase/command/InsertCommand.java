@@ -15,35 +15,44 @@ import edu.utdallas.davisbase.DataType;
 public class InsertCommand implements Command {
 
   private final String tableName;
-  private final List<@Nullable Object> values;  // Assumes only one row is being inserted, which is true in DavisBase.
+  private final List<List<@Nullable Object>> rows;
 
   /**
    * @param tableName    the name of the table into which to insert data (not null)
-   * @param values the ordered list of (nullable) values to insert, where the index of the
-   *                     value in the list + 1 is the index of the column of the row into which it will
-   *                     be inserted; SHOULD NOT include the index-zero default {@code rowId} (not
-   *                     null, not empty, every value must be either null or an instance of
-   *                     {@link DataType#getJavaClass()} for one of the {@link DataType}s)
+   * @param rows   the ordered list of rows to insert, each an ordered list of (nullable) values where
+   *                     the index of the value in the list + 1 is the index of the column of the row
+   *                     into which it will be inserted; SHOULD NOT include the index-zero default
+   *                     {@code rowId} (not null, not empty, no row empty, every value must be either
+   *                     null or an instance of {@link DataType#getJavaClass()} for one of the
+   *                     {@link DataType}s)
    */
   @SuppressWarnings("nullness")  // Necessary because the ArrayList constructor is incorrectly annotated as requiring an argument of a @NonNull generic type, even though it can actually accept a collection argument with null elements.
-  public InsertCommand(String tableName,List<@Nullable Object> values) {
+  public InsertCommand(String tableName, List<List<@Nullable Object>> rows) {
     checkNotNull(tableName, "tableName");
-    checkNotNull(values, "values");
-    checkArgument(!values.isEmpty(), "values is empty");
-    for (int i = 0; i < values.size(); i++) {
-      @Nullable Object value = values.get(i);
-      if (value != null) {
-        boolean isAcceptedDataType = false;
-        for (DataType dataType : DataType.values()) {
-          isAcceptedDataType |= dataType.getJavaClass().equals(value.getClass());
+    checkNotNull(rows, "rows");
+    checkArgument(!rows.isEmpty(), "rows is empty");
+
+    final List<List<@Nullable Object>> rowsCopy = new ArrayList<>(rows.size());
+    for (int r = 0; r < rows.size(); r++) {
+      final List<@Nullable Object> values = rows.get(r);
+      checkNotNull(values, "rows.get(%d)", r);
+      checkArgument(!values.isEmpty(), "rows.get(%d) is empty", r);
+      for (int i = 0; i < values.size(); i++) {
+        @Nullable Object value = values.get(i);
+        if (value != null) {
+          boolean isAcceptedDataType = false;
+          for (DataType dataType : DataType.values()) {
+            isAcceptedDataType |= dataType.getJavaClass().equals(value.getClass());
+          }
+          checkArgument(isAcceptedDataType, "rows.get(%d).get(%d) is neither null nor an accepted type: %s", r, i, value.getClass().getName());
         }
-        checkArgument(isAcceptedDataType, "values.get(%d) is neither null nor an accepted type: %s", i, value.getClass().getName());
       }
+      // Copy to a new list for encapsulation, and wrap in an unmodifiable view for immutability.
+      rowsCopy.add(unmodifiableList(new ArrayList<>(values)));
     }
 
     this.tableName = tableName;
-    // Copy to a new list for encapsulation, and wrap in an unmodifiable view for immutability.
-    this.values = unmodifiableList(new ArrayList<>(values));
+    this.rows = unmodifiableList(rowsCopy);
   }
 
   /**
@@ -53,17 +62,24 @@ public class InsertCommand implements Command {
     return tableName;
   }
 
-
+  /**
+   * @return an unmodifiable view of the ordered list of rows to insert, each an unmodifiable view of
+   *         the ordered list of (nullable) values to insert, where the index of the value in the
+   *         list + 1 is the index of the column of the row into which it will be inserted; does not
+   *         include the index-zero default {@code rowId} (not null, not empty, every value is either
+   *         null or an instance of {@link DataType#getJavaClass()} for one of the {@link DataType}s)
+   */
+  public List<List<@Nullable Object>> getRows() {
+    return rows;
+  }
 
   /**
-   * @return an unmodifiable view of the ordered list of (nullable) values to insert, where the
-   *         index of the value in the list is the index of the column of the row into which it will
-   *         be inserted; SHOULD NOT include the index-zero default {@code rowId} (not null, not
-   *         empty, every value is either null or an instance of {@link DataType#getJavaClass()} for
-   *         one of the {@link DataType}s)
+   * @return the values of the first row to insert, which is the only row unless this is a
+   *         multi-row insert
+   * @see #getRows()
    */
   public List<@Nullable Object> getValues() {
-    return values;
+    return rows.get(0);
   }
 
   @Override
@@ -75,19 +91,19 @@ public class InsertCommand implements Command {
     InsertCommand other = (InsertCommand) obj;
     return
         getTableName().equals(other.getTableName()) &&
-        getValues().equals(other.getValues());
+        getRows().equals(other.getRows());
   }
 
   @Override
   public int hashCode() {
-    return hash(getTableName(), getValues());
+    return hash(getTableName(), getRows());
   }
 
   @Override
   public String toString() {
     return toStringHelper(InsertCommand.class)
         .add("tableName", getTableName())
-        .add("values", getValues())
+        .add("rows", getRows())
         .toString();
   }
 
@@ -3,6 +3,7 @@ package edu.utdallas.davisbase.command;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.hash;
 import java.util.ArrayList;
@@ -14,7 +15,10 @@ public class SelectCommand implements Command {
 
   private final String tableName;
   private final List<SelectCommandColumn> selectClauseColumns;
+  private final List<SelectCommandAggregate> selectClauseAggregates;
   private final @Nullable CommandWhere where;
+  private final List<SelectCommandOrderBy> orderBy;
+  private final @Nullable Long limit;
 
   /**
    * @param tableName           the name of the table being selected FROM (not null)
@@ -25,17 +29,52 @@ public class SelectCommand implements Command {
    *                            this command, if any (nullable)
    */
   public SelectCommand(String tableName, List<SelectCommandColumn> selectClauseColumns, @Nullable CommandWhere where) {
+    this(tableName, selectClauseColumns, emptyList(), where, emptyList(), null);
+  }
+
+  /**
+   * @param tableName              the name of the table being selected FROM (not null)
+   * @param selectClauseColumns    the ordered list of (nonnull) column specifications in the SELECT
+   *                               clause, where the order of the list determines the order output
+   *                               (not null, empty if and only if
+   *                               {@code selectClauseAggregates} is not)
+   * @param selectClauseAggregates the ordered list of (nonnull) aggregate function specifications
+   *                               in the SELECT clause, which are computed over every selected row
+   *                               into a single output row (not null, empty if and only if
+   *                               {@code selectClauseColumns} is not)
+   * @param where                  the specification of the simple {@code WHERE} clause expression
+   *                               of this command, if any (nullable)
+   * @param orderBy                the ordered list of (nonnull) sort keys of the {@code ORDER BY}
+   *                               clause, most significant first (not null, empty if there is no
+   *                               {@code ORDER BY} clause)
+   * @param limit                  the most rows to output, if there is a {@code LIMIT} clause
+   *                               (nullable, not negative)
+   */
+  public SelectCommand(String tableName, List<SelectCommandColumn> selectClauseColumns, List<SelectCommandAggregate> selectClauseAggregates, @Nullable CommandWhere where, List<SelectCommandOrderBy> orderBy, @Nullable Long limit) {
     checkNotNull(tableName, "tableName");
     checkNotNull(selectClauseColumns, "selectClauseColumns");
-    checkArgument(!selectClauseColumns.isEmpty(), "selectClauseColumns may not be empty");
+    checkNotNull(selectClauseAggregates, "selectClauseAggregates");
+    checkArgument(selectClauseColumns.isEmpty() != selectClauseAggregates.isEmpty(), "exactly one of selectClauseColumns and selectClauseAggregates must be empty");
     for (int i = 0; i < selectClauseColumns.size(); i++) {
       checkNotNull(selectClauseColumns.get(i), "selectClauseColumns.get(%d) is null", i);
     }
+    for (int i = 0; i < selectClauseAggregates.size(); i++) {
+      checkNotNull(selectClauseAggregates.get(i), "selectClauseAggregates.get(%d) is null", i);
+    }
+    checkNotNull(orderBy, "orderBy");
+    for (int i = 0; i < orderBy.size(); i++) {
+      checkNotNull(orderBy.get(i), "orderBy.get(%d) is null", i);
+      checkArgument(orderBy.get(i).getIndex() < selectClauseColumns.size() + selectClauseAggregates.size(), "orderBy.get(%d) is out of range of the SELECT clause", i);
+    }
+    checkArgument(limit == null || 0 <= limit, "limit must be nonnegative, but is %s", limit);
 
     this.tableName = tableName;
     // Copy to a new list for encapsulation, and wrap in an unmodifiable view for immutability.
     this.selectClauseColumns = unmodifiableList(new ArrayList<>(selectClauseColumns));
+    this.selectClauseAggregates = unmodifiableList(new ArrayList<>(selectClauseAggregates));
     this.where = where;
+    this.orderBy = unmodifiableList(new ArrayList<>(orderBy));
+    this.limit = limit;
   }
 
   /**
@@ -47,13 +86,22 @@ public class SelectCommand implements Command {
 
   /**
    * @return an unmodifiable view of the ordered list of (nonnull) column specifications in the
-   *         SELECT clause, where the order of the list determines the order output (not null, not
-   *         empty)
+   *         SELECT clause, where the order of the list determines the order output (not null, empty
+   *         if and only if {@link #getSelectClauseAggregates()} is not)
    */
   public List<SelectCommandColumn> getSelectClauseColumns() {
     return selectClauseColumns;
   }
 
+  /**
+   * @return an unmodifiable view of the ordered list of (nonnull) aggregate function specifications
+   *         in the SELECT clause (not null, empty if and only if {@link #getSelectClauseColumns()}
+   *         is not)
+   */
+  public List<SelectCommandAggregate> getSelectClauseAggregates() {
+    return selectClauseAggregates;
+  }
+
   /**
    * @return the specification of the simple {@code WHERE} clause expression of this command, if any
    *         (nullable)
@@ -62,6 +110,21 @@ public class SelectCommand implements Command {
     return where;
   }
 
+  /**
+   * @return an unmodifiable view of the ordered list of (nonnull) sort keys of the {@code ORDER BY}
+   *         clause, most significant first (not null, empty if there is no {@code ORDER BY} clause)
+   */
+  public List<SelectCommandOrderBy> getOrderBy() {
+    return orderBy;
+  }
+
+  /**
+   * @return the most rows to output, if there is a {@code LIMIT} clause (nullable, not negative)
+   */
+  public @Nullable Long getLimit() {
+    return limit;
+  }
+
   @Override
   @SuppressWarnings("nullness")
   public boolean equals(Object obj) {
@@ -73,13 +136,16 @@ public class SelectCommand implements Command {
     return
         tableName.equals(other.getTableName()) &&
         selectClauseColumns.equals(other.getSelectClauseColumns()) &&
-        Objects.equals(getWhere(), other.getWhere());
+        selectClauseAggregates.equals(other.getSelectClauseAggregates()) &&
+        Objects.equals(getWhere(), other.getWhere()) &&
+        orderBy.equals(other.getOrderBy()) &&
+        Objects.equals(getLimit(), other.getLimit());
   }
 
   @Override
   @SuppressWarnings("nullness")
   public int hashCode() {
-    return hash(getTableName(), getSelectClauseColumns(), getWhere());
+    return hash(getTableName(), getSelectClauseColumns(), getSelectClauseAggregates(), getWhere(), getOrderBy(), getLimit());
   }
 
   @Override
@@ -88,7 +154,10 @@ public class SelectCommand implements Command {
     return toStringHelper(SelectCommand.class)
         .add("tableName", getTableName())
         .add("selectClauseColumns", getSelectClauseColumns())
+        .add("selectClauseAggregates", getSelectClauseAggregates())
         .add("where", getWhere())
+        .add("orderBy", getOrderBy())
+        .add("limit", getLimit())
         .toString();
   }
 
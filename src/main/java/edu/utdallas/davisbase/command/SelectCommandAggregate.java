@@ -0,0 +1,110 @@
+package edu.utdallas.davisbase.command;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Objects.hash;
+
+import edu.utdallas.davisbase.DataType;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An aggregate function specification for the select clause of a compiled {@link SelectCommand},
+ * e.g. {@code COUNT(*)} or {@code MAX(price)}, which is computed over every selected row.
+ */
+public class SelectCommandAggregate {
+
+  public enum Function {
+    COUNT,
+    MIN,
+    MAX,
+    SUM,
+    AVG;
+  }
+
+  private final Function function;
+  private final @Nullable SelectCommandColumn argument;
+  private final String name;
+  private final DataType dataType;
+
+  /**
+   * @param function the aggregate function (not null)
+   * @param argument the column over which the function is computed, or null for {@code COUNT(*)}
+   *                 (nullable only if {@code function} is {@link Function#COUNT COUNT})
+   * @param name     the name of the output column, e.g. {@code "COUNT(*)"} (not null)
+   * @param dataType the {@link DataType} of the output column (not null)
+   */
+  public SelectCommandAggregate(Function function, @Nullable SelectCommandColumn argument, String name, DataType dataType) {
+    checkNotNull(function);
+    checkArgument(argument != null || function == Function.COUNT, "Only COUNT may have no argument column.");
+    checkNotNull(name);
+    checkNotNull(dataType);
+
+    this.function = function;
+    this.argument = argument;
+    this.name = name;
+    this.dataType = dataType;
+  }
+
+  /**
+   * @return the aggregate function (not null)
+   */
+  public Function getFunction() {
+    return function;
+  }
+
+  /**
+   * @return the column over which the function is computed, or null for {@code COUNT(*)}
+   */
+  public @Nullable SelectCommandColumn getArgument() {
+    return argument;
+  }
+
+  /**
+   * @return the name of the output column (not null)
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the {@link DataType} of the output column (not null)
+   */
+  public DataType getDataType() {
+    return dataType;
+  }
+
+  @Override
+  @SuppressWarnings("nullness")
+  public boolean equals(Object obj) {
+    if (!(obj != null && obj instanceof SelectCommandAggregate)) {
+      return false;
+    }
+
+    SelectCommandAggregate other = (SelectCommandAggregate) obj;
+    return
+        getFunction() == other.getFunction() &&
+        Objects.equals(getArgument(), other.getArgument()) &&
+        getName().equals(other.getName()) &&
+        getDataType().equals(other.getDataType());
+  }
+
+  @Override
+  @SuppressWarnings("nullness")
+  public int hashCode() {
+    return hash(getFunction(), getArgument(), getName(), getDataType());
+  }
+
+  @Override
+  @SuppressWarnings("nullness")
+  public String toString() {
+    return toStringHelper(SelectCommandAggregate.class)
+        .add("function", getFunction())
+        .add("argument", getArgument())
+        .add("name", getName())
+        .add("dataType", getDataType())
+        .toString();
+  }
+
+}
@@ -0,0 +1,84 @@
+package edu.utdallas.davisbase.command;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Objects.hash;
+
+import edu.utdallas.davisbase.DataType;
+
+/**
+ * A sort key of the {@code ORDER BY} clause of a compiled {@link SelectCommand}.
+ */
+public class SelectCommandOrderBy {
+
+  private final int index;
+  private final DataType dataType;
+  private final boolean isAscending;
+
+  /**
+   * @param index       the zero-based position of the sort column in the select clause of the
+   *                    {@link SelectCommand} (not negative)
+   * @param dataType    the {@link DataType} of the sort column (not null)
+   * @param isAscending {@code true} for {@code ASC} (the default), or {@code false} for
+   *                    {@code DESC}
+   */
+  public SelectCommandOrderBy(int index, DataType dataType, boolean isAscending) {
+    checkArgument(0 <= index, "index must be nonnegative, but is %s", index);
+    checkNotNull(dataType);
+
+    this.index = index;
+    this.dataType = dataType;
+    this.isAscending = isAscending;
+  }
+
+  /**
+   * @return the zero-based position of the sort column in the select clause of the
+   *         {@link SelectCommand} (not negative)
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return the {@link DataType} of the sort column (not null)
+   */
+  public DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * @return {@code true} for {@code ASC}, or {@code false} for {@code DESC}
+   */
+  public boolean isAscending() {
+    return isAscending;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj != null && obj instanceof SelectCommandOrderBy)) {
+      return false;
+    }
+
+    SelectCommandOrderBy other = (SelectCommandOrderBy) obj;
+    return
+        getIndex() == other.getIndex() &&
+        getDataType().equals(other.getDataType()) &&
+        isAscending() == other.isAscending();
+  }
+
+  @Override
+  public int hashCode() {
+    return hash(getIndex(), getDataType(), isAscending());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(SelectCommandOrderBy.class)
+        .add("index", getIndex())
+        .add("dataType", getDataType())
+        .add("isAscending", isAscending())
+        .toString();
+  }
+
+}
@@ -3,12 +3,11 @@ package edu.utdallas.davisbase.compiler;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.String.format;
-import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
 
-import edu.utdallas.davisbase.BooleanUtils;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.catalog.Catalog.ColumnSchema;
+import edu.utdallas.davisbase.catalog.Catalog.TableSchema;
 import edu.utdallas.davisbase.catalog.CatalogTable;
-import edu.utdallas.davisbase.catalog.DavisBaseColumnsTableColumn;
-import edu.utdallas.davisbase.catalog.DavisBaseTablesTableColumn;
 import edu.utdallas.davisbase.command.*;
 import edu.utdallas.davisbase.DataType;
 import edu.utdallas.davisbase.YearUtils;
@@ -20,8 +19,9 @@ import java.io.IOException;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import net.sf.jsqlparser.expression.*;
 import net.sf.jsqlparser.schema.Column;
@@ -29,6 +29,8 @@ import net.sf.jsqlparser.statement.create.table.ColDataType;
 import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
 import net.sf.jsqlparser.statement.create.table.Index;
 import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
 import net.sf.jsqlparser.statement.select.SelectItem;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -39,10 +41,18 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class Compiler {
 
   protected final Storage context;
+  protected final Catalog catalog;
 
-  public Compiler(Storage context) {
+  /**
+   * @param context the storage of the tables (not null)
+   * @param catalog the cache of the table schemas, which is shared with (and kept up to date by) the
+   *                executor (not null)
+   */
+  public Compiler(Storage context, Catalog catalog) {
     checkNotNull(context);
+    checkNotNull(catalog);
     this.context = context;
+    this.catalog = catalog;
   }
 
   /**
@@ -53,8 +63,50 @@ public class Compiler {
    */
   @SuppressWarnings("nullness")  // WARNING Make sure the project builds _without_ this line before pushing!
   public Command compile(CommandRepresentation command) throws CompileException, StorageException, IOException {
-    if (command instanceof CreateIndexCommandRepresentation) {
+    if (command instanceof CopyFromCommandRepresentation) {
+      CopyFromCommandRepresentation copyFrom = (CopyFromCommandRepresentation) command;
+      checkNotCatalogTable(copyFrom.getTable());
+      checkTableExists(copyFrom.getTable());
+      return new CopyFromCommand(
+          getValidatedDavisBaseTableName(copyFrom.getTable()),
+          copyFrom.getFilePath(),
+          copyFrom.hasHeader(),
+          getDelimiter(copyFrom.getFilePath()),
+          getCopyFromColumns(copyFrom.getTable()));
+    }
+    else if (command instanceof CopyToCommandRepresentation) {
+      CopyToCommandRepresentation copyTo = (CopyToCommandRepresentation) command;
+      SelectCommand select = compileSelect(copyTo.getSelect());
+      if (copyTo.getSelect().isAll()) {
+        // rowId is allocated by the table, so * leaves it out so that a COPY FROM can read the file back.
+        for (SelectCommandOrderBy key : select.getOrderBy()) {
+          if (select.getSelectClauseColumns().get(key.getIndex()).getIndex() == 0) {
+            throw new CompileException("COPY of * cannot ORDER BY rowid, since rowid is not copied");
+          }
+        }
+        select = new SelectCommand(
+            select.getTableName(),
+            select.getSelectClauseColumns().stream()
+                .filter(col -> col.getIndex() != 0)
+                .collect(Collectors.toList()),
+            select.getSelectClauseAggregates(),
+            select.getWhere(),
+            select.getOrderBy().stream()
+                .map(key -> new SelectCommandOrderBy(key.getIndex() - 1, key.getDataType(), key.isAscending()))
+                .collect(Collectors.toList()),
+            select.getLimit());
+      }
+      return new CopyToCommand(
+          select,
+          copyTo.getFilePath(),
+          copyTo.hasHeader(),
+          getDelimiter(copyTo.getFilePath()));
+    }
+    else if (command instanceof CreateIndexCommandRepresentation) {
       CreateIndexCommandRepresentation createIndex = (CreateIndexCommandRepresentation) command;
+      if (getColumn(createIndex.getTable(), createIndex.getColumn()).getIndexName() != null) {
+        throw new CompileException("Column already has an index within DavisBase");
+      }
       return new CreateIndexCommand(createIndex.getTable(), createIndex.getIndex(),
           createIndex.getColumn(),
           getColumnIndex(createIndex.getTable(), createIndex.getColumn()),
@@ -101,67 +153,69 @@ public class Compiler {
       InsertCommandRepresentation insert = (InsertCommandRepresentation) command;
       checkNotCatalogTable(insert.getTable());
       checkTableExists(insert.getTable());
-      List<InsertObject> insertObjects = new ArrayList<>();
+
+      // Everything that depends only on the statement (and not on the values of a particular row) is
+      // checked and looked up once, rather than once per row.
+      final int valueCount = insert.getValues().size();
+      checkInsertValuesMatchesCountColumns(insert.getTable(), valueCount);
+      for (List<Expression> values : insert.getRows()) {
+        if (values.size() != valueCount) {
+          throw new CompileException("Every row of a multi-row insert must have the same number of values. Expected " + valueCount + " values, but found " + values.size() + ".");
+        }
+      }
+
+      List<String> columnNames = new ArrayList<>(valueCount);
+      List<Integer> columnIndexes = new ArrayList<>(valueCount);
       if (insert.getColumns().isEmpty()) {
-        checkInsertValuesMatchesCountColumns(insert.getTable(), insert.getValues().size());
-        for (int lcv = 0; lcv < insert.getValues().size(); lcv++) {
-          String columnName = getColumnName(insert.getTable(), lcv + 1);  // add one to account for rowId
-          @Nullable
-          Object obj = getValidObjectMatchingSchema(
-              insert.getTable(),
-              insert.getValues().get(lcv),
-              columnName);
-          if(null!=obj){
-            checkUniqueness(insert.getTable(), columnName, obj);
-          }
-          insertObjects.add(new InsertObject(lcv, obj));
+        for (int lcv = 0; lcv < valueCount; lcv++) {
+          columnNames.add(getColumnName(insert.getTable(), lcv + 1));  // add one to account for rowId
+          columnIndexes.add(lcv);
         }
       }
       else {
-        checkInsertValuesMatchesCountColumns(insert.getTable(), insert.getValues().size());
         for (int lcv = 0; lcv < insert.getColumns().size(); lcv++) {
-          byte index = getColumnIndex(insert.getTable(),insert.getColumns().get(lcv).getColumnName());
-          String columnName=insert.getColumns().get(lcv).toString();
+          columnNames.add(insert.getColumns().get(lcv).toString());
+          columnIndexes.add((int) getColumnIndex(insert.getTable(), insert.getColumns().get(lcv).getColumnName()));
+        }
+      }
+
+      List<List<Object>> nonNullValuesByColumn = new ArrayList<>(valueCount);
+      for (int lcv = 0; lcv < valueCount; lcv++) {
+        nonNullValuesByColumn.add(new ArrayList<>(insert.getRows().size()));
+      }
+
+      List<List<@Nullable Object>> rows = new ArrayList<>(insert.getRows().size());
+      for (List<Expression> values : insert.getRows()) {
+        List<InsertObject> insertObjects = new ArrayList<>(valueCount);
+        for (int lcv = 0; lcv < valueCount; lcv++) {
           @Nullable
           Object obj = getValidObjectMatchingSchema(
               insert.getTable(),
-              insert.getValues().get(lcv),
-              columnName
-          );
+              values.get(lcv),
+              columnNames.get(lcv));
           if(null!=obj){
-            checkUniqueness(insert.getTable(), columnName, obj);
+            nonNullValuesByColumn.get(lcv).add(obj);
           }
-          insertObjects.add(new InsertObject(index, obj));
+          insertObjects.add(new InsertObject(columnIndexes.get(lcv), obj));
         }
         Collections.sort(insertObjects);
+        rows.add(insertObjects.stream()
+                              .map(InsertObject::getObject)
+                              .collect(Collectors.toList()));
       }
+
+      for (int lcv = 0; lcv < valueCount; lcv++) {
+        if (!nonNullValuesByColumn.get(lcv).isEmpty()) {
+          checkUniqueness(insert.getTable(), columnNames.get(lcv), nonNullValuesByColumn.get(lcv));
+        }
+      }
+
       return new InsertCommand(
           getValidatedDavisBaseTableName(insert.getTable()),
-          insertObjects.stream()
-                       .map(InsertObject::getObject)
-                       .collect(Collectors.toList()));
+          rows);
     }
     else if (command instanceof SelectCommandRepresentation) {
-      SelectCommandRepresentation select = (SelectCommandRepresentation) command;
-      checkTableExists(select.getTable());
-      List<SelectCommandColumn> selectColumns = new ArrayList<>();
-      // check if * then add all columns
-      for (SelectItem item : select.getColumns()) {
-        if (item instanceof AllColumns) {
-          selectColumns = getAllColumns(select.getTable());
-        }
-        else {
-          SelectCommandColumn col = new SelectCommandColumn(
-              getColumnIndex(select.getTable(), item.toString()),
-              item.toString(),
-              getColumnType(select.getTable(), item.toString()));
-          selectColumns.add(col);
-        }
-      }
-      return new SelectCommand(
-          getValidatedDavisBaseTableName(select.getTable()),
-          selectColumns,
-          compileCommandWhere(select.getTable(), select.getWhereClause()));
+      return compileSelect((SelectCommandRepresentation) command);
     }
     else if (command instanceof ShowTablesCommandRepresentation) {
       return new ShowTablesCommand();
@@ -194,6 +248,135 @@ public class Compiler {
     }
   }
 
+  /**
+   * @param select SelectCommandRepresentation to compile, whether a statement of its own or the
+   *               query of a COPY
+   * @return SelectCommand from given SelectCommandRepresentation
+   * @throws CompileException
+   */
+  private SelectCommand compileSelect(SelectCommandRepresentation select) throws CompileException, StorageException, IOException {
+    checkTableExists(select.getTable());
+    List<SelectCommandColumn> selectColumns = new ArrayList<>();
+    List<SelectCommandAggregate> selectAggregates = new ArrayList<>();
+    // check if * then add all columns
+    for (SelectItem item : select.getColumns()) {
+      if (item instanceof AllColumns) {
+        selectColumns = getAllColumns(select.getTable());
+      }
+      else if (item instanceof SelectExpressionItem && ((SelectExpressionItem) item).getExpression() instanceof Function) {
+        selectAggregates.add(compileSelectAggregate(select.getTable(), (Function) ((SelectExpressionItem) item).getExpression()));
+      }
+      else {
+        SelectCommandColumn col = new SelectCommandColumn(
+            getColumnIndex(select.getTable(), item.toString()),
+            item.toString(),
+            getColumnType(select.getTable(), item.toString()));
+        selectColumns.add(col);
+      }
+    }
+
+    List<SelectCommandOrderBy> orderBy = new ArrayList<>();
+    for (OrderByElement element : select.getOrderBy()) {
+      String columnName = ((Column) element.getExpression()).getColumnName();
+      int index = -1;
+      for (int i = 0; i < selectColumns.size() && index < 0; i++) {
+        if (selectColumns.get(i).getName().equalsIgnoreCase(columnName)) {
+          index = i;
+        }
+      }
+      if (index < 0) {
+        throw new CompileException("ORDER BY column " + columnName + " must be in the SELECT clause");
+      }
+      orderBy.add(new SelectCommandOrderBy(index, selectColumns.get(index).getDataType(), element.isAsc()));
+    }
+
+    return new SelectCommand(
+        getValidatedDavisBaseTableName(select.getTable()),
+        selectColumns,
+        selectAggregates,
+        compileCommandWhere(select.getTable(), select.getWhereClause()),
+        orderBy,
+        select.getLimit());
+  }
+
+  /**
+   * @param tableName the table being selected FROM
+   * @param function  a call of COUNT, MIN, MAX, SUM or AVG in the SELECT clause
+   * @return SelectCommandAggregate for given function, whose result type depends on the type of its
+   *         argument column
+   * @throws CompileException
+   */
+  private SelectCommandAggregate compileSelectAggregate(String tableName, Function function) throws CompileException, StorageException, IOException {
+    SelectCommandAggregate.Function aggregateFunction = SelectCommandAggregate.Function.valueOf(function.getName().toUpperCase());
+    if (function.isDistinct()) {
+      throw new CompileException("DavisBase does not support DISTINCT within " + aggregateFunction.name());
+    }
+    if (function.isAllColumns()) {
+      if (aggregateFunction != SelectCommandAggregate.Function.COUNT) {
+        throw new CompileException("Only COUNT accepts *");
+      }
+      return new SelectCommandAggregate(aggregateFunction, null, function.toString(), DataType.BIGINT);
+    }
+    if (function.getParameters() == null
+        || function.getParameters().getExpressions().size() != 1
+        || !(function.getParameters().getExpressions().get(0) instanceof Column)) {
+      throw new CompileException(aggregateFunction.name() + " accepts a single column reference");
+    }
+
+    String columnName = ((Column) function.getParameters().getExpressions().get(0)).getColumnName();
+    SelectCommandColumn argument = new SelectCommandColumn(
+        getColumnIndex(tableName, columnName),
+        columnName,
+        getColumnType(tableName, columnName));
+    DataType dataType;
+    switch (aggregateFunction) {
+      case COUNT:
+        dataType = DataType.BIGINT;
+        break;
+      case MIN:
+      case MAX:
+        dataType = argument.getDataType();
+        break;
+      case SUM:
+        if (isIntegralDataType(argument.getDataType())) {
+          dataType = DataType.BIGINT;
+        }
+        else if (argument.getDataType() == DataType.FLOAT || argument.getDataType() == DataType.DOUBLE) {
+          dataType = DataType.DOUBLE;
+        }
+        else {
+          throw new CompileException("SUM requires a numeric column, but " + columnName + " is " + argument.getDataType().name());
+        }
+        break;
+      case AVG:
+        if (!isIntegralDataType(argument.getDataType())
+            && argument.getDataType() != DataType.FLOAT
+            && argument.getDataType() != DataType.DOUBLE) {
+          throw new CompileException("AVG requires a numeric column, but " + columnName + " is " + argument.getDataType().name());
+        }
+        dataType = DataType.DOUBLE;
+        break;
+      default:
+        throw new CompileException("Unsupported aggregate function " + aggregateFunction.name());
+    }
+    return new SelectCommandAggregate(aggregateFunction, argument, function.toString(), dataType);
+  }
+
+  private static boolean isIntegralDataType(DataType dataType) {
+    return dataType == DataType.TINYINT
+        || dataType == DataType.SMALLINT
+        || dataType == DataType.INT
+        || dataType == DataType.BIGINT;
+  }
+
+  /**
+   * @param filePath the path of the file of a COPY
+   * @return a tab for a file with the extension {@code .tsv}, otherwise a comma
+   */
+  private static char getDelimiter(String filePath) {
+    return filePath.toLowerCase().endsWith(".tsv") ? '\t' : ',';
+  }
+
   /**
    * @param dataType
    * @return DataType from given ColDataType
@@ -423,18 +606,7 @@ public class Compiler {
    * @throws CompileException
    */
   private byte getColumnIndex(String tableName, String columnName) throws CompileException, StorageException, IOException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.name());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(columnName)
-          && castNonNull(
-              table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-                  .equalsIgnoreCase(tableName)) {
-        return castNonNull(
-            table.readTinyInt(DavisBaseColumnsTableColumn.ORDINAL_POSITION.getOrdinalPosition()));
-      }
-    }
-    throw new CompileException("Column " + columnName + " does not exist within this table");
+    return getColumn(tableName, columnName).getOrdinalPosition();
   }
 
   /**
@@ -443,14 +615,10 @@ public class Compiler {
    * @throws CompileException
    */
   private String getValidatedDavisBaseTableName(String tableName) throws CompileException, StorageException, IOException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_TABLES.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseTablesTableColumn.TABLE_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(tableName)) {
-        return tableName;
-      }
+    if (!catalog.hasTable(tableName)) {
+      throw new CompileException("Table" + tableName + " does not exist within DavisBase");
     }
-    throw new CompileException("Table" + tableName + " does not exist within DavisBase");
+    return tableName;
   }
 
   /**
@@ -460,18 +628,7 @@ public class Compiler {
    * @throws CompileException
    */
   private DataType getColumnType(String tableName, String columnName) throws CompileException, StorageException, IOException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(columnName)
-          && castNonNull(
-              table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-                  .equalsIgnoreCase(tableName)) {
-        return DataType.valueOf(castNonNull(
-            table.readText(DavisBaseColumnsTableColumn.DATA_TYPE.getOrdinalPosition())));
-      }
-    }
-    throw new CompileException("Column " + columnName + " does not exist within this table");
+    return getColumn(tableName, columnName).getDataType();
   }
 
   /**
@@ -483,19 +640,13 @@ public class Compiler {
    * @throws IOException
    */
   private String getColumnName(String tableName, int columnIndex) throws CompileException, StorageException, IOException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readTinyInt(
-          DavisBaseColumnsTableColumn.ORDINAL_POSITION.getOrdinalPosition())) == columnIndex
-          && castNonNull(
-              table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-                  .equalsIgnoreCase(tableName)) {
-        return (castNonNull(
-            table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition())));
-      }
+    final @Nullable TableSchema table = catalog.getTable(tableName);
+    final @Nullable ColumnSchema column = table == null ? null : table.getColumn(columnIndex);
+    if (column == null) {
+      throw new CompileException(
+          "Column with index " + columnIndex + " does not exist within this table");
     }
-    throw new CompileException(
-        "Column with index " + columnIndex + " does not exist within this table");
+    return column.getName();
   }
 
   /**
@@ -505,14 +656,7 @@ public class Compiler {
    * @throws IOException
    */
   private boolean isExistingTable(String tableName) throws StorageException, IOException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_TABLES.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseTablesTableColumn.TABLE_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(tableName)) {
-        return true;
-      }
-    }
-    return false;
+    return catalog.hasTable(tableName);
   }
 
   /**
@@ -549,7 +693,7 @@ public class Compiler {
   }
 
   /**
-   * Checks against DAVISBASE_COLUMNS table to see if column is nullable
+   * Checks the cached DAVISBASE_COLUMNS schema to see if column is nullable
    * @param tableName table to check
    * @param columnName column to check
    * @return whether column nullable
@@ -558,18 +702,35 @@ public class Compiler {
    * @throws IOException
    */
   private boolean isColumnNullable(String tableName, String columnName) throws CompileException, StorageException, IOException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(columnName)
-          && castNonNull(
-              table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-                  .equalsIgnoreCase(tableName)) {
-        return BooleanUtils.fromText(castNonNull(
-            table.readText(DavisBaseColumnsTableColumn.IS_NULLABLE.getOrdinalPosition())));
-      }
+    return getColumn(tableName, columnName).isNullable();
+  }
+
+  /**
+   * @param tableName table of column
+   * @param columnName column to look up
+   * @return the cached schema of the column
+   * @throws CompileException if the table or the column does not exist
+   * @throws StorageException
+   * @throws IOException
+   */
+  private ColumnSchema getColumn(String tableName, String columnName) throws CompileException, StorageException, IOException {
+    final @Nullable ColumnSchema column = findColumn(tableName, columnName);
+    if (column == null) {
+      throw new CompileException("Column " + columnName + " does not exist within this table");
     }
-    throw new CompileException("Column " + columnName + " does not exist within this table");
+    return column;
+  }
+
+  /**
+   * @param tableName table of column
+   * @param columnName column to look up
+   * @return the cached schema of the column, or null if the table or the column does not exist
+   * @throws StorageException
+   * @throws IOException
+   */
+  private @Nullable ColumnSchema findColumn(String tableName, String columnName) throws StorageException, IOException {
+    final @Nullable TableSchema table = catalog.getTable(tableName);
+    return table == null ? null : table.getColumn(columnName);
   }
 
   /**
@@ -580,23 +741,53 @@ public class Compiler {
    */
   private List<SelectCommandColumn> getAllColumns(String tableName) throws StorageException, IOException {
     List<SelectCommandColumn> selectColumns = new ArrayList<>();
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(tableName)) {
-        SelectCommandColumn select = new SelectCommandColumn(
-            castNonNull(table
-                .readTinyInt(DavisBaseColumnsTableColumn.ORDINAL_POSITION.getOrdinalPosition())),
-            castNonNull(
-                table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition())),
-            DataType.valueOf(castNonNull(
-                table.readText(DavisBaseColumnsTableColumn.DATA_TYPE.getOrdinalPosition()))));
-        selectColumns.add(select);
-      }
+    for (final ColumnSchema column : getColumns(tableName)) {
+      selectColumns.add(new SelectCommandColumn(
+          column.getOrdinalPosition(),
+          column.getName(),
+          column.getDataType()));
     }
     return selectColumns;
   }
 
+  /**
+   * Reads the whole schema of a table from the catalog once, so that the rows of a COPY need not
+   * look anything up per value.
+   *
+   * @param tableName table to get columns
+   * @return List of CopyFromCommandColumn object that represents all columns other than rowId for
+   *         given table, in ordinal order
+   * @throws StorageException
+   * @throws IOException
+   */
+  private List<CopyFromCommandColumn> getCopyFromColumns(String tableName) throws StorageException, IOException {
+    List<CopyFromCommandColumn> columns = new ArrayList<>();
+    for (final ColumnSchema column : getColumns(tableName)) {
+      if (column.getOrdinalPosition() == 0) {
+        continue;  // rowId is allocated by the table, not copied.
+      }
+      columns.add(new CopyFromCommandColumn(
+          column.getOrdinalPosition(),
+          column.getName(),
+          column.getDataType(),
+          column.isNullable(),
+          column.isUnique()));
+    }
+    return columns;
+  }
+
+  /**
+   * @param tableName table to get columns
+   * @return the cached schema of every column of the table, including rowId, in ordinal order, or
+   *         an empty list if the table does not exist
+   * @throws StorageException
+   * @throws IOException
+   */
+  private List<ColumnSchema> getColumns(String tableName) throws StorageException, IOException {
+    final @Nullable TableSchema table = catalog.getTable(tableName);
+    return table == null ? Collections.emptyList() : table.getColumns();
+  }
+
   /**
    * Validate the number of values the user is trying to insert matches the amount of columns defined in the schema for the given table
    * @param tableName
@@ -606,15 +797,7 @@ public class Compiler {
    * @throws CompileException
    */
   private void checkInsertValuesMatchesCountColumns(String tableName, int size) throws IOException, StorageException, CompileException {
-    int actualColumns = 0;
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName());
-    while (table.goToNextRow()) {
-      assert DavisBaseColumnsTableColumn.ROWID != null : "The table 'davisbase_columns' should include a listing for the 'rowid' column for each table";
-      if (castNonNull(table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-          .equalsIgnoreCase(tableName)) {
-        actualColumns++;
-      }
-    }
+    int actualColumns = getColumns(tableName).size();
     actualColumns -= 1;  // subtract 1 for rowid
     if (size < actualColumns) {
       throw new CompileException("Davisbase does not support default column values. Expected " + actualColumns +  " columns. Please insert a value for every column");
@@ -640,6 +823,40 @@ public class Compiler {
     if (null == where) {
       return null;
     }
+    return compileCommandWhere(tableName, where, false);
+  }
+
+  /**
+   * Compiles a where expression, pushing any negation down into the operators of its comparisons
+   * (by De Morgan's laws), so that the compiled CommandWhere has no NOT.
+   *
+   * @param tableName name of table
+   * @param where WhereExpression representation of (part of) a where clause
+   * @param isNegated whether {@code where} is nested within an odd number of enclosing NOTs
+   * @return compiled CommandWhere of where
+   * @throws IOException
+   * @throws StorageException
+   * @throws CompileException
+   */
+  private CommandWhere compileCommandWhere(String tableName, WhereExpression where, boolean isNegated)
+      throws IOException, StorageException, CompileException {
+    final boolean isNot = where.isNot() != isNegated;
+    if (!where.isComparison()) {
+      CommandWhere.LogicalOperator logicalOperator = returnCommandLogicalOperator(where.getLogicalOperator(), isNot);
+      List<CommandWhere> operands = new ArrayList<>();
+      for (WhereExpression operand : where.getOperands()) {
+        CommandWhere compiledOperand = compileCommandWhere(tableName, operand, isNot);
+        // A negation can turn a nested OR into an AND (or vice versa), which is then flattened.
+        if (!compiledOperand.isComparison() && compiledOperand.getLogicalOperator() == logicalOperator) {
+          operands.addAll(compiledOperand.getOperands());
+        }
+        else {
+          operands.add(compiledOperand);
+        }
+      }
+      return new CommandWhere(logicalOperator, operands);
+    }
+
     byte columnIndex = getColumnIndex(tableName,where.getColumn().getColumnName());
     String columnName = getColumnName(tableName, columnIndex);
     CommandWhereColumn leftColumnReference = new CommandWhereColumn(
@@ -647,14 +864,32 @@ public class Compiler {
         columnName,
         getColumnType(tableName, columnName),
         isColumnNullable(tableName, columnName),
-        false  // TODO: COME BACK AND FIX THIS ONCE INDEX IMPLEMENTED
+        getColumn(tableName, columnName).getIndexName() != null
     );
     return new CommandWhere(
         leftColumnReference,
-        returnCommandOperator(where.getOperator(), where.isNot()),
+        returnCommandOperator(where.getOperator(), isNot),
         getValidObjectMatchingSchema(tableName, where.getValue(), columnName));
   }
 
+  /**
+   * @param op WhereExpression LogicalOperator enum
+   * @param isNot whether the AND or OR is negated
+   * @return the CommandWhere LogicalOperator Enum given the WhereExpression LogicalOperator, whose
+   *         operands are to be negated as well if {@code isNot}
+   * @throws CompileException
+   */
+  private CommandWhere.LogicalOperator returnCommandLogicalOperator(WhereExpression.LogicalOperator op, boolean isNot) throws CompileException {
+    switch (op) {
+      case AND:
+        return isNot ? CommandWhere.LogicalOperator.OR : CommandWhere.LogicalOperator.AND;
+      case OR:
+        return isNot ? CommandWhere.LogicalOperator.AND : CommandWhere.LogicalOperator.OR;
+      default:
+        throw new CompileException("Unrecognized logical operator");
+    }
+  }
+
   /**
    * @param op WhereExpression Operator enum
    * @return the CommandWhere Operator Enum given the WhereExpression Operator
@@ -730,47 +965,80 @@ public class Compiler {
    * @throws IOException
    * @throws CompileException
    */
-  @SuppressWarnings("nullness")
   private void checkUniqueness(String tableName, String columnName, Object value)throws StorageException, IOException, CompileException{
+    checkUniqueness(tableName, columnName, Collections.singletonList(value));
+  }
+
+  /**
+   * Validates that none of the given values violates a UNIQUE constraint on the column, either by
+   * matching a row already in the table or by appearing more than once among the values themselves.
+   * The table is scanned at most once, however many values there are.
+   * @param tableName table name to check
+   * @param columnName name of column with constraint
+   * @param values non-null values trying to insert
+   * @throws StorageException
+   * @throws IOException
+   * @throws CompileException
+   */
+  private void checkUniqueness(String tableName, String columnName, List<Object> values)throws StorageException, IOException, CompileException{
     //TODO: Add index logic
     if(isColumnUnique(tableName, columnName)){
       byte colIndex = getColumnIndex(tableName, columnName);
       DataType colType = getColumnType(tableName, columnName);
-      TableFile table = context.openTableFile(tableName);
       final String UNIQUENESS_EXCEPTION = "Invalid insert. Column " + columnName + " has uniqueness constraint";
-      while(table.goToNextRow()){
-        if(colType==DataType.TINYINT && Objects.equals(table.readTinyInt(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.SMALLINT && Objects.equals(table.readSmallInt(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.INT && Objects.equals(table.readInt(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.BIGINT && Objects.equals(table.readBigInt(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.FLOAT && Objects.equals(table.readFloat(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.DOUBLE && Objects.equals(table.readDouble(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.YEAR && Objects.equals(table.readYear(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.TIME && Objects.equals(table.readTime(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.DATETIME && Objects.equals(table.readDateTime(colIndex), value)){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
-        }
-        else if(colType==DataType.DATE && Objects.equals(table.readDate(colIndex), value)){
+
+      // TEXT uniqueness is case-insensitive, so compare TEXT values by their lower-case form.
+      final Set<Object> uniqueValues = new HashSet<>();
+      for (Object value : values) {
+        if (!uniqueValues.add(colType == DataType.TEXT ? value.toString().toLowerCase() : value)) {
           throw new CompileException(UNIQUENESS_EXCEPTION);
         }
-        else if(colType==DataType.TEXT && castNonNull(table.readText(colIndex)).equalsIgnoreCase(value.toString())){
-          throw new CompileException(UNIQUENESS_EXCEPTION);
+      }
+
+      try (final TableFile table = context.openTableFile(tableName)) {
+        while(table.goToNextRow()){
+          @Nullable Object existing;
+          switch (colType) {
+            case TINYINT:
+              existing = table.readTinyInt(colIndex);
+              break;
+            case SMALLINT:
+              existing = table.readSmallInt(colIndex);
+              break;
+            case INT:
+              existing = table.readInt(colIndex);
+              break;
+            case BIGINT:
+              existing = table.readBigInt(colIndex);
+              break;
+            case FLOAT:
+              existing = table.readFloat(colIndex);
+              break;
+            case DOUBLE:
+              existing = table.readDouble(colIndex);
+              break;
+            case YEAR:
+              existing = table.readYear(colIndex);
+              break;
+            case TIME:
+              existing = table.readTime(colIndex);
+              break;
+            case DATETIME:
+              existing = table.readDateTime(colIndex);
+              break;
+            case DATE:
+              existing = table.readDate(colIndex);
+              break;
+            case TEXT:
+              @Nullable String text = table.readText(colIndex);
+              existing = (text == null) ? null : text.toLowerCase();
+              break;
+            default:
+              throw new IllegalStateException("Unexpected DataType " + colType);
+          }
+          if(existing != null && uniqueValues.contains(existing)){
+            throw new CompileException(UNIQUENESS_EXCEPTION);
+          }
         }
       }
     }
@@ -780,7 +1048,7 @@ public class Compiler {
   }
 
   /**
-   * Checks DAVISBASE_COLUMNS table to see if given column has UNIQUE constraint
+   * Checks the cached DAVISBASE_COLUMNS schema to see if given column has UNIQUE constraint
    * @param tableName table name to check
    * @param columnName column name within given table
    * @return whether given column has UNIQUE constraint
@@ -788,18 +1056,11 @@ public class Compiler {
    * @throws StorageException
    */
   private boolean isColumnUnique(String tableName, String columnName)throws IOException, StorageException {
-    TableFile table = context.openTableFile(CatalogTable.DAVISBASE_COLUMNS.getName());
-    while (table.goToNextRow()) {
-      if (castNonNull(table.readText(DavisBaseColumnsTableColumn.COLUMN_NAME.getOrdinalPosition()))
-        .equalsIgnoreCase(columnName)
-        && castNonNull(
-        table.readText(DavisBaseColumnsTableColumn.TABLE_NAME.getOrdinalPosition()))
-        .equalsIgnoreCase(tableName)) {
-        return BooleanUtils.fromText(castNonNull(
-          table.readText(DavisBaseColumnsTableColumn.IS_UNIQUE.getOrdinalPosition())));
-      }
+    final @Nullable ColumnSchema column = findColumn(tableName, columnName);
+    if (column == null) {
+      throw new IllegalStateException();
     }
-    throw new IllegalStateException();
+    return column.isUnique();
   }
 
 }
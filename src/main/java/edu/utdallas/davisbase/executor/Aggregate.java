@@ -0,0 +1,288 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.SelectCommandAggregate;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces a single {@link MaterializedRow} of the given aggregate
+ * functions computed over every row of its child.
+ * <p>
+ * As in SQL, null values are ignored, and over no (non-null) values {@code COUNT} is {@code 0} and
+ * every other function is null. {@code SUM} is a BIGINT over integral columns and a DOUBLE over
+ * floating-point columns, and {@code AVG} is always a DOUBLE.
+ */
+class Aggregate implements Operator {
+
+  private final Operator child;
+  private final List<SelectCommandAggregate> aggregates;
+
+  private boolean isDone = false;
+
+  /**
+   * @param child      the operator whose rows to aggregate (not null)
+   * @param aggregates the aggregate functions to produce, in order, where the
+   *                   {@link SelectCommandColumn#getIndex() index} of each argument addresses a
+   *                   value of the child's rows (not null, not empty, no element null)
+   */
+  Aggregate(Operator child, List<SelectCommandAggregate> aggregates) {
+    checkNotNull(child, "child");
+    checkNotNull(aggregates, "aggregates");
+    checkArgument(!aggregates.isEmpty(), "aggregates is empty");
+
+    this.child = child;
+    this.aggregates = unmodifiableList(new ArrayList<>(aggregates));
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    child.open();
+    isDone = false;
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    if (isDone) {
+      return null;
+    }
+    isDone = true;
+
+    final Accumulator accumulator = new Accumulator(aggregates);
+    @Nullable Row row;
+    while ((row = child.next()) != null) {
+      accumulator.accumulate(row);
+    }
+    return accumulator.toRow();
+  }
+
+  @Override
+  public void close() throws IOException {
+    child.close();
+  }
+
+  /**
+   * The running state of the given aggregate functions over some rows, which can be
+   * {@link #merge(Accumulator) merged} with the state over other rows, e.g. of another split of a
+   * {@link ParallelAggregate}.
+   */
+  static class Accumulator {
+
+    private final List<SelectCommandAggregate> aggregates;
+    private final long[] counts;
+    private final long[] longSums;
+    private final double[] doubleSums;
+    private final @Nullable Object[] extremes;
+
+    /**
+     * @param aggregates the aggregate functions to compute, in order (not null, not empty, no
+     *                   element null)
+     */
+    Accumulator(List<SelectCommandAggregate> aggregates) {
+      checkNotNull(aggregates, "aggregates");
+      checkArgument(!aggregates.isEmpty(), "aggregates is empty");
+
+      this.aggregates = aggregates;
+      this.counts = new long[aggregates.size()];
+      this.longSums = new long[aggregates.size()];
+      this.doubleSums = new double[aggregates.size()];
+      this.extremes = new Object[aggregates.size()];
+    }
+
+    /**
+     * @param row a row whose values to include, addressed by the
+     *            {@link SelectCommandColumn#getIndex() index} of each argument (not null)
+     */
+    void accumulate(Row row) throws StorageException, IOException {
+      assert row != null : "row should not be null";
+
+      for (int i = 0; i < aggregates.size(); i++) {
+        final SelectCommandAggregate aggregate = aggregates.get(i);
+        final @Nullable SelectCommandColumn argument = aggregate.getArgument();
+        if (argument == null) {
+          counts[i] += 1;  // COUNT(*)
+          continue;
+        }
+
+        final byte index = argument.getIndex();
+        if (row.isNull(index)) {
+          continue;
+        }
+        counts[i] += 1;
+
+        switch (aggregate.getFunction()) {
+          case COUNT:
+            break;
+
+          case MIN:
+          case MAX:
+            accumulateExtreme(i, row.readValue(index, argument.getDataType()));
+            break;
+
+          case SUM:
+          case AVG:
+            if (isIntegralDataType(argument.getDataType())) {
+              longSums[i] += getIntegral(row, index, argument.getDataType());
+            }
+            else {
+              doubleSums[i] += getFloatingPoint(row, index, argument.getDataType());
+            }
+            break;
+
+          default:
+            throw new NotImplementedException(format("Aggregate function %s", aggregate.getFunction()));
+        }
+      }
+    }
+
+    /**
+     * Includes the rows of {@code other}, which computes the same aggregate functions, as if they
+     * had been accumulated after the rows of this accumulator.
+     *
+     * @param other the accumulator whose state to include (not null)
+     */
+    void merge(Accumulator other) {
+      checkNotNull(other, "other");
+      checkArgument(aggregates.equals(other.aggregates), "other computes different aggregate functions");
+
+      for (int i = 0; i < aggregates.size(); i++) {
+        counts[i] += other.counts[i];
+        longSums[i] += other.longSums[i];
+        doubleSums[i] += other.doubleSums[i];
+        final @Nullable Object otherExtreme = other.extremes[i];
+        if (otherExtreme != null) {
+          accumulateExtreme(i, otherExtreme);
+        }
+      }
+    }
+
+    private void accumulateExtreme(int i, @Nullable Object value) {
+      final SelectCommandAggregate aggregate = aggregates.get(i);
+      final @Nullable SelectCommandColumn argument = aggregate.getArgument();
+      assert argument != null : "MIN and MAX should have an argument";
+
+      final @Nullable Object extreme = extremes[i];
+      if (extreme == null || isMoreExtreme(aggregate.getFunction(), argument.getDataType(), value, extreme)) {
+        extremes[i] = value;
+      }
+    }
+
+    /**
+     * @return the single row of the value of each aggregate function over every accumulated row
+     *         (not null)
+     */
+    MaterializedRow toRow() {
+      final int aggregateCount = aggregates.size();
+      final SelectResultDataRow.Builder dataRowBuilder = new SelectResultDataRow.Builder(aggregateCount);
+      for (int i = 0; i < aggregateCount; i++) {
+        final SelectCommandAggregate aggregate = aggregates.get(i);
+        final @Nullable SelectCommandColumn argument = aggregate.getArgument();
+        switch (aggregate.getFunction()) {
+          case COUNT:
+            dataRowBuilder.addBigInt(counts[i]);
+            break;
+
+          case MIN:
+          case MAX:
+            Project.addValue(dataRowBuilder, aggregate.getDataType(), extremes[i]);
+            break;
+
+          case SUM:
+            assert argument != null : "SUM should have an argument";
+            if (counts[i] == 0) {
+              Project.addValue(dataRowBuilder, aggregate.getDataType(), null);
+            }
+            else if (isIntegralDataType(argument.getDataType())) {
+              dataRowBuilder.addBigInt(longSums[i]);
+            }
+            else {
+              dataRowBuilder.addDouble(doubleSums[i]);
+            }
+            break;
+
+          case AVG:
+            assert argument != null : "AVG should have an argument";
+            if (counts[i] == 0) {
+              dataRowBuilder.addDouble(null);
+            }
+            else if (isIntegralDataType(argument.getDataType())) {
+              dataRowBuilder.addDouble((double) longSums[i] / counts[i]);
+            }
+            else {
+              dataRowBuilder.addDouble(doubleSums[i] / counts[i]);
+            }
+            break;
+
+          default:
+            throw new NotImplementedException(format("Aggregate function %s", aggregate.getFunction()));
+        }
+      }
+      return new MaterializedRow(dataRowBuilder.build());
+    }
+
+  }
+
+  private static boolean isMoreExtreme(SelectCommandAggregate.Function function, DataType dataType, @Nullable Object value, Object extreme) {
+    assert value != null : "value should not be null";
+
+    final int comparison = Filter.evaluateComparison(dataType, value, extreme);
+    return function == SelectCommandAggregate.Function.MIN ? comparison < 0 : comparison > 0;
+  }
+
+  private static boolean isIntegralDataType(DataType dataType) {
+    switch (dataType) {
+      case TINYINT:
+      case SMALLINT:
+      case INT:
+      case BIGINT:
+        return true;
+
+      default:
+        return false;
+    }
+  }
+
+  private static long getIntegral(Row row, byte index, DataType dataType) throws StorageException, IOException {
+    switch (dataType) {
+      case TINYINT:
+        return row.getTinyInt(index);
+
+      case SMALLINT:
+        return row.getSmallInt(index);
+
+      case INT:
+        return row.getInt(index);
+
+      case BIGINT:
+        return row.getBigInt(index);
+
+      default:
+        throw new NotImplementedException(format("Integral sum over DataType %s", dataType));
+    }
+  }
+
+  private static double getFloatingPoint(Row row, byte index, DataType dataType) throws StorageException, IOException {
+    switch (dataType) {
+      case FLOAT:
+        return row.getFloat(index);
+
+      case DOUBLE:
+        return row.getDouble(index);
+
+      default:
+        throw new NotImplementedException(format("Floating-point sum over DataType %s", dataType));
+    }
+  }
+
+}
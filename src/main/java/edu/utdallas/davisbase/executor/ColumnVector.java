@@ -0,0 +1,497 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.Arrays.fill;
+import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The values of one column for a batch of rows, held in a primitive array so that a predicate can be
+ * evaluated over the whole batch in a tight loop, without boxing.
+ * <p>
+ * TINYINT, SMALLINT and INT values are held in an {@code int[]}, BIGINT values in a {@code long[]},
+ * and FLOAT and DOUBLE values in a {@code double[]}, into which a FLOAT widens exactly. TEXT values
+ * are dictionary-encoded as an {@code int[]} of codes into the distinct values of the batch, so that
+ * a predicate is evaluated once per distinct value rather than once per row. Any other value is held
+ * as an object. Nulls are held in a bitmap of one bit per row.
+ */
+class ColumnVector {
+
+  private final DataType dataType;
+  private final long[] nulls;
+  private final int @Nullable [] ints;
+  private final long @Nullable [] longs;
+  private final double @Nullable [] doubles;
+  private final @Nullable Object @Nullable [] objects;
+  private final List<String> dictionary = new ArrayList<>();
+  private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+  /**
+   * @param dataType the {@link DataType} of the column (not null)
+   * @param capacity the most rows in a batch (positive)
+   */
+  ColumnVector(DataType dataType, int capacity) {
+    checkNotNull(dataType, "dataType");
+    checkArgument(0 < capacity, "capacity must be positive, but is %s", capacity);
+
+    this.dataType = dataType;
+    this.nulls = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    switch (dataType) {
+      case TINYINT:
+      case SMALLINT:
+      case INT:
+      case TEXT:
+        this.ints = new int[capacity];
+        this.longs = null;
+        this.doubles = null;
+        this.objects = null;
+        break;
+
+      case BIGINT:
+        this.ints = null;
+        this.longs = new long[capacity];
+        this.doubles = null;
+        this.objects = null;
+        break;
+
+      case FLOAT:
+      case DOUBLE:
+        this.ints = null;
+        this.longs = null;
+        this.doubles = new double[capacity];
+        this.objects = null;
+        break;
+
+      default:
+        this.ints = null;
+        this.longs = null;
+        this.doubles = null;
+        this.objects = new Object[capacity];
+        break;
+    }
+  }
+
+  /**
+   * Empties this vector for the next batch.
+   */
+  void clear() {
+    fill(nulls, 0L);
+    dictionary.clear();
+    dictionaryCodes.clear();
+  }
+
+  /**
+   * Reads the value of a column of the current row of a table file into this vector.
+   *
+   * @param tableFile   the table file, which points to a row (not null)
+   * @param columnIndex the index of the column in the table's schema
+   * @param position    the position of the row in the batch
+   */
+  void read(TableFile tableFile, int columnIndex, int position) throws StorageException, IOException {
+    if (tableFile.isNull(columnIndex)) {
+      nulls[position / Long.SIZE] |= 1L << position;
+      return;
+    }
+
+    switch (dataType) {
+      case TINYINT:
+        castNonNull(ints)[position] = tableFile.getTinyInt(columnIndex);
+        break;
+
+      case SMALLINT:
+        castNonNull(ints)[position] = tableFile.getSmallInt(columnIndex);
+        break;
+
+      case INT:
+        castNonNull(ints)[position] = tableFile.getInt(columnIndex);
+        break;
+
+      case BIGINT:
+        castNonNull(longs)[position] = tableFile.getBigInt(columnIndex);
+        break;
+
+      case FLOAT:
+        castNonNull(doubles)[position] = tableFile.getFloat(columnIndex);
+        break;
+
+      case DOUBLE:
+        castNonNull(doubles)[position] = tableFile.getDouble(columnIndex);
+        break;
+
+      case TEXT:
+        final String text = castNonNull(tableFile.readText(columnIndex));
+        @Nullable Integer code = dictionaryCodes.get(text);
+        if (code == null) {
+          code = dictionary.size();
+          dictionary.add(text);
+          dictionaryCodes.put(text, code);
+        }
+        castNonNull(ints)[position] = code;
+        break;
+
+      case YEAR:
+        castNonNull(objects)[position] = tableFile.readYear(columnIndex);
+        break;
+
+      case TIME:
+        castNonNull(objects)[position] = tableFile.readTime(columnIndex);
+        break;
+
+      case DATETIME:
+        castNonNull(objects)[position] = tableFile.readDateTime(columnIndex);
+        break;
+
+      case DATE:
+        castNonNull(objects)[position] = tableFile.readDate(columnIndex);
+        break;
+
+      default:
+        throw new NotImplementedException(format("A ColumnVector of DataType %s", dataType));
+    }
+  }
+
+  //region Read by position
+
+  boolean isNull(int position) {
+    return (nulls[position / Long.SIZE] & (1L << position)) != 0;
+  }
+
+  byte getTinyInt(int position) {
+    return (byte) castNonNull(ints)[position];
+  }
+
+  short getSmallInt(int position) {
+    return (short) castNonNull(ints)[position];
+  }
+
+  int getInt(int position) {
+    return castNonNull(ints)[position];
+  }
+
+  long getBigInt(int position) {
+    return castNonNull(longs)[position];
+  }
+
+  float getFloat(int position) {
+    return (float) castNonNull(doubles)[position];
+  }
+
+  double getDouble(int position) {
+    return castNonNull(doubles)[position];
+  }
+
+  /**
+   * @return the value at {@code position}, as an instance of the Java class of the
+   *         {@link DataType} of this vector, or null
+   */
+  @Nullable Object readValue(int position) {
+    if (isNull(position)) {
+      return null;
+    }
+    switch (dataType) {
+      case TINYINT:
+        return getTinyInt(position);
+
+      case SMALLINT:
+        return getSmallInt(position);
+
+      case INT:
+        return getInt(position);
+
+      case BIGINT:
+        return getBigInt(position);
+
+      case FLOAT:
+        return getFloat(position);
+
+      case DOUBLE:
+        return getDouble(position);
+
+      case TEXT:
+        return dictionary.get(castNonNull(ints)[position]);
+
+      default:
+        return castNonNull(objects)[position];
+    }
+  }
+
+  //endregion
+
+  //region Evaluate WHERE
+
+  /**
+   * Evaluates {@code <value> <operator> <literal>} for the first {@code rowCount} rows of this
+   * vector, where a null value never matches.
+   *
+   * @param operator the relational operator (not null)
+   * @param literal  the right-hand literal, of the Java class of the {@link DataType} of this vector
+   *                 (not null)
+   * @param rowCount the number of rows in the batch
+   * @param matches  receives, for each row, whether it matches (not null)
+   */
+  void evaluate(CommandWhere.Operator operator, Object literal, int rowCount, boolean[] matches) {
+    assert operator != null : "operator should not be null";
+    assert literal != null : "literal should not be null";
+
+    final IntPredicate accepts = RowPredicates.compileOperator(operator);
+    switch (dataType) {
+      case TINYINT:
+        evaluateInts(operator, (Byte) literal, castNonNull(ints), rowCount, matches);
+        break;
+
+      case SMALLINT:
+        evaluateInts(operator, (Short) literal, castNonNull(ints), rowCount, matches);
+        break;
+
+      case INT:
+        evaluateInts(operator, (Integer) literal, castNonNull(ints), rowCount, matches);
+        break;
+
+      case BIGINT:
+        evaluateLongs(operator, (Long) literal, castNonNull(longs), rowCount, matches);
+        break;
+
+      case FLOAT:
+        evaluateDoubles(operator, (Float) literal, castNonNull(doubles), rowCount, matches);
+        break;
+
+      case DOUBLE:
+        evaluateDoubles(operator, (Double) literal, castNonNull(doubles), rowCount, matches);
+        break;
+
+      case TEXT:
+        // Each distinct value is compared once, and then every row looks up the result of its code.
+        final boolean[] dictionaryMatches = new boolean[dictionary.size()];
+        for (int i = 0; i < dictionaryMatches.length; i++) {
+          dictionaryMatches[i] = accepts.test(Filter.evaluateComparison(dataType, dictionary.get(i), literal));
+        }
+        final int[] codes = castNonNull(ints);
+        for (int i = 0; i < rowCount; i++) {
+          matches[i] = !isNull(i) && dictionaryMatches[codes[i]];
+        }
+        return;
+
+      default:
+        final @Nullable Object[] values = castNonNull(objects);
+        for (int i = 0; i < rowCount; i++) {
+          final @Nullable Object value = values[i];
+          matches[i] = !isNull(i) && value != null && accepts.test(Filter.evaluateComparison(dataType, value, literal));
+        }
+        return;
+    }
+    clearNulls(rowCount, matches);
+  }
+
+  /**
+   * Evaluates {@code <value> <operator> <literal>} for only the rows at the given positions of this
+   * vector, e.g. the rows that are still undecided by the preceding operands of an AND or OR, where
+   * a null value never matches.
+   *
+   * @param operator      the relational operator (not null)
+   * @param literal       the right-hand literal, of the Java class of the {@link DataType} of this
+   *                      vector (not null)
+   * @param positions     the positions of the rows to evaluate (not null)
+   * @param positionCount the number of positions
+   * @param matches       receives, at each of the positions, whether its row matches (not null)
+   */
+  void evaluate(CommandWhere.Operator operator, Object literal, int[] positions, int positionCount, boolean[] matches) {
+    assert operator != null : "operator should not be null";
+    assert literal != null : "literal should not be null";
+
+    final IntPredicate accepts = RowPredicates.compileOperator(operator);
+    switch (dataType) {
+      case TINYINT:
+      case SMALLINT:
+      case INT:
+        final int[] intValues = castNonNull(ints);
+        final int intLiteral = ((Number) literal).intValue();
+        for (int i = 0; i < positionCount; i++) {
+          final int position = positions[i];
+          matches[position] = !isNull(position) && accepts.test(Integer.compare(intValues[position], intLiteral));
+        }
+        break;
+
+      case BIGINT:
+        final long[] longValues = castNonNull(longs);
+        final long longLiteral = (Long) literal;
+        for (int i = 0; i < positionCount; i++) {
+          final int position = positions[i];
+          matches[position] = !isNull(position) && accepts.test(Long.compare(longValues[position], longLiteral));
+        }
+        break;
+
+      case FLOAT:
+      case DOUBLE:
+        final double[] doubleValues = castNonNull(doubles);
+        final double doubleLiteral = ((Number) literal).doubleValue();
+        for (int i = 0; i < positionCount; i++) {
+          final int position = positions[i];
+          matches[position] = !isNull(position) && accepts.test(Double.compare(doubleValues[position], doubleLiteral));
+        }
+        break;
+
+      case TEXT:
+        // Each distinct value that is reached is compared once: 0 is not yet compared, 1 matches and
+        // 2 does not.
+        final byte[] dictionaryMatches = new byte[dictionary.size()];
+        final int[] codes = castNonNull(ints);
+        for (int i = 0; i < positionCount; i++) {
+          final int position = positions[i];
+          if (isNull(position)) {
+            matches[position] = false;
+            continue;
+          }
+          final int code = codes[position];
+          if (dictionaryMatches[code] == 0) {
+            dictionaryMatches[code] = accepts.test(Filter.evaluateComparison(dataType, dictionary.get(code), literal)) ? (byte) 1 : (byte) 2;
+          }
+          matches[position] = dictionaryMatches[code] == 1;
+        }
+        break;
+
+      default:
+        final @Nullable Object[] values = castNonNull(objects);
+        for (int i = 0; i < positionCount; i++) {
+          final int position = positions[i];
+          final @Nullable Object value = values[position];
+          matches[position] = !isNull(position) && value != null && accepts.test(Filter.evaluateComparison(dataType, value, literal));
+        }
+        break;
+    }
+  }
+
+  /**
+   * Clears the match of every null row, whose primitive slot holds a stale value.
+   */
+  private void clearNulls(int rowCount, boolean[] matches) {
+    for (int word = 0; word < nulls.length; word++) {
+      long bits = nulls[word];
+      while (bits != 0) {
+        final int position = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+        if (position < rowCount) {
+          matches[position] = false;
+        }
+        bits &= bits - 1;
+      }
+    }
+  }
+
+  /*
+   * Each of the following loops applies one operator to a primitive array, so the operator is
+   * dispatched once per batch, and the body of each loop is free of calls and branches.
+   */
+
+  private static void evaluateInts(CommandWhere.Operator operator, int literal, int[] values, int rowCount, boolean[] matches) {
+    switch (operator) {
+      case EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] == literal;
+        break;
+
+      case NOT_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] != literal;
+        break;
+
+      case GREATER_THAN:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] > literal;
+        break;
+
+      case GREATER_THAN_OR_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] >= literal;
+        break;
+
+      case LESS_THAN:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] < literal;
+        break;
+
+      case LESS_THAN_OR_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] <= literal;
+        break;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.ColumnVector#evaluateInts(Operator, int, int[], int, boolean[]) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  private static void evaluateLongs(CommandWhere.Operator operator, long literal, long[] values, int rowCount, boolean[] matches) {
+    switch (operator) {
+      case EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] == literal;
+        break;
+
+      case NOT_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] != literal;
+        break;
+
+      case GREATER_THAN:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] > literal;
+        break;
+
+      case GREATER_THAN_OR_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] >= literal;
+        break;
+
+      case LESS_THAN:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] < literal;
+        break;
+
+      case LESS_THAN_OR_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = values[i] <= literal;
+        break;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.ColumnVector#evaluateLongs(Operator, long, long[], int, boolean[]) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  /**
+   * Compares as {@link Double#compare(double, double)} does (and so as the row-at-a-time
+   * {@link Filter} does), under which NaN equals itself and {@code -0.0} is less than {@code 0.0}.
+   */
+  private static void evaluateDoubles(CommandWhere.Operator operator, double literal, double[] values, int rowCount, boolean[] matches) {
+    switch (operator) {
+      case EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = Double.compare(values[i], literal) == 0;
+        break;
+
+      case NOT_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = Double.compare(values[i], literal) != 0;
+        break;
+
+      case GREATER_THAN:
+        for (int i = 0; i < rowCount; i++) matches[i] = Double.compare(values[i], literal) > 0;
+        break;
+
+      case GREATER_THAN_OR_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = Double.compare(values[i], literal) >= 0;
+        break;
+
+      case LESS_THAN:
+        for (int i = 0; i < rowCount; i++) matches[i] = Double.compare(values[i], literal) < 0;
+        break;
+
+      case LESS_THAN_OR_EQUAL:
+        for (int i = 0; i < rowCount; i++) matches[i] = Double.compare(values[i], literal) <= 0;
+        break;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.ColumnVector#evaluateDoubles(Operator, double, double[], int, boolean[]) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  //endregion
+
+}
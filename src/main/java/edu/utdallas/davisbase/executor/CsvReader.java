@@ -0,0 +1,146 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming reader of delimiter-separated values as described by RFC 4180.
+ * <p>
+ * Fields may be enclosed in double quotes, in which case they may contain the delimiter, line
+ * breaks, and doubled double quotes. An empty field that is <i>not</i> quoted is read as null, whereas an empty
+ * quoted field ({@code ""}) is read as the empty string. Blank lines are skipped.
+ */
+class CsvReader implements Closeable {
+
+  private static final int END_OF_STREAM = -1;
+
+  private final Reader reader;
+  private final char delimiter;
+  private final char[] buffer = new char[8192];
+  private int bufferPosition = 0;
+  private int bufferLimit = 0;
+
+  private int lineNumber = 1;
+  private int recordLineNumber = 0;
+
+  private final StringBuilder field = new StringBuilder();
+
+  /**
+   * @param reader    the source of the values, which should be buffered by this reader rather than
+   *                  the caller (not null)
+   * @param delimiter the character separating the fields of a record, which may not be a double
+   *                  quote or a line break
+   */
+  CsvReader(Reader reader, char delimiter) {
+    checkNotNull(reader, "reader");
+    checkArgument(delimiter != '"' && delimiter != '\r' && delimiter != '\n',
+        "delimiter may not be a double quote or a line break");
+
+    this.reader = reader;
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * @return the fields of the next record in order, or null if there are no more records
+   * @throws IOException
+   * @throws ExecuteException if a quoted field is not terminated
+   */
+  @Nullable List<@Nullable String> readRecord() throws IOException, ExecuteException {
+    int c = read();
+    while (c == '\n' || c == '\r') {
+      c = read();
+    }
+    if (c == END_OF_STREAM) {
+      return null;
+    }
+    recordLineNumber = lineNumber;
+
+    final List<@Nullable String> fields = new ArrayList<>();
+    while (true) {
+      field.setLength(0);
+      boolean isQuoted = false;
+
+      if (c == '"') {
+        isQuoted = true;
+        while (true) {
+          c = read();
+          if (c == END_OF_STREAM) {
+            throw new ExecuteException(
+                "Unterminated quoted field in the record starting on line " + recordLineNumber + ".");
+          }
+          if (c == '"') {
+            c = read();
+            if (c != '"') {
+              break;
+            }
+          }
+          field.append((char) c);
+        }
+      }
+      while (c != delimiter && c != '\n' && c != '\r' && c != END_OF_STREAM) {
+        field.append((char) c);
+        c = read();
+      }
+
+      fields.add((field.length() == 0 && !isQuoted) ? null : field.toString());
+
+      if (c == delimiter) {
+        c = read();
+        continue;
+      }
+      if (c == '\r' && peek() == '\n') {
+        read();
+      }
+      return fields;
+    }
+  }
+
+  /**
+   * @return the one-based line number on which the record last returned by {@link #readRecord()}
+   *         starts
+   */
+  int getRecordLineNumber() {
+    return recordLineNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private int read() throws IOException {
+    if (bufferPosition >= bufferLimit && !fill()) {
+      return END_OF_STREAM;
+    }
+    final char c = buffer[bufferPosition++];
+    if (c == '\n') {
+      lineNumber += 1;
+    }
+    return c;
+  }
+
+  private int peek() throws IOException {
+    if (bufferPosition >= bufferLimit && !fill()) {
+      return END_OF_STREAM;
+    }
+    return buffer[bufferPosition];
+  }
+
+  private boolean fill() throws IOException {
+    final int count = reader.read(buffer, 0, buffer.length);
+    if (count <= 0) {
+      return false;
+    }
+    bufferPosition = 0;
+    bufferLimit = count;
+    return true;
+  }
+
+}
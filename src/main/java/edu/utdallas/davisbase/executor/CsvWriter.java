@@ -0,0 +1,99 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming writer of delimiter-separated values as described by RFC 4180, and the counterpart of
+ * {@link CsvReader}.
+ * <p>
+ * A null field is written empty and unquoted, whereas an empty string is written as {@code ""}. Any
+ * field containing the delimiter, a double quote, or a line break is enclosed in double quotes.
+ * Records are terminated by a line feed.
+ */
+class CsvWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Writer writer;
+  private final char delimiter;
+  private boolean isFirstFieldOfRecord = true;
+
+  /**
+   * @param writer    the destination of the values, which should be buffered by this writer rather
+   *                  than the caller (not null)
+   * @param delimiter the character separating the fields of a record, which may not be a double
+   *                  quote or a line break
+   */
+  CsvWriter(Writer writer, char delimiter) {
+    checkNotNull(writer, "writer");
+    checkArgument(delimiter != '"' && delimiter != '\r' && delimiter != '\n',
+        "delimiter may not be a double quote or a line break");
+
+    this.writer = new BufferedWriter(writer, BUFFER_SIZE);
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * Writes the next field of the current record.
+   *
+   * @param field the value of the field, or null for no value
+   * @throws IOException
+   */
+  void writeField(@Nullable String field) throws IOException {
+    if (!isFirstFieldOfRecord) {
+      writer.write(delimiter);
+    }
+    isFirstFieldOfRecord = false;
+
+    if (field == null) {
+      return;
+    }
+    if (!field.isEmpty() && !needsQuotes(field)) {
+      writer.write(field);
+      return;
+    }
+
+    writer.write('"');
+    for (int i = 0; i < field.length(); i++) {
+      final char c = field.charAt(i);
+      if (c == '"') {
+        writer.write('"');
+      }
+      writer.write(c);
+    }
+    writer.write('"');
+  }
+
+  /**
+   * Terminates the current record, so that the next field written starts a new one.
+   *
+   * @throws IOException
+   */
+  void endRecord() throws IOException {
+    writer.write('\n');
+    isFirstFieldOfRecord = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  private boolean needsQuotes(String field) {
+    for (int i = 0; i < field.length(); i++) {
+      final char c = field.charAt(i);
+      if (c == delimiter || c == '"' || c == '\r' || c == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
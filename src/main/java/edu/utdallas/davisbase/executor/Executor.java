@@ -4,18 +4,30 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static edu.utdallas.davisbase.DataType.INT;
 import static edu.utdallas.davisbase.DataType.TEXT;
 import static edu.utdallas.davisbase.DataType.TINYINT;
+import static edu.utdallas.davisbase.RowIdUtils.ROWID_COLUMN_INDEX;
+import static edu.utdallas.davisbase.TextUtils.TEXT_CHARSET;
 import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.toList;
 import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
 
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.ImmutableIntArray;
 import edu.utdallas.davisbase.BooleanUtils;
+import edu.utdallas.davisbase.DavisBaseException;
 import edu.utdallas.davisbase.PrimaryKeyUtils;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.catalog.Catalog.ColumnSchema;
+import edu.utdallas.davisbase.catalog.Catalog.TableSchema;
 import edu.utdallas.davisbase.catalog.CatalogTable;
 import edu.utdallas.davisbase.catalog.DavisBaseColumnsTableColumn;
 import edu.utdallas.davisbase.catalog.DavisBaseTablesTableColumn;
 import edu.utdallas.davisbase.command.Command;
 import edu.utdallas.davisbase.command.CommandWhere;
 import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.command.CopyFromCommand;
+import edu.utdallas.davisbase.command.CopyFromCommandColumn;
+import edu.utdallas.davisbase.command.CopyToCommand;
 import edu.utdallas.davisbase.command.CreateIndexCommand;
 import edu.utdallas.davisbase.command.CreateTableCommand;
 import edu.utdallas.davisbase.command.CreateTableCommandColumn;
@@ -24,12 +36,17 @@ import edu.utdallas.davisbase.command.DropTableCommand;
 import edu.utdallas.davisbase.command.ExitCommand;
 import edu.utdallas.davisbase.command.InsertCommand;
 import edu.utdallas.davisbase.command.SelectCommand;
+import edu.utdallas.davisbase.command.SelectCommandAggregate;
 import edu.utdallas.davisbase.command.SelectCommandColumn;
 import edu.utdallas.davisbase.command.ShowTablesCommand;
 import edu.utdallas.davisbase.command.UpdateCommand;
 import edu.utdallas.davisbase.command.UpdateCommandColumn;
 import edu.utdallas.davisbase.DataType;
 import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.UncheckedDavisBaseException;
+import edu.utdallas.davisbase.YearUtils;
+import edu.utdallas.davisbase.result.CopyFromResult;
+import edu.utdallas.davisbase.result.CopyToResult;
 import edu.utdallas.davisbase.result.CreateIndexResult;
 import edu.utdallas.davisbase.result.CreateTableResult;
 import edu.utdallas.davisbase.result.DeleteResult;
@@ -44,20 +61,37 @@ import edu.utdallas.davisbase.result.SelectResultSchema;
 import edu.utdallas.davisbase.result.SelectResultSchemaColumn;
 import edu.utdallas.davisbase.result.ShowTablesResult;
 import edu.utdallas.davisbase.result.UpdateResult;
+import edu.utdallas.davisbase.storage.IndexBuilder;
+import edu.utdallas.davisbase.storage.IndexFile;
+import edu.utdallas.davisbase.storage.RowAppender;
 import edu.utdallas.davisbase.storage.Storage;
 import edu.utdallas.davisbase.storage.StorageException;
 import edu.utdallas.davisbase.storage.TableFile;
 import edu.utdallas.davisbase.storage.TableRowBuilder;
 import edu.utdallas.davisbase.storage.TableRowWrite;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Year;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import org.checkerframework.checker.nullness.qual.NonNull;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -68,20 +102,56 @@ public class Executor {
 
   protected final ExecutorConfiguration configuration;
   protected final Storage context;
-
-  public Executor(ExecutorConfiguration configuration, Storage context) {
+  protected final Catalog catalog;
+
+  /**
+   * The pool in which the splits of a table are scanned in parallel, whose threads are only started
+   * once a scan needs them.
+   */
+  private final ForkJoinPool scanPool;
+
+  /**
+   * The cumulative cost of keeping each index in sync with the writes to its table, by index name.
+   */
+  private final Map<String, IndexMaintenanceCost> indexMaintenanceCosts = new HashMap<>();
+
+  /**
+   * @param configuration the configuration of this executor (not null)
+   * @param context       the storage of the tables (not null)
+   * @param catalog       the cache of the table schemas, which this executor keeps up to date with
+   *                      the DDL that it executes (not null)
+   */
+  public Executor(ExecutorConfiguration configuration, Storage context, Catalog catalog) {
     checkNotNull(configuration, "configuration");
     checkNotNull(context, "context");
+    checkNotNull(catalog, "catalog");
 
     this.configuration = configuration;
     this.context = context;
+    this.catalog = catalog;
+    this.scanPool = new ForkJoinPool(configuration.getScanParallelism());
+  }
+
+  /**
+   * @return an unmodifiable view of the cumulative cost of keeping each index in sync with the
+   *         writes to its table since this executor was created, by index name, of every index that
+   *         a write has changed (not null)
+   */
+  public Map<String, IndexMaintenanceCost> getIndexMaintenanceCosts() {
+    return unmodifiableMap(indexMaintenanceCosts);
   }
 
   public Result execute(Command command) throws ExecuteException, StorageException, IOException {
     checkNotNull(command, "command");
 
     Result result;
-    if (command instanceof CreateIndexCommand) {
+    if (command instanceof CopyFromCommand) {
+      result = executeCopyFrom((CopyFromCommand) command);
+    }
+    else if (command instanceof CopyToCommand) {
+      result = executeCopyTo((CopyToCommand) command);
+    }
+    else if (command instanceof CreateIndexCommand) {
       result = executeCreateIndex((CreateIndexCommand) command);
     }
     else if (command instanceof CreateTableCommand) {
@@ -114,12 +184,297 @@ public class Executor {
     return result;
   }
 
+  protected CopyFromResult executeCopyFrom(CopyFromCommand command) throws ExecuteException, StorageException, IOException {
+    assert command != null : "command should not be null";
+    assert context != null : "context should not be null";
+
+    final String tableName = command.getTableName();
+    final List<CopyFromCommandColumn> columns = command.getColumns();
+
+    // Index the existing values of every UNIQUE column once, rather than scanning the table again
+    // for every record.
+    final List<@Nullable Set<Object>> uniqueValuesByColumn = new ArrayList<>(columns.size());
+    final List<Byte> uniqueColumnIndexes = new ArrayList<>();
+    for (final CopyFromCommandColumn column : columns) {
+      uniqueValuesByColumn.add(column.isUnique() ? new HashSet<>() : null);
+      if (column.isUnique()) {
+        uniqueColumnIndexes.add(column.getIndex());
+      }
+    }
+    if (!uniqueColumnIndexes.isEmpty()) {
+      try (TableScan scan = new TableScan(context, tableName, Bytes.toArray(uniqueColumnIndexes))) {
+        scan.open();
+        @Nullable Row row;
+        while ((row = scan.next()) != null) {
+          for (int i = 0; i < columns.size(); i++) {
+            final @Nullable Set<Object> uniqueValues = uniqueValuesByColumn.get(i);
+            if (uniqueValues != null) {
+              final CopyFromCommandColumn column = columns.get(i);
+              final @Nullable Object value = row.readValue(column.getIndex(), column.getDataType());
+              if (value != null) {
+                uniqueValues.add(toUniqueKey(column.getDataType(), value));
+              }
+            }
+          }
+        }
+      }
+    }
+
+    // A table that has never had any rows is loaded bottom-up, rather than through the rightmost leaf
+    // page.
+    final boolean canBulkLoad;
+    try (TableFile tableFile = context.openTableFile(tableName)) {
+      canBulkLoad = tableFile.canBulkLoad();
+    }
+
+    final FileInputStream input;
+    try {
+      input = new FileInputStream(command.getFilePath());
+    }
+    catch (FileNotFoundException e) {
+      throw new ExecuteException(format("Cannot open the file '%s' to copy from.", command.getFilePath()), e);
+    }
+
+    int rowsCopied = 0;
+    try (CsvReader reader = new CsvReader(new InputStreamReader(input, TEXT_CHARSET), command.getDelimiter());
+         IndexMaintainer indexMaintainer = new IndexMaintainer(context, catalog.getTable(tableName), indexMaintenanceCosts);
+         @Nullable TableFile tableFile = canBulkLoad ? null : context.openTableFile(tableName);
+         RowAppender appender = (tableFile != null) ? tableFile.openAppender() : context.openBulkLoader(tableName)) {
+      if (command.hasHeader()) {
+        reader.readRecord();
+      }
+
+      @Nullable List<@Nullable String> record;
+      while ((record = reader.readRecord()) != null) {
+        if (record.size() != columns.size()) {
+          throw newCopyFromException(reader, rowsCopied,
+              format("Expected %d fields, but found %d.", columns.size(), record.size()));
+        }
+
+        final List<@Nullable Object> values = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+          final CopyFromCommandColumn column = columns.get(i);
+          final @Nullable Object value;
+          try {
+            value = parseCopyFromValue(column.getDataType(), record.get(i));
+          }
+          catch (IllegalArgumentException | DateTimeParseException e) {
+            throw newCopyFromException(reader, rowsCopied,
+                format("Invalid %s value for column '%s': '%s'.", column.getDataType().name(), column.getName(), record.get(i)));
+          }
+
+          if (value == null) {
+            if (!column.isNullable()) {
+              throw newCopyFromException(reader, rowsCopied,
+                  format("Column '%s' cannot be null.", column.getName()));
+            }
+          }
+          else {
+            final @Nullable Set<Object> uniqueValues = uniqueValuesByColumn.get(i);
+            if (uniqueValues != null && !uniqueValues.add(toUniqueKey(column.getDataType(), value))) {
+              throw newCopyFromException(reader, rowsCopied,
+                  format("Value %s already exists in UNIQUE column '%s'.", value, column.getName()));
+            }
+          }
+          values.add(value);
+        }
+
+        final int rowId = appender.appendRow(toTableRowBuilder(values));
+        indexMaintainer.insertRow(rowId, values);
+        rowsCopied += 1;
+      }
+    }
+
+    final CopyFromResult result = new CopyFromResult(tableName, rowsCopied);
+    return result;
+  }
+
+  /**
+   * @param dataType the {@link DataType} of the column
+   * @param field    the field of a CSV record, or null if it was empty and unquoted
+   * @return the value of the field, of the Java class of {@code dataType}, or null if {@code field}
+   *         is null
+   * @throws IllegalArgumentException if {@code field} is not a valid value of {@code dataType}
+   * @throws DateTimeParseException   if {@code field} is not a valid temporal value of
+   *                                  {@code dataType}
+   */
+  private static @Nullable Object parseCopyFromValue(DataType dataType, @Nullable String field) {
+    assert dataType != null : "dataType should not be null";
+
+    if (field == null) {
+      return null;
+    }
+
+    // Leading and trailing whitespace is significant only in TEXT values.
+    final String trimmed = field.trim();
+    switch (dataType) {
+      case TINYINT:
+        return Byte.parseByte(trimmed);
+
+      case SMALLINT:
+        return Short.parseShort(trimmed);
+
+      case INT:
+        return Integer.parseInt(trimmed);
+
+      case BIGINT:
+        return Long.parseLong(trimmed);
+
+      case FLOAT:
+        return Float.parseFloat(trimmed);
+
+      case DOUBLE:
+        return Double.parseDouble(trimmed);
+
+      case YEAR:
+        final int year = Integer.parseInt(trimmed);
+        if (year < YearUtils.YEAR_OFFSET + Byte.MIN_VALUE || YearUtils.YEAR_OFFSET + Byte.MAX_VALUE < year) {
+          throw new IllegalArgumentException(format("YEAR value %d is out of range.", year));
+        }
+        return Year.of(year);
+
+      case TIME:
+        return LocalTime.parse(trimmed);
+
+      case DATETIME:
+        return LocalDateTime.parse(trimmed.replace(' ', 'T'));
+
+      case DATE:
+        return LocalDate.parse(trimmed);
+
+      case TEXT:
+        return field;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.Executor#parseCopyFromValue(DataType, String) for DataType %s", dataType));
+    }
+  }
+
+  /**
+   * @return the value by which {@code value} is compared for the {@code UNIQUE} constraint, which
+   *         like the compiler's check, ignores the case of TEXT values
+   */
+  private static Object toUniqueKey(DataType dataType, Object value) {
+    return dataType == TEXT ? ((String) value).toLowerCase() : value;
+  }
+
+  private static ExecuteException newCopyFromException(CsvReader reader, int rowsCopied, String message) {
+    return new ExecuteException(
+        format("Line %d: %s %d rows were copied before this line.", reader.getRecordLineNumber(), message, rowsCopied));
+  }
+
+  protected CopyToResult executeCopyTo(CopyToCommand command) throws ExecuteException, StorageException, IOException {
+    assert command != null : "command should not be null";
+    assert context != null : "context should not be null";
+
+    final SelectCommand select = command.getSelect();
+    final String tableName = select.getTableName();
+    final SelectResultSchema schema = getSelectResultSchema(select);
+
+    final FileOutputStream output;
+    try {
+      output = new FileOutputStream(command.getFilePath());
+    }
+    catch (FileNotFoundException e) {
+      throw new ExecuteException(format("Cannot open the file '%s' to copy to.", command.getFilePath()), e);
+    }
+
+    // Each row goes straight from the plan to the file, rather than through a SelectResultData.
+    int rowsCopied = 0;
+    try (CsvWriter writer = new CsvWriter(new OutputStreamWriter(output, TEXT_CHARSET), command.getDelimiter());
+         Operator plan = planSelect(select)) {
+      if (command.hasHeader()) {
+        for (int i = 0; i < schema.size(); i++) {
+          writer.writeField(schema.getColumnName(i));
+        }
+        writer.endRecord();
+      }
+
+      plan.open();
+      @Nullable Row row;
+      while ((row = plan.next()) != null) {
+        for (int i = 0; i < schema.size(); i++) {
+          writer.writeField(formatCopyToValue(i, schema.getColumn(i).getDataType(), row));
+        }
+        writer.endRecord();
+        rowsCopied += 1;
+      }
+    }
+
+    final CopyToResult result = new CopyToResult(tableName, rowsCopied);
+    return result;
+  }
+
+  /**
+   * @return the value at {@code index} of the row as a field that
+   *         {@link #parseCopyFromValue(DataType, String)} reads back, or null if the value is null
+   */
+  private static @Nullable String formatCopyToValue(int index, DataType dataType, Row row) throws StorageException, IOException {
+    assert dataType != null : "dataType should not be null";
+    assert row != null : "row should not be null";
+
+    if (row.isNull(index)) {
+      return null;
+    }
+    switch (dataType) {
+      case TINYINT:
+        return Byte.toString(row.getTinyInt(index));
+
+      case SMALLINT:
+        return Short.toString(row.getSmallInt(index));
+
+      case INT:
+        return Integer.toString(row.getInt(index));
+
+      case BIGINT:
+        return Long.toString(row.getBigInt(index));
+
+      case FLOAT:
+        return Float.toString(row.getFloat(index));
+
+      case DOUBLE:
+        return Double.toString(row.getDouble(index));
+
+      default:
+        final @Nullable Object value = row.readValue(index, dataType);
+        return value == null ? null : value.toString();
+    }
+  }
+
   protected CreateIndexResult executeCreateIndex(CreateIndexCommand command) throws ExecuteException, StorageException, IOException {
     assert command != null : "command should not be null";
     assert context != null : "context should not be null";
 
     final String indexName = command.getIndexName();
-    context.createIndexFile(indexName);
+    final byte columnIndex = command.getColumnIndex();
+    final DataType dataType = command.getDataType();
+    context.createIndexFile(indexName, command.getTableName(), columnIndex);
+
+    // Scan the rowid and the indexed column once, and let the builder sort the entries and write the
+    // tree bottom-up, rather than inserting each entry by a descent from the root.
+    boolean isBuilt = false;
+    try {
+      try (IndexBuilder builder = context.openIndexBuilder(indexName, dataType);
+           TableScan scan = new TableScan(context, command.getTableName(), new byte[] { ROWID_COLUMN_INDEX, columnIndex })) {
+        scan.open();
+        @Nullable Row row;
+        while ((row = scan.next()) != null) {
+          builder.addEntry(row.readValue(columnIndex, dataType), row.getInt(ROWID_COLUMN_INDEX));
+        }
+      }
+      // Closing the builder sorts, merges and writes the entries, so the index is built only once the
+      // builder has been closed without error.
+      isBuilt = true;
+    }
+    finally {
+      // A partly built index must not be found by the catalog and used for lookups.
+      if (!isBuilt) {
+        context.deleteIndexFile(indexName);
+      }
+    }
+
+    // The column is now indexed, which the cached schemas do not yet know.
+    catalog.invalidate();
 
     final CreateIndexResult result = new CreateIndexResult(command.getTableName(), command.getColumnName());
     return result;
@@ -154,6 +509,9 @@ public class Executor {
     final String tableName = command.getTableName();
     context.createTableFile(tableName);
 
+    // Even if the catalog rows are only partly written, the cached schemas are stale from here on.
+    catalog.invalidate();
+
     try (final TableFile davisbaseTables = context.openTableFile(CatalogTable.DAVISBASE_TABLES.getName())) {
       final TableRowBuilder rowBuilder = new TableRowBuilder();
       rowBuilder.appendText(tableName);
@@ -202,13 +560,14 @@ public class Executor {
     final @Nullable CommandWhere where = command.getWhere();
 
     int rowsDeleted = 0;
-    try (final TableFile tableFile = context.openTableFile(tableName)) {
-      while (tableFile.goToNextRow()) {
-        if (where == null || evaluateWhere(where, tableFile)) {
-          tableFile.removeRow();
-
-          // TODO Implement support for indexing in Executor#executeDelete(DeleteCommand). I.e. delete
-          // entries from every index on table (if any) as well as from the table itself.
+    try (final IndexMaintainer indexMaintainer = new IndexMaintainer(context, catalog.getTable(tableName), indexMaintenanceCosts)) {
+      final TableScan scan = planWhereScan(tableName, where, indexMaintainer.getColumnIndexes());
+      try (final Operator plan = where == null ? scan : new Filter(scan, where)) {
+        plan.open();
+        @Nullable Row row;
+        while ((row = plan.next()) != null) {
+          indexMaintainer.deleteRow(row);
+          scan.removeCurrentRow();
 
           assert rowsDeleted < Integer.MAX_VALUE : format("Maximum number of rows have already been deleted (%d). Cannot delete any more rows without overflowing.", Integer.MAX_VALUE);
           rowsDeleted += 1;
@@ -226,10 +585,20 @@ public class Executor {
 
     final String commandTableName = command.getTableName();
 
-    // TODO Drop any indexes on the target table.
+    final @Nullable TableSchema table = catalog.getTable(commandTableName);
+    if (table != null) {
+      // The indexes are not recorded in the catalog tables, so deleting their files drops them.
+      for (final String indexName : table.getIndexNames()) {
+        context.deleteIndexFile(indexName);
+        indexMaintenanceCosts.remove(indexName);
+      }
+    }
 
     context.deleteTableFile(commandTableName);
 
+    // Even if the catalog rows are only partly removed, the cached schemas are stale from here on.
+    catalog.invalidate();
+
     try (final TableFile davisbaseTables = context.openTableFile(CatalogTable.DAVISBASE_TABLES.getName())) {
       while (davisbaseTables.goToNextRow()) {
 
@@ -265,8 +634,6 @@ public class Executor {
       }
     }
 
-    // TODO Delete the catalog rows corresponding to the indexes (if any) on the target table.
-
     final DropTableResult result = new DropTableResult(commandTableName);
     return result;
   }
@@ -282,8 +649,31 @@ public class Executor {
     assert command != null : "command should not be null";
     assert context != null : "context should not be null";
 
+    final List<List<@Nullable Object>> rows = command.getRows();
+    final List<TableRowBuilder> rowBuilders = new ArrayList<>(rows.size());
+    for (final List<@Nullable Object> values : rows) {
+      rowBuilders.add(toTableRowBuilder(values));
+    }
+
+    final String tableName = command.getTableName();
+    try (IndexMaintainer indexMaintainer = new IndexMaintainer(context, catalog.getTable(tableName), indexMaintenanceCosts);
+         TableFile tableFile = context.openTableFile(tableName);
+         TableFile.Appender appender = tableFile.openAppender()) {
+      for (int i = 0; i < rows.size(); i++) {
+        final int rowId = appender.appendRow(rowBuilders.get(i));
+        indexMaintainer.insertRow(rowId, rows.get(i));
+      }
+    }
+
+    final InsertResult result = new InsertResult(tableName, rowBuilders.size());
+    return result;
+  }
+
+  private static TableRowBuilder toTableRowBuilder(List<@Nullable Object> values) {
+    assert values != null : "values should not be null";
+
     final TableRowBuilder rowBuilder = new TableRowBuilder();
-    for (final @Nullable Object value : command.getValues()) {
+    for (final @Nullable Object value : values) {
       if (value == null) {
         rowBuilder.appendNull();
       }
@@ -324,128 +714,285 @@ public class Executor {
         throw new NotImplementedException(format("Insert value of Java class %s", value.getClass().getName()));
       }
     }
+    return rowBuilder;
+  }
 
-    final String tableName = command.getTableName();
-    try (TableFile tableFile = context.openTableFile(tableName)) {
-      tableFile.appendRow(rowBuilder);
+  protected SelectResult executeSelectCommand(SelectCommand command) throws ExecuteException, StorageException, IOException {
+    assert command != null : "command should not be null";
+    assert context != null : "context should not be null";
+
+    final SelectResultSchema schema = getSelectResultSchema(command);
+    final Operator plan = planSelect(command);
+    boolean isOpen = false;
+    try {
+      plan.open();
+      isOpen = true;
+    }
+    finally {
+      if (!isOpen) {
+        plan.close();
+      }
     }
 
-    final InsertResult result = new InsertResult(tableName, 1);
+    // The plan is pulled (and closed) by whoever reads the result, so that rows are produced only as
+    // they are written out.
+    final SelectResultData data = SelectResultData.ofStream(schema, new PlanIterator(plan), plan);
+    final SelectResult result = new SelectResult(schema, data);
     return result;
   }
 
-  protected SelectResult executeSelectCommand(SelectCommand command) throws ExecuteException, StorageException, IOException {
+  /**
+   * @return the schema of the rows of the plan of {@code command}
+   */
+  private static SelectResultSchema getSelectResultSchema(SelectCommand command) {
     assert command != null : "command should not be null";
-    assert context != null : "context should not be null";
 
-    final String tableName = command.getTableName();
-    final List<SelectCommandColumn> columns = command.getSelectClauseColumns();
-    final int columnCount = columns.size();
+    if (!command.getSelectClauseAggregates().isEmpty()) {
+      return new SelectResultSchema(
+          command.getSelectClauseAggregates().stream()
+                 .map(agg -> new SelectResultSchemaColumn(agg.getName(), agg.getDataType()))
+                 .collect(toList()));
+    }
+    return new SelectResultSchema(
+        command.getSelectClauseColumns().stream()
+               .map(col -> new SelectResultSchemaColumn(col.getName(), col.getDataType()))
+               .collect(toList()));
+  }
+
+  /**
+   * Compiles a {@link SelectCommand} to a plan of {@link Operator}s, which is not yet open, and whose
+   * rows are {@link MaterializedRow}s of the schema of {@link #getSelectResultSchema(SelectCommand)}.
+   */
+  private Operator planSelect(SelectCommand command) throws StorageException, IOException {
+    assert command != null : "command should not be null";
+
+    final List<SelectCommandColumn> scanColumns = getScanColumns(command);
+    final @Nullable ImmutableIntArray indexedRowIds = findIndexedRowIds(command.getTableName(), command.getWhere());
+    final ParallelScan.SplitPlanner scanPlanner = leafPageNos -> new VectorScan(
+        context,
+        command.getTableName(),
+        scanColumns,
+        command.getWhere(),
+        configuration.getSelectBatchRowCount(),
+        leafPageNos);
+
+    Operator plan;
+    if (indexedRowIds != null) {
+      plan = new Filter(
+          new IndexScan(
+              context,
+              command.getTableName(),
+              Bytes.toArray(scanColumns.stream().map(SelectCommandColumn::getIndex).collect(toList())),
+              indexedRowIds),
+          castNonNull(command.getWhere()));
+
+      if (!command.getSelectClauseAggregates().isEmpty()) {
+        plan = new Aggregate(plan, command.getSelectClauseAggregates());
+      }
+      else {
+        plan = new Project(plan, command.getSelectClauseColumns());
+      }
+    }
+    else if (configuration.getScanParallelism() <= 1) {
+      plan = new VectorScan(
+          context,
+          command.getTableName(),
+          scanColumns,
+          command.getWhere(),
+          configuration.getSelectBatchRowCount());
+
+      if (!command.getSelectClauseAggregates().isEmpty()) {
+        plan = new Aggregate(plan, command.getSelectClauseAggregates());
+      }
+      else {
+        plan = new Project(plan, command.getSelectClauseColumns());
+      }
+    }
+    else if (!command.getSelectClauseAggregates().isEmpty()) {
+      plan = new ParallelAggregate(
+          context,
+          command.getTableName(),
+          scanPlanner,
+          command.getSelectClauseAggregates(),
+          scanPool,
+          configuration.getScanSplitLeafPageCount());
+    }
+    else {
+      plan = new ParallelScan(
+          context,
+          command.getTableName(),
+          leafPageNos -> new Project(scanPlanner.plan(leafPageNos), command.getSelectClauseColumns()),
+          scanPool,
+          configuration.getScanSplitLeafPageCount());
+    }
+
+    if (!command.getOrderBy().isEmpty()) {
+      plan = new Sort(
+          plan,
+          command.getOrderBy(),
+          getSelectResultSchema(command),
+          configuration.getSelectResultMaxInMemoryRowCount(),
+          configuration.getSelectResultMaxInMemoryByteCount());
+    }
+
+    final @Nullable Long limit = command.getLimit();
+    if (limit != null) {
+      plan = new Limit(plan, limit);
+    }
+    return plan;
+  }
+
+  /**
+   * @return every column that the plan of {@code command} reads from its table, each once, which is
+   *         at least {@code rowId} so that a {@code COUNT(*)} has something to count
+   */
+  private static List<SelectCommandColumn> getScanColumns(SelectCommand command) {
+    assert command != null : "command should not be null";
+
+    final Map<Byte, SelectCommandColumn> columnsByIndex = new LinkedHashMap<>();
+    for (final SelectCommandColumn column : command.getSelectClauseColumns()) {
+      columnsByIndex.putIfAbsent(column.getIndex(), column);
+    }
+    for (final SelectCommandAggregate aggregate : command.getSelectClauseAggregates()) {
+      final @Nullable SelectCommandColumn argument = aggregate.getArgument();
+      if (argument != null) {
+        columnsByIndex.putIfAbsent(argument.getIndex(), argument);
+      }
+    }
     final @Nullable CommandWhere where = command.getWhere();
+    if (where != null) {
+      for (final CommandWhereColumn column : where.getColumnReferences()) {
+        columnsByIndex.putIfAbsent(column.getIndex(), new SelectCommandColumn(column.getIndex(), column.getName(), column.getDataType()));
+      }
+    }
+    if (columnsByIndex.isEmpty()) {
+      columnsByIndex.put((byte) 0, new SelectCommandColumn((byte) 0, "rowid", INT));
+    }
+    return new ArrayList<>(columnsByIndex.values());
+  }
 
-    final SelectResultData.Builder dataBuilder = new SelectResultData.Builder();
-    try (TableFile tableFile = context.openTableFile(tableName)) {
-      while (tableFile.goToNextRow()) {
-        if (where == null || evaluateWhere(where, tableFile)) {
-
-          final SelectResultDataRow.Builder dataRowBuilder = new SelectResultDataRow.Builder(columnCount);
-          for (SelectCommandColumn column : columns) {
-            final byte columnIndex = column.getIndex();
-
-            switch (column.getDataType()) {
-              case TINYINT:
-                final @Nullable Byte maybeTinyInt = tableFile.readTinyInt(columnIndex);
-                dataRowBuilder.addTinyInt(maybeTinyInt);
-                break;
-
-              case SMALLINT:
-                final @Nullable Short maybeSmallInt = tableFile.readSmallInt(columnIndex);
-                dataRowBuilder.addSmallInt(maybeSmallInt);
-                break;
-
-              case INT:
-                final @Nullable Integer maybeInt = tableFile.readInt(columnIndex);
-                dataRowBuilder.addInt(maybeInt);
-                break;
-
-              case BIGINT:
-                final @Nullable Long maybeBigInt = tableFile.readBigInt(columnIndex);
-                dataRowBuilder.addBigInt(maybeBigInt);
-                break;
-
-              case FLOAT:
-                final @Nullable Float maybeFloat = tableFile.readFloat(columnIndex);
-                dataRowBuilder.addFloat(maybeFloat);
-                break;
-
-              case DOUBLE:
-                final @Nullable Double maybeDouble = tableFile.readDouble(columnIndex);
-                dataRowBuilder.addDouble(maybeDouble);
-                break;
-
-              case YEAR:
-                final @Nullable Year maybeYear = tableFile.readYear(columnIndex);
-                dataRowBuilder.addYear(maybeYear);
-                break;
-
-              case TIME:
-                final @Nullable LocalTime maybeTime = tableFile.readTime(columnIndex);
-                dataRowBuilder.addTime(maybeTime);
-                break;
-
-              case DATETIME:
-                final @Nullable LocalDateTime maybeDateTime = tableFile.readDateTime(columnIndex);
-                dataRowBuilder.addDateTime(maybeDateTime);
-                break;
-
-              case DATE:
-                final @Nullable LocalDate maybeDate = tableFile.readDate(columnIndex);
-                dataRowBuilder.addDate(maybeDate);
-                break;
-
-              case TEXT:
-                final @Nullable String maybeText = tableFile.readText(columnIndex);
-                dataRowBuilder.addText(maybeText);
-                break;
-
-              default:
-                throw new NotImplementedException(format(
-                    "Execution of a SelectCommand over a SelectCommandColumn of DataType %s",
-                        column.getDataType()));
-            }
-          }
+  /**
+   * @param where                the condition by which a DELETE or UPDATE selects its rows, if any
+   *                             (nullable)
+   * @param indexedColumnIndexes the indexes of the indexed columns of the table (not null)
+   * @return the indexes of the only columns that the scan of the DELETE or UPDATE reads, which are
+   *         the rowid, every column of {@code where}, and every indexed column (not null, not empty)
+   */
+  private static byte[] getWhereScanColumnIndexes(@Nullable CommandWhere where, List<Byte> indexedColumnIndexes) {
+    final List<Byte> columnIndexes = new ArrayList<>();
+    columnIndexes.add((byte) 0);
+    if (where != null) {
+      for (final CommandWhereColumn column : where.getColumnReferences()) {
+        columnIndexes.add(column.getIndex());
+      }
+    }
+    columnIndexes.addAll(indexedColumnIndexes);
+    return Bytes.toArray(columnIndexes);
+  }
 
-          SelectResultDataRow dataRow = dataRowBuilder.build();
-          dataBuilder.writeRow(dataRow);
+  /**
+   * @param tableName            the name of the table of the DELETE or UPDATE (not null)
+   * @param where                the condition by which the DELETE or UPDATE selects its rows, if any
+   *                             (nullable)
+   * @param indexedColumnIndexes the indexes of the indexed columns of the table, whose old values the
+   *                             DELETE or UPDATE reads to maintain their indexes (not null)
+   * @return the scan of the rows that the DELETE or UPDATE may select, which is an {@link IndexScan}
+   *         if they can be found through an index (not null)
+   */
+  private TableScan planWhereScan(String tableName, @Nullable CommandWhere where, List<Byte> indexedColumnIndexes) throws StorageException, IOException {
+    final byte[] columnIndexes = getWhereScanColumnIndexes(where, indexedColumnIndexes);
+    final @Nullable ImmutableIntArray rowIds = findIndexedRowIds(tableName, where);
+    return (rowIds != null)
+        ? new IndexScan(context, tableName, columnIndexes, rowIds)
+        : new TableScan(context, tableName, columnIndexes);
+  }
+
+  /**
+   * Looks up the rows that {@code where} may select through an index, if {@code where} compares an
+   * indexed column with a literal by {@code =}, {@code <}, {@code <=}, {@code >} or {@code >=}, alone
+   * or in an AND with anything else. The rows must still be filtered by the whole of {@code where}.
+   *
+   * @param tableName the name of the table (not null)
+   * @param where     the condition by which rows are selected, if any (nullable)
+   * @return the rowIds of the only rows that {@code where} may select, in ascending order, or null if
+   *         they cannot be found through an index (in which case every row must be scanned)
+   * @see IndexLookup
+   */
+  private @Nullable ImmutableIntArray findIndexedRowIds(String tableName, @Nullable CommandWhere where) throws StorageException, IOException {
+    assert tableName != null : "tableName should not be null";
+
+    final @Nullable IndexLookup lookup = (where != null) ? IndexLookup.of(where) : null;
+    if (lookup == null) {
+      return null;
+    }
+    if (lookup.isEmpty()) {
+      return ImmutableIntArray.of();
+    }
+
+    final @Nullable TableSchema table = catalog.getTable(tableName);
+    final @Nullable ColumnSchema column = (table != null) ? table.getColumn(lookup.getColumn().getIndex()) : null;
+    final @Nullable String indexName = (column != null) ? column.getIndexName() : null;
+    if (indexName == null) {
+      return null;
+    }
+    try (final IndexFile index = context.openIndexFile(indexName)) {
+      return lookup.findRowIds(index);
+    }
+  }
+
+  /**
+   * An {@link Iterator} over the rows of an open plan, which pulls each row from the plan only as it
+   * is needed.
+   */
+  private static class PlanIterator implements Iterator<SelectResultDataRow> {
+
+    private final Operator plan;
+    private @Nullable SelectResultDataRow nextRow = null;
+    private boolean isExhausted = false;
+
+    PlanIterator(Operator plan) {
+      this.plan = plan;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextRow == null && !isExhausted) {
+        try {
+          final @Nullable Row row = plan.next();
+          if (row == null) {
+            isExhausted = true;
+          }
+          else {
+            nextRow = ((MaterializedRow) row).getDataRow();
+          }
+        }
+        catch (DavisBaseException e) {
+          throw new UncheckedDavisBaseException(e);
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
         }
       }
+      return nextRow != null;
+    }
+
+    @Override
+    public SelectResultDataRow next() {
+      final @Nullable SelectResultDataRow row = hasNext() ? nextRow : null;
+      if (row == null) {
+        throw new NoSuchElementException();
+      }
+      nextRow = null;
+      return row;
     }
 
-    final SelectResultData data = dataBuilder.build();
-    final SelectResultSchema schema = new SelectResultSchema(
-        columns.stream()
-               .map(col -> new SelectResultSchemaColumn(col.getName(), col.getDataType()))
-               .collect(toList()));
-    final SelectResult result = new SelectResult(schema, data);
-    return result;
   }
 
   protected ShowTablesResult executeShowTables(ShowTablesCommand command) throws ExecuteException, StorageException, IOException {
     assert command != null : "command should not be null";
     assert context != null : "context should not be null";
 
-    final String catalogTablesTableName = CatalogTable.DAVISBASE_TABLES.getName();
-    final byte catalogTablesTableTableNameColumnIndex = DavisBaseTablesTableColumn.TABLE_NAME.getOrdinalPosition();
-
-    final List<String> tableNames = new ArrayList<>();
-    try (TableFile tableFile = context.openTableFile(catalogTablesTableName)) {
-      while (tableFile.goToNextRow()) {
-        final @NonNull String tableName = castNonNull(
-            tableFile.readText(catalogTablesTableTableNameColumnIndex)
-        );
-        tableNames.add(tableName);
-      }
-    }
+    final List<String> tableNames = catalog.getTableNames();
 
     final ShowTablesResult result = new ShowTablesResult(tableNames);
     return result;
@@ -520,18 +1067,25 @@ public class Executor {
     final TableRowWrite rowWrite = builder.build();
 
     int rowsUpdated = 0;
-    try (final TableFile tableFile = context.openTableFile(tableName)) {
-      final int originalMaxRowId = tableFile.getCurrentMaxRowId();
-
-      while (tableFile.goToNextRow()) {
-        final int currentRowId = readRowId(tableFile);
-
-        if (currentRowId > originalMaxRowId) {
-          break;
-        }
+    try (final IndexMaintainer indexMaintainer = new IndexMaintainer(context, catalog.getTable(tableName), indexMaintenanceCosts)) {
+      final TableScan scan = planWhereScan(tableName, where, indexMaintainer.getColumnIndexes());
+      try (final Operator plan = where == null ? scan : new Filter(scan, where)) {
+        plan.open();
+        final int originalMaxRowId = scan.getCurrentMaxRowId();
+
+        @Nullable Row row;
+        while ((row = plan.next()) != null) {
+          final int currentRowId = row.getInt(0);
+
+          // A rewritten row that no longer fits in place is moved to the end of the table, where it
+          // must not be updated again.
+          if (currentRowId > originalMaxRowId) {
+            break;
+          }
 
-        if (where == null || evaluateWhere(where, tableFile)) {
-          tableFile.writeRow(rowWrite);
+          final @Nullable Object[] oldKeys = indexMaintainer.readKeys(row);
+          final int newRowId = scan.writeCurrentRow(rowWrite);
+          indexMaintainer.updateRow(currentRowId, oldKeys, newRowId, columns);
 
           assert rowsUpdated <= Integer.MAX_VALUE : "Cannot increment rowsUpdated further without overflowing.";
           rowsUpdated += 1;
@@ -543,207 +1097,4 @@ public class Executor {
     return result;
   }
 
-  private static @Nullable Object readValue(byte columnIndex, DataType dataType, TableFile tableFile) throws StorageException, IOException {
-    assert 0 <= columnIndex && columnIndex < Byte.MAX_VALUE : format("columnIndex %d should be in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    assert dataType != null : "dataType should not be null";
-    assert tableFile != null : "tableFile should not be null";
-
-    @Nullable Object value;
-    switch (dataType) {
-      case TINYINT:
-        value = tableFile.readTinyInt(columnIndex);
-        break;
-
-      case SMALLINT:
-        value = tableFile.readSmallInt(columnIndex);
-        break;
-
-      case INT:
-        value = tableFile.readInt(columnIndex);
-        break;
-
-      case BIGINT:
-        value = tableFile.readBigInt(columnIndex);
-        break;
-
-      case FLOAT:
-        value = tableFile.readFloat(columnIndex);
-        break;
-
-      case DOUBLE:
-        value = tableFile.readDouble(columnIndex);
-        break;
-
-      case YEAR:
-        value = tableFile.readYear(columnIndex);
-        break;
-
-      case TIME:
-        value = tableFile.readTime(columnIndex);
-        break;
-
-      case DATETIME:
-        value = tableFile.readDateTime(columnIndex);
-        break;
-
-      case DATE:
-        value = tableFile.readDate(columnIndex);
-        break;
-
-      case TEXT:
-        value = tableFile.readText(columnIndex);
-        break;
-
-      default:
-        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.Executor#readValue(byte, DataType, TableFile) for DataType %s", dataType));
-    }
-    return value;
-  }
-
-  private static int readRowId(TableFile tableFile) throws StorageException, IOException {
-    return (Integer) castNonNull(readValue((byte) 0, DataType.INT, tableFile));
-  }
-
-  private boolean evaluateWhere(CommandWhere where, TableFile tableFile) throws ExecuteException, StorageException, IOException {
-    assert where != null : "where should not be null";
-    assert !where.getLeftColumnReference().hasIndexFile() : "where.getLeftColumnReference().hasIndexFile() should be false";
-    assert tableFile != null : "tableFile should not be null";
-
-    final CommandWhereColumn leftColumn = where.getLeftColumnReference();
-    final byte leftColumnIndex = leftColumn.getIndex();
-    final DataType leftColumnDataType = leftColumn.getDataType();
-
-    final @Nullable Object leftValue = readValue(leftColumnIndex, leftColumnDataType, tableFile);
-    final @Nullable Object rightValue = where.getRightLiteralValue();
-
-    switch (where.getOperator()) {
-      case EQUAL:
-        return evaluateWhereEqual(leftColumnDataType, leftValue, rightValue);
-
-      case NOT_EQUAL:
-        return evaluateWhereNotEqual(leftColumnDataType, leftValue, rightValue);
-
-      case GREATER_THAN:
-        return evaluateWhereGreaterThan(leftColumnDataType, leftValue, rightValue);
-
-      case GREATER_THAN_OR_EQUAL:
-        return evaluateWhereGreaterThanOrEqual(leftColumnDataType, leftValue, rightValue);
-
-      case LESS_THAN:
-        return evaluateWhereLessThan(leftColumnDataType, leftValue, rightValue);
-
-      case LESS_THAN_OR_EQUAL:
-        return evaluateWhereLessThanOrEqual(leftColumnDataType, leftValue, rightValue);
-
-      default:
-        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.Executor#evaluateWhereTable(CommandWhere, TableFile) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", where.getOperator()));
-    }
-  }
-
-  private int evaluateComparison(DataType dataType, Object leftValue, Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-    assert leftValue != null : "leftValue should not be null";
-    assert rightValue != null : "rightValue should not be null";
-
-    switch (dataType) {
-      case TINYINT:
-        return ((Byte) leftValue).compareTo((Byte) rightValue);
-
-      case SMALLINT:
-        return ((Short) leftValue).compareTo((Short) rightValue);
-
-      case INT:
-        return ((Integer) leftValue).compareTo((Integer) rightValue);
-
-      case BIGINT:
-        return ((Long) leftValue).compareTo((Long) rightValue);
-
-      case FLOAT:
-        return ((Float) leftValue).compareTo((Float) rightValue);
-
-      case DOUBLE:
-        return ((Double) leftValue).compareTo((Double) rightValue);
-
-      case YEAR:
-        return ((Year) leftValue).compareTo((Year) rightValue);
-
-      case TIME:
-        return ((LocalTime) leftValue).compareTo((LocalTime) rightValue);
-
-      case DATETIME:
-        return ((LocalDateTime) leftValue).compareTo((LocalDateTime) rightValue);
-
-      case DATE:
-        return ((LocalDate) leftValue).compareTo((LocalDate) rightValue);
-
-      case TEXT:
-        return ((String) leftValue).compareTo((String) rightValue);
-
-      default:
-        throw new NotImplementedException(
-            format("edu.utdallas.davisbase.executor.Executor#evaluateComparison(DataType, Object, Object) for DataType %s",
-                dataType));
-    }
-  }
-
-  private boolean evaluateWhereEqual(DataType dataType, @Nullable Object leftValue, @Nullable Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-
-    if (leftValue == null || rightValue == null) {
-      return false;
-    }
-
-    return Objects.equals(leftValue, rightValue);
-  }
-
-  private boolean evaluateWhereNotEqual(DataType dataType, @Nullable Object leftValue, @Nullable Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-
-    if (leftValue == null || rightValue == null) {
-      return false;
-    }
-
-    return ! Objects.equals(leftValue, rightValue);
-  }
-
-  private boolean evaluateWhereGreaterThan(DataType dataType, @Nullable Object leftValue, @Nullable Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-
-    if (leftValue == null || rightValue == null) {
-      return false;
-    }
-
-    return evaluateComparison(dataType, leftValue, rightValue) > 0;
-  }
-
-  private boolean evaluateWhereGreaterThanOrEqual(DataType dataType, @Nullable Object leftValue, @Nullable Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-
-    if (leftValue == null || rightValue == null) {
-      return false;
-    }
-
-    return evaluateComparison(dataType, leftValue, rightValue) >= 0;
-  }
-
-  private boolean evaluateWhereLessThan(DataType dataType, @Nullable Object leftValue, @Nullable Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-
-    if (leftValue == null || rightValue == null) {
-      return false;
-    }
-
-    return evaluateComparison(dataType, leftValue, rightValue) < 0;
-  }
-
-  private boolean evaluateWhereLessThanOrEqual(DataType dataType, @Nullable Object leftValue, @Nullable Object rightValue) {
-    assert dataType != null : "dataType should not be null";
-
-    if (leftValue == null || rightValue == null) {
-      return false;
-    }
-
-    return evaluateComparison(dataType, leftValue, rightValue) <= 0;
-  }
-
 }
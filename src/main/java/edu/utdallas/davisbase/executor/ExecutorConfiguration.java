@@ -1,7 +1,177 @@
 package edu.utdallas.davisbase.executor;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 /**
  * Configuration for an {@link Executor}.
  */
 public class ExecutorConfiguration {
+
+  public static class Builder {
+
+    public static int getDefaultSelectResultMaxInMemoryRowCount() {
+      return 1024;
+    }
+
+    public static long getDefaultSelectResultMaxInMemoryByteCount() {
+      return 1024 * 1024;
+    }
+
+    public static int getDefaultSelectBatchRowCount() {
+      return 1024;
+    }
+
+    /**
+     * @return 1, i.e. tables are scanned serially unless parallel scans are enabled explicitly
+     */
+    public static int getDefaultScanParallelism() {
+      return 1;
+    }
+
+    public static int getDefaultScanSplitLeafPageCount() {
+      return 64;
+    }
+
+    private @Nullable Integer selectResultMaxInMemoryRowCount = null;
+    private @Nullable Long selectResultMaxInMemoryByteCount = null;
+    private @Nullable Integer selectBatchRowCount = null;
+    private @Nullable Integer scanParallelism = null;
+    private @Nullable Integer scanSplitLeafPageCount = null;
+
+    public Builder() {}
+
+    public void setSelectResultMaxInMemoryRowCount(int selectResultMaxInMemoryRowCount) {
+      checkArgument(0 <= selectResultMaxInMemoryRowCount,
+          String.format("Select result in-memory row count must be nonnegative, but was %d",
+              selectResultMaxInMemoryRowCount));
+
+      this.selectResultMaxInMemoryRowCount = selectResultMaxInMemoryRowCount;
+    }
+
+    public void setSelectResultMaxInMemoryByteCount(long selectResultMaxInMemoryByteCount) {
+      checkArgument(0 <= selectResultMaxInMemoryByteCount,
+          String.format("Select result in-memory byte count must be nonnegative, but was %d",
+              selectResultMaxInMemoryByteCount));
+
+      this.selectResultMaxInMemoryByteCount = selectResultMaxInMemoryByteCount;
+    }
+
+    public void setSelectBatchRowCount(int selectBatchRowCount) {
+      checkArgument(0 < selectBatchRowCount,
+          String.format("Select batch row count must be positive, but was %d",
+              selectBatchRowCount));
+
+      this.selectBatchRowCount = selectBatchRowCount;
+    }
+
+    public void setScanParallelism(int scanParallelism) {
+      checkArgument(0 < scanParallelism,
+          String.format("Scan parallelism must be positive, but was %d",
+              scanParallelism));
+
+      this.scanParallelism = scanParallelism;
+    }
+
+    public void setScanSplitLeafPageCount(int scanSplitLeafPageCount) {
+      checkArgument(0 < scanSplitLeafPageCount,
+          String.format("Scan split leaf page count must be positive, but was %d",
+              scanSplitLeafPageCount));
+
+      this.scanSplitLeafPageCount = scanSplitLeafPageCount;
+    }
+
+    public ExecutorConfiguration build() {
+      int selectResultMaxInMemoryRowCount = getDefaultSelectResultMaxInMemoryRowCount();
+      if (this.selectResultMaxInMemoryRowCount != null) {
+        selectResultMaxInMemoryRowCount = this.selectResultMaxInMemoryRowCount;
+      }
+
+      long selectResultMaxInMemoryByteCount = getDefaultSelectResultMaxInMemoryByteCount();
+      if (this.selectResultMaxInMemoryByteCount != null) {
+        selectResultMaxInMemoryByteCount = this.selectResultMaxInMemoryByteCount;
+      }
+
+      int selectBatchRowCount = getDefaultSelectBatchRowCount();
+      if (this.selectBatchRowCount != null) {
+        selectBatchRowCount = this.selectBatchRowCount;
+      }
+
+      int scanParallelism = getDefaultScanParallelism();
+      if (this.scanParallelism != null) {
+        scanParallelism = this.scanParallelism;
+      }
+
+      int scanSplitLeafPageCount = getDefaultScanSplitLeafPageCount();
+      if (this.scanSplitLeafPageCount != null) {
+        scanSplitLeafPageCount = this.scanSplitLeafPageCount;
+      }
+
+      return new ExecutorConfiguration(
+          selectResultMaxInMemoryRowCount,
+          selectResultMaxInMemoryByteCount,
+          selectBatchRowCount,
+          scanParallelism,
+          scanSplitLeafPageCount);
+    }
+  }
+
+  private final int selectResultMaxInMemoryRowCount;
+  private final long selectResultMaxInMemoryByteCount;
+  private final int selectBatchRowCount;
+  private final int scanParallelism;
+  private final int scanSplitLeafPageCount;
+
+  private ExecutorConfiguration(
+      int selectResultMaxInMemoryRowCount,
+      long selectResultMaxInMemoryByteCount,
+      int selectBatchRowCount,
+      int scanParallelism,
+      int scanSplitLeafPageCount
+  ) {
+    this.selectResultMaxInMemoryRowCount = selectResultMaxInMemoryRowCount;
+    this.selectResultMaxInMemoryByteCount = selectResultMaxInMemoryByteCount;
+    this.selectBatchRowCount = selectBatchRowCount;
+    this.scanParallelism = scanParallelism;
+    this.scanSplitLeafPageCount = scanSplitLeafPageCount;
+  }
+
+  /**
+   * @return the most rows of a SELECT result to hold in memory, e.g. to sort them, before spilling
+   *         them to a temporary file
+   */
+  public int getSelectResultMaxInMemoryRowCount() {
+    return selectResultMaxInMemoryRowCount;
+  }
+
+  /**
+   * @return the most bytes of rows of a SELECT result to hold in memory, e.g. to sort them, before
+   *         spilling them to a temporary file
+   */
+  public long getSelectResultMaxInMemoryByteCount() {
+    return selectResultMaxInMemoryByteCount;
+  }
+
+  /**
+   * @return the most rows that a SELECT reads from its table and filters as one batch
+   */
+  public int getSelectBatchRowCount() {
+    return selectBatchRowCount;
+  }
+
+  /**
+   * @return the most threads with which a SELECT scans the splits of its table at once, where 1
+   *         means that every table is scanned serially
+   */
+  public int getScanParallelism() {
+    return scanParallelism;
+  }
+
+  /**
+   * @return the most leaf pages in a split of a table that is scanned in parallel
+   */
+  public int getScanSplitLeafPageCount() {
+    return scanSplitLeafPageCount;
+  }
 }
@@ -0,0 +1,117 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces only the rows of its child that satisfy a compiled
+ * {@code WHERE} clause.
+ * <p>
+ * The rows are passed through unchanged, so a filter of a {@link TableScan} still produces views of
+ * the current row of the table file, and its {@link CommandWhere} addresses columns by table column
+ * index.
+ * <p>
+ * The {@code WHERE} clause is compiled once into a {@link RowPredicate} that is specialized to the
+ * type and operator of each comparison, whose AND and OR evaluate their operands in the order of
+ * {@link WhereOrdering}, and only until the outcome is decided.
+ */
+class Filter implements Operator {
+
+  private final Operator child;
+  private final RowPredicate predicate;
+
+  /**
+   * @param child the operator whose rows to filter (not null)
+   * @param where the condition that every produced row satisfies (not null)
+   */
+  Filter(Operator child, CommandWhere where) {
+    checkNotNull(child, "child");
+    checkNotNull(where, "where");
+
+    this.child = child;
+    this.predicate = RowPredicates.compile(WhereOrdering.order(where));
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    child.open();
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    @Nullable Row row;
+    while ((row = child.next()) != null) {
+      if (predicate.test(row)) {
+        return row;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    child.close();
+  }
+
+  //region Compare
+
+  static int evaluateComparison(DataType dataType, Object leftValue, Object rightValue) {
+    assert dataType != null : "dataType should not be null";
+    assert leftValue != null : "leftValue should not be null";
+    assert rightValue != null : "rightValue should not be null";
+
+    switch (dataType) {
+      case TINYINT:
+        return ((Byte) leftValue).compareTo((Byte) rightValue);
+
+      case SMALLINT:
+        return ((Short) leftValue).compareTo((Short) rightValue);
+
+      case INT:
+        return ((Integer) leftValue).compareTo((Integer) rightValue);
+
+      case BIGINT:
+        return ((Long) leftValue).compareTo((Long) rightValue);
+
+      case FLOAT:
+        return ((Float) leftValue).compareTo((Float) rightValue);
+
+      case DOUBLE:
+        return ((Double) leftValue).compareTo((Double) rightValue);
+
+      case YEAR:
+        return ((Year) leftValue).compareTo((Year) rightValue);
+
+      case TIME:
+        return ((LocalTime) leftValue).compareTo((LocalTime) rightValue);
+
+      case DATETIME:
+        return ((LocalDateTime) leftValue).compareTo((LocalDateTime) rightValue);
+
+      case DATE:
+        return ((LocalDate) leftValue).compareTo((LocalDate) rightValue);
+
+      case TEXT:
+        return ((String) leftValue).compareTo((String) rightValue);
+
+      default:
+        throw new NotImplementedException(
+            format("edu.utdallas.davisbase.executor.Filter#evaluateComparison(DataType, Object, Object) for DataType %s",
+                dataType));
+    }
+  }
+
+  //endregion
+
+}
@@ -0,0 +1,199 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import com.google.common.primitives.ImmutableIntArray;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.storage.IndexFile;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The range of values of one indexed column to which a {@code WHERE} clause restricts the rows that
+ * it selects, as found from its comparisons of that column with literals, so that the rows can be
+ * found through the column's index rather than by a scan of the whole table.
+ * <p>
+ * The rows that an index lookup finds must still be filtered by the whole {@code WHERE} clause.
+ */
+class IndexLookup {
+
+  private final CommandWhereColumn column;
+
+  private @Nullable Object lowerValue = null;
+  private boolean isLowerInclusive = false;
+  private @Nullable Object upperValue = null;
+  private boolean isUpperInclusive = false;
+  private boolean isEmpty = false;
+
+  private IndexLookup(CommandWhereColumn column) {
+    assert column != null : "column should not be null";
+
+    this.column = column;
+  }
+
+  /**
+   * Finds the lookup of an indexed column that {@code where} is, or that it is an AND of (among
+   * other conditions), preferring a column that is compared by {@code =}. Every comparison of the
+   * column by {@code =}, {@code <}, {@code <=}, {@code >} or {@code >=} narrows the range of the
+   * lookup.
+   *
+   * @param where the condition by which rows are selected (not null)
+   * @return the lookup, or null if no indexed column is compared in a way that an index can answer
+   */
+  static @Nullable IndexLookup of(CommandWhere where) {
+    checkNotNull(where, "where");
+
+    final List<CommandWhere> operands;
+    if (where.isComparison()) {
+      operands = singletonList(where);
+    }
+    else if (where.getLogicalOperator() == CommandWhere.LogicalOperator.AND) {
+      operands = where.getOperands();
+    }
+    else {
+      operands = emptyList();
+    }
+
+    @Nullable CommandWhereColumn column = null;
+    for (final CommandWhere operand : operands) {
+      if (operand.isComparison() &&
+          operand.getOperator() != CommandWhere.Operator.NOT_EQUAL &&
+          operand.getLeftColumnReference().hasIndexFile()) {
+        if (operand.getOperator() == CommandWhere.Operator.EQUAL) {
+          column = operand.getLeftColumnReference();
+          break;
+        }
+        if (column == null) {
+          column = operand.getLeftColumnReference();
+        }
+      }
+    }
+    if (column == null) {
+      return null;
+    }
+
+    final IndexLookup lookup = new IndexLookup(column);
+    for (final CommandWhere operand : operands) {
+      if (operand.isComparison() && operand.getLeftColumnReference().getIndex() == column.getIndex()) {
+        lookup.narrow(operand.getOperator(), operand.getRightLiteralValue());
+      }
+    }
+    return lookup;
+  }
+
+  /**
+   * @return the indexed column (not null)
+   */
+  CommandWhereColumn getColumn() {
+    return column;
+  }
+
+  /**
+   * @return whether the lookup is known to find no rows without reading the index, because it
+   *         compares the column with null
+   */
+  boolean isEmpty() {
+    return isEmpty;
+  }
+
+  /**
+   * @param index the index of the column (not null)
+   * @return the rowIds of the entries of the range, in ascending order without duplicates (not null)
+   * @throws IOException
+   */
+  ImmutableIntArray findRowIds(IndexFile index) throws IOException {
+    checkNotNull(index, "index");
+
+    if (isEmpty) {
+      return ImmutableIntArray.of();
+    }
+
+    final IndexFile.Cursor<?> cursor = index.openCursor(
+        column.getDataType(), lowerValue, isLowerInclusive, upperValue, isUpperInclusive);
+    int[] rowIds = new int[16];
+    int rowIdCount = 0;
+    boolean isSorted = true;
+    while (cursor.goToNextEntry()) {
+      if (rowIdCount == rowIds.length) {
+        rowIds = Arrays.copyOf(rowIds, rowIdCount * 2);
+      }
+      rowIds[rowIdCount] = cursor.getRowId();
+      isSorted = isSorted && (rowIdCount == 0 || rowIds[rowIdCount - 1] < rowIds[rowIdCount]);
+      rowIdCount += 1;
+    }
+
+    // The entries of a range of keys are in key order, so their rows are fetched in rowId order.
+    if (isSorted) {
+      return ImmutableIntArray.copyOf(Arrays.copyOf(rowIds, rowIdCount));
+    }
+    Arrays.sort(rowIds, 0, rowIdCount);
+    int distinctCount = 0;
+    for (int i = 0; i < rowIdCount; i++) {
+      if (distinctCount == 0 || rowIds[distinctCount - 1] != rowIds[i]) {
+        rowIds[distinctCount] = rowIds[i];
+        distinctCount += 1;
+      }
+    }
+    return ImmutableIntArray.copyOf(Arrays.copyOf(rowIds, distinctCount));
+  }
+
+  private void narrow(CommandWhere.Operator operator, @Nullable Object value) {
+    if (value == null) {
+      isEmpty = true;  // A comparison with null never matches.
+      return;
+    }
+    switch (operator) {
+      case EQUAL:
+        narrowLower(value, true);
+        narrowUpper(value, true);
+        break;
+      case GREATER_THAN:
+        narrowLower(value, false);
+        break;
+      case GREATER_THAN_OR_EQUAL:
+        narrowLower(value, true);
+        break;
+      case LESS_THAN:
+        narrowUpper(value, false);
+        break;
+      case LESS_THAN_OR_EQUAL:
+        narrowUpper(value, true);
+        break;
+      default:
+        break;  // Any other comparison is left to the filter.
+    }
+  }
+
+  private void narrowLower(Object value, boolean isInclusive) {
+    final @Nullable Object lowerValue = this.lowerValue;
+    final int comparison = (lowerValue != null) ? compare(value, lowerValue) : 1;
+    if (comparison > 0 || (comparison == 0 && !isInclusive)) {
+      this.lowerValue = value;
+      this.isLowerInclusive = isInclusive;
+    }
+  }
+
+  private void narrowUpper(Object value, boolean isInclusive) {
+    final @Nullable Object upperValue = this.upperValue;
+    final int comparison = (upperValue != null) ? compare(value, upperValue) : -1;
+    if (comparison < 0 || (comparison == 0 && !isInclusive)) {
+      this.upperValue = value;
+      this.isUpperInclusive = isInclusive;
+    }
+  }
+
+  /**
+   * Compares two literals of the column, which are instances of the Java class of its data type, in
+   * the same order as the keys of its index.
+   */
+  @SuppressWarnings("unchecked")
+  private static int compare(Object value1, Object value2) {
+    return ((Comparable<Object>) value1).compareTo(value2);
+  }
+
+}
@@ -0,0 +1,183 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static edu.utdallas.davisbase.RowIdUtils.ROWID_COLUMN_INDEX;
+
+import edu.utdallas.davisbase.catalog.Catalog.ColumnSchema;
+import edu.utdallas.davisbase.catalog.Catalog.TableSchema;
+import edu.utdallas.davisbase.command.UpdateCommandColumn;
+import edu.utdallas.davisbase.storage.IndexUpdater;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps every index of a table in sync with the rows that one statement writes to the table.
+ * <p>
+ * The entries of the written rows are collected into one {@link IndexUpdater} per index, and each
+ * index is updated in one batch when this maintainer is closed, after the statement has written its
+ * rows, whose cost is then added to the cost of the index. A table without indexes costs nothing.
+ */
+class IndexMaintainer implements Closeable {
+
+  private final List<String> indexNames = new ArrayList<>();
+  private final List<ColumnSchema> columns = new ArrayList<>();
+  private final List<IndexUpdater> updaters = new ArrayList<>();
+  private final Map<String, IndexMaintenanceCost> costs;
+
+  /**
+   * @param context the storage of the indexes (not null)
+   * @param table   the schema of the table, whose indexes to maintain, or null if it has none
+   * @param costs   the costs of the indexes, by index name, to which to add the cost of each batch
+   *                (not null)
+   * @throws IOException
+   */
+  IndexMaintainer(Storage context, @Nullable TableSchema table, Map<String, IndexMaintenanceCost> costs) throws IOException {
+    checkNotNull(context, "context");
+    checkNotNull(costs, "costs");
+
+    this.costs = costs;
+    if (table == null) {
+      return;
+    }
+    try {
+      for (final String indexName : table.getIndexNames()) {
+        final @Nullable ColumnSchema column = table.getIndexColumn(indexName);
+        if (column != null) {
+          updaters.add(context.openIndexUpdater(indexName, column.getDataType()));
+          indexNames.add(indexName);
+          columns.add(column);
+        }
+      }
+    }
+    catch (RuntimeException | IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the indexes of the indexed columns, which a scan of the rows to be deleted or updated
+   *         must read (not null)
+   */
+  List<Byte> getColumnIndexes() {
+    final List<Byte> columnIndexes = new ArrayList<>(columns.size());
+    for (final ColumnSchema column : columns) {
+      columnIndexes.add(column.getOrdinalPosition());
+    }
+    return columnIndexes;
+  }
+
+  /**
+   * @param rowId  the rowId of an inserted row
+   * @param values the values of the row, where the index of each value + 1 is the index of its
+   *               column (not null)
+   */
+  void insertRow(int rowId, List<@Nullable Object> values) {
+    assert values != null : "values should not be null";
+
+    for (int i = 0; i < updaters.size(); i++) {
+      updaters.get(i).insertEntry(values.get(columns.get(i).getOrdinalPosition() - 1), rowId);
+    }
+  }
+
+  /**
+   * @param row a row that is about to be deleted, which must be readable by the indexed columns (not
+   *            null)
+   */
+  void deleteRow(Row row) throws StorageException, IOException {
+    assert row != null : "row should not be null";
+
+    final int rowId = row.getInt(ROWID_COLUMN_INDEX);
+    for (int i = 0; i < updaters.size(); i++) {
+      updaters.get(i).deleteEntry(readKey(row, i), rowId);
+    }
+  }
+
+  /**
+   * @param row a row that is about to be updated, which must be readable by the indexed columns (not
+   *            null)
+   * @return the values of the indexed columns of the row before it is updated (not null)
+   */
+  @Nullable Object[] readKeys(Row row) throws StorageException, IOException {
+    assert row != null : "row should not be null";
+
+    final @Nullable Object[] keys = new Object[updaters.size()];
+    for (int i = 0; i < updaters.size(); i++) {
+      keys[i] = readKey(row, i);
+    }
+    return keys;
+  }
+
+  /**
+   * @param oldRowId     the rowId of an updated row before it was updated
+   * @param oldKeys      the values of the indexed columns of the row before it was updated, as read by
+   *                     {@link #readKeys(Row)} (not null)
+   * @param newRowId     the rowId of the row after it was updated, which differs from
+   *                     {@code oldRowId} if the row was moved
+   * @param writeColumns the columns written by the update (not null)
+   */
+  void updateRow(int oldRowId, @Nullable Object[] oldKeys, int newRowId, List<UpdateCommandColumn> writeColumns) {
+    assert oldKeys != null : "oldKeys should not be null";
+    assert writeColumns != null : "writeColumns should not be null";
+
+    for (int i = 0; i < updaters.size(); i++) {
+      final @Nullable Object oldKey = oldKeys[i];
+      @Nullable Object newKey = oldKey;
+      for (final UpdateCommandColumn writeColumn : writeColumns) {
+        if (writeColumn.getColumnIndex() == columns.get(i).getOrdinalPosition()) {
+          newKey = writeColumn.getValue();
+        }
+      }
+
+      if (oldRowId != newRowId || !Objects.equals(oldKey, newKey)) {
+        updaters.get(i).deleteEntry(oldKey, oldRowId);
+        updaters.get(i).insertEntry(newKey, newRowId);
+      }
+    }
+  }
+
+  private @Nullable Object readKey(Row row, int i) throws StorageException, IOException {
+    final ColumnSchema column = columns.get(i);
+    return row.readValue(column.getOrdinalPosition(), column.getDataType());
+  }
+
+  /**
+   * Applies the batch of changes to every index, and adds the cost of each batch to the cost of its
+   * index.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    @Nullable IOException exception = null;
+    for (int i = 0; i < updaters.size(); i++) {
+      final IndexUpdater updater = updaters.get(i);
+      try {
+        updater.close();
+        if (updater.getPageReadCount() > 0) {  // Only a batch with no changes reads no page.
+          costs.computeIfAbsent(indexNames.get(i), key -> new IndexMaintenanceCost()).add(updater);
+        }
+      }
+      catch (IOException e) {
+        if (exception == null) {
+          exception = e;
+        }
+        else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+    updaters.clear();
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+}
@@ -0,0 +1,96 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import edu.utdallas.davisbase.storage.IndexUpdater;
+
+/**
+ * The cumulative cost of keeping one index in sync with the writes to its table, by which to judge
+ * whether the index is worth keeping.
+ *
+ * @see Executor#getIndexMaintenanceCosts()
+ */
+public class IndexMaintenanceCost {
+
+  private int batchCount = 0;
+  private long insertedEntryCount = 0;
+  private long deletedEntryCount = 0;
+  private long pageReadCount = 0;
+  private long pageWriteCount = 0;
+  private long elapsedNanos = 0;
+
+  IndexMaintenanceCost() {
+  }
+
+  /**
+   * Adds the cost of one closed {@link IndexUpdater}.
+   *
+   * @param updater the updater that applied one statement's batch of changes (not null)
+   */
+  void add(IndexUpdater updater) {
+    checkNotNull(updater, "updater");
+
+    batchCount += 1;
+    insertedEntryCount += updater.getInsertedEntryCount();
+    deletedEntryCount += updater.getDeletedEntryCount();
+    pageReadCount += updater.getPageReadCount();
+    pageWriteCount += updater.getPageWriteCount();
+    elapsedNanos += updater.getElapsedNanos();
+  }
+
+  /**
+   * @return the number of statements whose changes were applied to the index, one batch each
+   */
+  public int getBatchCount() {
+    return batchCount;
+  }
+
+  /**
+   * @return the number of entries that were inserted into the index
+   */
+  public long getInsertedEntryCount() {
+    return insertedEntryCount;
+  }
+
+  /**
+   * @return the number of entries that were deleted from the index
+   */
+  public long getDeletedEntryCount() {
+    return deletedEntryCount;
+  }
+
+  /**
+   * @return the number of index pages that were read to apply the changes
+   */
+  public long getPageReadCount() {
+    return pageReadCount;
+  }
+
+  /**
+   * @return the number of index pages (or page headers) that were written to apply the changes
+   */
+  public long getPageWriteCount() {
+    return pageWriteCount;
+  }
+
+  /**
+   * @return the time in nanoseconds that was taken to apply the changes
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(IndexMaintenanceCost.class)
+        .add("batchCount", getBatchCount())
+        .add("insertedEntryCount", getInsertedEntryCount())
+        .add("deletedEntryCount", getDeletedEntryCount())
+        .add("pageReadCount", getPageReadCount())
+        .add("pageWriteCount", getPageWriteCount())
+        .add("elapsedNanos", getElapsedNanos())
+        .toString();
+  }
+
+}
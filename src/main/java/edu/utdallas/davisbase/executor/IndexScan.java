@@ -0,0 +1,63 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.primitives.ImmutableIntArray;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link TableScan} that produces only the rows of a table whose rowIds were found by an index
+ * lookup, in rowId order.
+ * <p>
+ * Each row is fetched by {@link TableFile#goToRow(int)}, which descends the table's B+tree only when
+ * the row is not on the leaf page of the row before it or on one of the few leaf pages after that, so
+ * that the cost of the scan grows with the number of rowIds rather than with the size of the table. A rowId whose row has been deleted since
+ * the index was read is skipped.
+ */
+class IndexScan extends TableScan {
+
+  private final ImmutableIntArray rowIds;
+
+  private int rowIdIndex = 0;
+
+  /**
+   * @param context       the storage from which to open the table (not null)
+   * @param tableName     the name of the table to scan (not null)
+   * @param columnIndexes the only columns that the produced rows are read by, or null to allow
+   *                      reading any column (nullable, not empty)
+   * @param rowIds        the rowIds of the rows to produce, in strictly ascending order (not null)
+   */
+  IndexScan(Storage context, String tableName, byte @Nullable [] columnIndexes, ImmutableIntArray rowIds) {
+    super(context, tableName, columnIndexes);
+    checkNotNull(rowIds, "rowIds");
+    for (int i = 1; i < rowIds.length(); i++) {
+      checkArgument(rowIds.get(i - 1) < rowIds.get(i), "rowIds must be in strictly ascending order");
+    }
+
+    this.rowIds = rowIds;
+  }
+
+  @Override
+  public void open() throws IOException {
+    super.open();
+    this.rowIdIndex = 0;
+  }
+
+  @Override
+  public @Nullable Row next() throws IOException {
+    final TableFile tableFile = getTableFile();
+    while (rowIdIndex < rowIds.length()) {
+      final int rowId = rowIds.get(rowIdIndex);
+      rowIdIndex += 1;
+      if (tableFile.goToRow(rowId)) {
+        return getRow();
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,56 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces at most the first given number of rows of its child, and then
+ * stops pulling from the child, so that e.g. a scan beneath it reads no further than it must.
+ */
+class Limit implements Operator {
+
+  private final Operator child;
+  private final long limit;
+  private long rowCount = 0;
+
+  /**
+   * @param child the operator whose rows to limit (not null)
+   * @param limit the most rows to produce (not negative)
+   */
+  Limit(Operator child, long limit) {
+    checkNotNull(child, "child");
+    checkArgument(0 <= limit, "limit must be nonnegative, but is %s", limit);
+
+    this.child = child;
+    this.limit = limit;
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    child.open();
+    rowCount = 0;
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    if (rowCount >= limit) {
+      return null;
+    }
+
+    final @Nullable Row row = child.next();
+    if (row != null) {
+      rowCount += 1;
+    }
+    return row;
+  }
+
+  @Override
+  public void close() throws IOException {
+    child.close();
+  }
+
+}
@@ -0,0 +1,73 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Row} whose values have been read out of storage into a {@link SelectResultDataRow}, and
+ * so remain valid after the operator that produced it moves on.
+ */
+class MaterializedRow implements Row {
+
+  private final SelectResultDataRow dataRow;
+
+  /**
+   * @param dataRow the values of the row, addressed by position (not null)
+   */
+  MaterializedRow(SelectResultDataRow dataRow) {
+    checkNotNull(dataRow, "dataRow");
+    this.dataRow = dataRow;
+  }
+
+  /**
+   * @return the values of this row (not null)
+   */
+  SelectResultDataRow getDataRow() {
+    return dataRow;
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return dataRow.get(index) == null;
+  }
+
+  @Override
+  public byte getTinyInt(int index) {
+    return castNonNull(dataRow.getTinyInt(index));
+  }
+
+  @Override
+  public short getSmallInt(int index) {
+    return castNonNull(dataRow.getSmallInt(index));
+  }
+
+  @Override
+  public int getInt(int index) {
+    return castNonNull(dataRow.getInt(index));
+  }
+
+  @Override
+  public long getBigInt(int index) {
+    return castNonNull(dataRow.getBigInt(index));
+  }
+
+  @Override
+  public float getFloat(int index) {
+    return castNonNull(dataRow.getFloat(index));
+  }
+
+  @Override
+  public double getDouble(int index) {
+    return castNonNull(dataRow.getDouble(index));
+  }
+
+  @Override
+  public @Nullable Object readValue(int index, DataType dataType) {
+    return dataRow.get(index);
+  }
+
+}
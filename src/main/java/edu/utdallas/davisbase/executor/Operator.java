@@ -0,0 +1,36 @@
+package edu.utdallas.davisbase.executor;
+
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.Closeable;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A pull-based ("Volcano") iterator over the rows of one node of a query plan.
+ * <p>
+ * An operator is {@link #open() opened} once, then {@link #next() pulled} a row at a time until it
+ * is exhausted, and then {@link #close() closed}. Each operator opens, pulls from, and closes its
+ * own children, so only the root of a plan is ever driven directly. Rows are produced on demand,
+ * so a plan without a {@link Sort} never holds more than one row in memory.
+ */
+interface Operator extends Closeable {
+
+  /**
+   * Acquires the resources of this operator and its children, e.g. opens table files.
+   */
+  void open() throws ExecuteException, StorageException, IOException;
+
+  /**
+   * @return the next row, which is only valid until the next call to this method, or null if there
+   *         are no more rows
+   */
+  @Nullable Row next() throws ExecuteException, StorageException, IOException;
+
+  /**
+   * Releases the resources of this operator and its children. Closing an operator that is not open
+   * has no effect.
+   */
+  @Override
+  void close() throws IOException;
+
+}
@@ -0,0 +1,177 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import com.google.common.primitives.ImmutableIntArray;
+import edu.utdallas.davisbase.DavisBaseException;
+import edu.utdallas.davisbase.UncheckedDavisBaseException;
+import edu.utdallas.davisbase.command.SelectCommandAggregate;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces the same single row as an {@link Aggregate} over a scan of a
+ * whole table, but that aggregates the splits of the table in parallel.
+ * <p>
+ * The splits are aggregated by a fork/join divide and conquer in a {@link ForkJoinPool}: each split
+ * is aggregated by its own plan into an {@link Aggregate.Accumulator}, and the accumulators of
+ * adjacent ranges of splits are merged in order.
+ *
+ * @see ParallelScan
+ */
+class ParallelAggregate implements Operator {
+
+  private final Storage context;
+  private final String tableName;
+  private final ParallelScan.SplitPlanner splitPlanner;
+  private final List<SelectCommandAggregate> aggregates;
+  private final ForkJoinPool pool;
+  private final int splitLeafPageCount;
+
+  private List<ImmutableIntArray> splits = emptyList();
+  private boolean isOpen = false;
+  private boolean isDone = false;
+
+  /**
+   * @param context            the storage from which to open the table (not null)
+   * @param tableName          the name of the table to aggregate (not null)
+   * @param splitPlanner       the planner of the scan of each split (not null)
+   * @param aggregates         the aggregate functions to produce, in order, where the
+   *                           {@link SelectCommandColumn#getIndex() index} of each argument
+   *                           addresses a value of the rows of the split plans (not null, not
+   *                           empty, no element null)
+   * @param pool               the pool in which to aggregate the splits (not null)
+   * @param splitLeafPageCount the most leaf pages in a split (positive)
+   */
+  ParallelAggregate(Storage context, String tableName, ParallelScan.SplitPlanner splitPlanner, List<SelectCommandAggregate> aggregates, ForkJoinPool pool, int splitLeafPageCount) {
+    checkNotNull(context, "context");
+    checkNotNull(tableName, "tableName");
+    checkNotNull(splitPlanner, "splitPlanner");
+    checkNotNull(aggregates, "aggregates");
+    checkArgument(!aggregates.isEmpty(), "aggregates is empty");
+    checkNotNull(pool, "pool");
+    checkArgument(0 < splitLeafPageCount, "splitLeafPageCount must be positive, but is %s", splitLeafPageCount);
+
+    this.context = context;
+    this.tableName = tableName;
+    this.splitPlanner = splitPlanner;
+    this.aggregates = unmodifiableList(new ArrayList<>(aggregates));
+    this.pool = pool;
+    this.splitLeafPageCount = splitLeafPageCount;
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    checkState(!isOpen, "This ParallelAggregate is already open.");
+
+    splits = ParallelScan.getSplits(context, tableName, splitLeafPageCount);
+    isOpen = true;
+    isDone = false;
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    checkState(isOpen, "This ParallelAggregate is not open.");
+
+    if (isDone) {
+      return null;
+    }
+    isDone = true;
+
+    if (splits.size() == 1) {
+      return aggregateSplit(splits.get(0)).toRow();
+    }
+    try {
+      return pool.invoke(new AggregateTask(0, splits.size())).toRow();
+    }
+    catch (RuntimeException e) {
+      throw ParallelScan.propagate(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    splits = emptyList();
+    isOpen = false;
+  }
+
+  private Aggregate.Accumulator aggregateSplit(ImmutableIntArray split) throws ExecuteException, StorageException, IOException {
+    final Aggregate.Accumulator accumulator = new Aggregate.Accumulator(aggregates);
+    final Operator plan = splitPlanner.plan(split);
+    try {
+      plan.open();
+      @Nullable Row row;
+      while ((row = plan.next()) != null) {
+        accumulator.accumulate(row);
+      }
+    }
+    finally {
+      plan.close();
+    }
+    return accumulator;
+  }
+
+  /**
+   * Aggregates the splits in {@code [fromIndex, toIndex)}, forking the aggregation of the left half
+   * of a range of more than one split.
+   */
+  private class AggregateTask extends RecursiveTask<Aggregate.Accumulator> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int fromIndex;
+    private final int toIndex;
+
+    AggregateTask(int fromIndex, int toIndex) {
+      assert fromIndex < toIndex : "fromIndex should be less than toIndex";
+
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override
+    protected Aggregate.Accumulator compute() {
+      if (toIndex - fromIndex == 1) {
+        try {
+          return aggregateSplit(splits.get(fromIndex));
+        }
+        catch (DavisBaseException e) {
+          throw new UncheckedDavisBaseException(e);
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      final int middleIndex = (fromIndex + toIndex) >>> 1;
+      final AggregateTask left = new AggregateTask(fromIndex, middleIndex);
+      left.fork();
+      final Aggregate.Accumulator right;
+      try {
+        right = new AggregateTask(middleIndex, toIndex).compute();
+      }
+      catch (RuntimeException e) {
+        // Still wait for the left half, so that no split reads the table after the plan fails.
+        left.quietlyJoin();
+        throw e;
+      }
+      final Aggregate.Accumulator accumulator = left.join();
+      accumulator.merge(right);
+      return accumulator;
+    }
+
+  }
+
+}
@@ -0,0 +1,229 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptyList;
+
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that scans a table in parallel: it partitions the leaf pages of the table
+ * into splits of consecutive leaf pages, runs a separate plan over each split in a
+ * {@link ForkJoinPool}, and produces the rows of every split in order, so in the same order as a
+ * plan over the whole table.
+ * <p>
+ * Each split plan opens its own {@link TableFile}, so the splits read their pages independently of
+ * each other. At most as many splits as the pool is parallel are run ahead of the split whose rows
+ * are being produced, and the rows of each split are held in memory until they are produced. A
+ * table of a single split is scanned by a single plan on the calling thread.
+ * <p>
+ * {@link #close()} does not return until every split that was submitted has stopped and closed its
+ * plan, so that no split still reads the table when the next statement writes to it.
+ */
+class ParallelScan implements Operator {
+
+  /**
+   * Plans the scan of one split of a table.
+   */
+  @FunctionalInterface
+  interface SplitPlanner {
+
+    /**
+     * @param leafPageNos the leaf pages of the split, in order (not null, not empty)
+     * @return a new plan, which is not yet open, over only the rows of the given leaf pages (not
+     *         null)
+     * @see TableFile#restrictToLeafPages(ImmutableIntArray)
+     */
+    Operator plan(ImmutableIntArray leafPageNos);
+
+  }
+
+  private final Storage context;
+  private final String tableName;
+  private final SplitPlanner splitPlanner;
+  private final ForkJoinPool pool;
+  private final int splitLeafPageCount;
+
+  private List<ImmutableIntArray> splits = emptyList();
+  private int nextSplitIndex = 0;
+  private final ArrayDeque<ForkJoinTask<List<Row>>> tasks = new ArrayDeque<>();
+  private Iterator<Row> rows = emptyIterator();
+  private @Nullable Operator inlinePlan = null;
+  private boolean isOpen = false;
+
+  /** Set by {@link #close()} to stop the splits that are still running or queued. */
+  private volatile boolean isCancelled = false;
+
+  /**
+   * @param context            the storage from which to open the table (not null)
+   * @param tableName          the name of the table to scan (not null)
+   * @param splitPlanner       the planner of the scan of each split, whose rows must remain valid
+   *                           after the plan moves on, e.g. {@link MaterializedRow}s (not null)
+   * @param pool               the pool in which to run the split plans (not null)
+   * @param splitLeafPageCount the most leaf pages in a split (positive)
+   */
+  ParallelScan(Storage context, String tableName, SplitPlanner splitPlanner, ForkJoinPool pool, int splitLeafPageCount) {
+    checkNotNull(context, "context");
+    checkNotNull(tableName, "tableName");
+    checkNotNull(splitPlanner, "splitPlanner");
+    checkNotNull(pool, "pool");
+    checkArgument(0 < splitLeafPageCount, "splitLeafPageCount must be positive, but is %s", splitLeafPageCount);
+
+    this.context = context;
+    this.tableName = tableName;
+    this.splitPlanner = splitPlanner;
+    this.pool = pool;
+    this.splitLeafPageCount = splitLeafPageCount;
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    checkState(!isOpen, "This ParallelScan is already open.");
+
+    splits = getSplits(context, tableName, splitLeafPageCount);
+    nextSplitIndex = 0;
+    rows = emptyIterator();
+    isCancelled = false;
+    isOpen = true;
+
+    if (splits.size() == 1) {
+      final Operator plan = splitPlanner.plan(splits.get(0));
+      inlinePlan = plan;
+      plan.open();
+      return;
+    }
+    while (tasks.size() < pool.getParallelism() && nextSplitIndex < splits.size()) {
+      submitNextSplit();
+    }
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    checkState(isOpen, "This ParallelScan is not open.");
+
+    final @Nullable Operator inlinePlan = this.inlinePlan;
+    if (inlinePlan != null) {
+      return inlinePlan.next();
+    }
+
+    while (!rows.hasNext()) {
+      final @Nullable ForkJoinTask<List<Row>> task = tasks.poll();
+      if (task == null) {
+        return null;
+      }
+      if (nextSplitIndex < splits.size()) {
+        submitNextSplit();
+      }
+
+      try {
+        rows = task.join().iterator();
+      }
+      catch (RuntimeException e) {
+        throw propagate(e);
+      }
+    }
+    return rows.next();
+  }
+
+  @Override
+  public void close() throws IOException {
+    // Cancelling a ForkJoinTask does not interrupt a split that is already running, so each split
+    // checks the flag instead, and each task is joined until its plan is closed.
+    isCancelled = true;
+    for (final ForkJoinTask<List<Row>> task : tasks) {
+      task.quietlyJoin();
+    }
+    tasks.clear();
+    rows = emptyIterator();
+    splits = emptyList();
+    isOpen = false;
+
+    final @Nullable Operator inlinePlan = this.inlinePlan;
+    this.inlinePlan = null;
+    if (inlinePlan != null) {
+      inlinePlan.close();
+    }
+  }
+
+  private void submitNextSplit() {
+    final Operator plan = splitPlanner.plan(splits.get(nextSplitIndex));
+    nextSplitIndex += 1;
+    tasks.add(pool.submit(() -> readSplit(plan)));
+  }
+
+  private List<Row> readSplit(Operator plan) throws ExecuteException, StorageException, IOException {
+    final List<Row> rows = new ArrayList<>();
+    if (isCancelled) {
+      return rows;
+    }
+    try {
+      plan.open();
+      @Nullable Row row;
+      while (!isCancelled && (row = plan.next()) != null) {
+        rows.add(row);
+      }
+    }
+    finally {
+      plan.close();
+    }
+    return rows;
+  }
+
+  /**
+   * @param context            the storage from which to open the table (not null)
+   * @param tableName          the name of the table to partition (not null)
+   * @param splitLeafPageCount the most leaf pages in a split (positive)
+   * @return the consecutive ranges of the leaf pages of the table, in rowid order (not null, not
+   *         empty)
+   */
+  static List<ImmutableIntArray> getSplits(Storage context, String tableName, int splitLeafPageCount) throws IOException {
+    assert context != null : "context should not be null";
+    assert tableName != null : "tableName should not be null";
+    assert 0 < splitLeafPageCount : "splitLeafPageCount should be positive";
+
+    final ImmutableIntArray leafPageNos;
+    try (final TableFile tableFile = context.openTableFile(tableName)) {
+      leafPageNos = tableFile.getLeafPageNos();
+    }
+
+    final List<ImmutableIntArray> splits = new ArrayList<>();
+    for (int i = 0; i < leafPageNos.length(); i += splitLeafPageCount) {
+      splits.add(leafPageNos.subArray(i, Math.min(i + splitLeafPageCount, leafPageNos.length())).trimmed());
+    }
+    return splits;
+  }
+
+  /**
+   * Rethrows the checked exception of a split, which a {@link ForkJoinTask} wraps in an unchecked
+   * exception, if any.
+   *
+   * @param thrown an exception thrown by joining a split task (not null)
+   * @return an exception to throw, if {@code thrown} is neither checked nor unchecked (not null)
+   */
+  static RuntimeException propagate(Throwable thrown) throws ExecuteException, StorageException, IOException {
+    for (@Nullable Throwable cause = thrown; cause != null; cause = cause.getCause()) {
+      throwIfInstanceOf(cause, ExecuteException.class);
+      throwIfInstanceOf(cause, StorageException.class);
+      throwIfInstanceOf(cause, IOException.class);
+    }
+    throwIfUnchecked(thrown);
+    return new UncheckedExecutionException(thrown);
+  }
+
+}
@@ -0,0 +1,125 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces, for each row of its child, a {@link MaterializedRow} of only
+ * the values of the given columns, in the given order.
+ */
+class Project implements Operator {
+
+  private final Operator child;
+  private final List<SelectCommandColumn> columns;
+
+  /**
+   * @param child   the operator whose rows to project (not null)
+   * @param columns the columns of the child's rows to produce, in order, where each
+   *                {@link SelectCommandColumn#getIndex() index} addresses a value of the child's
+   *                rows (not null, no element null)
+   */
+  Project(Operator child, List<SelectCommandColumn> columns) {
+    checkNotNull(child, "child");
+    checkNotNull(columns, "columns");
+
+    this.child = child;
+    this.columns = unmodifiableList(new ArrayList<>(columns));
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    child.open();
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    final @Nullable Row row = child.next();
+    if (row == null) {
+      return null;
+    }
+
+    final SelectResultDataRow.Builder dataRowBuilder = new SelectResultDataRow.Builder(columns.size());
+    for (SelectCommandColumn column : columns) {
+      final byte columnIndex = column.getIndex();
+      final @Nullable Object value = row.readValue(columnIndex, column.getDataType());
+
+      addValue(dataRowBuilder, column.getDataType(), value);
+    }
+    return new MaterializedRow(dataRowBuilder.build());
+  }
+
+  @Override
+  public void close() throws IOException {
+    child.close();
+  }
+
+  /**
+   * Adds a value of the given {@link DataType} to a row being built.
+   */
+  static void addValue(SelectResultDataRow.Builder dataRowBuilder, DataType dataType, @Nullable Object value) {
+    switch (dataType) {
+      case TINYINT:
+        dataRowBuilder.addTinyInt((Byte) value);
+        break;
+
+      case SMALLINT:
+        dataRowBuilder.addSmallInt((Short) value);
+        break;
+
+      case INT:
+        dataRowBuilder.addInt((Integer) value);
+        break;
+
+      case BIGINT:
+        dataRowBuilder.addBigInt((Long) value);
+        break;
+
+      case FLOAT:
+        dataRowBuilder.addFloat((Float) value);
+        break;
+
+      case DOUBLE:
+        dataRowBuilder.addDouble((Double) value);
+        break;
+
+      case YEAR:
+        dataRowBuilder.addYear((Year) value);
+        break;
+
+      case TIME:
+        dataRowBuilder.addTime((LocalTime) value);
+        break;
+
+      case DATETIME:
+        dataRowBuilder.addDateTime((LocalDateTime) value);
+        break;
+
+      case DATE:
+        dataRowBuilder.addDate((LocalDate) value);
+        break;
+
+      case TEXT:
+        dataRowBuilder.addText((String) value);
+        break;
+
+      default:
+        throw new NotImplementedException(format("Projection of a value of DataType %s", dataType));
+    }
+  }
+
+}
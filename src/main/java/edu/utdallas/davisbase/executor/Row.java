@@ -0,0 +1,43 @@
+package edu.utdallas.davisbase.executor;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A row produced by an {@link Operator}, which is only valid until the next call to
+ * {@link Operator#next()} on the operator that produced it.
+ * <p>
+ * The values of a row produced by a {@link TableScan}, an {@link IndexScan} (or a {@link Filter}
+ * of either) or a {@link VectorScan} are addressed by the index of their column in the table's
+ * schema, where {@code rowId} is always {@code 0}. The values of any other row are addressed by
+ * their position in the row.
+ * <p>
+ * The primitive getters must not be called for a value that is null, which can be checked with
+ * {@link #isNull(int)}.
+ */
+interface Row {
+
+  boolean isNull(int index) throws StorageException, IOException;
+
+  byte getTinyInt(int index) throws StorageException, IOException;
+
+  short getSmallInt(int index) throws StorageException, IOException;
+
+  int getInt(int index) throws StorageException, IOException;
+
+  long getBigInt(int index) throws StorageException, IOException;
+
+  float getFloat(int index) throws StorageException, IOException;
+
+  double getDouble(int index) throws StorageException, IOException;
+
+  /**
+   * @param index    the index of the value
+   * @param dataType the {@link DataType} of the value (not null)
+   * @return the value, as an instance of the Java class of {@code dataType}, or null
+   */
+  @Nullable Object readValue(int index, DataType dataType) throws StorageException, IOException;
+
+}
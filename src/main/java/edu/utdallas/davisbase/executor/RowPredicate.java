@@ -0,0 +1,20 @@
+package edu.utdallas.davisbase.executor;
+
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+
+/**
+ * A compiled {@code WHERE} clause, which tests a {@link Row} directly on its primitive values.
+ *
+ * @see RowPredicates#compile(edu.utdallas.davisbase.command.CommandWhere)
+ */
+@FunctionalInterface
+interface RowPredicate {
+
+  /**
+   * @param row the row to test, addressed by table column index (not null)
+   * @return whether the row satisfies this predicate, where a comparison with null never does
+   */
+  boolean test(Row row) throws StorageException, IOException;
+
+}
@@ -0,0 +1,245 @@
+package edu.utdallas.davisbase.executor;
+
+import static java.lang.String.format;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.CommandWhere;
+import java.util.List;
+import java.util.function.IntPredicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Static method utilities for compiling a {@link CommandWhere} into a {@link RowPredicate}.
+ * <p>
+ * Each comparison is compiled into a separate predicate class per column type and operator, which
+ * holds its literal as a primitive (e.g. an {@code int} for an INT column compared with
+ * {@code >}), so that testing a row is one monomorphic call that reads and compares a primitive,
+ * without dispatching on the operator or the type and without boxing.
+ */
+class RowPredicates {
+
+  private RowPredicates() {
+    throw new IllegalStateException(
+        format("%s may not be instantiated.",
+            RowPredicates.class.getName()));
+  }
+
+  /**
+   * @param where the compiled {@code WHERE} clause, whose operands of every AND and OR are in the
+   *              order in which to evaluate them (not null)
+   * @return a predicate that is satisfied by exactly the rows that satisfy {@code where}, and that
+   *         evaluates the operands of every AND and OR in order, only until the outcome is decided
+   *         (not null)
+   * @see WhereOrdering#order(CommandWhere)
+   */
+  static RowPredicate compile(CommandWhere where) {
+    assert where != null : "where should not be null";
+
+    if (!where.isComparison()) {
+      return compileLogicalOperator(where.getLogicalOperator(), where.getOperands());
+    }
+
+    final @Nullable Object literal = where.getRightLiteralValue();
+    if (literal == null) {
+      return row -> false;  // A comparison with null never matches.
+    }
+
+    final byte index = where.getLeftColumnReference().getIndex();
+    final DataType dataType = where.getLeftColumnReference().getDataType();
+    final CommandWhere.Operator operator = where.getOperator();
+    switch (dataType) {
+      case TINYINT:
+        return compileTinyInt(index, operator, (Byte) literal);
+
+      case SMALLINT:
+        return compileSmallInt(index, operator, (Short) literal);
+
+      case INT:
+        return compileInt(index, operator, (Integer) literal);
+
+      case BIGINT:
+        return compileBigInt(index, operator, (Long) literal);
+
+      case FLOAT:
+        return compileFloat(index, operator, (Float) literal);
+
+      case DOUBLE:
+        return compileDouble(index, operator, (Double) literal);
+
+      default:
+        return compileObject(index, dataType, operator, literal);
+    }
+  }
+
+  /**
+   * @param operator a relational operator (not null)
+   * @return a predicate that is satisfied by the result of a {@code compare(value, literal)} for
+   *         which {@code value <operator> literal} holds (not null)
+   */
+  static IntPredicate compileOperator(CommandWhere.Operator operator) {
+    assert operator != null : "operator should not be null";
+
+    switch (operator) {
+      case EQUAL:
+        return comparison -> comparison == 0;
+
+      case NOT_EQUAL:
+        return comparison -> comparison != 0;
+
+      case GREATER_THAN:
+        return comparison -> comparison > 0;
+
+      case GREATER_THAN_OR_EQUAL:
+        return comparison -> comparison >= 0;
+
+      case LESS_THAN:
+        return comparison -> comparison < 0;
+
+      case LESS_THAN_OR_EQUAL:
+        return comparison -> comparison <= 0;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileOperator(Operator) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  private static RowPredicate compileLogicalOperator(CommandWhere.LogicalOperator logicalOperator, List<CommandWhere> operands) {
+    final RowPredicate[] predicates = new RowPredicate[operands.size()];
+    for (int i = 0; i < predicates.length; i++) {
+      predicates[i] = compile(operands.get(i));
+    }
+
+    switch (logicalOperator) {
+      case AND:
+        return row -> {
+          for (final RowPredicate predicate : predicates) {
+            if (!predicate.test(row)) {
+              return false;
+            }
+          }
+          return true;
+        };
+
+      case OR:
+        return row -> {
+          for (final RowPredicate predicate : predicates) {
+            if (predicate.test(row)) {
+              return true;
+            }
+          }
+          return false;
+        };
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileLogicalOperator(LogicalOperator, List) for type edu.utdallas.davisbase.command.CommandWhere.LogicalOperator#%s", logicalOperator));
+    }
+  }
+
+  /*
+   * Each of the following lambdas is a separate class, specialized to one column type and one
+   * operator, that captures its literal as a primitive.
+   */
+
+  private static RowPredicate compileTinyInt(byte index, CommandWhere.Operator operator, byte literal) {
+    switch (operator) {
+      case EQUAL:                 return row -> !row.isNull(index) && row.getTinyInt(index) == literal;
+      case NOT_EQUAL:             return row -> !row.isNull(index) && row.getTinyInt(index) != literal;
+      case GREATER_THAN:          return row -> !row.isNull(index) && row.getTinyInt(index) > literal;
+      case GREATER_THAN_OR_EQUAL: return row -> !row.isNull(index) && row.getTinyInt(index) >= literal;
+      case LESS_THAN:             return row -> !row.isNull(index) && row.getTinyInt(index) < literal;
+      case LESS_THAN_OR_EQUAL:    return row -> !row.isNull(index) && row.getTinyInt(index) <= literal;
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileTinyInt(byte, Operator, byte) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  private static RowPredicate compileSmallInt(byte index, CommandWhere.Operator operator, short literal) {
+    switch (operator) {
+      case EQUAL:                 return row -> !row.isNull(index) && row.getSmallInt(index) == literal;
+      case NOT_EQUAL:             return row -> !row.isNull(index) && row.getSmallInt(index) != literal;
+      case GREATER_THAN:          return row -> !row.isNull(index) && row.getSmallInt(index) > literal;
+      case GREATER_THAN_OR_EQUAL: return row -> !row.isNull(index) && row.getSmallInt(index) >= literal;
+      case LESS_THAN:             return row -> !row.isNull(index) && row.getSmallInt(index) < literal;
+      case LESS_THAN_OR_EQUAL:    return row -> !row.isNull(index) && row.getSmallInt(index) <= literal;
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileSmallInt(byte, Operator, short) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  private static RowPredicate compileInt(byte index, CommandWhere.Operator operator, int literal) {
+    switch (operator) {
+      case EQUAL:                 return row -> !row.isNull(index) && row.getInt(index) == literal;
+      case NOT_EQUAL:             return row -> !row.isNull(index) && row.getInt(index) != literal;
+      case GREATER_THAN:          return row -> !row.isNull(index) && row.getInt(index) > literal;
+      case GREATER_THAN_OR_EQUAL: return row -> !row.isNull(index) && row.getInt(index) >= literal;
+      case LESS_THAN:             return row -> !row.isNull(index) && row.getInt(index) < literal;
+      case LESS_THAN_OR_EQUAL:    return row -> !row.isNull(index) && row.getInt(index) <= literal;
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileInt(byte, Operator, int) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  private static RowPredicate compileBigInt(byte index, CommandWhere.Operator operator, long literal) {
+    switch (operator) {
+      case EQUAL:                 return row -> !row.isNull(index) && row.getBigInt(index) == literal;
+      case NOT_EQUAL:             return row -> !row.isNull(index) && row.getBigInt(index) != literal;
+      case GREATER_THAN:          return row -> !row.isNull(index) && row.getBigInt(index) > literal;
+      case GREATER_THAN_OR_EQUAL: return row -> !row.isNull(index) && row.getBigInt(index) >= literal;
+      case LESS_THAN:             return row -> !row.isNull(index) && row.getBigInt(index) < literal;
+      case LESS_THAN_OR_EQUAL:    return row -> !row.isNull(index) && row.getBigInt(index) <= literal;
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileBigInt(byte, Operator, long) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  /**
+   * Compares as {@link Float#compare(float, float)} does, under which NaN equals itself and
+   * {@code -0.0} is less than {@code 0.0}.
+   */
+  private static RowPredicate compileFloat(byte index, CommandWhere.Operator operator, float literal) {
+    switch (operator) {
+      case EQUAL:                 return row -> !row.isNull(index) && Float.compare(row.getFloat(index), literal) == 0;
+      case NOT_EQUAL:             return row -> !row.isNull(index) && Float.compare(row.getFloat(index), literal) != 0;
+      case GREATER_THAN:          return row -> !row.isNull(index) && Float.compare(row.getFloat(index), literal) > 0;
+      case GREATER_THAN_OR_EQUAL: return row -> !row.isNull(index) && Float.compare(row.getFloat(index), literal) >= 0;
+      case LESS_THAN:             return row -> !row.isNull(index) && Float.compare(row.getFloat(index), literal) < 0;
+      case LESS_THAN_OR_EQUAL:    return row -> !row.isNull(index) && Float.compare(row.getFloat(index), literal) <= 0;
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileFloat(byte, Operator, float) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  /**
+   * Compares as {@link Double#compare(double, double)} does, under which NaN equals itself and
+   * {@code -0.0} is less than {@code 0.0}.
+   */
+  private static RowPredicate compileDouble(byte index, CommandWhere.Operator operator, double literal) {
+    switch (operator) {
+      case EQUAL:                 return row -> !row.isNull(index) && Double.compare(row.getDouble(index), literal) == 0;
+      case NOT_EQUAL:             return row -> !row.isNull(index) && Double.compare(row.getDouble(index), literal) != 0;
+      case GREATER_THAN:          return row -> !row.isNull(index) && Double.compare(row.getDouble(index), literal) > 0;
+      case GREATER_THAN_OR_EQUAL: return row -> !row.isNull(index) && Double.compare(row.getDouble(index), literal) >= 0;
+      case LESS_THAN:             return row -> !row.isNull(index) && Double.compare(row.getDouble(index), literal) < 0;
+      case LESS_THAN_OR_EQUAL:    return row -> !row.isNull(index) && Double.compare(row.getDouble(index), literal) <= 0;
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.RowPredicates#compileDouble(byte, Operator, double) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", operator));
+    }
+  }
+
+  /**
+   * Compiles a comparison of a TEXT or temporal column, whose values are objects in any case, by
+   * their natural ordering.
+   */
+  @SuppressWarnings("unchecked")
+  private static RowPredicate compileObject(byte index, DataType dataType, CommandWhere.Operator operator, Object literal) {
+    assert literal instanceof Comparable : "literal should be Comparable";
+
+    final IntPredicate accepts = compileOperator(operator);
+    return row -> {
+      final @Nullable Object value = row.readValue(index, dataType);
+      return value != null && accepts.test(((Comparable<Object>) value).compareTo(literal));
+    };
+  }
+
+}
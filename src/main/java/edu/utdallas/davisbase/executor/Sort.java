@@ -0,0 +1,215 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Collections.unmodifiableList;
+
+import edu.utdallas.davisbase.command.SelectCommandOrderBy;
+import edu.utdallas.davisbase.result.SelectResultData;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.result.SelectResultSchema;
+import edu.utdallas.davisbase.storage.StorageException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces the rows of its child in the order of the given sort keys,
+ * where null sorts before any value. Rows that are equal by every key keep the order in which the
+ * child produced them.
+ * <p>
+ * The child is drained on the first call to {@link #next()}, so its rows must be
+ * {@link MaterializedRow}s, e.g. those of a {@link Project}. Rows are buffered in memory up to the
+ * given thresholds, beyond which each full buffer is sorted and spilled to a temporary file as a
+ * run (in the binary row format of {@link SelectResultData}), and the runs are then merged.
+ */
+class Sort implements Operator {
+
+  private final Operator child;
+  private final List<SelectCommandOrderBy> keys;
+  private final SelectResultSchema schema;
+  private final int maxInMemoryRowCount;
+  private final long maxInMemoryByteCount;
+  private final Comparator<SelectResultDataRow> comparator;
+
+  private boolean isSorted = false;
+  private @Nullable Iterator<SelectResultDataRow> sortedRows = null;
+  private final List<SelectResultData> runs = new ArrayList<>();
+  private final PriorityQueue<RunCursor> merge;
+
+  /**
+   * @param child                the operator whose rows to sort (not null)
+   * @param keys                 the keys by which to sort, most significant first, where each
+   *                             {@link SelectCommandOrderBy#getIndex() index} addresses a value of
+   *                             the child's rows (not null, not empty, no element null)
+   * @param schema               the schema of the child's rows (not null)
+   * @param maxInMemoryRowCount  the most rows to buffer in memory before spilling a run (not
+   *                             negative)
+   * @param maxInMemoryByteCount the most bytes of rows, as encoded in the binary row format, to
+   *                             buffer in memory before spilling a run (not negative)
+   */
+  Sort(Operator child, List<SelectCommandOrderBy> keys, SelectResultSchema schema, int maxInMemoryRowCount, long maxInMemoryByteCount) {
+    checkNotNull(child, "child");
+    checkNotNull(keys, "keys");
+    checkArgument(!keys.isEmpty(), "keys is empty");
+    checkNotNull(schema, "schema");
+    checkArgument(0 <= maxInMemoryRowCount, "maxInMemoryRowCount must be nonnegative");
+    checkArgument(0 <= maxInMemoryByteCount, "maxInMemoryByteCount must be nonnegative");
+
+    this.child = child;
+    this.keys = unmodifiableList(new ArrayList<>(keys));
+    this.schema = schema;
+    this.maxInMemoryRowCount = maxInMemoryRowCount;
+    this.maxInMemoryByteCount = maxInMemoryByteCount;
+    this.comparator = this::compare;
+    // Ties go to the earlier run, which holds rows that the child produced earlier.
+    this.merge = new PriorityQueue<>((left, right) -> {
+      final int comparison = comparator.compare(left.head, right.head);
+      return comparison != 0 ? comparison : Integer.compare(left.runIndex, right.runIndex);
+    });
+  }
+
+  @Override
+  public void open() throws ExecuteException, StorageException, IOException {
+    child.open();
+    isSorted = false;
+  }
+
+  @Override
+  public @Nullable Row next() throws ExecuteException, StorageException, IOException {
+    if (!isSorted) {
+      sort();
+      isSorted = true;
+    }
+
+    final @Nullable Iterator<SelectResultDataRow> sortedRows = this.sortedRows;
+    if (sortedRows != null) {
+      return sortedRows.hasNext() ? new MaterializedRow(sortedRows.next()) : null;
+    }
+
+    final @Nullable RunCursor cursor = merge.poll();
+    if (cursor == null) {
+      return null;
+    }
+    final SelectResultDataRow row = cursor.head;
+    try {
+      if (cursor.rows.hasNext()) {
+        cursor.head = cursor.rows.next();
+        merge.add(cursor);
+      }
+    }
+    catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return new MaterializedRow(row);
+  }
+
+  @Override
+  public void close() throws IOException {
+    sortedRows = null;
+    merge.clear();
+    try {
+      for (SelectResultData run : runs) {
+        run.close();
+      }
+    }
+    finally {
+      runs.clear();
+      child.close();
+    }
+  }
+
+  private void sort() throws ExecuteException, StorageException, IOException {
+    List<SelectResultDataRow> buffer = new ArrayList<>();
+    long bufferByteCount = 0;
+
+    @Nullable Row row;
+    while ((row = child.next()) != null) {
+      checkState(row instanceof MaterializedRow, "The child of a Sort must produce MaterializedRows.");
+      final SelectResultDataRow dataRow = ((MaterializedRow) row).getDataRow();
+      buffer.add(dataRow);
+      bufferByteCount += SelectResultData.getEncodedSize(schema, dataRow);
+      if (buffer.size() > maxInMemoryRowCount || bufferByteCount > maxInMemoryByteCount) {
+        runs.add(spillRun(buffer));
+        buffer = new ArrayList<>();
+        bufferByteCount = 0;
+      }
+    }
+
+    if (runs.isEmpty()) {
+      buffer.sort(comparator);
+      sortedRows = buffer.iterator();
+      return;
+    }
+
+    if (!buffer.isEmpty()) {
+      runs.add(spillRun(buffer));
+    }
+    try {
+      for (int i = 0; i < runs.size(); i++) {
+        final Iterator<SelectResultDataRow> rows = runs.get(i).iterator();
+        if (rows.hasNext()) {
+          merge.add(new RunCursor(i, rows, rows.next()));
+        }
+      }
+    }
+    catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private SelectResultData spillRun(List<SelectResultDataRow> buffer) throws IOException {
+    buffer.sort(comparator);
+
+    // With no room in memory, the builder writes every row straight to its temporary file.
+    final SelectResultData.Builder runBuilder = new SelectResultData.Builder(schema, 0, 0);
+    for (SelectResultDataRow row : buffer) {
+      runBuilder.writeRow(row);
+    }
+    return runBuilder.build();
+  }
+
+  private int compare(SelectResultDataRow left, SelectResultDataRow right) {
+    for (SelectCommandOrderBy key : keys) {
+      final @Nullable Object leftValue = left.get(key.getIndex());
+      final @Nullable Object rightValue = right.get(key.getIndex());
+
+      int comparison;
+      if (leftValue == null || rightValue == null) {
+        comparison = Boolean.compare(leftValue != null, rightValue != null);
+      }
+      else {
+        comparison = Filter.evaluateComparison(key.getDataType(), leftValue, rightValue);
+      }
+
+      if (comparison != 0) {
+        return key.isAscending() ? comparison : -comparison;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * The position of the merge in one spilled run.
+   */
+  private static class RunCursor {
+
+    private final int runIndex;
+    private final Iterator<SelectResultDataRow> rows;
+    private SelectResultDataRow head;
+
+    RunCursor(int runIndex, Iterator<SelectResultDataRow> rows, SelectResultDataRow head) {
+      this.runIndex = runIndex;
+      this.rows = rows;
+      this.head = head;
+    }
+
+  }
+
+}
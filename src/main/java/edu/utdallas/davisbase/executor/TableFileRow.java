@@ -0,0 +1,118 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Row} that is a live view of the current row of a {@link TableFile}, so that reading it
+ * reads straight from the current page, without copying the row.
+ */
+class TableFileRow implements Row {
+
+  private final TableFile tableFile;
+
+  TableFileRow(TableFile tableFile) {
+    checkNotNull(tableFile, "tableFile");
+    this.tableFile = tableFile;
+  }
+
+  @Override
+  public boolean isNull(int index) throws StorageException, IOException {
+    return tableFile.isNull(index);
+  }
+
+  @Override
+  public byte getTinyInt(int index) throws StorageException, IOException {
+    return tableFile.getTinyInt(index);
+  }
+
+  @Override
+  public short getSmallInt(int index) throws StorageException, IOException {
+    return tableFile.getSmallInt(index);
+  }
+
+  @Override
+  public int getInt(int index) throws StorageException, IOException {
+    return tableFile.getInt(index);
+  }
+
+  @Override
+  public long getBigInt(int index) throws StorageException, IOException {
+    return tableFile.getBigInt(index);
+  }
+
+  @Override
+  public float getFloat(int index) throws StorageException, IOException {
+    return tableFile.getFloat(index);
+  }
+
+  @Override
+  public double getDouble(int index) throws StorageException, IOException {
+    return tableFile.getDouble(index);
+  }
+
+  @Override
+  public @Nullable Object readValue(int index, DataType dataType) throws StorageException, IOException {
+    assert 0 <= index && index < Byte.MAX_VALUE : format("index %d should be in range [0, %d)", index, Byte.MAX_VALUE);
+    assert dataType != null : "dataType should not be null";
+
+    @Nullable Object value;
+    switch (dataType) {
+      case TINYINT:
+        value = tableFile.readTinyInt(index);
+        break;
+
+      case SMALLINT:
+        value = tableFile.readSmallInt(index);
+        break;
+
+      case INT:
+        value = tableFile.readInt(index);
+        break;
+
+      case BIGINT:
+        value = tableFile.readBigInt(index);
+        break;
+
+      case FLOAT:
+        value = tableFile.readFloat(index);
+        break;
+
+      case DOUBLE:
+        value = tableFile.readDouble(index);
+        break;
+
+      case YEAR:
+        value = tableFile.readYear(index);
+        break;
+
+      case TIME:
+        value = tableFile.readTime(index);
+        break;
+
+      case DATETIME:
+        value = tableFile.readDateTime(index);
+        break;
+
+      case DATE:
+        value = tableFile.readDate(index);
+        break;
+
+      case TEXT:
+        value = tableFile.readText(index);
+        break;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.TableFileRow#readValue(int, DataType) for DataType %s", dataType));
+    }
+    return value;
+  }
+
+}
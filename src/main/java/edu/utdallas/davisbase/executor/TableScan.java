@@ -0,0 +1,125 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.TableFile;
+import edu.utdallas.davisbase.storage.TableRowWrite;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces every row of a table in rowId order.
+ * <p>
+ * Each row is a {@link TableFileRow} view of the current row of the table file, addressed by table
+ * column index. The row that was last produced can also be removed or rewritten in place, which is
+ * how DELETE and UPDATE act on the rows that their plans select.
+ */
+class TableScan implements Operator {
+
+  private final Storage context;
+  private final String tableName;
+  private final byte @Nullable [] columnIndexes;
+
+  private @Nullable TableFile tableFile = null;
+  private @Nullable Row row = null;
+
+  /**
+   * @param context   the storage from which to open the table (not null)
+   * @param tableName the name of the table to scan (not null)
+   */
+  TableScan(Storage context, String tableName) {
+    this(context, tableName, null);
+  }
+
+  /**
+   * @param context       the storage from which to open the table (not null)
+   * @param tableName     the name of the table to scan (not null)
+   * @param columnIndexes the only columns that the produced rows are read by, or null to allow
+   *                      reading any column (nullable, not empty)
+   * @see TableFile#restrictToColumns(byte...)
+   */
+  TableScan(Storage context, String tableName, byte @Nullable [] columnIndexes) {
+    checkNotNull(context, "context");
+    checkNotNull(tableName, "tableName");
+    checkArgument(columnIndexes == null || columnIndexes.length > 0, "columnIndexes is empty");
+
+    this.context = context;
+    this.tableName = tableName;
+    this.columnIndexes = columnIndexes;
+  }
+
+  @Override
+  public void open() throws IOException {
+    checkState(tableFile == null, "This TableScan is already open.");
+
+    final TableFile tableFile = context.openTableFile(tableName);
+    if (columnIndexes != null) {
+      tableFile.restrictToColumns(columnIndexes);
+    }
+    this.tableFile = tableFile;
+    this.row = new TableFileRow(tableFile);
+  }
+
+  @Override
+  public @Nullable Row next() throws IOException {
+    final TableFile tableFile = getTableFile();
+    return tableFile.goToNextRow() ? row : null;
+  }
+
+  /**
+   * Removes the row that was last produced by {@link #next()} from the table.
+   */
+  void removeCurrentRow() throws IOException {
+    getTableFile().removeRow();
+  }
+
+  /**
+   * Rewrites the row that was last produced by {@link #next()}.
+   *
+   * @param rowWrite the values to write to the row (not null)
+   * @return the rowId of the row as written, which is a new one if the row was moved
+   */
+  int writeCurrentRow(TableRowWrite rowWrite) throws IOException {
+    checkNotNull(rowWrite, "rowWrite");
+    return getTableFile().writeRow(rowWrite);
+  }
+
+  /**
+   * @return the largest rowId that has been allocated in the table
+   */
+  int getCurrentMaxRowId() throws IOException {
+    return getTableFile().getCurrentMaxRowId();
+  }
+
+  @Override
+  public void close() throws IOException {
+    final @Nullable TableFile tableFile = this.tableFile;
+    this.tableFile = null;
+    this.row = null;
+    if (tableFile != null) {
+      tableFile.close();
+    }
+  }
+
+  /**
+   * @return the table file of this open scan (not null)
+   */
+  TableFile getTableFile() {
+    final @Nullable TableFile tableFile = this.tableFile;
+    checkState(tableFile != null, "This TableScan is not open.");
+    return tableFile;
+  }
+
+  /**
+   * @return the view of the current row of the table file of this open scan (not null)
+   */
+  Row getRow() {
+    final @Nullable Row row = this.row;
+    checkState(row != null, "This TableScan is not open.");
+    return row;
+  }
+
+}
@@ -0,0 +1,325 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.util.Arrays.fill;
+
+import com.google.common.primitives.ImmutableIntArray;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces the rows of a table that satisfy a compiled {@code WHERE} clause
+ * (if any), like a {@link Filter} of a {@link TableScan}, but that reads and filters the table a
+ * batch of rows at a time.
+ * <p>
+ * Each batch reads only the given columns, each into a {@link ColumnVector} (and the table file
+ * decodes no other columns of each row), and then evaluates each comparison of the {@code WHERE}
+ * clause over a whole column at once, narrowing a selection vector of the positions of the matching
+ * rows. The operands of an AND or OR are evaluated in the order of {@link WhereOrdering}, each only
+ * over the rows that it can still decide. The rows produced are views of the batch, addressed by
+ * table column index, and must only read the given columns.
+ */
+class VectorScan implements Operator {
+
+  private final Storage context;
+  private final String tableName;
+  private final byte[] columnIndexes;
+  private final ColumnVector[] vectors;
+  private final int[] vectorByColumnIndex;
+  private final @Nullable CommandWhere where;
+  private final int batchRowCount;
+  private final @Nullable ImmutableIntArray leafPageNos;
+
+  private final boolean[] matches;
+  private final int[] selection;
+  private int rowCount = 0;
+  private int selectionCount = 0;
+  private int selectionIndex = 0;
+  private boolean isExhausted = false;
+  private final BatchRow row = new BatchRow();
+
+  private @Nullable TableFile tableFile = null;
+
+  /**
+   * @param context       the storage from which to open the table (not null)
+   * @param tableName     the name of the table to scan (not null)
+   * @param columns       the columns to read, which include every column of {@code where} (not
+   *                      null, not empty, no element null, no two elements of the same index)
+   * @param where         the condition that every produced row satisfies, if any (nullable)
+   * @param batchRowCount the most rows to read into a batch (positive)
+   */
+  VectorScan(Storage context, String tableName, List<SelectCommandColumn> columns, @Nullable CommandWhere where, int batchRowCount) {
+    this(context, tableName, columns, where, batchRowCount, null);
+  }
+
+  /**
+   * @param context       the storage from which to open the table (not null)
+   * @param tableName     the name of the table to scan (not null)
+   * @param columns       the columns to read, which include every column of {@code where} (not
+   *                      null, not empty, no element null, no two elements of the same index)
+   * @param where         the condition that every produced row satisfies, if any (nullable)
+   * @param batchRowCount the most rows to read into a batch (positive)
+   * @param leafPageNos   the leaf pages to which to restrict the scan, in order, or null to scan the
+   *                      whole table (nullable, not empty)
+   * @see TableFile#restrictToLeafPages(ImmutableIntArray)
+   */
+  VectorScan(Storage context, String tableName, List<SelectCommandColumn> columns, @Nullable CommandWhere where, int batchRowCount, @Nullable ImmutableIntArray leafPageNos) {
+    checkNotNull(context, "context");
+    checkNotNull(tableName, "tableName");
+    checkNotNull(columns, "columns");
+    checkArgument(!columns.isEmpty(), "columns is empty");
+    checkArgument(0 < batchRowCount, "batchRowCount must be positive, but is %s", batchRowCount);
+    checkArgument(leafPageNos == null || !leafPageNos.isEmpty(), "leafPageNos is empty");
+
+    this.context = context;
+    this.tableName = tableName;
+    this.columnIndexes = new byte[columns.size()];
+    this.vectors = new ColumnVector[columns.size()];
+    this.vectorByColumnIndex = new int[Byte.MAX_VALUE];
+    fill(vectorByColumnIndex, -1);
+    for (int i = 0; i < columns.size(); i++) {
+      final SelectCommandColumn column = columns.get(i);
+      checkArgument(vectorByColumnIndex[column.getIndex()] < 0, "columns has two elements of index %s", column.getIndex());
+
+      columnIndexes[i] = column.getIndex();
+      vectors[i] = new ColumnVector(column.getDataType(), batchRowCount);
+      vectorByColumnIndex[column.getIndex()] = i;
+    }
+    if (where != null) {
+      for (final CommandWhereColumn column : where.getColumnReferences()) {
+        checkArgument(vectorByColumnIndex[column.getIndex()] >= 0, "columns does not include the column %s of where", column.getName());
+      }
+    }
+    this.where = where == null ? null : WhereOrdering.order(where);
+    this.batchRowCount = batchRowCount;
+    this.leafPageNos = leafPageNos;
+    this.matches = new boolean[batchRowCount];
+    this.selection = new int[batchRowCount];
+  }
+
+  @Override
+  public void open() throws IOException {
+    checkState(tableFile == null, "This VectorScan is already open.");
+
+    final TableFile tableFile = context.openTableFile(tableName);
+    tableFile.restrictToColumns(columnIndexes);
+    if (leafPageNos != null) {
+      tableFile.restrictToLeafPages(leafPageNos);
+    }
+    this.tableFile = tableFile;
+    this.rowCount = 0;
+    this.selectionCount = 0;
+    this.selectionIndex = 0;
+    this.isExhausted = false;
+  }
+
+  @Override
+  public @Nullable Row next() throws StorageException, IOException {
+    while (selectionIndex >= selectionCount) {
+      if (isExhausted) {
+        return null;
+      }
+      readBatch();
+      selectBatch();
+    }
+
+    row.position = selection[selectionIndex];
+    selectionIndex += 1;
+    return row;
+  }
+
+  @Override
+  public void close() throws IOException {
+    final @Nullable TableFile tableFile = this.tableFile;
+    this.tableFile = null;
+    if (tableFile != null) {
+      tableFile.close();
+    }
+  }
+
+  private void readBatch() throws StorageException, IOException {
+    final @Nullable TableFile tableFile = this.tableFile;
+    checkState(tableFile != null, "This VectorScan is not open.");
+
+    for (ColumnVector vector : vectors) {
+      vector.clear();
+    }
+
+    rowCount = 0;
+    while (rowCount < batchRowCount) {
+      if (!tableFile.goToNextRow()) {
+        isExhausted = true;
+        break;
+      }
+      for (int i = 0; i < vectors.length; i++) {
+        vectors[i].read(tableFile, columnIndexes[i], rowCount);
+      }
+      rowCount += 1;
+    }
+  }
+
+  private void selectBatch() {
+    selectionIndex = 0;
+    for (int i = 0; i < rowCount; i++) {
+      selection[i] = i;
+    }
+
+    final @Nullable CommandWhere where = this.where;
+    selectionCount = where == null ? rowCount : select(where, selection, rowCount);
+  }
+
+  /**
+   * Narrows the given positions of the batch to those of the rows that satisfy a {@code WHERE}
+   * clause, keeping their order.
+   * <p>
+   * Each operand of an AND is only evaluated for the rows that satisfy the operands before it, and
+   * each operand of an OR only for the rows that satisfy none of the operands before it.
+   *
+   * @param where         the condition to evaluate (not null)
+   * @param positions     the ascending positions of the rows to evaluate, which receives in its
+   *                      prefix those that satisfy {@code where} (not null)
+   * @param positionCount the number of positions
+   * @return the number of positions that satisfy {@code where}
+   */
+  private int select(CommandWhere where, int[] positions, int positionCount) {
+    if (positionCount == 0) {
+      return 0;
+    }
+
+    if (where.isComparison()) {
+      final @Nullable Object literal = where.getRightLiteralValue();
+      if (literal == null) {
+        return 0;  // A comparison with null never matches.
+      }
+      final ColumnVector vector = vectors[vectorByColumnIndex[where.getLeftColumnReference().getIndex()]];
+      if (positionCount == rowCount) {
+        vector.evaluate(where.getOperator(), literal, rowCount, matches);  // Every row, so no gather.
+      }
+      else {
+        vector.evaluate(where.getOperator(), literal, positions, positionCount, matches);
+      }
+      return compact(positions, positionCount, matches);
+    }
+
+    switch (where.getLogicalOperator()) {
+      case AND:
+        for (final CommandWhere operand : where.getOperands()) {
+          positionCount = select(operand, positions, positionCount);
+          if (positionCount == 0) {
+            break;
+          }
+        }
+        return positionCount;
+
+      case OR:
+        final boolean[] isSelected = new boolean[rowCount];
+        final int[] undecided = Arrays.copyOf(positions, positionCount);
+        int undecidedCount = positionCount;
+        final int[] candidates = new int[positionCount];
+        for (final CommandWhere operand : where.getOperands()) {
+          System.arraycopy(undecided, 0, candidates, 0, undecidedCount);
+          final int selectedCount = select(operand, candidates, undecidedCount);
+          for (int i = 0; i < selectedCount; i++) {
+            isSelected[candidates[i]] = true;
+          }
+          undecidedCount = compact(undecided, undecidedCount, isSelected, false);
+          if (undecidedCount == 0) {
+            break;
+          }
+        }
+        return compact(positions, positionCount, isSelected);
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.VectorScan#select(CommandWhere, int[], int) for type edu.utdallas.davisbase.command.CommandWhere.LogicalOperator#%s", where.getLogicalOperator()));
+    }
+  }
+
+  /**
+   * Compacts the positions whose flag is set into the prefix of {@code positions}, keeping their
+   * order, without a branch per position.
+   *
+   * @return the number of positions whose flag is set
+   */
+  private static int compact(int[] positions, int positionCount, boolean[] flags) {
+    return compact(positions, positionCount, flags, true);
+  }
+
+  private static int compact(int[] positions, int positionCount, boolean[] flags, boolean flag) {
+    int count = 0;
+    for (int i = 0; i < positionCount; i++) {
+      final int position = positions[i];
+      positions[count] = position;
+      count += flags[position] == flag ? 1 : 0;
+    }
+    return count;
+  }
+
+  /**
+   * The single reusable view of the row at the current position of the selection vector.
+   */
+  private class BatchRow implements Row {
+
+    private int position = 0;
+
+    private ColumnVector getVector(int index) {
+      final int vectorIndex = 0 <= index && index < vectorByColumnIndex.length ? vectorByColumnIndex[index] : -1;
+      checkArgument(vectorIndex >= 0, "Column %s was not read by this VectorScan.", index);
+      return vectors[vectorIndex];
+    }
+
+    @Override
+    public boolean isNull(int index) {
+      return getVector(index).isNull(position);
+    }
+
+    @Override
+    public byte getTinyInt(int index) {
+      return getVector(index).getTinyInt(position);
+    }
+
+    @Override
+    public short getSmallInt(int index) {
+      return getVector(index).getSmallInt(position);
+    }
+
+    @Override
+    public int getInt(int index) {
+      return getVector(index).getInt(position);
+    }
+
+    @Override
+    public long getBigInt(int index) {
+      return getVector(index).getBigInt(position);
+    }
+
+    @Override
+    public float getFloat(int index) {
+      return getVector(index).getFloat(position);
+    }
+
+    @Override
+    public double getDouble(int index) {
+      return getVector(index).getDouble(position);
+    }
+
+    @Override
+    public @Nullable Object readValue(int index, DataType dataType) {
+      return getVector(index).readValue(position);
+    }
+
+  }
+
+}
@@ -0,0 +1,157 @@
+package edu.utdallas.davisbase.executor;
+
+import static java.lang.String.format;
+import static java.util.Comparator.comparingDouble;
+
+import edu.utdallas.davisbase.NotImplementedException;
+import edu.utdallas.davisbase.command.CommandWhere;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Static method utilities for ordering the operands of every AND and OR of a compiled
+ * {@code WHERE} clause, so that short-circuit evaluation does the least expected work.
+ * <p>
+ * There are no table statistics, so the selectivity of a comparison is estimated by the textbook
+ * defaults of its operator: an equality matches 1/10 of the rows, a range 1/3, an inequality 9/10,
+ * and a comparison with null none. The cost of a comparison is that of reading and comparing its
+ * column, which is higher for TEXT and for the temporal types than for the numeric types.
+ * <p>
+ * An AND stops at its first false operand, so its operands are ordered by ascending
+ * {@code cost / (1 - selectivity)}; an OR stops at its first true operand, so its operands are
+ * ordered by ascending {@code cost / selectivity}.
+ */
+class WhereOrdering {
+
+  private WhereOrdering() {
+    throw new IllegalStateException(
+        format("%s may not be instantiated.",
+            WhereOrdering.class.getName()));
+  }
+
+  /**
+   * @param where the compiled {@code WHERE} clause to order (not null)
+   * @return an equivalent {@code WHERE} clause, whose operands of every AND and OR (at every
+   *         level) are in the order in which to evaluate them (not null)
+   */
+  static CommandWhere order(CommandWhere where) {
+    assert where != null : "where should not be null";
+
+    if (where.isComparison()) {
+      return where;
+    }
+
+    final List<CommandWhere> operands = new ArrayList<>(where.getOperands().size());
+    for (final CommandWhere operand : where.getOperands()) {
+      operands.add(order(operand));
+    }
+    switch (where.getLogicalOperator()) {
+      case AND:
+        operands.sort(comparingDouble(operand -> estimateCost(operand) / (1 - estimateSelectivity(operand))));
+        break;
+
+      case OR:
+        operands.sort(comparingDouble(operand -> estimateCost(operand) / estimateSelectivity(operand)));
+        break;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.WhereOrdering#order(CommandWhere) for type edu.utdallas.davisbase.command.CommandWhere.LogicalOperator#%s", where.getLogicalOperator()));
+    }
+    return new CommandWhere(where.getLogicalOperator(), operands);
+  }
+
+  /**
+   * @param where a compiled {@code WHERE} clause (not null)
+   * @return the estimated fraction of rows that satisfy {@code where}, in range [0, 1], assuming
+   *         that the comparisons are independent
+   */
+  static double estimateSelectivity(CommandWhere where) {
+    assert where != null : "where should not be null";
+
+    if (where.isComparison()) {
+      if (where.getRightLiteralValue() == null) {
+        return 0;  // A comparison with null never matches.
+      }
+      switch (where.getOperator()) {
+        case EQUAL:
+          return 0.1;
+
+        case NOT_EQUAL:
+          return 0.9;
+
+        case GREATER_THAN:
+        case GREATER_THAN_OR_EQUAL:
+        case LESS_THAN:
+        case LESS_THAN_OR_EQUAL:
+          return 1.0 / 3;
+
+        default:
+          throw new NotImplementedException(format("edu.utdallas.davisbase.executor.WhereOrdering#estimateSelectivity(CommandWhere) for type edu.utdallas.davisbase.command.CommandWhere.Operator#%s", where.getOperator()));
+      }
+    }
+
+    switch (where.getLogicalOperator()) {
+      case AND:
+        double selectivity = 1;
+        for (final CommandWhere operand : where.getOperands()) {
+          selectivity *= estimateSelectivity(operand);
+        }
+        return selectivity;
+
+      case OR:
+        double rejectivity = 1;
+        for (final CommandWhere operand : where.getOperands()) {
+          rejectivity *= 1 - estimateSelectivity(operand);
+        }
+        return 1 - rejectivity;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.executor.WhereOrdering#estimateSelectivity(CommandWhere) for type edu.utdallas.davisbase.command.CommandWhere.LogicalOperator#%s", where.getLogicalOperator()));
+    }
+  }
+
+  /**
+   * @param where a compiled {@code WHERE} clause, whose operands are in the order in which they are
+   *              evaluated (not null)
+   * @return the estimated relative cost of evaluating {@code where} for one row, where each operand
+   *         of an AND or OR only counts for the fraction of rows that reach it (positive)
+   */
+  static double estimateCost(CommandWhere where) {
+    assert where != null : "where should not be null";
+
+    if (where.isComparison()) {
+      switch (where.getLeftColumnReference().getDataType()) {
+        case TINYINT:
+        case SMALLINT:
+        case INT:
+        case BIGINT:
+        case FLOAT:
+        case DOUBLE:
+          return 1;
+
+        case YEAR:
+        case TIME:
+        case DATETIME:
+        case DATE:
+          return 2;
+
+        case TEXT:
+          return 4;
+
+        default:
+          throw new NotImplementedException(format("edu.utdallas.davisbase.executor.WhereOrdering#estimateCost(CommandWhere) for DataType %s", where.getLeftColumnReference().getDataType()));
+      }
+    }
+
+    final boolean isAnd = where.getLogicalOperator() == CommandWhere.LogicalOperator.AND;
+    double cost = 0;
+    double reachedFraction = 1;
+    for (final CommandWhere operand : where.getOperands()) {
+      cost += reachedFraction * estimateCost(operand);
+      final double selectivity = estimateSelectivity(operand);
+      reachedFraction *= isAnd ? selectivity : 1 - selectivity;
+    }
+    return cost;
+  }
+
+}
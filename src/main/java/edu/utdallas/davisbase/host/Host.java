@@ -10,8 +10,10 @@ import static com.google.common.base.Strings.repeat;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -20,6 +22,7 @@ import edu.utdallas.davisbase.DavisBaseException;
 import edu.utdallas.davisbase.NotImplementedException;
 import edu.utdallas.davisbase.compiler.CompileException;
 import edu.utdallas.davisbase.executor.ExecuteException;
+import edu.utdallas.davisbase.executor.IndexMaintenanceCost;
 import edu.utdallas.davisbase.parser.ParseException;
 import edu.utdallas.davisbase.result.Result;
 import edu.utdallas.davisbase.result.SelectResult;
@@ -27,6 +30,8 @@ import edu.utdallas.davisbase.result.SelectResultDataRow;
 import edu.utdallas.davisbase.result.ShowTablesResult;
 import edu.utdallas.davisbase.result.UpdateResult;
 import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.result.CopyFromResult;
+import edu.utdallas.davisbase.result.CopyToResult;
 import edu.utdallas.davisbase.result.CreateIndexResult;
 import edu.utdallas.davisbase.result.CreateTableResult;
 import edu.utdallas.davisbase.result.DeleteResult;
@@ -95,6 +100,8 @@ public class Host {
     // ..; Modifies the records in the table.");
     // writer.println("\tCREATE INDEX ON table_name (column_name); Create index for
     // the specified column in the table");
+    printer.println("\tCOPY table_name FROM 'file.csv' [WITH HEADER];               Insert every record of a CSV file into the table.");
+    printer.println("\tCOPY table_name TO 'file.csv' [WITH HEADER];                 Write every record of the table to a CSV file.");
     printer.println("\tSELECT * FROM table_name;                                    Display all records in the table.");
     // writer.println("\tSELECT * FROM table_name WHERE column_name operator value;
     // Display records in the table where the given condition is satisfied.");
@@ -112,7 +119,13 @@ public class Host {
   public void write(Result result) throws IOException {
     checkNotNull(result);
 
-    if (result instanceof CreateIndexResult) {
+    if (result instanceof CopyFromResult) {
+      writeCopyFromResult((CopyFromResult) result);
+    }
+    else if (result instanceof CopyToResult) {
+      writeCopyToResult((CopyToResult) result);
+    }
+    else if (result instanceof CreateIndexResult) {
       writeCreateIndexResult((CreateIndexResult) result);
     }
     else if (result instanceof CreateTableResult) {
@@ -145,6 +158,20 @@ public class Host {
     printer.flush();
   }
 
+  protected void writeCopyFromResult(CopyFromResult result) throws IOException {
+    printer.println(
+        format("%d rows were copied into the table '%s'.",
+            result.getRowsCopied(),
+            result.getTableName()));
+  }
+
+  protected void writeCopyToResult(CopyToResult result) throws IOException {
+    printer.println(
+        format("%d rows were copied from the table '%s'.",
+            result.getRowsCopied(),
+            result.getTableName()));
+  }
+
   protected void writeCreateIndexResult(CreateIndexResult result) throws IOException {
     printer.println(
         format("Index was successfully created on column '%s' in table '%s'.",
@@ -194,12 +221,14 @@ public class Host {
     printer.println();
     printer.println(repeat("-", ((result.getSchema().size()) * 8) + 3)); 
 
-    if (result.getData().size() <= 0) {
+    final Iterator<SelectResultDataRow> rows = result.getData().iterator();
+    if (!rows.hasNext()) {
       printer.println("Empty result set.");
       return;
     }    
     
-    for (SelectResultDataRow row : result.getData()) {
+    while (rows.hasNext()) {
+      final SelectResultDataRow row = rows.next();
       int iColumn = 0;
       for (@Nullable Object value : row) {
         printer.print(formatCellValue(result.getSchema().getColumnName(iColumn).length(), Objects.toString(castNonNull(value))) + "|");  // NOTE `value` actually can be null, and `Objects#toString(Object)` can actually accept a null argument, but the annotated JDK is over-strict here.
@@ -237,6 +266,36 @@ public class Host {
 
   // endregion
 
+  // region write(Map<String, IndexMaintenanceCost>)
+
+  /**
+   * Writes the cumulative cost of maintaining each index that the writes of this session changed,
+   * in order of index name, by which to judge whether each index is worth keeping.
+   *
+   * @param indexMaintenanceCosts the costs by index name (not null)
+   * @throws IOException
+   * @see edu.utdallas.davisbase.executor.Executor#getIndexMaintenanceCosts()
+   */
+  public void writeIndexMaintenanceCosts(Map<String, IndexMaintenanceCost> indexMaintenanceCosts) throws IOException {
+    checkNotNull(indexMaintenanceCosts);
+
+    for (Map.Entry<String, IndexMaintenanceCost> entry : new TreeMap<>(indexMaintenanceCosts).entrySet()) {
+      final IndexMaintenanceCost cost = entry.getValue();
+      printer.println(
+          format("Index '%s' was maintained for %d statements: %d entries inserted, %d deleted, %d pages read, %d written, in %.3f ms.",
+              entry.getKey(),
+              cost.getBatchCount(),
+              cost.getInsertedEntryCount(),
+              cost.getDeletedEntryCount(),
+              cost.getPageReadCount(),
+              cost.getPageWriteCount(),
+              cost.getElapsedNanos() / 1e6));
+    }
+    printer.flush();
+  }
+
+  // endregion
+
   // region write(DavisBaseException)
 
   public void write(DavisBaseException exception) throws IOException {
@@ -4,6 +4,8 @@ import edu.utdallas.davisbase.NotImplementedException;
 import edu.utdallas.davisbase.representation.*;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.*;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.*;
 import net.sf.jsqlparser.parser.CCJSqlParserManager;
 import net.sf.jsqlparser.schema.Column;
@@ -19,10 +21,25 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class Parser {
 
+  /**
+   * {@code COPY table FROM 'file' [WITH HEADER];}, where a quote within the file path is doubled.
+   */
+  private static final Pattern COPY_FROM_PATTERN = Pattern.compile(
+    "(?i)\\s*COPY\\s+(\\w+)\\s+FROM\\s+'((?:[^']|'')*)'(\\s+WITH\\s+HEADER)?\\s*;\\s*");
+
+  /**
+   * {@code COPY table TO 'file' [WITH HEADER];} or {@code COPY (SELECT ...) TO 'file' [WITH HEADER];},
+   * where a quote within the file path is doubled.
+   */
+  private static final Pattern COPY_TO_PATTERN = Pattern.compile(
+    "(?is)\\s*COPY\\s+(?:(\\w+)|\\((.*)\\))\\s+TO\\s+'((?:[^']|'')*)'(\\s+WITH\\s+HEADER)?\\s*;\\s*");
+
   /**
    * @param statement a single complete statement to parse
    * @return the {@link CommandRepresentation} representation of <code>statement</code>
@@ -37,6 +54,32 @@ public class Parser {
       if (Pattern.matches("(?i)\\s*SHOW\\s+TABLES\\s*;\\s*", statement)) {
         return new ShowTablesCommandRepresentation();
       }
+      // COPY is not SQL that JSqlParser understands, so it is matched directly.
+      Matcher copyFrom = COPY_FROM_PATTERN.matcher(statement);
+      if (copyFrom.matches()) {
+        return new CopyFromCommandRepresentation(
+          statement.trim(),
+          copyFrom.group(1),
+          copyFrom.group(2).replace("''", "'"),
+          copyFrom.group(3) != null
+        );
+      }
+      Matcher copyTo = COPY_TO_PATTERN.matcher(statement);
+      if (copyTo.matches()) {
+        String query = copyTo.group(1) != null
+          ? "SELECT * FROM " + copyTo.group(1) + ";"
+          : copyTo.group(2) + ";";
+        CommandRepresentation select = parse(query);
+        if (!(select instanceof SelectCommandRepresentation)) {
+          throw new ParseException("DavisBase can only COPY a table or a SELECT statement");
+        }
+        return new CopyToCommandRepresentation(
+          statement.trim(),
+          (SelectCommandRepresentation) select,
+          copyTo.group(3).replace("''", "'"),
+          copyTo.group(4) != null
+        );
+      }
       CCJSqlParserManager pm = new CCJSqlParserManager();
       Statement stmt = pm.parse(new StringReader(statement));
       if (stmt instanceof CreateTable) {
@@ -86,7 +129,7 @@ public class Parser {
           insertStatement.toString(),
           insertStatement.getTable().getName(),
           null == insertStatement.getColumns()? new ArrayList<>(): insertStatement.getColumns(),
-          ((ExpressionList) insertStatement.getItemsList()).getExpressions()
+          parseInsertRows(insertStatement.getItemsList())
         );
         return insert;
       } else if (stmt instanceof Delete) {
@@ -112,13 +155,23 @@ public class Parser {
         PlainSelect pSelect;
         if (selectStatement.getSelectBody() instanceof PlainSelect) {
           pSelect = (PlainSelect) selectStatement.getSelectBody();
+          int aggregateCount = 0;
           for (SelectItem item : pSelect.getSelectItems()) {
-            if (!(item instanceof SelectExpressionItem && ((SelectExpressionItem) item).getExpression() instanceof Column)) {
+            if (isAggregateFunction(item)) {
+              aggregateCount++;
+            }
+            else if (!(item instanceof SelectExpressionItem && ((SelectExpressionItem) item).getExpression() instanceof Column)) {
               if (!(pSelect.getSelectItems().get(0) instanceof AllColumns)) {
                 throw new ParseException("DavisBase accepts simple column references");
               }
             }
           }
+          if (null != pSelect.getGroupByColumnReferences()) {
+            throw new ParseException("DavisBase does not support GROUP BY");
+          }
+          if (aggregateCount > 0 && aggregateCount < pSelect.getSelectItems().size()) {
+            throw new ParseException("DavisBase does not support GROUP BY, so aggregate functions may not be mixed with columns");
+          }
         } else {
           throw new ParseException("DavisBase only supports simple select statements");
         }
@@ -127,7 +180,9 @@ public class Parser {
           pSelect.getFromItem().toString(),
           pSelect.getSelectItems(),
           (pSelect.getSelectItems().get(0) instanceof AllColumns),
-          parseWhereExpression(pSelect.getWhere())
+          parseWhereExpression(pSelect.getWhere()),
+          parseOrderBy(pSelect.getOrderByElements()),
+          parseLimit(pSelect)
         );
         return select;
       } else {
@@ -138,6 +193,77 @@ public class Parser {
     }
   }
 
+  /**
+   * @param itemsList the VALUES list of an INSERT statement
+   * @return the value list of every row to insert, in order
+   */
+  public List<List<Expression>> parseInsertRows(ItemsList itemsList) throws ParseException {
+    List<List<Expression>> rows = new ArrayList<>();
+    if (itemsList instanceof MultiExpressionList) {
+      for (ExpressionList expressionList : ((MultiExpressionList) itemsList).getExprList()) {
+        rows.add(expressionList.getExpressions());
+      }
+    } else if (itemsList instanceof ExpressionList) {
+      rows.add(((ExpressionList) itemsList).getExpressions());
+    } else {
+      throw new ParseException("DavisBase only supports INSERT with a VALUES list");
+    }
+    return rows;
+  }
+
+  /**
+   * @param item an item of a SELECT clause
+   * @return whether the item is a call of COUNT, MIN, MAX, SUM or AVG
+   */
+  private boolean isAggregateFunction(SelectItem item) {
+    if (!(item instanceof SelectExpressionItem && ((SelectExpressionItem) item).getExpression() instanceof Function)) {
+      return false;
+    }
+    String name = ((Function) ((SelectExpressionItem) item).getExpression()).getName();
+    return name.equalsIgnoreCase("COUNT")
+      || name.equalsIgnoreCase("MIN")
+      || name.equalsIgnoreCase("MAX")
+      || name.equalsIgnoreCase("SUM")
+      || name.equalsIgnoreCase("AVG");
+  }
+
+  /**
+   * @param orderByElements the ORDER BY clause of a SELECT statement, or null if there is none
+   * @return the sort keys of the clause, which are all simple column references
+   */
+  private List<OrderByElement> parseOrderBy(@Nullable List<OrderByElement> orderByElements) throws ParseException {
+    if (null == orderByElements) {
+      return new ArrayList<>();
+    }
+    for (OrderByElement element : orderByElements) {
+      if (!(element.getExpression() instanceof Column)) {
+        throw new ParseException("DavisBase only supports ORDER BY simple column references");
+      }
+      if (element.getNullOrdering() != null) {
+        throw new ParseException("DavisBase does not support NULLS FIRST or NULLS LAST");
+      }
+    }
+    return orderByElements;
+  }
+
+  /**
+   * @param pSelect a SELECT statement
+   * @return the row count of its LIMIT clause, or null if there is none
+   */
+  private @Nullable Long parseLimit(PlainSelect pSelect) throws ParseException {
+    if (null != pSelect.getOffset()) {
+      throw new ParseException("DavisBase does not support OFFSET");
+    }
+    Limit limit = pSelect.getLimit();
+    if (null == limit || limit.isLimitAll() || limit.isLimitNull()) {
+      return null;
+    }
+    if (!(limit.getRowCount() instanceof LongValue)) {
+      throw new ParseException("DavisBase only supports LIMIT with a literal row count");
+    }
+    return ((LongValue) limit.getRowCount()).getValue();
+  }
+
   /**
    * @param where clause to parse
    * @return WhereExpression representation of the expression
@@ -148,7 +274,20 @@ public class Parser {
     }
 
     WhereExpression whereExpression;
-    if (where instanceof EqualsTo) {
+    if (where instanceof AndExpression) {
+      return parseLogicalWhereExpression((AndExpression) where, WhereExpression.LogicalOperator.AND);
+    } else if (where instanceof OrExpression) {
+      return parseLogicalWhereExpression((OrExpression) where, WhereExpression.LogicalOperator.OR);
+    } else if (where instanceof Parenthesis) {
+      Parenthesis parenthesis = (Parenthesis) where;
+      whereExpression = parseWhereExpression(parenthesis.getExpression());
+      assert whereExpression != null : "a parenthesized expression should not be null";
+      return parenthesis.isNot() ? negate(where.toString(), whereExpression) : whereExpression;
+    } else if (where instanceof NotExpression) {
+      whereExpression = parseWhereExpression(((NotExpression) where).getExpression());
+      assert whereExpression != null : "a negated expression should not be null";
+      return negate(where.toString(), whereExpression);
+    } else if (where instanceof EqualsTo) {
       EqualsTo equals = (EqualsTo) where;
       validateLeftExpression(equals);
       whereExpression = new WhereExpression(
@@ -219,6 +358,39 @@ public class Parser {
     }
   }
 
+  /**
+   * @param where           an AND or OR of two expressions
+   * @param logicalOperator the logical operator of {@code where}
+   * @return the compound WhereExpression of {@code where}, in which directly nested expressions of
+   *         the same (not negated) logical operator are flattened into a single list of operands
+   */
+  private WhereExpression parseLogicalWhereExpression(BinaryExpression where, WhereExpression.LogicalOperator logicalOperator) throws ParseWhereException {
+    List<WhereExpression> operands = new ArrayList<>();
+    for (Expression side : new Expression[] { where.getLeftExpression(), where.getRightExpression() }) {
+      WhereExpression operand = parseWhereExpression(side);
+      assert operand != null : "an operand should not be null";
+      if (!operand.isComparison() && !operand.isNot() && operand.getLogicalOperator() == logicalOperator) {
+        operands.addAll(operand.getOperands());
+      } else {
+        operands.add(operand);
+      }
+    }
+    WhereExpression whereExpression = new WhereExpression(where.toString(), false, logicalOperator, operands);
+    return where.isNot() ? negate(where.toString(), whereExpression) : whereExpression;
+  }
+
+  /**
+   * @param expression the text of the negated expression
+   * @param where      the expression to negate
+   * @return a copy of {@code where} that is negated if {@code where} is not, and vice versa
+   */
+  private WhereExpression negate(String expression, WhereExpression where) {
+    if (where.isComparison()) {
+      return new WhereExpression(expression, !where.isNot(), where.getColumn(), where.getOperator(), where.getValue());
+    }
+    return new WhereExpression(expression, !where.isNot(), where.getLogicalOperator(), where.getOperands());
+  }
+
   public Expression getExpressionInstance(Expression value) throws ParseWhereException {
     if (value instanceof DoubleValue) {
       DoubleValue doubleValue = (DoubleValue) value;
@@ -0,0 +1,50 @@
+package edu.utdallas.davisbase.representation;
+
+public class CopyFromCommandRepresentation implements CommandRepresentation {
+  private final String command;
+  private final String table;
+  private final String filePath;
+  private final boolean hasHeader;
+
+  public CopyFromCommandRepresentation(String command, String table, String filePath, boolean hasHeader) {
+    this.command = command;
+    this.table = table;
+    this.filePath = filePath;
+    this.hasHeader = hasHeader;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  /**
+   * @return whether the first record of the file is a header to skip
+   */
+  public boolean hasHeader() {
+    return hasHeader;
+  }
+
+  @Override
+  public String getFullCommand() {
+    return command;
+  }
+
+  @Override
+  public String getOperation() {
+    return "COPY FROM";
+  }
+
+  @Override
+  public String toString() {
+    return "CopyFromCommandRepresentation{" +
+      "command='" + command + '\'' +
+      ", table='" + table + '\'' +
+      ", filePath='" + filePath + '\'' +
+      ", hasHeader=" + hasHeader +
+      '}';
+  }
+}
@@ -0,0 +1,54 @@
+package edu.utdallas.davisbase.representation;
+
+public class CopyToCommandRepresentation implements CommandRepresentation {
+  private final String command;
+  private final SelectCommandRepresentation select;
+  private final String filePath;
+  private final boolean hasHeader;
+
+  /**
+   * @param select the query whose rows to copy, which for {@code COPY table TO} is all of the
+   *               columns and rows of the table
+   */
+  public CopyToCommandRepresentation(String command, SelectCommandRepresentation select, String filePath, boolean hasHeader) {
+    this.command = command;
+    this.select = select;
+    this.filePath = filePath;
+    this.hasHeader = hasHeader;
+  }
+
+  public SelectCommandRepresentation getSelect() {
+    return select;
+  }
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  /**
+   * @return whether to write a header record of the column names before the rows
+   */
+  public boolean hasHeader() {
+    return hasHeader;
+  }
+
+  @Override
+  public String getFullCommand() {
+    return command;
+  }
+
+  @Override
+  public String getOperation() {
+    return "COPY TO";
+  }
+
+  @Override
+  public String toString() {
+    return "CopyToCommandRepresentation{" +
+      "command='" + command + '\'' +
+      ", select=" + select +
+      ", filePath='" + filePath + '\'' +
+      ", hasHeader=" + hasHeader +
+      '}';
+  }
+}
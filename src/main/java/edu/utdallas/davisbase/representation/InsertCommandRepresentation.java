@@ -11,13 +11,24 @@ public class InsertCommandRepresentation implements CommandRepresentation {
   private final String command;
   private final String table;
   private final List<Column> columns;
-  private final List<Expression> values;
+  private final List<List<Expression>> rows;
 
-  public InsertCommandRepresentation(String command, String table, List<Column> columns, List<Expression> values) {
+  /**
+   * @param rows the value list of every row to insert, in order, e.g. more than one for
+   *             {@code INSERT INTO t VALUES (...), (...)} (not empty)
+   */
+  public InsertCommandRepresentation(String command, String table, List<Column> columns, List<List<Expression>> rows) {
+    if (rows.isEmpty()) {
+      throw new IllegalArgumentException("rows is empty");
+    }
     this.command= command;
     this.table = table;
     this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
-    this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    final List<List<Expression>> rowsCopy = new ArrayList<>(rows.size());
+    for (List<Expression> values : rows) {
+      rowsCopy.add(Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+    this.rows = Collections.unmodifiableList(rowsCopy);
   }
 
   public String getTable() {
@@ -28,8 +39,16 @@ public class InsertCommandRepresentation implements CommandRepresentation {
     return columns;
   }
 
+  /**
+   * @return the values of the first row to insert, which is the only row unless this is a
+   *         multi-row insert
+   */
   public List<Expression> getValues() {
-    return values;
+    return rows.get(0);
+  }
+
+  public List<List<Expression>> getRows() {
+    return rows;
   }
 
   @Override
@@ -48,7 +67,7 @@ public class InsertCommandRepresentation implements CommandRepresentation {
       "command='" + command + '\'' +
       ", table='" + table + '\'' +
       ", columns=" + columns +
-      ", values=" + values +
+      ", rows=" + rows +
       '}';
   }
 }
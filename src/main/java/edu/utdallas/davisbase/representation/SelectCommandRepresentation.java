@@ -1,6 +1,7 @@
 package edu.utdallas.davisbase.representation;
 
 import jdk.nashorn.internal.objects.annotations.Where;
+import net.sf.jsqlparser.statement.select.OrderByElement;
 import net.sf.jsqlparser.statement.select.SelectItem;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -15,13 +16,21 @@ public class SelectCommandRepresentation implements CommandRepresentation {
   private final String table;
   private final boolean all;
   private final @Nullable WhereExpression whereClause;
+  private final List<OrderByElement> orderBy;
+  private final @Nullable Long limit;
 
   public SelectCommandRepresentation(String command, String table, List<SelectItem> columns, boolean all, @Nullable WhereExpression whereClause){
+    this(command, table, columns, all, whereClause, Collections.emptyList(), null);
+  }
+
+  public SelectCommandRepresentation(String command, String table, List<SelectItem> columns, boolean all, @Nullable WhereExpression whereClause, List<OrderByElement> orderBy, @Nullable Long limit){
     this.command=command;
     this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
     this.table=table;
     this.all=all;
     this.whereClause = whereClause;
+    this.orderBy = Collections.unmodifiableList(new ArrayList<>(orderBy));
+    this.limit = limit;
   }
 
   public List<SelectItem> getColumns() {
@@ -40,6 +49,14 @@ public class SelectCommandRepresentation implements CommandRepresentation {
     return whereClause;
   }
 
+  public List<OrderByElement> getOrderBy() {
+    return orderBy;
+  }
+
+  public @Nullable Long getLimit() {
+    return limit;
+  }
+
   @Override
   public String getFullCommand() {
     return command;
@@ -58,6 +75,8 @@ public class SelectCommandRepresentation implements CommandRepresentation {
       ", table='" + table + '\'' +
       ", all=" + all +
       ", whereClause=" + whereClause +
+      ", orderBy=" + orderBy +
+      ", limit=" + limit +
       '}';
   }
 }
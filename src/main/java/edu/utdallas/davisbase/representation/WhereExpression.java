@@ -1,19 +1,37 @@
 package edu.utdallas.davisbase.representation;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static org.checkerframework.checker.nullness.NullnessUtil.castNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.schema.Column;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * A parsed {@code WHERE} clause, which is either a single {@code column <operator> value}
+ * comparison, or an AND or OR of two or more nested {@code WhereExpression}s. Either may be negated.
+ */
 public class WhereExpression {
 
   public static enum Operator {
     EQUALSTO, NOTEQUALTO, GREATERTHAN, GREATERTHANEQUALS, LESSTHAN, LESSTHANEQUALS;
   }
 
+  public static enum LogicalOperator {
+    AND, OR;
+  }
+
   private final String expression;
   private final boolean not;
-  private final Column column;
-  private final Operator operator;
-  private final Expression value;
+  private final @Nullable Column column;
+  private final @Nullable Operator operator;
+  private final @Nullable Expression value;
+  private final @Nullable LogicalOperator logicalOperator;
+  private final List<WhereExpression> operands;
 
   public WhereExpression(String expression, boolean not, Column column, Operator operator, Expression value) {
     this.expression= expression;
@@ -21,6 +39,20 @@ public class WhereExpression {
     this.column = column;
     this.operator = operator;
     this.value=value;
+    this.logicalOperator = null;
+    this.operands = Collections.emptyList();
+  }
+
+  public WhereExpression(String expression, boolean not, LogicalOperator logicalOperator, List<WhereExpression> operands) {
+    checkArgument(operands.size() >= 2, "A compound where expression must have at least two operands");
+
+    this.expression = expression;
+    this.not = not;
+    this.column = null;
+    this.operator = null;
+    this.value = null;
+    this.logicalOperator = logicalOperator;
+    this.operands = Collections.unmodifiableList(new ArrayList<>(operands));
   }
 
   public String getExpression() {
@@ -31,20 +63,51 @@ public class WhereExpression {
     return not;
   }
 
+  /**
+   * @return whether this is a single comparison, rather than an AND or OR of nested expressions
+   */
+  public boolean isComparison() {
+    return logicalOperator == null;
+  }
+
   public Column getColumn() {
-    return column;
+    checkState(isComparison(), "A compound where expression has no column");
+    return castNonNull(column);
   }
 
   public Operator getOperator() {
-    return operator;
+    checkState(isComparison(), "A compound where expression has no comparison operator");
+    return castNonNull(operator);
   }
 
   public Expression getValue() {
-    return value;
+    checkState(isComparison(), "A compound where expression has no value");
+    return castNonNull(value);
+  }
+
+  public LogicalOperator getLogicalOperator() {
+    checkState(!isComparison(), "A comparison where expression has no logical operator");
+    return castNonNull(logicalOperator);
+  }
+
+  /**
+   * @return the nested expressions of an AND or OR, in their written order, or an empty list for a
+   *         comparison
+   */
+  public List<WhereExpression> getOperands() {
+    return operands;
   }
 
   @Override
   public String toString() {
+    if (!isComparison()) {
+      return "WhereExpression{" +
+        "expression='" + expression + '\'' +
+        ", not=" + not +
+        ", logicalOperator='" + logicalOperator + '\'' +
+        ", operands=" + operands +
+        '}';
+    }
     return "WhereExpression{" +
       "expression='" + expression + '\'' +
       ", not=" + not +
@@ -0,0 +1,67 @@
+package edu.utdallas.davisbase.result;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.Objects.hash;
+
+public class CopyFromResult implements Result {
+
+  private final String tableName;
+  private final int rowsCopied;
+
+  /**
+   * @param tableName  the name of the table into which rows were copied (not null)
+   * @param rowsCopied the count of rows that were copied (not negative)
+   */
+  public CopyFromResult(String tableName, int rowsCopied) {
+    checkNotNull(tableName);
+    checkArgument(0 <= rowsCopied,
+        format("rowsCopied must be nonnegative, but is %d",
+            rowsCopied));
+
+    this.tableName = tableName;
+    this.rowsCopied = rowsCopied;
+  }
+
+  /**
+   * @return the name of the table into which rows were copied (not null)
+   */
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * @return the count of rows copied (not negative)
+   */
+  public int getRowsCopied() {
+    return rowsCopied;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj != null && obj instanceof CopyFromResult)) {
+      return false;
+    }
+
+    CopyFromResult other = (CopyFromResult) obj;
+    return
+      getTableName().equals(other.getTableName()) &&
+      getRowsCopied() == other.getRowsCopied();
+  }
+
+  @Override
+  public int hashCode() {
+    return hash(getTableName(), getRowsCopied());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(CopyFromResult.class)
+        .add("tableName", getTableName())
+        .add("rowsCopied", getRowsCopied())
+        .toString();
+  }
+
+}
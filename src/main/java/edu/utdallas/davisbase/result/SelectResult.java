@@ -4,7 +4,10 @@ import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Objects.hash;
 
-public class SelectResult implements Result {
+import java.io.Closeable;
+import java.io.IOException;
+
+public class SelectResult implements Result, Closeable {
 
   private final SelectResultSchema schema;
   private final SelectResultData data;
@@ -35,6 +38,14 @@ public class SelectResult implements Result {
     return data;
   }
 
+  /**
+   * Closes the {@link SelectResultData} of this {@code SelectResult}.
+   */
+  @Override
+  public void close() throws IOException {
+    data.close();
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (!(obj != null && obj instanceof SelectResult)) {
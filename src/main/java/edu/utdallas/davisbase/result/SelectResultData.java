@@ -3,45 +3,124 @@ package edu.utdallas.davisbase.result;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.TextUtils.TEXT_CHARSET;
+import static java.lang.String.format;
 import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
 import static java.nio.file.Files.newInputStream;
 import static java.nio.file.Files.newOutputStream;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.hash;
 
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Row-oriented data for a {@link SelectResult}.
+ * <p>
+ * Small data is held in memory. Larger data is spilled to a temporary file in a compact binary
+ * format driven by the {@link SelectResultSchema}: each row is a null bitmap of one bit per
+ * column, followed by the value of each non-null column in order. Fixed-size values are written
+ * in big-endian order, temporal values as their epoch day and/or nano of day, and TEXT values as
+ * their length in bytes followed by those bytes.
+ * <p>
+ * Data may instead be {@link #ofStream(SelectResultSchema, Iterator, Closeable) streamed}, in which
+ * case each row is produced only as it is iterated, and so can be iterated only once.
+ * <p>
+ * Data must be {@link #close() closed} once it has been read, which releases whatever it was read
+ * from.
  */
-public class SelectResultData implements Iterable<SelectResultDataRow> {
+public class SelectResultData implements Iterable<SelectResultDataRow>, Closeable {
 
-  private final Path path;
+  private static final int SPILL_BUFFER_SIZE = 64 * 1024;
+
+  private final SelectResultSchema schema;
+  private final @Nullable List<SelectResultDataRow> rows;
+  private final @Nullable Path path;
+  private @Nullable Iterator<SelectResultDataRow> stream;
+  private final @Nullable Closeable source;
   private final int size;
+  private final List<Closeable> spillInputs = new ArrayList<>();
+
+  private SelectResultData(SelectResultSchema schema, @Nullable List<SelectResultDataRow> rows, @Nullable Path path, @Nullable Iterator<SelectResultDataRow> stream, @Nullable Closeable source, int size) {
+    assert (rows != null ? 1 : 0) + (path != null ? 1 : 0) + (stream != null ? 1 : 0) == 1 : "exactly one of rows, path and stream should be nonnull";
 
-  private SelectResultData(Path path, int size) {
+    this.schema = schema;
+    this.rows = rows;
     this.path = path;
+    this.stream = stream;
+    this.source = source;
     this.size = size;
   }
 
   /**
-   * @return the number of rows in this data
+   * @param schema the schema of every row (not null)
+   * @param rows   the rows, which are produced as they are iterated, and which may throw
+   *               {@link java.io.UncheckedIOException UncheckedIOException} or
+   *               {@link edu.utdallas.davisbase.UncheckedDavisBaseException UncheckedDavisBaseException}
+   *               (not null)
+   * @param source what the rows are read from, which is closed when the data is closed (not null)
+   * @return data that can be iterated only once, and whose {@link #size()} is unknown
+   */
+  public static SelectResultData ofStream(SelectResultSchema schema, Iterator<SelectResultDataRow> rows, Closeable source) {
+    checkNotNull(schema);
+    checkNotNull(rows);
+    checkNotNull(source);
+
+    return new SelectResultData(schema, null, null, rows, source, -1);
+  }
+
+  /**
+   * @return the number of rows in this data, or {@code -1} if it is streamed
    */
   public int size() {
     return size;
   }
 
+  /**
+   * @return whether this data was spilled to a temporary file rather than held in memory
+   */
+  public boolean isSpilled() {
+    return path != null;
+  }
+
   public Iterator<SelectResultDataRow> iterator() {
+    final @Nullable List<SelectResultDataRow> rows = this.rows;
+    if (rows != null) {
+      return rows.iterator();
+    }
+
+    final @Nullable Iterator<SelectResultDataRow> stream = this.stream;
+    if (stream != null) {
+      this.stream = null;
+      return stream;
+    }
+    checkState(path != null, "This streamed SelectResultData has already been iterated.");
+
     try {
+      final DataInputStream input = new DataInputStream(new BufferedInputStream(newInputStream(castNonNullPath()), SPILL_BUFFER_SIZE));
+      spillInputs.add(input);
       return new Iterator<SelectResultDataRow>() {
 
-        private final ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(newInputStream(path)));
         private final int rowCount = size;
         private int rowIndex = 0;
 
@@ -61,14 +140,14 @@ public class SelectResultData implements Iterable<SelectResultDataRow> {
 
         @Override
         public SelectResultDataRow next() {
+          if (rowIndex >= rowCount) {
+            throw new NoSuchElementException();
+          }
           try {
-            SelectResultDataRow row = (SelectResultDataRow) input.readObject();
+            SelectResultDataRow row = decodeRow(schema, input);
             rowIndex += 1;
             return row;
           }
-          catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
-          }
           catch (IOException e) {
             throw new UncheckedIOException(e);
           }
@@ -81,6 +160,34 @@ public class SelectResultData implements Iterable<SelectResultDataRow> {
     }
   }
 
+  /**
+   * Releases whatever this data was read from, and deletes its temporary file if it was spilled,
+   * including when an iteration of it stopped early.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      if (source != null) {
+        source.close();
+      }
+      for (Closeable input : spillInputs) {
+        input.close();
+      }
+    }
+    finally {
+      spillInputs.clear();
+      if (path != null) {
+        deleteIfExists(path);
+      }
+    }
+  }
+
+  private Path castNonNullPath() {
+    final @Nullable Path path = this.path;
+    checkState(path != null, "This SelectResultData is not spilled.");
+    return path;
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (!(obj != null && obj instanceof SelectResultData)) {
@@ -89,23 +196,224 @@ public class SelectResultData implements Iterable<SelectResultDataRow> {
 
     SelectResultData other = (SelectResultData) obj;
     return
-        path.equals(other.path) &&
+        Objects.equals(rows, other.rows) &&
+        Objects.equals(path, other.path) &&
+        Objects.equals(source, other.source) &&
         size == other.size;
   }
 
   @Override
   public int hashCode() {
-    return hash(path, size);
+    return hash(rows, path, source, size);
   }
 
   @Override
   public String toString() {
     return toStringHelper(SelectResultData.class)
+        .add("schema", schema)
         .add("path", path)
         .add("size", size)
         .toString();
   }
 
+  //region Binary row format
+
+  private static void encodeRow(SelectResultSchema schema, SelectResultDataRow row, DataOutputStream output) throws IOException {
+    final int columnCount = schema.size();
+    assert row.size() == columnCount : "row should have a value for every column of schema";
+
+    for (int i = 0; i < columnCount; i += Byte.SIZE) {
+      int nullBits = 0;
+      for (int j = i; j < Math.min(i + Byte.SIZE, columnCount); j++) {
+        if (row.get(j) == null) {
+          nullBits |= 1 << (j - i);
+        }
+      }
+      output.writeByte(nullBits);
+    }
+
+    for (int i = 0; i < columnCount; i++) {
+      final @Nullable Object value = row.get(i);
+      if (value == null) {
+        continue;
+      }
+
+      final DataType dataType = schema.getColumn(i).getDataType();
+      switch (dataType) {
+        case TINYINT:
+          output.writeByte((Byte) value);
+          break;
+
+        case SMALLINT:
+          output.writeShort((Short) value);
+          break;
+
+        case INT:
+          output.writeInt((Integer) value);
+          break;
+
+        case BIGINT:
+          output.writeLong((Long) value);
+          break;
+
+        case FLOAT:
+          output.writeFloat((Float) value);
+          break;
+
+        case DOUBLE:
+          output.writeDouble((Double) value);
+          break;
+
+        case YEAR:
+          output.writeInt(((Year) value).getValue());
+          break;
+
+        case TIME:
+          output.writeLong(((LocalTime) value).toNanoOfDay());
+          break;
+
+        case DATETIME:
+          output.writeLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+          output.writeLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+          break;
+
+        case DATE:
+          output.writeLong(((LocalDate) value).toEpochDay());
+          break;
+
+        case TEXT:
+          final byte[] bytes = ((String) value).getBytes(TEXT_CHARSET);
+          output.writeInt(bytes.length);
+          output.write(bytes);
+          break;
+
+        default:
+          throw new NotImplementedException(format("Spilling a SelectResultDataRow value of DataType %s", dataType));
+      }
+    }
+  }
+
+  private static SelectResultDataRow decodeRow(SelectResultSchema schema, DataInputStream input) throws IOException {
+    final int columnCount = schema.size();
+
+    int nullBits = 0;
+    final SelectResultDataRow.Builder rowBuilder = new SelectResultDataRow.Builder(columnCount);
+    final boolean[] isNull = new boolean[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      if (i % Byte.SIZE == 0) {
+        nullBits = input.readUnsignedByte();
+      }
+      isNull[i] = (nullBits & (1 << (i % Byte.SIZE))) != 0;
+    }
+
+    for (int i = 0; i < columnCount; i++) {
+      final DataType dataType = schema.getColumn(i).getDataType();
+      switch (dataType) {
+        case TINYINT:
+          rowBuilder.addTinyInt(isNull[i] ? null : input.readByte());
+          break;
+
+        case SMALLINT:
+          rowBuilder.addSmallInt(isNull[i] ? null : input.readShort());
+          break;
+
+        case INT:
+          rowBuilder.addInt(isNull[i] ? null : input.readInt());
+          break;
+
+        case BIGINT:
+          rowBuilder.addBigInt(isNull[i] ? null : input.readLong());
+          break;
+
+        case FLOAT:
+          rowBuilder.addFloat(isNull[i] ? null : input.readFloat());
+          break;
+
+        case DOUBLE:
+          rowBuilder.addDouble(isNull[i] ? null : input.readDouble());
+          break;
+
+        case YEAR:
+          rowBuilder.addYear(isNull[i] ? null : Year.of(input.readInt()));
+          break;
+
+        case TIME:
+          rowBuilder.addTime(isNull[i] ? null : LocalTime.ofNanoOfDay(input.readLong()));
+          break;
+
+        case DATETIME:
+          rowBuilder.addDateTime(isNull[i] ? null : LocalDateTime.of(
+              LocalDate.ofEpochDay(input.readLong()),
+              LocalTime.ofNanoOfDay(input.readLong())));
+          break;
+
+        case DATE:
+          rowBuilder.addDate(isNull[i] ? null : LocalDate.ofEpochDay(input.readLong()));
+          break;
+
+        case TEXT:
+          if (isNull[i]) {
+            rowBuilder.addText(null);
+          }
+          else {
+            final byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            rowBuilder.addText(new String(bytes, TEXT_CHARSET));
+          }
+          break;
+
+        default:
+          throw new NotImplementedException(format("Reading a spilled SelectResultDataRow value of DataType %s", dataType));
+      }
+    }
+    return rowBuilder.build();
+  }
+
+  /**
+   * @return the approximate size in bytes of {@code row} in the binary row format, which is how much
+   *         of the in-memory threshold of a {@link Builder} (or of anything else that buffers rows
+   *         before spilling them) it is counted against
+   */
+  public static long getEncodedSize(SelectResultSchema schema, SelectResultDataRow row) {
+    long size = (schema.size() + Byte.SIZE - 1) / Byte.SIZE;
+    for (int i = 0; i < schema.size(); i++) {
+      final @Nullable Object value = row.get(i);
+      if (value == null) {
+        continue;
+      }
+      switch (schema.getColumn(i).getDataType()) {
+        case TINYINT:
+          size += Byte.BYTES;
+          break;
+
+        case SMALLINT:
+          size += Short.BYTES;
+          break;
+
+        case INT:
+        case FLOAT:
+        case YEAR:
+          size += Integer.BYTES;
+          break;
+
+        case DATETIME:
+          size += Long.BYTES + Long.BYTES;
+          break;
+
+        case TEXT:
+          size += Integer.BYTES + ((String) value).length();
+          break;
+
+        default:
+          size += Long.BYTES;
+          break;
+      }
+    }
+    return size;
+  }
+
+  //endregion
+
   /**
    * A mutable builder of exactly one {@link SelectResultData} instance.
    *
@@ -121,32 +429,84 @@ public class SelectResultData implements Iterable<SelectResultDataRow> {
    * but also simplify the command execution logic by correctly separating the responsibility of
    * generating a result set through a {@code SelectCommand} from the responsibility of scalably
    * managing the internal data structure of the result set.
+   * <p>
+   * Rows are held in memory until either threshold is exceeded, at which point every row so far is
+   * spilled to a temporary file and every later row is written straight to it.
    */
   public static class Builder {
 
-    private final Path path;
-    private final ObjectOutputStream output;
-    private int rowCount;
+    private final SelectResultSchema schema;
+    private final int maxInMemoryRowCount;
+    private final long maxInMemoryByteCount;
 
-    @SuppressWarnings("nullness")  // Necessary since createTempFile(String, String) is annotated @NotNull String but explicitly _does_ accept null.
-    public Builder() throws IOException {
-      this.path = createTempFile(null, null);
-      this.output = new ObjectOutputStream(new BufferedOutputStream(newOutputStream(this.path)));
-      this.rowCount = 0;
+    private @Nullable List<SelectResultDataRow> rows = new ArrayList<>();
+    private long inMemoryByteCount = 0;
+    private @Nullable Path path = null;
+    private @Nullable DataOutputStream output = null;
+    private int rowCount = 0;
+
+    /**
+     * @param schema               the schema of every row to be written (not null)
+     * @param maxInMemoryRowCount  the most rows to hold in memory before spilling (not negative)
+     * @param maxInMemoryByteCount the most bytes of rows, as encoded in the binary row format, to
+     *                             hold in memory before spilling (not negative)
+     */
+    public Builder(SelectResultSchema schema, int maxInMemoryRowCount, long maxInMemoryByteCount) {
+      checkNotNull(schema);
+      checkArgument(0 <= maxInMemoryRowCount, "maxInMemoryRowCount must be nonnegative");
+      checkArgument(0 <= maxInMemoryByteCount, "maxInMemoryByteCount must be nonnegative");
+
+      this.schema = schema;
+      this.maxInMemoryRowCount = maxInMemoryRowCount;
+      this.maxInMemoryByteCount = maxInMemoryByteCount;
     }
 
     public void writeRow(SelectResultDataRow row) throws IOException {
       checkNotNull(row);
-      checkArgument(rowCount < Integer.MAX_VALUE, "Cannot write more than %d rows", Integer.MAX_VALUE);
+      checkArgument(row.size() == schema.size(), "row must have %s values, but has %s", schema.size(), row.size());
+      checkArgument(rowCount < Integer.MAX_VALUE, "Cannot write more than %s rows", Integer.MAX_VALUE);
 
-      output.writeObject(row);
-      output.flush();
+      final @Nullable List<SelectResultDataRow> rows = this.rows;
+      if (rows != null) {
+        rows.add(row);
+        inMemoryByteCount += getEncodedSize(schema, row);
+        if (rows.size() > maxInMemoryRowCount || inMemoryByteCount > maxInMemoryByteCount) {
+          spill(rows);
+        }
+      }
+      else {
+        encodeRow(schema, row, castNonNullOutput());
+      }
       rowCount += 1;
     }
 
     public SelectResultData build() throws IOException {
-      output.close();
-      return new SelectResultData(path, rowCount);
+      final @Nullable List<SelectResultDataRow> rows = this.rows;
+      if (rows != null) {
+        return new SelectResultData(schema, unmodifiableList(rows), null, null, null, rowCount);
+      }
+
+      castNonNullOutput().close();
+      return new SelectResultData(schema, null, path, null, null, rowCount);
+    }
+
+    @SuppressWarnings("nullness")  // Necessary since createTempFile(String, String) is annotated @NotNull String but explicitly _does_ accept null.
+    private void spill(List<SelectResultDataRow> rows) throws IOException {
+      final Path path = createTempFile(null, null);
+      final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(newOutputStream(path), SPILL_BUFFER_SIZE));
+      for (SelectResultDataRow row : rows) {
+        encodeRow(schema, row, output);
+      }
+
+      this.path = path;
+      this.output = output;
+      this.rows = null;
+    }
+
+    private DataOutputStream castNonNullOutput() {
+      final @Nullable DataOutputStream output = this.output;
+      checkState(output != null, "This Builder has not spilled.");
+      return output;
     }
 
   }
@@ -0,0 +1,91 @@
+package edu.utdallas.davisbase.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An in-memory copy of an index page.
+ * <p>
+ * After an optional fixed-size prefix (see {@link #getCellPrefixSize()}), each cell of an index page
+ * is laid out as one byte of rowid count, one byte of key length, the key itself, and then the
+ * rowids (four bytes each) of every row having that key.
+ */
+abstract class AbstractIndexPage extends AbstractPage {
+
+  protected AbstractIndexPage(int pageNo, ByteBuffer buffer) {
+    super(pageNo, buffer);
+  }
+
+  /**
+   * @return the number of bytes preceding the rowid count in each cell
+   */
+  protected abstract int getCellPrefixSize();
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the number of rowids in the cell
+   */
+  int getCellRowIdCount(int cellIndex) {
+    return buffer.get(getCellPageOffset(cellIndex) + getCellPrefixSize()) & 0xFF;
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the length in bytes of the key of the cell
+   */
+  int getCellKeyLength(int cellIndex) {
+    return buffer.get(getCellPageOffset(cellIndex) + getCellPrefixSize() + 1) & 0xFF;
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the page offset at which the key of the cell starts
+   */
+  int getCellKeyPageOffset(int cellIndex) {
+    return getCellPageOffset(cellIndex) + getCellPrefixSize() + 2;
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return a copy of the key of the cell (not null)
+   */
+  byte[] getCellKey(int cellIndex) {
+    final byte[] key = new byte[getCellKeyLength(cellIndex)];
+    final ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(getCellKeyPageOffset(cellIndex));
+    duplicate.get(key);
+    return key;
+  }
+
+  /**
+   * @param cellIndex  the zero-based index of the cell in the page
+   * @param rowIdIndex the zero-based index of the rowid in the cell
+   * @return the rowid
+   */
+  int getCellRowId(int cellIndex, int rowIdIndex) {
+    final int rowIdsPageOffset = getCellKeyPageOffset(cellIndex) + getCellKeyLength(cellIndex);
+    return buffer.getInt(rowIdsPageOffset + rowIdIndex * Integer.BYTES);
+  }
+
+  /**
+   * Compares the key of a cell with another key where it lies in the page, without copying it.
+   *
+   * @param cellIndex the zero-based index of the cell in the page
+   * @param codec     the codec of the keys of the index (not null)
+   * @param key       the other key (not null)
+   * @return a negative integer, zero, or a positive integer as the key of the cell is less than,
+   *         equal to, or greater than {@code key}
+   */
+  int compareCellKey(int cellIndex, KeyCodec<?> codec, byte[] key) {
+    return codec.compare(buffer, getCellKeyPageOffset(cellIndex), getCellKeyLength(cellIndex), key);
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @param codec     the codec of the keys of the index (not null)
+   * @return the value that the key of the cell encodes (not null)
+   */
+  <T> T decodeCellKey(int cellIndex, KeyCodec<T> codec) {
+    return codec.decode(buffer, getCellKeyPageOffset(cellIndex), getCellKeyLength(cellIndex));
+  }
+
+}
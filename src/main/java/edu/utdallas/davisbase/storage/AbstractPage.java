@@ -0,0 +1,241 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_CONTENT_START_POINT;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_COUNT;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_PAGE_TYPE_CODE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_RIGHTMOST_PAGENO;  // spell-checker:ignore pageno
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+import static edu.utdallas.davisbase.storage.Page.convertPageNoToFileOffset;
+
+import com.google.common.primitives.Shorts;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * An in-memory copy of one page of a table or index file.
+ * <p>
+ * The page header is parsed once on construction. Accessors read from, and mutators write to, the
+ * in-memory copy only; {@link #flush(RandomAccessFile)} writes the whole page back to its file in a
+ * single write if it has been modified.
+ */
+abstract class AbstractPage {
+
+  static final int NULL_PAGE_NO = -1;
+
+  static final int PAGE_OFFSET_OF_PARENT_PAGENO = 0x0A;
+
+  private final int pageNo;
+  protected final ByteBuffer buffer;
+
+  private final byte pageTypeCode;
+  private short cellCount;
+  private short contentStart;
+  private int rightPageNo;
+  private int parentPageNo;
+
+  private boolean isDirty = false;
+
+  protected AbstractPage(int pageNo, ByteBuffer buffer) {
+    checkArgument(pageNo > 0, "pageNo (%s) must be positive", pageNo);
+    checkNotNull(buffer, "buffer");
+    checkArgument(buffer.capacity() == PAGE_SIZE,
+        "buffer capacity (%s) must equal the page size (%s)", buffer.capacity(), PAGE_SIZE);
+
+    this.pageNo = pageNo;
+    this.buffer = buffer;
+
+    this.pageTypeCode = buffer.get(PAGE_OFFSET_OF_PAGE_TYPE_CODE);
+    this.cellCount = buffer.getShort(PAGE_OFFSET_OF_CELL_COUNT);
+    this.contentStart = buffer.getShort(PAGE_OFFSET_OF_CELL_CONTENT_START_POINT);
+    this.rightPageNo = buffer.getInt(PAGE_OFFSET_OF_RIGHTMOST_PAGENO);
+    this.parentPageNo = buffer.getInt(PAGE_OFFSET_OF_PARENT_PAGENO);
+  }
+
+  /**
+   * @param file   the file from which to read the page (not null)
+   * @param pageNo the one-based number of the page in the file
+   * @return a fresh in-memory copy of the whole page (not null)
+   * @throws IOException
+   */
+  static ByteBuffer readPageBuffer(RandomAccessFile file, int pageNo) throws IOException {
+    assert file != null : "file should not be null";
+
+    final byte[] data = new byte[PAGE_SIZE];
+    file.seek(convertPageNoToFileOffset(pageNo));
+    file.readFully(data);
+    return ByteBuffer.wrap(data);
+  }
+
+  /**
+   * Writes this page back to {@code file} in a single write, if it has been modified since it was
+   * read or last flushed.
+   *
+   * @param file the file to which this page belongs (not null)
+   * @throws IOException
+   */
+  void flush(RandomAccessFile file) throws IOException {
+    checkNotNull(file, "file");
+
+    if (isDirty) {
+      file.seek(convertPageNoToFileOffset(pageNo));
+      file.write(buffer.array(), buffer.arrayOffset(), PAGE_SIZE);
+      isDirty = false;
+    }
+  }
+
+  int getPageNo() {
+    return pageNo;
+  }
+
+  byte getPageTypeCode() {
+    return pageTypeCode;
+  }
+
+  boolean isDirty() {
+    return isDirty;
+  }
+
+  //region Header
+
+  short getCellCount() {
+    return cellCount;
+  }
+
+  /**
+   * @return the page offset of the start of the cell content area, which is the page size when the
+   *         page has no cells
+   */
+  short getContentStart() {
+    return (contentStart <= 0) ? Shorts.checkedCast(PAGE_SIZE) : contentStart;
+  }
+
+  int getParentPageNo() {
+    return parentPageNo;
+  }
+
+  void setParentPageNo(int parentPageNo) {
+    this.parentPageNo = parentPageNo;
+    buffer.putInt(PAGE_OFFSET_OF_PARENT_PAGENO, parentPageNo);
+    markDirty();
+  }
+
+  boolean isRoot() {
+    return parentPageNo == NULL_PAGE_NO;
+  }
+
+  /**
+   * @return the page no stored at header offset 0x06, i.e. the right sibling of a leaf page or the
+   *         rightmost child of an interior page
+   */
+  protected int getRightPageNo() {
+    return rightPageNo;
+  }
+
+  protected void setRightPageNo(int rightPageNo) {
+    this.rightPageNo = rightPageNo;
+    buffer.putInt(PAGE_OFFSET_OF_RIGHTMOST_PAGENO, rightPageNo);
+    markDirty();
+  }
+
+  //endregion
+
+  //region Cells
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the zero-based offset of the start of the cell relative to the beginning of the page
+   */
+  short getCellPageOffset(int cellIndex) {
+    checkElementIndex(cellIndex, cellCount, "cellIndex");
+
+    return buffer.getShort(PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY + cellIndex * PAGE_OFFSET_SIZE);
+  }
+
+  /**
+   * @return the number of unused bytes between the cell page offset array and the cell content area
+   */
+  int getFreeSpace() {
+    final int endOfCellPageOffsetArray =
+        PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY + cellCount * PAGE_OFFSET_SIZE;
+    return getContentStart() - endOfCellPageOffsetArray;
+  }
+
+  /**
+   * @param cellSize the size in bytes of a prospective cell
+   * @return whether a cell of the given size, together with its entry in the cell page offset array,
+   *         fits in this page
+   */
+  boolean canFit(int cellSize) {
+    return getFreeSpace() >= cellSize + PAGE_OFFSET_SIZE;
+  }
+
+  /**
+   * Copies {@code cellData} to the start of the cell content area and appends its page offset to
+   * the cell page offset array.
+   *
+   * @param cellData the serialized cell (not null)
+   * @return the page offset at which the cell was written
+   */
+  short appendCell(byte[] cellData) {
+    checkNotNull(cellData, "cellData");
+    checkState(getFreeSpace() >= cellData.length + PAGE_OFFSET_SIZE,
+        "Page %s does not have room for a cell of %s bytes.", pageNo, cellData.length);
+
+    final short cellPageOffset = Shorts.checkedCast(getContentStart() - cellData.length);
+    final ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(cellPageOffset);
+    duplicate.put(cellData);
+
+    buffer.putShort(
+        PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY + cellCount * PAGE_OFFSET_SIZE,
+        cellPageOffset);
+    setCellCount(Shorts.checkedCast(cellCount + 1));
+    setContentStart(cellPageOffset);
+    return cellPageOffset;
+  }
+
+  /**
+   * Removes the entry for the specified cell from the cell page offset array, shifting later entries
+   * down by one. The cell content itself is left in place.
+   *
+   * @param cellIndex the zero-based index of the cell in the page
+   */
+  void removeCell(int cellIndex) {
+    checkElementIndex(cellIndex, cellCount, "cellIndex");
+
+    for (int i = cellIndex; i < cellCount - 1; i++) {
+      final int entryOffset = PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY + i * PAGE_OFFSET_SIZE;
+      buffer.putShort(entryOffset, buffer.getShort(entryOffset + PAGE_OFFSET_SIZE));
+    }
+    buffer.putShort(
+        PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY + (cellCount - 1) * PAGE_OFFSET_SIZE,
+        (short) 0x00);
+    setCellCount(Shorts.checkedCast(cellCount - 1));
+  }
+
+  protected void setCellCount(short cellCount) {
+    this.cellCount = cellCount;
+    buffer.putShort(PAGE_OFFSET_OF_CELL_COUNT, cellCount);
+    markDirty();
+  }
+
+  protected void setContentStart(short contentStart) {
+    this.contentStart = contentStart;
+    buffer.putShort(PAGE_OFFSET_OF_CELL_CONTENT_START_POINT, contentStart);
+    markDirty();
+  }
+
+  //endregion
+
+  protected void markDirty() {
+    isDirty = true;
+  }
+
+}
@@ -0,0 +1,384 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A fixed-capacity cache of page-sized frames shared by every file that a {@link Storage} opens.
+ * <p>
+ * A page is read from disk at most once while its frame stays resident. Writes only mark the frame
+ * dirty; dirty frames are written back when they are evicted (least-recently-used among the
+ * unpinned frames) or when their file is {@link #flush(PooledFile) flushed}, e.g. on closing a
+ * {@link PooledRandomAccessFile}.
+ * <p>
+ * The pool holds the only open descriptor of each of its files, which it opens when the first
+ * handle of the file is {@link #register(File) registered} and closes when the last one is
+ * {@link #release(PooledFile) released}. The clean frames of a file stay resident in between.
+ */
+class BufferPool {
+
+  /**
+   * One page-sized frame of a {@link PooledFile}.
+   */
+  static class Frame {
+
+    private final PooledFile file;
+    private final int pageIndex;
+    private final byte[] data;
+
+    private int pinCount = 0;
+    private boolean isDirty = false;
+    private boolean isResident = true;
+
+    private Frame(PooledFile file, int pageIndex, int pageSize) {
+      this.file = file;
+      this.pageIndex = pageIndex;
+      this.data = new byte[pageSize];
+    }
+
+    /**
+     * @return the zero-based index of the page that this frame holds
+     */
+    int getPageIndex() {
+      return pageIndex;
+    }
+
+    /**
+     * @return the in-memory content of the page (not null, exactly one page long)
+     */
+    byte[] getData() {
+      return data;
+    }
+
+    /**
+     * @return whether this frame still belongs to the pool, i.e. has not been evicted or discarded
+     */
+    boolean isResident() {
+      return isResident;
+    }
+
+    /**
+     * Marks the content of this frame as modified so that it is written back before it is evicted.
+     */
+    void markDirty() {
+      isDirty = true;
+    }
+
+  }
+
+  /**
+   * A file registered with a {@link BufferPool}.
+   */
+  static class PooledFile {
+
+    private final int id;
+    private final File path;
+    /** The open file, while the file has a registered handle, and otherwise null. */
+    private @Nullable RandomAccessFile backing;
+    private int handleCount = 0;
+    private volatile long length;
+
+    private PooledFile(int id, File path) throws IOException {
+      this.id = id;
+      this.path = path;
+      this.length = path.length();
+    }
+
+    /**
+     * @return the logical length of the file in bytes, including writes not yet written back
+     */
+    long getLength() {
+      return length;
+    }
+
+    /**
+     * @return whether the file is open, i.e. has a registered handle
+     */
+    boolean isOpen() {
+      return backing != null;
+    }
+
+  }
+
+  private final int pageSize;
+  private final int capacity;
+  private final Map<String, PooledFile> files = new HashMap<>();
+  private final LinkedHashMap<Long, Frame> frames;
+  private int nextFileId = 0;
+
+  /**
+   * @param pageSize the size in bytes of every frame (positive)
+   * @param capacity the maximum number of frames held in memory at once (positive)
+   */
+  BufferPool(int pageSize, int capacity) {
+    checkArgument(pageSize > 0, "pageSize must be positive");
+    checkArgument(capacity > 0, "capacity must be positive");
+
+    this.pageSize = pageSize;
+    this.capacity = capacity;
+    this.frames = new LinkedHashMap<>(capacity, 0.75f, true);  // access order, i.e. LRU first
+  }
+
+  int getPageSize() {
+    return pageSize;
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Registers a handle of a file, opening the file if it has no other handle. Every registration
+   * must be {@link #release(PooledFile) released}.
+   *
+   * @param path the file to register (not null, must exist)
+   * @return the pool's shared entry for {@code path}, creating it if this is the first registration
+   * @throws IOException
+   */
+  synchronized PooledFile register(File path) throws IOException {
+    checkNotNull(path, "path");
+
+    final String key = path.getCanonicalPath();
+    PooledFile file = files.get(key);
+    if (file == null) {
+      file = new PooledFile(nextFileId++, path);
+      files.put(key, file);
+    }
+    if (file.backing == null) {
+      file.backing = new RandomAccessFile(path, "rw");
+    }
+    file.handleCount += 1;
+    return file;
+  }
+
+  /**
+   * Flushes {@code file} and releases one {@link #register(File) registration} of it, closing the
+   * file once it has no registered handle left. Its frames, which are all clean, stay resident.
+   *
+   * @param file the file of the handle to release (not null)
+   * @throws IOException
+   */
+  synchronized void release(PooledFile file) throws IOException {
+    assert file != null : "file should not be null";
+    checkState(file.handleCount > 0, "file has no registered handles");
+
+    try {
+      flush(file);
+    }
+    finally {
+      file.handleCount -= 1;
+      final @Nullable RandomAccessFile backing = file.backing;
+      if (file.handleCount == 0 && backing != null) {
+        file.backing = null;
+        backing.close();
+      }
+    }
+  }
+
+  /**
+   * Drops every frame of the file at {@code path} <b>without</b> writing it back, and forgets the
+   * file. Intended to be called before the file is deleted or re-created.
+   *
+   * @param path the file to forget (not null)
+   * @throws IOException
+   */
+  synchronized void discard(File path) throws IOException {
+    checkNotNull(path, "path");
+
+    final PooledFile file = files.remove(path.getCanonicalPath());
+    if (file == null) {
+      return;
+    }
+
+    final Iterator<Frame> iterator = frames.values().iterator();
+    while (iterator.hasNext()) {
+      final Frame frame = iterator.next();
+      if (frame.file == file) {
+        frame.isResident = false;
+        iterator.remove();
+      }
+    }
+    final @Nullable RandomAccessFile backing = file.backing;
+    file.backing = null;
+    if (backing != null) {
+      backing.close();
+    }
+  }
+
+  /**
+   * Pins the frame holding the specified page, reading the page from disk if it is not resident.
+   * A pinned frame is never evicted until it is {@link #unpin(Frame) unpinned} as often as it was
+   * pinned.
+   *
+   * @param file      the file of the page (not null)
+   * @param pageIndex the zero-based index of the page (not negative)
+   * @return the pinned frame (not null)
+   * @throws IOException
+   */
+  synchronized Frame pin(PooledFile file, int pageIndex) throws IOException {
+    assert file != null : "file should not be null";
+    assert pageIndex >= 0 : "pageIndex should not be negative";
+
+    final Long key = toKey(file, pageIndex);
+    Frame frame = frames.get(key);
+    if (frame == null) {
+      if (frames.size() >= capacity) {
+        evict();
+      }
+      frame = new Frame(file, pageIndex, pageSize);
+      load(frame);
+      frames.put(key, frame);
+    }
+    frame.pinCount += 1;
+    return frame;
+  }
+
+  /**
+   * @param frame a frame previously returned by {@link #pin(PooledFile, int)} (not null)
+   */
+  synchronized void unpin(Frame frame) {
+    assert frame != null : "frame should not be null";
+    checkState(frame.pinCount > 0, "frame is not pinned");
+
+    frame.pinCount -= 1;
+  }
+
+  /**
+   * Writes back every dirty frame of {@code file} and brings the on-disk length of the file up to
+   * date with its logical length.
+   *
+   * @param file the file to flush (not null)
+   * @throws IOException
+   */
+  synchronized void flush(PooledFile file) throws IOException {
+    assert file != null : "file should not be null";
+
+    for (final Frame frame : frames.values()) {
+      if (frame.file == file && frame.isDirty) {
+        store(frame);
+      }
+    }
+    final RandomAccessFile backing = getBacking(file);
+    if (backing.length() != file.length) {
+      backing.setLength(file.length);
+    }
+  }
+
+  /**
+   * Changes the logical length of {@code file}. Shrinking the file drops every frame that lies
+   * wholly beyond the new length.
+   *
+   * @param file      the file to resize (not null)
+   * @param newLength the new length in bytes (not negative)
+   * @throws IOException
+   */
+  synchronized void setLength(PooledFile file, long newLength) throws IOException {
+    assert file != null : "file should not be null";
+    checkArgument(newLength >= 0, "newLength may not be negative");
+
+    if (newLength < file.length) {
+      final Iterator<Frame> iterator = frames.values().iterator();
+      while (iterator.hasNext()) {
+        final Frame frame = iterator.next();
+        if (frame.file != file) {
+          continue;
+        }
+        final long frameOffset = (long) frame.pageIndex * pageSize;
+        if (frameOffset >= newLength) {
+          frame.isResident = false;
+          iterator.remove();
+        }
+        else if (frameOffset + pageSize > newLength) {
+          for (int i = (int) (newLength - frameOffset); i < pageSize; i++) {
+            frame.data[i] = 0;
+          }
+        }
+      }
+      getBacking(file).setLength(newLength);
+    }
+    file.length = newLength;
+  }
+
+  /**
+   * Grows the logical length of {@code file} to {@code minLength} if it is currently shorter.
+   */
+  synchronized void extend(PooledFile file, long minLength) {
+    assert file != null : "file should not be null";
+
+    if (file.length < minLength) {
+      file.length = minLength;
+    }
+  }
+
+  private void evict() throws IOException {
+    final Iterator<Frame> iterator = frames.values().iterator();
+    while (iterator.hasNext()) {
+      final Frame frame = iterator.next();
+      if (frame.pinCount == 0) {
+        if (frame.isDirty) {
+          store(frame);
+        }
+        frame.isResident = false;
+        iterator.remove();
+        return;
+      }
+    }
+    throw new IllegalStateException(
+        format("Cannot evict a frame because all %d frames of the buffer pool are pinned.",
+            capacity));
+  }
+
+  private void load(Frame frame) throws IOException {
+    final FileChannel channel = getBacking(frame.file).getChannel();
+    final ByteBuffer buffer = ByteBuffer.wrap(frame.data);
+    long position = (long) frame.pageIndex * pageSize;
+    while (buffer.hasRemaining()) {
+      final int count = channel.read(buffer, position);
+      if (count < 0) {
+        break;  // Past the on-disk end of the file, so the rest of the frame stays zero.
+      }
+      position += count;
+    }
+  }
+
+  private void store(Frame frame) throws IOException {
+    final long frameOffset = (long) frame.pageIndex * pageSize;
+    final int length = (int) Math.min(pageSize, frame.file.length - frameOffset);
+    if (length > 0) {
+      final FileChannel channel = getBacking(frame.file).getChannel();
+      final ByteBuffer buffer = ByteBuffer.wrap(frame.data, 0, length);
+      long position = frameOffset;
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+    }
+    frame.isDirty = false;
+  }
+
+  /**
+   * @return the open file of {@code file}, which only a registered handle may read or write through
+   */
+  private static RandomAccessFile getBacking(PooledFile file) {
+    final @Nullable RandomAccessFile backing = file.backing;
+    checkState(backing != null, "file has no registered handles");
+    return backing;
+  }
+
+  private static Long toKey(PooledFile file, int pageIndex) {
+    return ((long) file.id << Integer.SIZE) | pageIndex;
+  }
+
+}
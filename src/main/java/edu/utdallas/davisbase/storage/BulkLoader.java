@@ -0,0 +1,234 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.RowIdUtils.ROWID_MAX_VALUE;
+import static edu.utdallas.davisbase.RowIdUtils.ROWID_NULL_VALUE;
+import static edu.utdallas.davisbase.storage.AbstractPage.NULL_PAGE_NO;
+import static edu.utdallas.davisbase.storage.AbstractPage.PAGE_OFFSET_OF_PARENT_PAGENO;  // spell-checker:ignore pageno
+import static edu.utdallas.davisbase.storage.Page.FILE_OFFSET_OF_METADATA_CURRENT_ROWID;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_PAGE_TYPE_CODE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_RIGHTMOST_PAGENO;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+import static edu.utdallas.davisbase.storage.TablePageType.INTERIOR;
+import static edu.utdallas.davisbase.storage.TablePageType.LEAF;
+import static java.lang.String.format;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * Loads rows into an empty DavisBase "Table" file by building its B+tree bottom-up.
+ * <p>
+ * Rows are packed into leaf pages, which are written sequentially as each one fills. On
+ * {@link #close()}, the interior levels are built one level at a time from the page nos and
+ * maximum rowids of the level below, so no page is ever split. The resulting file has the same
+ * layout as one built by {@link TableFile#appendRow(TableRowBuilder)}, and is read by
+ * {@link TableFile} unchanged.
+ */
+public class BulkLoader implements RowAppender {
+
+  /**
+   * The size in bytes of a table interior cell, i.e. a child page no and its maximum rowid.
+   */
+  static final int INTERIOR_CELL_SIZE = Integer.BYTES + Integer.BYTES;
+
+  /**
+   * The most cells that a table interior page can hold.
+   */
+  private static final int INTERIOR_CELL_MAX_COUNT =
+      (PAGE_SIZE - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY) / (INTERIOR_CELL_SIZE + PAGE_OFFSET_SIZE);
+
+  private final RandomAccessFile file;
+  private final int leafFillSize;
+  private final int interiorFillCount;
+
+  private TableLeafPage leafPage;
+  private int currentRowId;
+  private final ImmutableIntArray.Builder leafPageNos = ImmutableIntArray.builder();
+  private final ImmutableIntArray.Builder leafMaxRowIds = ImmutableIntArray.builder();
+
+  private boolean isClosed = false;
+
+  /**
+   * @param file       the table file into which to load, which must not contain any rows or pages
+   *                   other than its metadata page and empty root leaf page (not null)
+   * @param fillFactor the fraction of each page to fill, in the range (0, 1]
+   * @throws IOException
+   */
+  BulkLoader(RandomAccessFile file, double fillFactor) throws IOException {
+    checkNotNull(file, "file");
+    checkArgument(0 < fillFactor && fillFactor <= 1,
+        format("fillFactor (%s) must be in the range (0, 1]", fillFactor));
+
+    this.file = file;
+    if (file.length() < PAGE_SIZE) {
+      Page.addTableMetaDataPage(file);
+    }
+
+    checkState(canLoad(file), "Can only bulk load a table that has never had any rows.");
+    this.leafPage = TableLeafPage.read(file, Page.getMetaDataRootPageNo(file));
+
+    this.currentRowId = ROWID_NULL_VALUE;
+    this.leafFillSize = (int) ((PAGE_SIZE - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY) * fillFactor);
+    this.interiorFillCount = Math.max(2, (int) (INTERIOR_CELL_MAX_COUNT * fillFactor));
+  }
+
+  /**
+   * @param file a table file (not null)
+   * @return whether the table has never had any rows, i.e. has at most its metadata page and an
+   *         empty root leaf page, and has never allocated a rowid
+   * @throws IOException
+   */
+  static boolean canLoad(RandomAccessFile file) throws IOException {
+    assert file != null : "file should not be null";
+
+    if (file.length() < PAGE_SIZE) {
+      return true;
+    }
+    if (file.length() != 2L * PAGE_SIZE) {
+      return false;
+    }
+    file.seek(FILE_OFFSET_OF_METADATA_CURRENT_ROWID);
+    if (file.readInt() != ROWID_NULL_VALUE) {
+      return false;
+    }
+    return TableLeafPage.read(file, Page.getMetaDataRootPageNo(file)).getCellCount() == 0;
+  }
+
+  /**
+   * Appends a row to the table, allocating it the next rowid.
+   *
+   * @param tableRowBuilder the row to append, not including its rowid (not null)
+   * @return the rowid allocated to the row
+   * @throws IOException
+   */
+  @Override
+  public int appendRow(TableRowBuilder tableRowBuilder) throws IOException {
+    checkNotNull(tableRowBuilder, "tableRowBuilder");
+    checkState(!isClosed, "This BulkLoader is closed.");
+    checkState(currentRowId < ROWID_MAX_VALUE,
+        format("Cannot get the next allocatable ROWID value because the maximum ROWID of %d has already been allocated for this table.",
+            ROWID_MAX_VALUE));
+
+    final int newRowId = currentRowId + 1;
+    tableRowBuilder.prependRowId(newRowId);
+    final byte[] cellData = tableRowBuilder.toLeafCellBuffer().toBytes();
+
+    // A page always takes at least one cell, however large, so that a low fill factor cannot stop
+    // the load.
+    final int usedSize = PAGE_SIZE - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY - leafPage.getFreeSpace();
+    if (leafPage.getCellCount() > 0 &&
+        (usedSize + cellData.length + PAGE_OFFSET_SIZE > leafFillSize || !leafPage.canFit(cellData.length))) {
+      final int nextLeafPageNo = leafPage.getPageNo() + 1;
+      finishLeafPage(nextLeafPageNo);
+      leafPage = new TableLeafPage(nextLeafPageNo, newPageBuffer(LEAF));
+    }
+
+    leafPage.appendCell(cellData);
+    currentRowId = newRowId;
+    return newRowId;
+  }
+
+  /**
+   * Writes the last leaf page, builds and writes the interior levels, updates the metadata page, and
+   * closes the underlying file.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+
+    try {
+      final int rightmostLeafPageNo = leafPage.getPageNo();
+      finishLeafPage(NULL_PAGE_NO);
+
+      ImmutableIntArray childPageNos = leafPageNos.build();
+      ImmutableIntArray childMaxRowIds = leafMaxRowIds.build();
+      int nextPageNo = rightmostLeafPageNo + 1;
+      while (childPageNos.length() > 1) {
+        final int parentCount = (childPageNos.length() + interiorFillCount - 1) / interiorFillCount;
+        final ImmutableIntArray.Builder parentPageNos = ImmutableIntArray.builder(parentCount);
+        final ImmutableIntArray.Builder parentMaxRowIds = ImmutableIntArray.builder(parentCount);
+
+        // Spread the children evenly, so that no parent is left with a single child.
+        int childIndex = 0;
+        for (int i = 0; i < parentCount; i++) {
+          final int childCount =
+              (childPageNos.length() - childIndex) / (parentCount - i);
+          final int parentPageNo = nextPageNo++;
+          writeInteriorPage(parentPageNo, childPageNos, childMaxRowIds, childIndex, childCount);
+
+          parentPageNos.add(parentPageNo);
+          parentMaxRowIds.add(childMaxRowIds.get(childIndex + childCount - 1));
+          childIndex += childCount;
+        }
+
+        childPageNos = parentPageNos.build();
+        childMaxRowIds = parentMaxRowIds.build();
+      }
+
+      Page.setPageasRoot(file, childPageNos.get(0));
+      Page.setMetaDataRightmostLeafPageNo(file, rightmostLeafPageNo);
+      Page.setMetaDataPageCount(file, nextPageNo - 1);
+      file.seek(FILE_OFFSET_OF_METADATA_CURRENT_ROWID);
+      file.writeInt(currentRowId);
+    }
+    finally {
+      file.close();
+    }
+  }
+
+  private void finishLeafPage(int rightSiblingPageNo) throws IOException {
+    leafPage.setRightSiblingPageNo(rightSiblingPageNo);
+    leafPage.flush(file);
+
+    // Only the root leaf of a table loaded with no rows at all is ever finished empty.
+    leafPageNos.add(leafPage.getPageNo());
+    leafMaxRowIds.add(currentRowId);
+  }
+
+  private void writeInteriorPage(int pageNo, ImmutableIntArray childPageNos,
+      ImmutableIntArray childMaxRowIds, int fromIndex, int count) throws IOException {
+    final TableInteriorPage page = new TableInteriorPage(pageNo, newPageBuffer(INTERIOR));
+    for (int i = fromIndex; i < fromIndex + count; i++) {
+      page.appendCell(toInteriorCell(childPageNos.get(i), childMaxRowIds.get(i)));
+    }
+    page.setRightmostChildPageNo(childPageNos.get(fromIndex + count - 1));
+    page.flush(file);
+
+    // The children were written before their parent page no was known.
+    for (int i = fromIndex; i < fromIndex + count; i++) {
+      file.seek(Page.convertPageNoToFileOffset(childPageNos.get(i)) + PAGE_OFFSET_OF_PARENT_PAGENO);
+      file.writeInt(pageNo);
+    }
+  }
+
+  static byte[] toInteriorCell(int childPageNo, int maxRowId) {
+    return ByteBuffer.allocate(INTERIOR_CELL_SIZE)
+        .putInt(childPageNo)
+        .putInt(maxRowId)
+        .array();
+  }
+
+  /**
+   * @return a zero-filled page with the given type code, no right page, and no parent (not null)
+   */
+  static ByteBuffer newPageBuffer(TablePageType pageType) {
+    final ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+    buffer.put(PAGE_OFFSET_OF_PAGE_TYPE_CODE, pageType.toCode());
+    buffer.putInt(PAGE_OFFSET_OF_RIGHTMOST_PAGENO, NULL_PAGE_NO);
+    buffer.putInt(PAGE_OFFSET_OF_PARENT_PAGENO, NULL_PAGE_NO);
+    return buffer;
+  }
+
+}
@@ -139,11 +139,13 @@ class DataUtils {
     final int isoYear = value.getValue();
     final int offsetYear = isoYear - YEAR_OFFSET;
 
-    checkArgument(Byte.MIN_VALUE <= offsetYear && offsetYear <= Byte.MAX_VALUE,
-        format("The Java Year value %04d is not in the domain of the DavisBase YEAR data type: [%04d, %04d].",
-            isoYear,
-            YEAR_OFFSET + Byte.MIN_VALUE,
-            YEAR_OFFSET + Byte.MAX_VALUE));
+    if (offsetYear < Byte.MIN_VALUE || Byte.MAX_VALUE < offsetYear) {
+      throw new IllegalArgumentException(
+          format("The Java Year value %04d is not in the domain of the DavisBase YEAR data type: [%04d, %04d].",
+              isoYear,
+              YEAR_OFFSET + Byte.MIN_VALUE,
+              YEAR_OFFSET + Byte.MAX_VALUE));
+    }
 
     return new byte[] { (byte) offsetYear };
   }
@@ -170,12 +172,15 @@ class DataUtils {
     checkNotNull(value, "value");
 
     final byte[] binaryValue = value.getBytes(TEXT_CHARSET);
-    checkArgument(binaryValue.length <= TEXT_MAX_BINARY_LENGTH,
-        format("value is converted with the %s charset to %d bytes, which is more than the maximum %d byte length of serialized TEXT data. value is \"%s\".",
-            TEXT_CHARSET.name(),
-            binaryValue.length,
-            TEXT_MAX_BINARY_LENGTH,
-            value.replace("\"", "\\\"")));
+    // The message is only formatted on failure, as this is called for every TEXT value written.
+    if (binaryValue.length > TEXT_MAX_BINARY_LENGTH) {
+      throw new IllegalArgumentException(
+          format("value is converted with the %s charset to %d bytes, which is more than the maximum %d byte length of serialized TEXT data. value is \"%s\".",
+              TEXT_CHARSET.name(),
+              binaryValue.length,
+              TEXT_MAX_BINARY_LENGTH,
+              value.replace("\"", "\\\"")));
+    }
 
     return binaryValue;
   }
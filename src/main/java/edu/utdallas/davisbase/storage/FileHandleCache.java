@@ -0,0 +1,285 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A cache of the open {@link RandomAccessFile} handles of every file that a {@link Storage} has
+ * opened, so that opening a hot file again skips the system calls of opening, checking and
+ * registering it.
+ * <p>
+ * A handle is leased to one user at a time (a handle has a file pointer, so it cannot be shared by
+ * two cursors), and the handles of a file are reference-counted by their leases. A released handle
+ * is {@link ReusableFile#reset() reset} and kept idle for the next lease of the same file. Once more
+ * than the maximum number of handles are open, the idle handles of the least recently used files
+ * are closed. Leased handles are never closed by the cache, so the maximum may be exceeded while
+ * they are all leased.
+ * <p>
+ * The handles hold no descriptor of their own: the {@link BufferPool} or {@link MappedFileRegistry}
+ * under them keeps one open file per file that has an open handle, so the maximum number of handles
+ * also bounds the number of files kept open.
+ */
+class FileHandleCache {
+
+  /**
+   * Opens a new handle to a file, which must be both a {@link RandomAccessFile} and a
+   * {@link ReusableFile}.
+   */
+  @FunctionalInterface
+  interface Opener {
+    RandomAccessFile open(File path) throws IOException;
+  }
+
+  /**
+   * The handles of one file.
+   */
+  private static class Entry {
+
+    private final String key;
+    private final ArrayDeque<RandomAccessFile> idleHandles = new ArrayDeque<>();
+    private int leaseCount = 0;
+    private boolean isDiscarded = false;
+
+    private Entry(String key) {
+      this.key = key;
+    }
+
+  }
+
+  /**
+   * The lease of one handle, which closing releases back to the cache.
+   */
+  final class Lease implements Closeable {
+
+    private final Entry entry;
+    private final RandomAccessFile handle;
+    private boolean isReleased = false;
+
+    private Lease(Entry entry, RandomAccessFile handle) {
+      this.entry = entry;
+      this.handle = handle;
+    }
+
+    /**
+     * @return the leased handle, which may only be used until this lease is closed (not null)
+     */
+    RandomAccessFile getHandle() {
+      return handle;
+    }
+
+    /**
+     * Ends this lease, keeping the handle open and idle for the next lease of the same file unless
+     * the file has been {@link FileHandleCache#discard(File) discarded} in the meantime.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+      if (isReleased) {
+        return;
+      }
+      isReleased = true;
+      release(this);
+    }
+
+  }
+
+  private final int maxOpenFileCount;
+
+  /**
+   * The entry of every file that has a leased or idle handle, keyed by path, in access order (i.e.
+   * least recently used first).
+   */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private int openFileCount = 0;
+  private boolean isClosed = false;
+
+  /**
+   * @param maxOpenFileCount the maximum number of handles kept open at once (positive)
+   */
+  FileHandleCache(int maxOpenFileCount) {
+    checkArgument(maxOpenFileCount > 0, "maxOpenFileCount must be positive");
+
+    this.maxOpenFileCount = maxOpenFileCount;
+  }
+
+  /**
+   * @param path the file whose handle to lease (not null)
+   * @return the lease of an idle handle of {@code path}, or null if there is none
+   */
+  synchronized @Nullable Lease acquireIdle(File path) {
+    checkNotNull(path, "path");
+
+    final @Nullable Entry entry = entries.get(path.getPath());
+    if (entry == null || entry.idleHandles.isEmpty()) {
+      return null;
+    }
+    entry.leaseCount += 1;
+    return new Lease(entry, entry.idleHandles.pop());
+  }
+
+  /**
+   * Opens a new handle of {@code path} and leases it. Intended to be called once
+   * {@link #acquireIdle(File)} has found no idle handle, and the file has been checked.
+   *
+   * @param path   the file whose handle to open (not null, must exist)
+   * @param opener opens the handle (not null)
+   * @return the lease of a new handle of {@code path} (not null)
+   * @throws IOException
+   */
+  Lease acquireNew(File path, Opener opener) throws IOException {
+    checkNotNull(path, "path");
+    checkNotNull(opener, "opener");
+
+    // The open itself is slow, so it is done without holding the lock.
+    final RandomAccessFile handle = opener.open(path);
+    checkArgument(handle instanceof ReusableFile, "opener must open a ReusableFile");
+
+    final Entry entry;
+    final List<RandomAccessFile> evictedHandles;
+    synchronized (this) {
+      entry = entries.computeIfAbsent(path.getPath(), Entry::new);
+      entry.leaseCount += 1;
+      openFileCount += 1;
+      evictedHandles = evictIdleHandles();
+    }
+    closeAll(evictedHandles);
+    return new Lease(entry, handle);
+  }
+
+  private void release(Lease lease) throws IOException {
+    final Entry entry = lease.entry;
+    final RandomAccessFile handle = lease.handle;
+
+    boolean isReset = false;
+    try {
+      ((ReusableFile) handle).reset();
+      isReset = true;
+    }
+    finally {
+      final List<RandomAccessFile> closedHandles = new ArrayList<>();
+      synchronized (this) {
+        assert entry.leaseCount > 0 : "entry.leaseCount should be positive";
+
+        entry.leaseCount -= 1;
+        if (isReset && !entry.isDiscarded && !isClosed) {
+          entry.idleHandles.push(handle);
+          closedHandles.addAll(evictIdleHandles());
+        }
+        else {
+          // Either the handle is broken, or its file was discarded (e.g. deleted) or the cache closed
+          // while it was leased.
+          closedHandles.add(handle);
+          openFileCount -= 1;
+          if (!entry.isDiscarded && entry.leaseCount == 0 && entry.idleHandles.isEmpty()) {
+            entries.remove(entry.key);
+          }
+        }
+      }
+      closeAll(closedHandles);
+    }
+  }
+
+  /**
+   * Closes every idle handle of {@code path}, and makes every leased handle of {@code path} close
+   * once it is released. Intended to be called before the file is deleted or re-created.
+   *
+   * @param path the file to forget (not null)
+   * @throws IOException
+   */
+  void discard(File path) throws IOException {
+    checkNotNull(path, "path");
+
+    final List<RandomAccessFile> closedHandles = new ArrayList<>();
+    synchronized (this) {
+      final @Nullable Entry entry = entries.remove(path.getPath());
+      if (entry == null) {
+        return;
+      }
+      entry.isDiscarded = true;
+      closedHandles.addAll(entry.idleHandles);
+      openFileCount -= entry.idleHandles.size();
+      entry.idleHandles.clear();
+    }
+    closeAll(closedHandles);
+  }
+
+  /**
+   * Closes every idle handle, and makes every leased handle close once it is released rather than
+   * become idle.
+   *
+   * @throws IOException
+   */
+  void close() throws IOException {
+    final List<RandomAccessFile> closedHandles = new ArrayList<>();
+    synchronized (this) {
+      isClosed = true;
+      final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Entry entry = iterator.next().getValue();
+        closedHandles.addAll(entry.idleHandles);
+        openFileCount -= entry.idleHandles.size();
+        entry.idleHandles.clear();
+        if (entry.leaseCount == 0) {
+          iterator.remove();
+        }
+      }
+    }
+    closeAll(closedHandles);
+  }
+
+  /**
+   * Removes idle handles, starting with the least recently used files, until no more than the
+   * maximum number of handles are open. Must be called while holding the lock.
+   *
+   * @return the removed handles, which the caller must close once it no longer holds the lock
+   */
+  private List<RandomAccessFile> evictIdleHandles() {
+    final List<RandomAccessFile> evictedHandles = new ArrayList<>();
+    final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (openFileCount > maxOpenFileCount && iterator.hasNext()) {
+      final Entry entry = iterator.next().getValue();
+      while (openFileCount > maxOpenFileCount && !entry.idleHandles.isEmpty()) {
+        evictedHandles.add(entry.idleHandles.removeLast());
+        openFileCount -= 1;
+      }
+      if (entry.leaseCount == 0 && entry.idleHandles.isEmpty()) {
+        iterator.remove();
+      }
+    }
+    return evictedHandles;
+  }
+
+  private static void closeAll(List<RandomAccessFile> handles) throws IOException {
+    @Nullable IOException exception = null;
+    for (final RandomAccessFile handle : handles) {
+      try {
+        handle.close();
+      }
+      catch (IOException e) {
+        if (exception == null) {
+          exception = e;
+        }
+        else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+}
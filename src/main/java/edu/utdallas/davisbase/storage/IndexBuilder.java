@@ -0,0 +1,485 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.storage.AbstractPage.NULL_PAGE_NO;
+import static edu.utdallas.davisbase.storage.AbstractPage.PAGE_OFFSET_OF_PARENT_PAGENO;  // spell-checker:ignore pageno
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_PAGE_TYPE_CODE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_RIGHTMOST_PAGENO;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+import static java.lang.String.format;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Builds the B+tree of an empty DavisBase "Index" file from the (key, rowid) entries of every row of
+ * a table, by sorting them and writing the tree bottom-up.
+ * <p>
+ * Entries are collected in memory into runs of at most a fixed number of entries. A full run is
+ * sorted and spilled to a temporary file. On {@link #close()}, the runs are merged by key (and then
+ * by rowid), the sorted entries are packed into leaf pages, which are written sequentially as each
+ * one fills, and then the interior levels are built one level at a time from the page nos and
+ * maximum keys of the level below, as by a {@link BulkLoader}. No page is ever split, and no page is
+ * read back.
+ * <p>
+ * Each leaf cell holds one key and up to 255 of its rowids, in ascending order, so the rowids of a
+ * frequent key may span several cells and leaves. Every rowid is held by a leaf. Each interior cell
+ * holds no rowids, and its key is the maximum key of the subtree of its left child, so a key is
+ * found by descending into the first child whose key is not less than it (or else the rightmost
+ * child), and then following the right siblings of the leaves.
+ */
+public class IndexBuilder implements Closeable {
+
+  /**
+   * The size in bytes of the rowid count and the key length that precede the key of a cell.
+   */
+  private static final int CELL_HEADER_SIZE = 2;
+
+  /**
+   * The most rowids that one cell can count in its one-byte rowid count.
+   */
+  static final int CELL_ROWID_MAX_COUNT = 0xFF;
+
+  /**
+   * The size in bytes of the left child page no that prefixes each interior cell.
+   */
+  private static final int INTERIOR_CELL_PREFIX_SIZE = Integer.BYTES;
+
+  /**
+   * The number of bytes of an empty page that are available for cells and their page offsets.
+   */
+  static final int PAGE_CELL_SPACE = PAGE_SIZE - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY;
+
+  /**
+   * A key and the rowid of a row having that key.
+   */
+  private static final class Entry {
+
+    private final byte[] key;
+    private final int rowId;
+
+    private Entry(byte[] key, int rowId) {
+      this.key = key;
+      this.rowId = rowId;
+    }
+
+  }
+
+  private final RandomAccessFile file;
+  private final KeyCodec<?> codec;
+  private final Comparator<Entry> entryComparator;
+  private final File runDirectory;
+  private final int runLength;
+
+  private final List<Entry> run;
+  private final List<File> spilledRunFiles = new ArrayList<>();
+  private final List<Integer> spilledRunLengths = new ArrayList<>();
+
+  private boolean isClosed = false;
+
+  /**
+   * @param file         the index file into which to build, which must not contain any pages other
+   *                     than its metadata page and empty root leaf page (not null)
+   * @param codec        the codec of the keys of the index (not null)
+   * @param runDirectory the directory in which to spill sorted runs (not null)
+   * @param runLength    the most entries to sort in memory before spilling them as a run (positive)
+   * @throws IOException
+   */
+  IndexBuilder(RandomAccessFile file, KeyCodec<?> codec, File runDirectory, int runLength) throws IOException {
+    checkNotNull(file, "file");
+    checkNotNull(codec, "codec");
+    checkNotNull(runDirectory, "runDirectory");
+    checkArgument(runLength > 0, format("runLength (%d) must be positive", runLength));
+
+    this.file = file;
+    if (file.length() < PAGE_SIZE) {
+      IndexPage.addTableMetaDataPage(file);
+    }
+
+    checkState(file.length() == 2L * PAGE_SIZE,
+        "Can only build an index that has never had any entries.");
+    checkState(IndexLeafPage.read(file, getRootPageNo()).getCellCount() == 0,
+        "Can only build an index that has never had any entries.");
+
+    this.codec = codec;
+    this.entryComparator = (entry1, entry2) -> {
+      final int comparison = codec.compare(entry1.key, entry2.key);
+      return comparison != 0 ? comparison : Integer.compare(entry1.rowId, entry2.rowId);
+    };
+    this.runDirectory = runDirectory;
+    this.runLength = runLength;
+    this.run = new ArrayList<>(Math.min(runLength, 1 << 16));
+  }
+
+  /**
+   * Adds the entry of one row to the index. A row whose key is null is not indexed.
+   *
+   * @param key   the value of the indexed column of the row, which must be of the type of the
+   *              indexed column, or null
+   * @param rowId the rowid of the row
+   * @throws IOException
+   */
+  public void addEntry(@Nullable Object key, int rowId) throws IOException {
+    checkState(!isClosed, "This IndexBuilder is closed.");
+
+    if (key == null) {
+      return;
+    }
+
+    run.add(new Entry(codec.castAndEncode(key), rowId));
+    if (run.size() >= runLength) {
+      spillRun();
+    }
+  }
+
+  /**
+   * Sorts and merges the entries, writes the tree, updates the metadata page, deletes the spilled
+   * runs, and closes the underlying file.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+
+    try {
+      run.sort(entryComparator);
+      if (spilledRunFiles.isEmpty()) {
+        write(new EntryMerger(run));
+      }
+      else {
+        final List<RunReader> readers = new ArrayList<>(spilledRunFiles.size());
+        try {
+          for (int i = 0; i < spilledRunFiles.size(); i++) {
+            readers.add(new RunReader(spilledRunFiles.get(i), spilledRunLengths.get(i)));
+          }
+          write(new EntryMerger(run, readers));
+        }
+        finally {
+          for (final RunReader reader : readers) {
+            reader.close();
+          }
+        }
+      }
+    }
+    finally {
+      run.clear();
+      for (final File runFile : spilledRunFiles) {
+        runFile.delete();
+      }
+      file.close();
+    }
+  }
+
+  //region Sort
+
+  private void spillRun() throws IOException {
+    run.sort(entryComparator);
+
+    final File runFile = File.createTempFile("index-", ".run", runDirectory);
+    spilledRunFiles.add(runFile);
+    spilledRunLengths.add(run.size());
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile)))) {
+      for (final Entry entry : run) {
+        output.writeByte(entry.key.length);
+        output.write(entry.key);
+        output.writeInt(entry.rowId);
+      }
+    }
+    run.clear();
+  }
+
+  /**
+   * Reads back, in order, the entries of a run spilled by {@link #spillRun()}.
+   */
+  private static final class RunReader implements Closeable {
+
+    private final DataInputStream input;
+    private int remainingCount;
+
+    private RunReader(File runFile, int length) throws IOException {
+      this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(runFile)));
+      this.remainingCount = length;
+    }
+
+    private @Nullable Entry next() throws IOException {
+      if (remainingCount == 0) {
+        return null;
+      }
+      remainingCount -= 1;
+
+      final byte[] key = new byte[input.readUnsignedByte()];
+      input.readFully(key);
+      return new Entry(key, input.readInt());
+    }
+
+    @Override
+    public void close() throws IOException {
+      input.close();
+    }
+
+  }
+
+  /**
+   * Merges the sorted in-memory run and the sorted spilled runs into one sorted sequence.
+   */
+  private final class EntryMerger {
+
+    /**
+     * The sources that are not yet exhausted, by their current entry. A source is a
+     * {@link RunReader}, or null for the in-memory run.
+     */
+    private final PriorityQueue<Head> heads = new PriorityQueue<>(
+        (head1, head2) -> entryComparator.compare(head1.entry, head2.entry));
+    private final List<Entry> memoryRun;
+    private int memoryRunIndex = 0;
+
+    private EntryMerger(List<Entry> memoryRun) {
+      this.memoryRun = memoryRun;
+      if (!memoryRun.isEmpty()) {
+        heads.add(new Head(memoryRun.get(memoryRunIndex++), null));
+      }
+    }
+
+    private EntryMerger(List<Entry> memoryRun, List<RunReader> readers) throws IOException {
+      this(memoryRun);
+      for (final RunReader reader : readers) {
+        final @Nullable Entry entry = reader.next();
+        if (entry != null) {
+          heads.add(new Head(entry, reader));
+        }
+      }
+    }
+
+    private @Nullable Entry next() throws IOException {
+      final @Nullable Head head = heads.peek();
+      if (head == null) {
+        return null;
+      }
+
+      final Entry entry = head.entry;
+      final @Nullable RunReader reader = head.reader;
+      final @Nullable Entry nextEntry;
+      if (reader != null) {
+        nextEntry = reader.next();
+      }
+      else {
+        nextEntry = memoryRunIndex < memoryRun.size() ? memoryRun.get(memoryRunIndex++) : null;
+      }
+
+      if (heads.size() == 1) {
+        // The last source left needs no merging.
+        if (nextEntry != null) {
+          head.entry = nextEntry;
+        }
+        else {
+          heads.poll();
+        }
+      }
+      else {
+        heads.poll();
+        if (nextEntry != null) {
+          head.entry = nextEntry;
+          heads.add(head);
+        }
+      }
+      return entry;
+    }
+
+  }
+
+  private static final class Head {
+
+    private Entry entry;
+    private final @Nullable RunReader reader;
+
+    private Head(Entry entry, @Nullable RunReader reader) {
+      this.entry = entry;
+      this.reader = reader;
+    }
+
+  }
+
+  //endregion
+
+  //region Write
+
+  private void write(EntryMerger entries) throws IOException {
+    final ImmutableIntArray.Builder leafPageNos = ImmutableIntArray.builder();
+    final List<byte[]> leafMaxKeys = new ArrayList<>();
+
+    IndexLeafPage leafPage = new IndexLeafPage(getRootPageNo(), newPageBuffer(IndexLeafPage.PAGE_TYPE_CODE));
+    byte @Nullable [] cellKey = null;
+    final int[] cellRowIds = new int[CELL_ROWID_MAX_COUNT];
+    int cellRowIdCount = 0;
+
+    @Nullable Entry entry;
+    while ((entry = entries.next()) != null) {
+      if (cellKey != null &&
+          (codec.compare(cellKey, entry.key) != 0
+              || cellRowIdCount == CELL_ROWID_MAX_COUNT
+              || !leafPage.canFit(getCellSize(0, cellKey.length, cellRowIdCount + 1)))) {
+        leafPage.appendCell(toCell(NULL_PAGE_NO, cellKey, cellRowIds, cellRowIdCount));
+        cellKey = null;
+        cellRowIdCount = 0;
+      }
+
+      if (cellKey == null) {
+        cellKey = entry.key;
+        if (!leafPage.canFit(getCellSize(0, cellKey.length, 1))) {
+          final int nextLeafPageNo = leafPage.getPageNo() + 1;
+          finishLeafPage(leafPage, nextLeafPageNo, leafPageNos, leafMaxKeys);
+          leafPage = new IndexLeafPage(nextLeafPageNo, newPageBuffer(IndexLeafPage.PAGE_TYPE_CODE));
+        }
+      }
+      cellRowIds[cellRowIdCount++] = entry.rowId;
+    }
+    if (cellKey != null) {
+      leafPage.appendCell(toCell(NULL_PAGE_NO, cellKey, cellRowIds, cellRowIdCount));
+    }
+    finishLeafPage(leafPage, NULL_PAGE_NO, leafPageNos, leafMaxKeys);
+
+    ImmutableIntArray childPageNos = leafPageNos.build();
+    List<byte[]> childMaxKeys = leafMaxKeys;
+    int nextPageNo = leafPage.getPageNo() + 1;
+    while (childPageNos.length() > 1) {
+      final ImmutableIntArray.Builder parentPageNos = ImmutableIntArray.builder();
+      final List<byte[]> parentMaxKeys = new ArrayList<>();
+
+      int childIndex = 0;
+      while (childIndex < childPageNos.length()) {
+        int childCount = countInteriorPageChildren(childMaxKeys, childIndex);
+        // Leave no parent with a single child, as it would have no cell.
+        if (childCount > 2 && childPageNos.length() - (childIndex + childCount) == 1) {
+          childCount -= 1;
+        }
+
+        final int parentPageNo = nextPageNo++;
+        writeInteriorPage(parentPageNo, childPageNos, childMaxKeys, childIndex, childCount);
+
+        parentPageNos.add(parentPageNo);
+        parentMaxKeys.add(childMaxKeys.get(childIndex + childCount - 1));
+        childIndex += childCount;
+      }
+
+      childPageNos = parentPageNos.build();
+      childMaxKeys = parentMaxKeys;
+    }
+
+    final int rootPageNo = childPageNos.get(0);
+    file.seek(IndexPage.convertPageNoToFileOffset(rootPageNo) + PAGE_OFFSET_OF_PARENT_PAGENO);
+    file.writeInt(NULL_PAGE_NO);
+    file.seek(IndexPage.metaDataRootPageNoOffsetInFile);
+    file.writeInt(rootPageNo);
+  }
+
+  private void finishLeafPage(IndexLeafPage leafPage, int rightSiblingPageNo,
+      ImmutableIntArray.Builder leafPageNos, List<byte[]> leafMaxKeys) throws IOException {
+    leafPage.setRightSiblingPageNo(rightSiblingPageNo);
+    leafPage.flush(file);
+
+    // Only the root leaf of an index built with no entries at all is ever finished empty.
+    leafPageNos.add(leafPage.getPageNo());
+    final int cellCount = leafPage.getCellCount();
+    leafMaxKeys.add(cellCount > 0 ? leafPage.getCellKey(cellCount - 1) : new byte[0]);
+  }
+
+  /**
+   * @return the number of children, starting at {@code fromIndex}, whose cells fit in one interior
+   *         page, where the last of them is the rightmost child and so needs no cell
+   */
+  private static int countInteriorPageChildren(List<byte[]> childMaxKeys, int fromIndex) {
+    int usedSpace = 0;
+    int cellCount = 0;
+    while (fromIndex + cellCount + 1 < childMaxKeys.size()) {
+      final int cellSpace =
+          getCellSize(INTERIOR_CELL_PREFIX_SIZE, childMaxKeys.get(fromIndex + cellCount).length, 0) + PAGE_OFFSET_SIZE;
+      if (usedSpace + cellSpace > PAGE_CELL_SPACE) {
+        break;
+      }
+      usedSpace += cellSpace;
+      cellCount += 1;
+    }
+    return cellCount + 1;
+  }
+
+  private void writeInteriorPage(int pageNo, ImmutableIntArray childPageNos,
+      List<byte[]> childMaxKeys, int fromIndex, int count) throws IOException {
+    final IndexInteriorPage page = new IndexInteriorPage(pageNo, newPageBuffer(IndexInteriorPage.PAGE_TYPE_CODE));
+    for (int i = fromIndex; i < fromIndex + count - 1; i++) {
+      page.appendCell(toCell(childPageNos.get(i), childMaxKeys.get(i), new int[0], 0));
+    }
+    page.setRightmostChildPageNo(childPageNos.get(fromIndex + count - 1));
+    page.flush(file);
+
+    // The children were written before their parent page no was known.
+    for (int i = fromIndex; i < fromIndex + count; i++) {
+      file.seek(IndexPage.convertPageNoToFileOffset(childPageNos.get(i)) + PAGE_OFFSET_OF_PARENT_PAGENO);
+      file.writeInt(pageNo);
+    }
+  }
+
+  static int getCellSize(int prefixSize, int keyLength, int rowIdCount) {
+    return prefixSize + CELL_HEADER_SIZE + keyLength + rowIdCount * Integer.BYTES;
+  }
+
+  /**
+   * @param leftChildPageNo the page no of the left child of an interior cell, or
+   *                        {@link AbstractPage#NULL_PAGE_NO} for a leaf cell
+   */
+  static byte[] toCell(int leftChildPageNo, byte[] key, int[] rowIds, int rowIdCount) {
+    final int prefixSize = leftChildPageNo != NULL_PAGE_NO ? INTERIOR_CELL_PREFIX_SIZE : 0;
+    final ByteBuffer buffer = ByteBuffer.allocate(getCellSize(prefixSize, key.length, rowIdCount));
+    if (leftChildPageNo != NULL_PAGE_NO) {
+      buffer.putInt(leftChildPageNo);
+    }
+    buffer.put((byte) rowIdCount);
+    buffer.put((byte) key.length);
+    buffer.put(key);
+    for (int i = 0; i < rowIdCount; i++) {
+      buffer.putInt(rowIds[i]);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @return a zero-filled page with the given type code, no right page, and no parent (not null)
+   */
+  static ByteBuffer newPageBuffer(byte pageTypeCode) {
+    final ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+    buffer.put(PAGE_OFFSET_OF_PAGE_TYPE_CODE, pageTypeCode);
+    buffer.putInt(PAGE_OFFSET_OF_RIGHTMOST_PAGENO, NULL_PAGE_NO);
+    buffer.putInt(PAGE_OFFSET_OF_PARENT_PAGENO, NULL_PAGE_NO);
+    return buffer;
+  }
+
+  //endregion
+
+  private int getRootPageNo() throws IOException {
+    file.seek(IndexPage.metaDataRootPageNoOffsetInFile);
+    return file.readInt();
+  }
+
+}
@@ -1,26 +1,27 @@
 package edu.utdallas.davisbase.storage;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+import static com.google.common.base.Preconditions.checkState;
 
+import edu.utdallas.davisbase.DataType;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneOffset;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * A DavisBase "Index" file: one B+tree of (key, rowid) entries for every type of indexed column,
+ * whose keys are encoded and compared by the {@link KeyCodec} of that type.
+ * <p>
+ * The tree is built by an {@link IndexBuilder}, kept in sync with its table by an
+ * {@link IndexUpdater}, and read through a {@link Cursor}.
+ */
 public class IndexFile implements Closeable {
 
   protected final RandomAccessFile file;
   
   public IndexFile(RandomAccessFile file) {
     checkNotNull(file);
-    checkArgument(file.getChannel().isOpen());
     this.file = file;
 
     try {
@@ -37,1928 +38,212 @@ public class IndexFile implements Closeable {
   public void close() throws IOException {
     file.close();
   }
-  
-  //returns root page offset
-  public long rootPageOffset() throws IOException {
-    int rootPgaeNo;
-    long rootPageNoOffset = 5;
-    file.seek(rootPageNoOffset);
-    rootPgaeNo = file.readInt();
-    long rootPageOffset = (rootPgaeNo - 1) * PAGE_SIZE;
-    return rootPageOffset;
-  }
-  
-  //returns root page type
-  public byte rootPageType() throws IOException {
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    return file.readByte();    
-  }
-  
-  //returns no of records in a page
-  public short noOfRecordsInPage(long pageOffset) throws IOException {
-    file.seek(pageOffset+1);    
-    return file.readShort();
-  }
-  
-  //writing No.of RowIds and indexValue length in root page for first time
-  public short writeFirstRecordInRootPage(long rootPageOffset, byte indexValueLength) throws IOException {
-    short indexRecordOffseet;
-    indexRecordOffseet = (short) (PAGE_SIZE-indexValueLength-6);
-    file.seek(rootPageOffset+indexRecordOffseet);
-    file.writeByte(1);//No of rowIds
-    file.seek(rootPageOffset+indexRecordOffseet+1);
-    file.writeByte(indexValueLength);//index value length
-    return indexRecordOffseet;
-  }
-  
-  //updating root page header data for first record
-  public void updateRootPageHeaderData(long rootPageOffset, short indexRecordOffseet) throws IOException {
-  //updating header values
-    file.seek(rootPageOffset+1);
-    file.writeShort(1);
-    file.seek(rootPageOffset+3);
-    file.writeShort(indexRecordOffseet);//writing on 0x03 - data record offset w.r.t page
-    file.seek(rootPageOffset+16);
-    file.writeShort(indexRecordOffseet);//writing on 2nd row from 0x10 - each record offset w.r.t page
-  }
-  
-  //adding a rowId for already existing record in leaf page
-  public void addRowIdInLeafPage(long pageOffset, short recordOffset, short minRecordOffset, int rowId) throws IOException {
-    file.seek(pageOffset+recordOffset);
-    byte noOfRowIds = file.readByte();
-    file.seek(pageOffset+recordOffset+1);
-    byte recordValueLength = file.readByte();
-    int totalSpaceRequired = recordOffset-minRecordOffset+2+recordValueLength+(noOfRowIds*4);
-    byte[] copyBytesToTemp = new byte[totalSpaceRequired];
-    file.seek(pageOffset+minRecordOffset);
-    file.read(copyBytesToTemp, 0, totalSpaceRequired);
-    file.seek(pageOffset+minRecordOffset-4);
-    file.write(copyBytesToTemp);
-    file.seek(pageOffset+minRecordOffset+totalSpaceRequired-4);
-    file.writeInt(rowId);
-    recordOffset = (short) (recordOffset - 4);
-    file.seek(pageOffset+recordOffset);
-    file.writeByte(noOfRowIds+1);
-    file.seek(pageOffset+3);
-    file.writeShort(minRecordOffset-4);
-    file.seek(pageOffset+1);
-    short noOfRecords = file.readShort();
-    short addOffset = 0; short tempRecordOffset;
-    while(noOfRecords > 0) {
-      file.seek(pageOffset+16+addOffset);
-      tempRecordOffset = file.readShort();
-      file.seek(pageOffset+16+addOffset);
-      if(tempRecordOffset <= recordOffset+4) 
-        file.writeShort(tempRecordOffset-4);
-      noOfRecords--;
-      addOffset += 2;
-    }
-  }
-  
-  //adding a rowId for already existing record in interior page
-  private void addRowIdInInteriorPage(long pageOffset, short recordOffset, int rowId) throws IOException {
-    // TODO Auto-generated method stub
-    file.seek(pageOffset+1);
-    short recordCount = file.readShort();
-    short minRecordOffset = (short) PAGE_SIZE;
-    short addOffset = 0;
-    while(recordCount > 0) {
-      file.seek(pageOffset+16+addOffset);
-      recordOffset = file.readShort();
-      minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-      recordCount--;
-      addOffset += 2;
-    }
-    file.seek(pageOffset+recordOffset+4);
-    byte noOfRowIds = file.readByte();
-    file.seek(pageOffset+recordOffset+5);
-    byte recordValueLength = file.readByte();
-    int totalSpaceRequired = recordOffset-minRecordOffset+2+recordValueLength+(noOfRowIds*4);
-    byte[] copyBytesToTemp = new byte[totalSpaceRequired];
-    file.seek(pageOffset+minRecordOffset);
-    file.read(copyBytesToTemp, 0, totalSpaceRequired);
-    file.seek(pageOffset+minRecordOffset-4);
-    file.write(copyBytesToTemp);
-    file.seek(pageOffset+minRecordOffset+totalSpaceRequired-4);
-    file.writeInt(rowId);
-    file.seek(pageOffset+3);
-    file.writeShort(minRecordOffset-4);
-    file.seek(pageOffset+1);
-    short noOfRecords = file.readShort();
-    addOffset = 0; short tempRecordOffset;
-    while(noOfRecords > 0) {
-      file.seek(pageOffset+16+addOffset);
-      tempRecordOffset = file.readShort();
-      file.seek(pageOffset+16+addOffset);
-      if(tempRecordOffset <= recordOffset) 
-        file.writeShort(tempRecordOffset-4);
-      noOfRecords--;
-      addOffset += 2;
-    }
-  }
-  
-  //adding a record in Index page for text type column
-  public void addText(@Nullable String indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page
-      byte indexValueLength;
-      indexValueLength = (byte) indexValue.length();
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);
-      byte[] indexValueToByteArray = indexValue.getBytes();
-      file.write(indexValueToByteArray);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+1);
-        Byte recordLength = file.readByte();
-        byte[] recordBytes = new byte[recordLength];
-        file.seek(rootPageOffset+recordOffset+2);
-        file.read(recordBytes);
-        String recordValue = new String(recordBytes);
-        if(indexValue.compareToIgnoreCase(recordValue) == 0) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValue.length()-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValue.length());
-        file.seek(rootPageOffset+recordOffset+2);
-        byte[] indexValueToByteArray = indexValue.getBytes();
-        file.write(indexValueToByteArray);
-        file.seek(rootPageOffset+recordOffset+indexValue.length()+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+5);
-          Byte recordLength = file.readByte();
-          byte[] recordBytes = new byte[recordLength];
-          file.seek(pageOffset+recordOffset+6);
-          file.read(recordBytes);
-          String recordValue = new String(recordBytes);
-          if(indexValue.compareToIgnoreCase(recordValue) == 0) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue.compareToIgnoreCase(recordValue) > 0) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-          file.seek(pageOffset+recordOffset+1);
-          Byte recordLength = file.readByte();
-          byte[] recordBytes = new byte[recordLength];
-          file.seek(pageOffset+recordOffset+2);
-          file.read(recordBytes);
-          String recordValue = new String(recordBytes);
-          if(indexValue.compareToIgnoreCase(recordValue) == 0) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValue.length()-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValue.length());
-          file.seek(pageOffset+recordOffset+2);
-          byte[] indexValueToByteArray = indexValue.getBytes();
-          file.write(indexValueToByteArray);
-          file.seek(pageOffset+recordOffset+indexValue.length()+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
+
+  /**
+   * @return the name of the indexed table, which is empty if this index file predates the record of
+   *         its indexed column (not null)
+   * @throws IOException
+   */
+  public String getTableName() throws IOException {
+    return IndexPage.getMetaDataTableName(file);
   }
 
-  //adding a record in Index page for Integer type column
-  public void addInt(@Nullable Integer indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 4;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);     
-      file.writeInt(indexValue);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        int recordValue = file.readInt();        
-        if(indexValue == recordValue) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        file.writeInt(indexValue);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          int recordValue = file.readInt();          
-          if(indexValue == recordValue) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue > recordValue) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          int recordValue = file.readInt();
-          if(indexValue == recordValue) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          file.writeInt(indexValue);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
+  /**
+   * @return the index of the indexed column in its table
+   * @throws IOException
+   */
+  public byte getColumnIndex() throws IOException {
+    return IndexPage.getMetaDataColumnIndex(file);
   }
-  
-  //adding a record in Index page for BigInt type column
-  public void addBigInt(@Nullable Long indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 8;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);     
-      file.writeLong(indexValue);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        long recordValue = file.readLong();        
-        if(indexValue == recordValue) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        file.writeLong(indexValue);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          long recordValue = file.readLong();          
-          if(indexValue == recordValue) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue > recordValue) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          long recordValue = file.readLong();
-          if(indexValue == recordValue) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          file.writeLong(indexValue);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
+
+  //region Cursor
+
+  /**
+   * Opens a cursor over the entries whose keys are within the given range, in key order, which
+   * descends the B+tree once to the first such entry and then walks the leaf pages through their
+   * right siblings until the range ends. The entries of null values are never within a range.
+   *
+   * @param codec            the codec of the keys of this index (not null)
+   * @param lowerValue       the lower bound of the range, or null if the range has none (nullable)
+   * @param isLowerInclusive whether {@code lowerValue} itself is within the range
+   * @param upperValue       the upper bound of the range, or null if the range has none (nullable)
+   * @param isUpperInclusive whether {@code upperValue} itself is within the range
+   * @return a new cursor positioned before the first entry of the range (not null)
+   * @throws IOException
+   */
+  public <T> Cursor<T> openCursor(KeyCodec<T> codec,
+                                  @Nullable T lowerValue, boolean isLowerInclusive,
+                                  @Nullable T upperValue, boolean isUpperInclusive) throws IOException {
+    checkNotNull(codec, "codec");
+
+    return new Cursor<>(
+        codec,
+        (lowerValue != null) ? codec.encode(lowerValue) : null,
+        isLowerInclusive,
+        (upperValue != null) ? codec.encode(upperValue) : null,
+        isUpperInclusive);
   }
-  
-  //adding a record in Index page for Double type column
-  public void addDouble(@Nullable Double indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 8;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);     
-      file.writeDouble(indexValue);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        double recordValue = file.readDouble();        
-        if(indexValue == recordValue) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        file.writeDouble(indexValue);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          double recordValue = file.readDouble();          
-          if(indexValue == recordValue) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue > recordValue) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          double recordValue = file.readDouble();
-          if(indexValue == recordValue) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          file.writeDouble(indexValue);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
+
+  /**
+   * Opens a cursor as {@link #openCursor(KeyCodec, Object, boolean, Object, boolean)} does, with
+   * the codec of a type of indexed column.
+   *
+   * @param dataType         the type of the indexed column (not null)
+   * @param lowerValue       the lower bound of the range, which must be of {@code dataType}, or null
+   *                         if the range has none (nullable)
+   * @param isLowerInclusive whether {@code lowerValue} itself is within the range
+   * @param upperValue       the upper bound of the range, which must be of {@code dataType}, or null
+   *                         if the range has none (nullable)
+   * @param isUpperInclusive whether {@code upperValue} itself is within the range
+   * @return a new cursor positioned before the first entry of the range (not null)
+   * @throws IOException
+   */
+  public Cursor<?> openCursor(DataType dataType,
+                              @Nullable Object lowerValue, boolean isLowerInclusive,
+                              @Nullable Object upperValue, boolean isUpperInclusive) throws IOException {
+    checkNotNull(dataType, "dataType");
+
+    return openCastCursor(KeyCodec.of(dataType), lowerValue, isLowerInclusive, upperValue, isUpperInclusive);
   }
-  
-  //adding a record in Index page for Float type column
-  public void addFloat(@Nullable Float indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 4;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);     
-      file.writeFloat(indexValue);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        float recordValue = file.readFloat();        
-        if(indexValue == recordValue) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        file.writeFloat(indexValue);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          float recordValue = file.readFloat();          
-          if(indexValue == recordValue) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue > recordValue) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          float recordValue = file.readFloat();
-          if(indexValue == recordValue) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          file.writeFloat(indexValue);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
+
+  private <T> Cursor<T> openCastCursor(KeyCodec<T> codec,
+                                       @Nullable Object lowerValue, boolean isLowerInclusive,
+                                       @Nullable Object upperValue, boolean isUpperInclusive) throws IOException {
+    return openCursor(codec, codec.cast(lowerValue), isLowerInclusive, codec.cast(upperValue), isUpperInclusive);
   }
-  
-  //adding a record in Index page for SmallInt type column
-  public void addSmallInt(@Nullable Short indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 2;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);     
-      file.writeShort(indexValue);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        short recordValue = file.readShort();        
-        if(indexValue == recordValue) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        file.writeShort(indexValue);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
+
+  /**
+   * A forward-only cursor over the entries of this index whose keys are within a range, in key order
+   * (and in rowid order within a key, as far as the entries were added in that order).
+   *
+   * @param <T> the Java class of the keys
+   */
+  public final class Cursor<T> {
+
+    private final KeyCodec<T> codec;
+    private final byte @Nullable [] upperKey;
+    private final boolean isUpperInclusive;
+
+    private IndexLeafPage page;
+    private int cellIndex;
+    /** The index of the current rowid within the current cell, or -1 before the cell is entered. */
+    private int rowIdIndex = -1;
+    private boolean isExhausted = false;
+
+    private Cursor(KeyCodec<T> codec,
+                   byte @Nullable [] lowerKey, boolean isLowerInclusive,
+                   byte @Nullable [] upperKey, boolean isUpperInclusive) throws IOException {
+      this.codec = codec;
+      this.upperKey = upperKey;
+      this.isUpperInclusive = isUpperInclusive;
+
+      // Every interior cell holds the greatest key of its left child, so the first child that may
+      // hold a key within the range is the first whose cell key is within it (or else the rightmost).
+      file.seek(IndexPage.metaDataRootPageNoOffsetInFile);
+      int pageNo = file.readInt();
+      while (getPageTypeCode(pageNo) == IndexInteriorPage.PAGE_TYPE_CODE) {
+        final IndexInteriorPage interiorPage = IndexInteriorPage.read(file, pageNo);
+        final int cellIndex = findFirstCellIndex(interiorPage, lowerKey, isLowerInclusive);
+        pageNo = (cellIndex < interiorPage.getCellCount())
+            ? interiorPage.getCellLeftChildPageNo(cellIndex)
+            : interiorPage.getRightmostChildPageNo();
+      }
+      this.page = IndexLeafPage.read(file, pageNo);
+      this.cellIndex = findFirstCellIndex(page, lowerKey, isLowerInclusive);
     }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
+
+    /**
+     * @return whether there is a next entry within the range, on which this cursor then is
+     * @throws IOException
      */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          short recordValue = file.readShort();          
-          if(indexValue == recordValue) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue > recordValue) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
+    public boolean goToNextEntry() throws IOException {
+      if (isExhausted) {
+        return false;
       }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          short recordValue = file.readShort();
-          if(indexValue == recordValue) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          file.writeShort(indexValue);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
-  }
-  
-  //adding a record in Index page for TinyInt type column
-  public void addTinyInt(@Nullable Byte indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 1;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);     
-      file.writeByte(indexValue);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        byte recordValue = file.readByte();        
-        if(indexValue == recordValue) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
+      if (rowIdIndex >= 0) {
+        if (rowIdIndex + 1 < page.getCellRowIdCount(cellIndex)) {
+          rowIdIndex += 1;
+          return true;
         }
-        recordCount--;
-        addOffset += 2;
+        cellIndex += 1;
+        rowIdIndex = -1;
       }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        file.writeByte(indexValue);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          byte recordValue = file.readByte();          
-          if(indexValue == recordValue) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue > recordValue) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
+
+      while (true) {
+        if (cellIndex == page.getCellCount()) {
+          final int rightSiblingPageNo = page.getRightSiblingPageNo();
+          if (!Page.exists(file, rightSiblingPageNo)) {
+            isExhausted = true;
+            return false;
           }
-          
+          page = IndexLeafPage.read(file, rightSiblingPageNo);
+          cellIndex = 0;
+          continue;
         }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          byte recordValue = file.readByte();
-          if(indexValue == recordValue) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
+
+        final byte @Nullable [] upperKey = this.upperKey;
+        if (upperKey != null) {
+          final int comparison = page.compareCellKey(cellIndex, codec, upperKey);
+          if (comparison > 0 || (comparison == 0 && !isUpperInclusive)) {
+            isExhausted = true;
+            return false;
           }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          file.writeByte(indexValue);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
         }
-      }
-    }
-  }
-  
-  //adding a record in Index page for DateTime type column
-  public void addDateTime(@Nullable LocalDateTime indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 8;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);
-      byte[] indexValueToByteArray = ByteBuffer.allocate(8).putLong((long) indexValue.toEpochSecond(ZoneOffset.UTC)).array();
-      file.write(indexValueToByteArray);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        LocalDateTime recordValue = LocalDateTime.ofEpochSecond(file.readLong(), 0, ZoneOffset.UTC);       
-        if(indexValue.compareTo(recordValue) == 0) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
+
+        if (page.getCellRowIdCount(cellIndex) > 0) {
+          rowIdIndex = 0;
+          return true;
         }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        byte[] indexValueToByteArray = ByteBuffer.allocate(8).putLong((long) indexValue.toEpochSecond(ZoneOffset.UTC)).array();
-        file.write(indexValueToByteArray);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
+        cellIndex += 1;
       }
     }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
+
+    /**
+     * @return the rowid of the current entry
      */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          LocalDateTime recordValue = LocalDateTime.ofEpochSecond(file.readLong(), 0, ZoneOffset.UTC);          
-          if(indexValue.compareTo(recordValue) == 0) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue.compareTo(recordValue) > 0) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          LocalDateTime recordValue = LocalDateTime.ofEpochSecond(file.readLong(), 0, ZoneOffset.UTC);
-          if(indexValue.compareTo(recordValue) == 0) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          byte[] indexValueToByteArray = ByteBuffer.allocate(8).putLong((long) indexValue.toEpochSecond(ZoneOffset.UTC)).array();
-          file.write(indexValueToByteArray);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
-  }
-  
-  //adding a record in Index page for Date type column
-  public void addDate(@Nullable LocalDate indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 8;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);
-      byte[] indexValueToByteArray = ByteBuffer.allocate(8).putLong((long) indexValue.toEpochDay()).array();
-      file.write(indexValueToByteArray);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
+    public int getRowId() {
+      checkState(rowIdIndex >= 0 && !isExhausted, "This Cursor is not on an entry.");
+      return page.getCellRowId(cellIndex, rowIdIndex);
     }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
+
+    /**
+     * @return the key of the current entry (not null)
      */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        LocalDate recordValue = LocalDate.ofEpochDay(file.readLong());       
-        if(indexValue.compareTo(recordValue) == 0) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        byte[] indexValueToByteArray = ByteBuffer.allocate(8).putLong((long) indexValue.toEpochDay()).array();
-        file.write(indexValueToByteArray);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
+    public T getKey() {
+      checkState(rowIdIndex >= 0 && !isExhausted, "This Cursor is not on an entry.");
+      return page.decodeCellKey(cellIndex, codec);
     }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
+
+    /**
+     * @return the index of the first cell of {@code page} whose key is within a range of lower bound
+     *         {@code lowerKey}, or the cell count of the page if there is none
      */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          LocalDate recordValue = LocalDate.ofEpochDay(file.readLong());          
-          if(indexValue.compareTo(recordValue) == 0) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue.compareTo(recordValue) > 0) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
+    private int findFirstCellIndex(AbstractIndexPage page, byte @Nullable [] lowerKey, boolean isLowerInclusive) {
+      if (lowerKey == null) {
+        return 0;
       }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          LocalDate recordValue = LocalDate.ofEpochDay(file.readLong());
-          if(indexValue.compareTo(recordValue) == 0) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
+      int low = 0;
+      int high = page.getCellCount();
+      while (low < high) {
+        final int middle = (low + high) >>> 1;
+        final int comparison = page.compareCellKey(middle, codec, lowerKey);
+        if (comparison < 0 || (comparison == 0 && !isLowerInclusive)) {
+          low = middle + 1;
         }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          byte[] indexValueToByteArray = ByteBuffer.allocate(8).putLong((long) indexValue.toEpochDay()).array();
-          file.write(indexValueToByteArray);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
+        else {
+          high = middle;
         }
       }
+      return low;
     }
+
   }
-  
-  //adding a record in Index page for Time type column
-  public void addTime(@Nullable LocalTime indexValue, int rowId) throws IOException {
-    //locating root page    
-    long rootPageOffset = rootPageOffset();
-    file.seek(rootPageOffset);
-    byte rootPageType = file.readByte();
-    
-    //reading no of records in root page
-    short noOfRecordsInRootPage = noOfRecordsInPage(rootPageOffset);
-    
-    /*if noOfRecordsInRootPage is 0 then add record in rootPage
-      else if it matches with root page record value, insert just the rowId
-      else determine to which child it should check with
-    */
-    byte indexValueLength;
-    indexValueLength = 4;
-    if(noOfRecordsInRootPage == 0) {
-      //writing data to page      
-      short indexRecordOffseet = writeFirstRecordInRootPage(rootPageOffset, indexValueLength);
-      file.seek(rootPageOffset+indexRecordOffseet+2);
-      byte[] indexValueToByteArray = ByteBuffer.allocate(4).putInt((int) indexValue.toSecondOfDay()).array();
-      file.write(indexValueToByteArray);//write index value to cell array
-      file.seek(rootPageOffset+indexRecordOffseet+indexValueLength+2);
-      file.writeInt(rowId);//write rowId value
-      
-      //updating header values
-      updateRootPageHeaderData(rootPageOffset, indexRecordOffseet);
-    }
-    
-    /*if root page type is still 0x0A that  means there are no children yet
-      two cases here i) inserting rowId for already existing record
-                    ii) Or adding a new record
-     */
-    else if(noOfRecordsInRootPage > 0 && rootPageType == 0x0A) {
-      short recordCount = noOfRecordsInRootPage;
-      short matchedRecordOffset = 0;
-      short addOffset = 0;
-      short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-      boolean valueMatchFlag = false;
-      while(recordCount > 0) {
-        file.seek(rootPageOffset+16+addOffset);
-        recordOffset = file.readShort();
-        minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;
-        file.seek(rootPageOffset+recordOffset+2);
-        LocalTime recordValue = LocalTime.ofSecondOfDay(file.readInt());       
-        if(indexValue.compareTo(recordValue) == 0) {
-          valueMatchFlag = true;
-          matchedRecordOffset = recordOffset;
-        }
-        recordCount--;
-        addOffset += 2;
-      }
-      if(valueMatchFlag)//inserting rowId for already existing record 
-        addRowIdInLeafPage(rootPageOffset, matchedRecordOffset, minRecordOffset, rowId);
-      else {//adding a new record into Index page
-        recordOffset = (short) (minRecordOffset-indexValueLength-6);
-        file.seek(rootPageOffset+recordOffset);
-        file.write(1);
-        file.seek(rootPageOffset+recordOffset+1);
-        file.write(indexValueLength);
-        file.seek(rootPageOffset+recordOffset+2);        
-        byte[] indexValueToByteArray = ByteBuffer.allocate(4).putLong((int) indexValue.toSecondOfDay()).array();
-        file.write(indexValueToByteArray);
-        file.seek(rootPageOffset+recordOffset+indexValueLength+2);
-        file.writeInt(rowId);
-        file.seek(rootPageOffset+3);
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+16+(noOfRecordsInRootPage*2));
-        file.writeShort(recordOffset);
-        file.seek(rootPageOffset+1);
-        file.writeShort(noOfRecordsInRootPage+1);
-        file.seek(5);
-        int pageNo = file.readInt();
-        IndexPage.sortKeys(file, pageNo);
-        if(noOfRecordsInRootPage+1 > 3)
-          IndexPage.splitLeafPage(file, pageNo);
-      }
-    }
-    
-    /*
-     if root page type is not 0x0A then there are children in the tree
-     if the index value is not already in the tree then we have to traverse the tree to find the leaf page to add the new record
-     if the index value is already present then we have to check every page in the traverse path o insert the rowId
-     */
-    else {
-      byte pageType = rootPageType;
-      long pageOffset = rootPageOffset;
-      while(pageType == 0x02) {//checking all interior pages in path
-        short noOfRecordsInPage;
-        file.seek(pageOffset+1);
-        noOfRecordsInPage = file.readShort();
-        
-        short addOffset = 0;
-        short recordOffset = 0; 
-        boolean valueMatchFlag = false;
-        while(noOfRecordsInPage > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          file.seek(pageOffset+recordOffset+6);
-          LocalTime recordValue = LocalTime.ofSecondOfDay(file.readInt());          
-          if(indexValue.compareTo(recordValue) == 0) {//if index value matches with already existing value then add rowId
-            addRowIdInInteriorPage(pageOffset, recordOffset, rowId);
-            valueMatchFlag = true;
-            break;
-          }
-          else if(indexValue.compareTo(recordValue) > 0) {//if index value greater than record value move to next record on right
-            if(noOfRecordsInPage-1 == 0) {//if there are no more records to compare with then move to right child page
-              file.seek(pageOffset+6);
-              int nextPageNo = file.readInt();
-              pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-              file.seek(pageOffset);
-              pageType = file.readByte();
-              break;
-            }
-          }
-          
-          else {//if index value less than record value move to left record
-            file.seek(pageOffset+recordOffset);
-            int nextPageNo = file.readInt();
-            pageOffset = (nextPageNo - 1) * PAGE_SIZE;
-            file.seek(pageOffset);
-            pageType = file.readByte();
-            break;
-          }
-          
-        }
-        if(valueMatchFlag)//if we found index value already in one of interior pages then break out of loop
-          break;
-        noOfRecordsInPage--;
-        addOffset += 2;
-      }
-      if(pageType == 0x0A) {//after breaking out of loop if the page type is 0x0A then we have reached a leaf page where
-                            //we either add new record or just add rowId to existing record
-        file.seek(pageOffset+1);
-        short recordCount = file.readShort();
-        short matchedRecordOffset = 0;
-        short addOffset = 0;
-        short recordOffset = 0; short minRecordOffset = (short) PAGE_SIZE;
-        boolean valueMatchFlag = false;
-        while(recordCount > 0) {
-          file.seek(pageOffset+16+addOffset);
-          recordOffset = file.readShort();
-          minRecordOffset = recordOffset < minRecordOffset ? recordOffset : minRecordOffset;          
-          file.seek(pageOffset+recordOffset+2);
-          LocalTime recordValue = LocalTime.ofSecondOfDay(file.readInt());
-          if(indexValue.compareTo(recordValue) == 0) {
-            matchedRecordOffset = recordOffset;
-            valueMatchFlag = true;
-          }
-          recordCount--;
-          addOffset += 2;
-        }
-        if(valueMatchFlag)//add rowId to existing record
-          addRowIdInLeafPage(pageOffset, matchedRecordOffset, minRecordOffset, rowId);
-        else {//add new record in index leaf page
-          recordOffset = (short) (minRecordOffset-indexValueLength-6);
-          file.seek(pageOffset+recordOffset);
-          file.write(1);
-          file.seek(pageOffset+recordOffset+1);
-          file.write(indexValueLength);
-          file.seek(pageOffset+recordOffset+2);          
-          byte[] indexValueToByteArray = ByteBuffer.allocate(4).putInt((int) indexValue.toSecondOfDay()).array();
-          file.write(indexValueToByteArray);
-          file.seek(pageOffset+recordOffset+indexValueLength+2);
-          file.writeInt(rowId);
-          file.seek(pageOffset+3);
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+16+(noOfRecordsInRootPage*2));
-          file.writeShort(recordOffset);
-          file.seek(pageOffset+1);
-          file.writeShort(noOfRecordsInRootPage+1);
-          file.seek(5);
-          int pageNo = file.readInt();
-          IndexPage.sortKeys(file, pageNo);
-          if(noOfRecordsInRootPage+1 > 3)
-            IndexPage.splitLeafPage(file, pageNo);
-        }
-      }
-    }
+
+  private byte getPageTypeCode(int pageNo) throws IOException {
+    file.seek(IndexPage.convertPageNoToFileOffset(pageNo));
+    return file.readByte();
   }
+
+  //endregion
+
 }
@@ -0,0 +1,55 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * An in-memory copy of an index interior page (type code 0x02).
+ * <p>
+ * Each cell of an index interior page is prefixed by the page no of its left child.
+ */
+class IndexInteriorPage extends AbstractIndexPage {
+
+  static final byte PAGE_TYPE_CODE = 0x02;
+
+  IndexInteriorPage(int pageNo, ByteBuffer buffer) {
+    super(pageNo, buffer);
+    checkState(getPageTypeCode() == PAGE_TYPE_CODE,
+        "Page %s is not an index interior page (type code %s).", pageNo, Integer.toHexString(getPageTypeCode() & 0xFF));
+  }
+
+  /**
+   * @param file   the index file from which to read the page (not null)
+   * @param pageNo the one-based number of an index interior page in the file
+   * @return the decoded page (not null)
+   * @throws IOException
+   */
+  static IndexInteriorPage read(RandomAccessFile file, int pageNo) throws IOException {
+    return new IndexInteriorPage(pageNo, readPageBuffer(file, pageNo));
+  }
+
+  @Override
+  protected int getCellPrefixSize() {
+    return Integer.BYTES;
+  }
+
+  int getRightmostChildPageNo() {
+    return getRightPageNo();
+  }
+
+  void setRightmostChildPageNo(int rightmostChildPageNo) {
+    setRightPageNo(rightmostChildPageNo);
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the page no of the left child of the cell
+   */
+  int getCellLeftChildPageNo(int cellIndex) {
+    return buffer.getInt(getCellPageOffset(cellIndex));
+  }
+
+}
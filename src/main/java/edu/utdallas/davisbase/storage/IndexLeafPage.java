@@ -0,0 +1,45 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * An in-memory copy of an index leaf page (type code 0x0A).
+ */
+class IndexLeafPage extends AbstractIndexPage {
+
+  static final byte PAGE_TYPE_CODE = 0x0A;
+
+  IndexLeafPage(int pageNo, ByteBuffer buffer) {
+    super(pageNo, buffer);
+    checkState(getPageTypeCode() == PAGE_TYPE_CODE,
+        "Page %s is not an index leaf page (type code %s).", pageNo, Integer.toHexString(getPageTypeCode() & 0xFF));
+  }
+
+  /**
+   * @param file   the index file from which to read the page (not null)
+   * @param pageNo the one-based number of an index leaf page in the file
+   * @return the decoded page (not null)
+   * @throws IOException
+   */
+  static IndexLeafPage read(RandomAccessFile file, int pageNo) throws IOException {
+    return new IndexLeafPage(pageNo, readPageBuffer(file, pageNo));
+  }
+
+  @Override
+  protected int getCellPrefixSize() {
+    return 0;
+  }
+
+  int getRightSiblingPageNo() {
+    return getRightPageNo();
+  }
+
+  void setRightSiblingPageNo(int rightSiblingPageNo) {
+    setRightPageNo(rightSiblingPageNo);
+  }
+
+}
@@ -0,0 +1,636 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.storage.AbstractPage.NULL_PAGE_NO;
+import static edu.utdallas.davisbase.storage.AbstractPage.PAGE_OFFSET_OF_PARENT_PAGENO;  // spell-checker:ignore pageno
+import static edu.utdallas.davisbase.storage.IndexBuilder.CELL_ROWID_MAX_COUNT;
+import static edu.utdallas.davisbase.storage.IndexBuilder.PAGE_CELL_SPACE;
+import static edu.utdallas.davisbase.storage.IndexBuilder.getCellSize;
+import static edu.utdallas.davisbase.storage.IndexBuilder.newPageBuffer;
+import static edu.utdallas.davisbase.storage.IndexBuilder.toCell;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_PAGE_TYPE_CODE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Applies a batch of insertions and deletions of (key, rowid) entries, e.g. those of every row
+ * written by one statement, to the B+tree of a DavisBase "Index" file as built by an
+ * {@link IndexBuilder}.
+ * <p>
+ * Entries are collected in memory. On {@link #close()}, they are sorted by key (and then by rowid),
+ * and each is applied to an in-memory copy of the leaf page in which its key belongs, so that each
+ * leaf page is read and written at most once per batch, however many of its entries change. Only
+ * then is any leaf page that no longer fits split into as many pages as it needs, which are linked
+ * into the chain of leaves, and whose maximum keys are inserted into the parent, which may split in
+ * turn, up to a new root. A leaf page whose entries are all deleted is left in the tree, empty.
+ * <p>
+ * The key of each interior cell stays the maximum key of the subtree of its left child as of the
+ * build or the split that wrote it, which is an upper bound of that subtree's keys after deletions.
+ * The rowids of a frequent key are inserted into the first leaf that holds the key.
+ * <p>
+ * The cost of the batch is counted as the entries applied, the pages read and written, and the time
+ * taken to apply them.
+ */
+public class IndexUpdater implements Closeable {
+
+  /**
+   * An insertion or deletion of one entry.
+   */
+  private static final class Change {
+
+    private final byte[] key;
+    private final int rowId;
+    private final boolean isInsertion;
+
+    private Change(byte[] key, int rowId, boolean isInsertion) {
+      this.key = key;
+      this.rowId = rowId;
+      this.isInsertion = isInsertion;
+    }
+
+  }
+
+  private final RandomAccessFile file;
+  private final KeyCodec<?> codec;
+  private final Comparator<Change> changeComparator;
+
+  private final List<Change> changes = new ArrayList<>();
+
+  /** The interior pages read by descents, which are not modified until every change is applied. */
+  private final Map<Integer, IndexInteriorPage> interiorPages = new HashMap<>();
+  private int nextPageNo = NULL_PAGE_NO;
+
+  private int insertedEntryCount = 0;
+  private int deletedEntryCount = 0;
+  private int pageReadCount = 0;
+  private int pageWriteCount = 0;
+  private long elapsedNanos = 0;
+
+  private boolean isClosed = false;
+
+  /**
+   * @param file     the index file to update (not null)
+   * @param codec    the codec of the keys of the index (not null)
+   */
+  IndexUpdater(RandomAccessFile file, KeyCodec<?> codec) {
+    checkNotNull(file, "file");
+    checkNotNull(codec, "codec");
+
+    this.file = file;
+    this.codec = codec;
+    this.changeComparator = (change1, change2) -> {
+      final int comparison = codec.compare(change1.key, change2.key);
+      return comparison != 0 ? comparison : Integer.compare(change1.rowId, change2.rowId);
+    };
+  }
+
+  /**
+   * Adds the entry of a row to the index. A row whose key is null is not indexed.
+   *
+   * @param key   the value of the indexed column of the row, which must be of the type of the
+   *              indexed column, or null
+   * @param rowId the rowid of the row
+   */
+  public void insertEntry(@Nullable Object key, int rowId) {
+    addChange(key, rowId, true);
+  }
+
+  /**
+   * Removes the entry of a row from the index, if it has one.
+   *
+   * @param key   the value of the indexed column of the row, which must be of the type of the
+   *              indexed column, or null
+   * @param rowId the rowid of the row
+   */
+  public void deleteEntry(@Nullable Object key, int rowId) {
+    addChange(key, rowId, false);
+  }
+
+  private void addChange(@Nullable Object key, int rowId, boolean isInsertion) {
+    checkState(!isClosed, "This IndexUpdater is closed.");
+
+    if (key != null) {
+      changes.add(new Change(codec.castAndEncode(key), rowId, isInsertion));
+    }
+  }
+
+  /**
+   * Applies the batch of changes, and closes the underlying file.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+
+    final long startNanos = System.nanoTime();
+    try {
+      if (!changes.isEmpty()) {
+        apply();
+      }
+    }
+    finally {
+      changes.clear();
+      interiorPages.clear();
+      elapsedNanos = System.nanoTime() - startNanos;
+      file.close();
+    }
+  }
+
+  //region Cost
+
+  /**
+   * @return the number of entries that were inserted, once closed
+   */
+  public int getInsertedEntryCount() {
+    return insertedEntryCount;
+  }
+
+  /**
+   * @return the number of entries that were found and deleted, once closed
+   */
+  public int getDeletedEntryCount() {
+    return deletedEntryCount;
+  }
+
+  /**
+   * @return the number of pages that were read to apply the changes, once closed
+   */
+  public int getPageReadCount() {
+    return pageReadCount;
+  }
+
+  /**
+   * @return the number of pages (or page headers) that were written to apply the changes, once
+   *         closed
+   */
+  public int getPageWriteCount() {
+    return pageWriteCount;
+  }
+
+  /**
+   * @return the time in nanoseconds that was taken to apply the changes, once closed
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  //endregion
+
+  //region Apply
+
+  private void apply() throws IOException {
+    // The sort is stable, so the changes of the same entry are still applied in the order made.
+    changes.sort(changeComparator);
+
+    final Map<Integer, LeafEdit> leafEdits = new TreeMap<>();
+    file.seek(IndexPage.metaDataRootPageNoOffsetInFile);
+    final int rootPageNo = file.readInt();
+    for (final Change change : changes) {
+      @Nullable LeafEdit leafEdit = findLeafEdit(leafEdits, rootPageNo, change.key);
+      if (change.isInsertion) {
+        leafEdit.insert(change.key, change.rowId);
+        insertedEntryCount += 1;
+        continue;
+      }
+
+      // The rowids of a frequent key may continue in the right siblings of its first leaf.
+      while (leafEdit != null && !leafEdit.delete(change.key, change.rowId)) {
+        leafEdit = (!leafEdit.hasKeyGreaterThan(change.key) && Page.exists(file, leafEdit.rightSiblingPageNo))
+            ? getLeafEdit(leafEdits, leafEdit.rightSiblingPageNo)
+            : null;
+      }
+      if (leafEdit != null) {
+        deletedEntryCount += 1;
+      }
+    }
+
+    // Splits modify the interior pages, so they are only read again from here on.
+    interiorPages.clear();
+    nextPageNo = (int) (file.length() / PAGE_SIZE) + 1;
+    for (final LeafEdit leafEdit : leafEdits.values()) {
+      if (leafEdit.isDirty) {
+        writeLeaf(leafEdit);
+      }
+    }
+  }
+
+  /**
+   * @return the edit of the leaf page in which {@code key} belongs, which is the first leaf page that
+   *         may hold it (not null)
+   */
+  private LeafEdit findLeafEdit(Map<Integer, LeafEdit> leafEdits, int rootPageNo, byte[] key) throws IOException {
+    int pageNo = rootPageNo;
+    while (true) {
+      final @Nullable LeafEdit leafEdit = leafEdits.get(pageNo);
+      if (leafEdit != null) {
+        return leafEdit;
+      }
+
+      @Nullable IndexInteriorPage interiorPage = interiorPages.get(pageNo);
+      if (interiorPage == null) {
+        final ByteBuffer buffer = readPageBuffer(pageNo);
+        if (buffer.get(PAGE_OFFSET_OF_PAGE_TYPE_CODE) != IndexInteriorPage.PAGE_TYPE_CODE) {
+          final LeafEdit newLeafEdit = new LeafEdit(new IndexLeafPage(pageNo, buffer));
+          leafEdits.put(pageNo, newLeafEdit);
+          return newLeafEdit;
+        }
+        interiorPage = new IndexInteriorPage(pageNo, buffer);
+        interiorPages.put(pageNo, interiorPage);
+      }
+
+      // Every interior cell holds an upper bound of the keys of its left child.
+      int low = 0;
+      int high = interiorPage.getCellCount();
+      while (low < high) {
+        final int middle = (low + high) >>> 1;
+        if (interiorPage.compareCellKey(middle, codec, key) < 0) {
+          low = middle + 1;
+        }
+        else {
+          high = middle;
+        }
+      }
+      pageNo = (low < interiorPage.getCellCount())
+          ? interiorPage.getCellLeftChildPageNo(low)
+          : interiorPage.getRightmostChildPageNo();
+    }
+  }
+
+  private LeafEdit getLeafEdit(Map<Integer, LeafEdit> leafEdits, int pageNo) throws IOException {
+    @Nullable LeafEdit leafEdit = leafEdits.get(pageNo);
+    if (leafEdit == null) {
+      leafEdit = new LeafEdit(new IndexLeafPage(pageNo, readPageBuffer(pageNo)));
+      leafEdits.put(pageNo, leafEdit);
+    }
+    return leafEdit;
+  }
+
+  private ByteBuffer readPageBuffer(int pageNo) throws IOException {
+    pageReadCount += 1;
+    return AbstractPage.readPageBuffer(file, pageNo);
+  }
+
+  /**
+   * A leaf page decoded into cells that can be edited, each of which holds every rowid of its key on
+   * the page, in ascending order.
+   */
+  private final class LeafEdit {
+
+    private final int pageNo;
+    private final int rightSiblingPageNo;
+    private final List<byte[]> keys = new ArrayList<>();
+    private final List<int[]> rowIds = new ArrayList<>();
+    private final List<Integer> rowIdCounts = new ArrayList<>();
+    private boolean isDirty = false;
+
+    private LeafEdit(IndexLeafPage page) {
+      this.pageNo = page.getPageNo();
+      this.rightSiblingPageNo = page.getRightSiblingPageNo();
+
+      for (int cellIndex = 0; cellIndex < page.getCellCount(); cellIndex++) {
+        final int cellRowIdCount = page.getCellRowIdCount(cellIndex);
+        final int last = keys.size() - 1;
+        if (last < 0 || page.compareCellKey(cellIndex, codec, keys.get(last)) != 0) {
+          keys.add(page.getCellKey(cellIndex));
+          rowIds.add(new int[Math.max(cellRowIdCount, 1)]);
+          rowIdCounts.add(0);
+        }
+        for (int rowIdIndex = 0; rowIdIndex < cellRowIdCount; rowIdIndex++) {
+          addRowId(keys.size() - 1, page.getCellRowId(cellIndex, rowIdIndex));
+        }
+      }
+    }
+
+    private void insert(byte[] key, int rowId) {
+      // Find the first key greater than the given one.
+      int low = 0;
+      int high = keys.size();
+      while (low < high) {
+        final int middle = (low + high) >>> 1;
+        if (codec.compare(keys.get(middle), key) <= 0) {
+          low = middle + 1;
+        }
+        else {
+          high = middle;
+        }
+      }
+
+      if (low == 0 || codec.compare(keys.get(low - 1), key) != 0) {
+        keys.add(low, key);
+        rowIds.add(low, new int[1]);
+        rowIdCounts.add(low, 0);
+        low += 1;
+      }
+      addRowId(low - 1, rowId);
+      isDirty = true;
+    }
+
+    /**
+     * @return whether the entry was found, and so deleted
+     */
+    private boolean delete(byte[] key, int rowId) {
+      final int keyIndex = findKeyIndex(key);
+      if (keyIndex < 0) {
+        return false;
+      }
+      final int[] keyRowIds = rowIds.get(keyIndex);
+      final int keyRowIdCount = rowIdCounts.get(keyIndex);
+      final int rowIdIndex = Arrays.binarySearch(keyRowIds, 0, keyRowIdCount, rowId);
+      if (rowIdIndex < 0) {
+        return false;
+      }
+
+      if (keyRowIdCount == 1) {
+        keys.remove(keyIndex);
+        rowIds.remove(keyIndex);
+        rowIdCounts.remove(keyIndex);
+      }
+      else {
+        System.arraycopy(keyRowIds, rowIdIndex + 1, keyRowIds, rowIdIndex, keyRowIdCount - rowIdIndex - 1);
+        rowIdCounts.set(keyIndex, keyRowIdCount - 1);
+      }
+      isDirty = true;
+      return true;
+    }
+
+    private boolean hasKeyGreaterThan(byte[] key) {
+      return !keys.isEmpty() && codec.compare(keys.get(keys.size() - 1), key) > 0;
+    }
+
+    private int findKeyIndex(byte[] key) {
+      int low = 0;
+      int high = keys.size() - 1;
+      while (low <= high) {
+        final int middle = (low + high) >>> 1;
+        final int comparison = codec.compare(keys.get(middle), key);
+        if (comparison < 0) {
+          low = middle + 1;
+        }
+        else if (comparison > 0) {
+          high = middle - 1;
+        }
+        else {
+          return middle;
+        }
+      }
+      return -1;
+    }
+
+    private void addRowId(int keyIndex, int rowId) {
+      int[] keyRowIds = rowIds.get(keyIndex);
+      final int keyRowIdCount = rowIdCounts.get(keyIndex);
+      int rowIdIndex = Arrays.binarySearch(keyRowIds, 0, keyRowIdCount, rowId);
+      if (rowIdIndex >= 0) {
+        return;
+      }
+      rowIdIndex = -(rowIdIndex + 1);
+
+      if (keyRowIdCount == keyRowIds.length) {
+        keyRowIds = Arrays.copyOf(keyRowIds, keyRowIdCount * 2);
+        rowIds.set(keyIndex, keyRowIds);
+      }
+      System.arraycopy(keyRowIds, rowIdIndex, keyRowIds, rowIdIndex + 1, keyRowIdCount - rowIdIndex);
+      keyRowIds[rowIdIndex] = rowId;
+      rowIdCounts.set(keyIndex, keyRowIdCount + 1);
+    }
+
+  }
+
+  //endregion
+
+  //region Write
+
+  /**
+   * Writes an edited leaf page back in place, split into as many pages as it needs.
+   */
+  private void writeLeaf(LeafEdit leafEdit) throws IOException {
+    // Split the rowids of each key into as many cells as they need for each cell to fit in a page.
+    final List<byte[]> cells = new ArrayList<>();
+    final List<byte[]> cellKeys = new ArrayList<>();
+    for (int keyIndex = 0; keyIndex < leafEdit.keys.size(); keyIndex++) {
+      final byte[] key = leafEdit.keys.get(keyIndex);
+      final int[] keyRowIds = leafEdit.rowIds.get(keyIndex);
+      final int keyRowIdCount = leafEdit.rowIdCounts.get(keyIndex);
+      final int cellRowIdMaxCount = Math.min(CELL_ROWID_MAX_COUNT,
+          (PAGE_CELL_SPACE - PAGE_OFFSET_SIZE - getCellSize(0, key.length, 0)) / Integer.BYTES);
+      for (int from = 0; from < keyRowIdCount; from += cellRowIdMaxCount) {
+        final int count = Math.min(cellRowIdMaxCount, keyRowIdCount - from);
+        cells.add(toCell(NULL_PAGE_NO, key, Arrays.copyOfRange(keyRowIds, from, from + count), count));
+        cellKeys.add(key);
+      }
+    }
+
+    // The rightmost leaf is filled in order, as it is where ascending keys are appended.
+    final boolean isRightmost = !Page.exists(file, leafEdit.rightSiblingPageNo);
+    final ImmutableIntArray groupStarts = groupCells(cells, isRightmost);
+    final int parentPageNo = readParentPageNo(leafEdit.pageNo);
+
+    final int[] pageNos = new int[groupStarts.length()];
+    pageNos[0] = leafEdit.pageNo;
+    for (int i = 1; i < pageNos.length; i++) {
+      pageNos[i] = nextPageNo++;
+    }
+
+    final List<byte[]> maxKeys = new ArrayList<>();
+    for (int i = 0; i < pageNos.length; i++) {
+      final int from = groupStarts.get(i);
+      final int to = (i + 1 < groupStarts.length()) ? groupStarts.get(i + 1) : cells.size();
+
+      final IndexLeafPage page = new IndexLeafPage(pageNos[i], newPageBuffer(IndexLeafPage.PAGE_TYPE_CODE));
+      for (int cellIndex = from; cellIndex < to; cellIndex++) {
+        page.appendCell(cells.get(cellIndex));
+      }
+      page.setRightSiblingPageNo((i + 1 < pageNos.length) ? pageNos[i + 1] : leafEdit.rightSiblingPageNo);
+      page.setParentPageNo(parentPageNo);
+      page.flush(file);
+      pageWriteCount += 1;
+
+      if (i + 1 < pageNos.length) {
+        maxKeys.add(cellKeys.get(to - 1));
+      }
+    }
+
+    if (pageNos.length > 1) {
+      replaceChild(parentPageNo, pageNos, maxKeys);
+    }
+  }
+
+  /**
+   * Replaces the reference of an interior page to a child that was split by references to each page
+   * into which it was split.
+   *
+   * @param parentPageNo the page no of the parent of the split child, or
+   *                     {@link AbstractPage#NULL_PAGE_NO} if the child was the root
+   * @param childPageNos the page nos of the pages into which the child was split, the first of which
+   *                     is the page no of the child
+   * @param childMaxKeys the maximum keys of every page into which the child was split but the last,
+   *                     whose upper bound is that of the child
+   */
+  private void replaceChild(int parentPageNo, int[] childPageNos, List<byte[]> childMaxKeys) throws IOException {
+    assert childPageNos.length == childMaxKeys.size() + 1;
+
+    final List<Integer> entryChildPageNos = new ArrayList<>();
+    final List<byte[]> entryKeys = new ArrayList<>();
+    int rightmostChildPageNo;
+    final boolean isNewRoot = (parentPageNo == NULL_PAGE_NO);
+    if (isNewRoot) {
+      for (int i = 0; i < childMaxKeys.size(); i++) {
+        entryChildPageNos.add(childPageNos[i]);
+        entryKeys.add(childMaxKeys.get(i));
+      }
+      rightmostChildPageNo = childPageNos[childPageNos.length - 1];
+      parentPageNo = nextPageNo++;
+    }
+    else {
+      final IndexInteriorPage parentPage = new IndexInteriorPage(parentPageNo, readPageBuffer(parentPageNo));
+      rightmostChildPageNo = parentPage.getRightmostChildPageNo();
+      boolean isFound = false;
+      for (int cellIndex = 0; cellIndex < parentPage.getCellCount(); cellIndex++) {
+        final int leftChildPageNo = parentPage.getCellLeftChildPageNo(cellIndex);
+        if (leftChildPageNo == childPageNos[0]) {
+          for (int i = 0; i < childMaxKeys.size(); i++) {
+            entryChildPageNos.add(childPageNos[i]);
+            entryKeys.add(childMaxKeys.get(i));
+          }
+          entryChildPageNos.add(childPageNos[childPageNos.length - 1]);
+          isFound = true;
+        }
+        else {
+          entryChildPageNos.add(leftChildPageNo);
+        }
+        entryKeys.add(parentPage.getCellKey(cellIndex));
+      }
+      if (rightmostChildPageNo == childPageNos[0]) {
+        for (int i = 0; i < childMaxKeys.size(); i++) {
+          entryChildPageNos.add(childPageNos[i]);
+          entryKeys.add(childMaxKeys.get(i));
+        }
+        rightmostChildPageNo = childPageNos[childPageNos.length - 1];
+        isFound = true;
+      }
+      checkState(isFound, "Page %s is not a child of its parent page %s.", childPageNos[0], parentPageNo);
+    }
+
+    writeInterior(parentPageNo, isNewRoot, entryChildPageNos, entryKeys, rightmostChildPageNo);
+  }
+
+  /**
+   * Writes an interior page in place, split into as many pages as it needs.
+   *
+   * @param isNew whether the page is new, so that each of its children must be given its page no as
+   *              their parent
+   */
+  private void writeInterior(int pageNo, boolean isNew,
+      List<Integer> entryChildPageNos, List<byte[]> entryKeys, int rightmostChildPageNo) throws IOException {
+    final List<byte[]> cells = new ArrayList<>(entryKeys.size());
+    for (int i = 0; i < entryKeys.size(); i++) {
+      cells.add(toCell(entryChildPageNos.get(i), entryKeys.get(i), new int[0], 0));
+    }
+    final ImmutableIntArray groupStarts = groupCells(cells, false);
+    final int parentPageNo = isNew ? NULL_PAGE_NO : readParentPageNo(pageNo);
+
+    final int[] pageNos = new int[groupStarts.length()];
+    pageNos[0] = pageNo;
+    for (int i = 1; i < pageNos.length; i++) {
+      pageNos[i] = nextPageNo++;
+    }
+
+    // The last entry of every page but the last becomes its rightmost child, and the key of that
+    // entry the upper bound of the page.
+    final List<byte[]> maxKeys = new ArrayList<>();
+    for (int i = 0; i < pageNos.length; i++) {
+      final int from = groupStarts.get(i);
+      final boolean isLast = (i + 1 == pageNos.length);
+      final int to = isLast ? cells.size() : groupStarts.get(i + 1) - 1;
+
+      final IndexInteriorPage page = new IndexInteriorPage(pageNos[i], newPageBuffer(IndexInteriorPage.PAGE_TYPE_CODE));
+      for (int cellIndex = from; cellIndex < to; cellIndex++) {
+        page.appendCell(cells.get(cellIndex));
+      }
+      page.setRightmostChildPageNo(isLast ? rightmostChildPageNo : entryChildPageNos.get(to));
+      page.setParentPageNo(parentPageNo);
+      page.flush(file);
+      pageWriteCount += 1;
+
+      if (!isLast) {
+        maxKeys.add(entryKeys.get(to));
+      }
+      if (isNew || i > 0) {
+        for (int cellIndex = from; cellIndex < to; cellIndex++) {
+          writeParentPageNo(entryChildPageNos.get(cellIndex), pageNos[i]);
+        }
+        writeParentPageNo(page.getRightmostChildPageNo(), pageNos[i]);
+      }
+    }
+
+    if (isNew) {
+      file.seek(IndexPage.metaDataRootPageNoOffsetInFile);
+      file.writeInt(pageNo);
+    }
+    if (pageNos.length > 1) {
+      replaceChild(parentPageNo, pageNos, maxKeys);
+    }
+  }
+
+  /**
+   * @param cells           the cells to write, in order (not null)
+   * @param isFilledInOrder whether to fill each page as full as it can be, rather than to spread the
+   *                        cells evenly over the pages
+   * @return the index of the first cell of each page to which to write the cells, which is only 0 if
+   *         they fit in one page (not null)
+   */
+  private static ImmutableIntArray groupCells(List<byte[]> cells, boolean isFilledInOrder) {
+    int totalSpace = 0;
+    for (final byte[] cell : cells) {
+      totalSpace += cell.length + PAGE_OFFSET_SIZE;
+    }
+    final int pageCount = Math.max(1, (totalSpace + PAGE_CELL_SPACE - 1) / PAGE_CELL_SPACE);
+    final int targetSpace = isFilledInOrder ? PAGE_CELL_SPACE : (totalSpace + pageCount - 1) / pageCount;
+
+    final ImmutableIntArray.Builder groupStarts = ImmutableIntArray.builder();
+    groupStarts.add(0);
+    int usedSpace = 0;
+    for (int i = 0; i < cells.size(); i++) {
+      final int cellSpace = cells.get(i).length + PAGE_OFFSET_SIZE;
+      if (usedSpace > 0 && usedSpace + cellSpace > targetSpace) {
+        groupStarts.add(i);
+        usedSpace = 0;
+      }
+      usedSpace += cellSpace;
+    }
+    return groupStarts.build();
+  }
+
+  private int readParentPageNo(int pageNo) throws IOException {
+    file.seek(IndexPage.convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_PARENT_PAGENO);
+    return file.readInt();
+  }
+
+  private void writeParentPageNo(int pageNo, int parentPageNo) throws IOException {
+    file.seek(IndexPage.convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_PARENT_PAGENO);
+    file.writeInt(parentPageNo);
+    pageWriteCount += 1;
+  }
+
+  //endregion
+
+}
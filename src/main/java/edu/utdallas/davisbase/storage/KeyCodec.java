@@ -0,0 +1,314 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static edu.utdallas.davisbase.DateTimeUtils.DATETIME_ZONE_OFFSET;
+import static edu.utdallas.davisbase.TextUtils.TEXT_CHARSET;
+import static edu.utdallas.davisbase.YearUtils.YEAR_OFFSET;
+import static edu.utdallas.davisbase.storage.DataUtils.BIGINT_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.DATETIME_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.DATE_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.DOUBLE_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.FLOAT_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.INT_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.SMALLINT_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.TIME_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.TINYINT_DATA_SIZE;
+import static edu.utdallas.davisbase.storage.DataUtils.YEAR_DATA_SIZE;
+import static java.lang.String.format;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.NotImplementedException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.Comparator;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Encodes the values of one {@link DataType} as the keys of an index, and compares encoded keys in
+ * the natural order of the values that they encode, i.e. the order in which a {@code WHERE} clause
+ * compares them.
+ * <p>
+ * Keys are encoded as {@link DataUtils#convertToBytes(Object)} serializes values into table cells.
+ * The keys of every type but TEXT have a fixed width, and are compared as the primitives that they
+ * encode, read where they lie (e.g. in a page) without decoding them into objects. TEXT keys vary in
+ * width, and are compared by their bytes as far as that agrees with
+ * {@link String#compareTo(String)}, and otherwise decoded.
+ *
+ * @param <T> the Java class of the values, i.e. {@link DataType#getJavaClass()}
+ */
+public final class KeyCodec<T> implements Comparator<byte[]> {
+
+  /**
+   * The width of the keys of a codec whose keys vary in width.
+   */
+  public static final int VARIABLE_WIDTH = -1;
+
+  //region Codecs
+
+  public static final KeyCodec<Byte> TINYINT = new KeyCodec<>(DataType.TINYINT, Byte.class, TINYINT_DATA_SIZE,
+      DataUtils::convertTinyIntToBytes,
+      (buffer, offset, length) -> buffer.get(offset),
+      (buffer1, offset1, length1, buffer2, offset2, length2) -> Byte.compare(buffer1.get(offset1), buffer2.get(offset2)));
+
+  public static final KeyCodec<Short> SMALLINT = new KeyCodec<>(DataType.SMALLINT, Short.class, SMALLINT_DATA_SIZE,
+      DataUtils::convertSmallIntToBytes,
+      (buffer, offset, length) -> buffer.getShort(offset),
+      (buffer1, offset1, length1, buffer2, offset2, length2) -> Short.compare(buffer1.getShort(offset1), buffer2.getShort(offset2)));
+
+  public static final KeyCodec<Integer> INT = new KeyCodec<>(DataType.INT, Integer.class, INT_DATA_SIZE,
+      DataUtils::convertIntToBytes,
+      (buffer, offset, length) -> buffer.getInt(offset),
+      KeyCodec::compareInt);
+
+  public static final KeyCodec<Long> BIGINT = new KeyCodec<>(DataType.BIGINT, Long.class, BIGINT_DATA_SIZE,
+      DataUtils::convertBigIntToBytes,
+      (buffer, offset, length) -> buffer.getLong(offset),
+      KeyCodec::compareLong);
+
+  public static final KeyCodec<Float> FLOAT = new KeyCodec<>(DataType.FLOAT, Float.class, FLOAT_DATA_SIZE,
+      DataUtils::convertFloatToBytes,
+      (buffer, offset, length) -> buffer.getFloat(offset),
+      (buffer1, offset1, length1, buffer2, offset2, length2) -> Float.compare(buffer1.getFloat(offset1), buffer2.getFloat(offset2)));
+
+  public static final KeyCodec<Double> DOUBLE = new KeyCodec<>(DataType.DOUBLE, Double.class, DOUBLE_DATA_SIZE,
+      DataUtils::convertDoubleToBytes,
+      (buffer, offset, length) -> buffer.getDouble(offset),
+      (buffer1, offset1, length1, buffer2, offset2, length2) -> Double.compare(buffer1.getDouble(offset1), buffer2.getDouble(offset2)));
+
+  public static final KeyCodec<Year> YEAR = new KeyCodec<>(DataType.YEAR, Year.class, YEAR_DATA_SIZE,
+      DataUtils::convertYearToBytes,
+      (buffer, offset, length) -> Year.of(YEAR_OFFSET + buffer.get(offset)),
+      (buffer1, offset1, length1, buffer2, offset2, length2) -> Byte.compare(buffer1.get(offset1), buffer2.get(offset2)));
+
+  public static final KeyCodec<LocalTime> TIME = new KeyCodec<>(DataType.TIME, LocalTime.class, TIME_DATA_SIZE,
+      DataUtils::convertTimeToBytes,
+      (buffer, offset, length) -> LocalTime.ofSecondOfDay(buffer.getInt(offset)),
+      KeyCodec::compareInt);
+
+  public static final KeyCodec<LocalDateTime> DATETIME = new KeyCodec<>(DataType.DATETIME, LocalDateTime.class, DATETIME_DATA_SIZE,
+      DataUtils::convertDateTimeToBytes,
+      (buffer, offset, length) -> LocalDateTime.ofEpochSecond(buffer.getLong(offset), 0, DATETIME_ZONE_OFFSET),
+      KeyCodec::compareLong);
+
+  public static final KeyCodec<LocalDate> DATE = new KeyCodec<>(DataType.DATE, LocalDate.class, DATE_DATA_SIZE,
+      DataUtils::convertDateToBytes,
+      (buffer, offset, length) -> LocalDate.ofEpochDay(buffer.getLong(offset)),
+      KeyCodec::compareLong);
+
+  public static final KeyCodec<String> TEXT = new KeyCodec<>(DataType.TEXT, String.class, VARIABLE_WIDTH,
+      DataUtils::convertTextToBytes,
+      KeyCodec::decodeText,
+      KeyCodec::compareText);
+
+  /**
+   * @param dataType the type of the indexed column (not null)
+   * @return the codec of the keys of an index of a column of type {@code dataType} (not null)
+   */
+  public static KeyCodec<?> of(DataType dataType) {
+    checkNotNull(dataType, "dataType");
+
+    switch (dataType) {
+      case TINYINT:  return TINYINT;
+      case SMALLINT: return SMALLINT;
+      case INT:      return INT;
+      case BIGINT:   return BIGINT;
+      case FLOAT:    return FLOAT;
+      case DOUBLE:   return DOUBLE;
+      case YEAR:     return YEAR;
+      case TIME:     return TIME;
+      case DATETIME: return DATETIME;
+      case DATE:     return DATE;
+      case TEXT:     return TEXT;
+
+      default:
+        throw new NotImplementedException(format("edu.utdallas.davisbase.storage.KeyCodec#of(DataType) for type edu.utdallas.davisbase.DataType#%s", dataType));
+    }
+  }
+
+  //endregion
+
+  @FunctionalInterface
+  private interface Decoder<T> {
+
+    T decode(ByteBuffer buffer, int offset, int length);
+
+  }
+
+  @FunctionalInterface
+  private interface Comparison {
+
+    int compare(ByteBuffer buffer1, int offset1, int length1, ByteBuffer buffer2, int offset2, int length2);
+
+  }
+
+  private final DataType dataType;
+  private final Class<T> javaClass;
+  private final int width;
+  private final Function<T, byte[]> encoder;
+  private final Decoder<T> decoder;
+  private final Comparison comparison;
+
+  private KeyCodec(DataType dataType, Class<T> javaClass, int width, Function<T, byte[]> encoder, Decoder<T> decoder, Comparison comparison) {
+    assert dataType.getJavaClass() == javaClass : "javaClass should be the Java class of dataType";
+
+    this.dataType = dataType;
+    this.javaClass = javaClass;
+    this.width = width;
+    this.encoder = encoder;
+    this.decoder = decoder;
+    this.comparison = comparison;
+  }
+
+  /**
+   * @return the type of the values (not null)
+   */
+  public DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * @return the Java class of the values (not null)
+   */
+  public Class<T> getJavaClass() {
+    return javaClass;
+  }
+
+  /**
+   * @return the width in bytes of every key, or {@link #VARIABLE_WIDTH} if keys vary in width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  public boolean isFixedWidth() {
+    return width != VARIABLE_WIDTH;
+  }
+
+  /**
+   * @param value a value, which must be null or of the Java class of this codec
+   * @return {@code value} as a value of this codec, or null if it is null
+   */
+  public @Nullable T cast(@Nullable Object value) {
+    checkArgument(value == null || javaClass.isInstance(value),
+        "value %s is not a value of the type %s", value, dataType);
+
+    return javaClass.cast(value);
+  }
+
+  /**
+   * @param value the value to encode (not null)
+   * @return the key that encodes {@code value} (not null)
+   */
+  public byte[] encode(T value) {
+    checkNotNull(value, "value");
+
+    return encoder.apply(value);
+  }
+
+  /**
+   * @param value the value to encode, which must be of the Java class of this codec (not null)
+   * @return the key that encodes {@code value} (not null)
+   */
+  byte[] castAndEncode(Object value) {
+    checkNotNull(value, "value");
+
+    return encode(cast(value));
+  }
+
+  /**
+   * @param key a key encoded by this codec (not null)
+   * @return the value that {@code key} encodes (not null)
+   */
+  public T decode(byte[] key) {
+    checkNotNull(key, "key");
+
+    return decode(ByteBuffer.wrap(key), 0, key.length);
+  }
+
+  /**
+   * @param buffer the buffer that holds a key encoded by this codec (not null)
+   * @param offset the index in {@code buffer} at which the key starts
+   * @param length the length in bytes of the key
+   * @return the value that the key encodes (not null)
+   */
+  T decode(ByteBuffer buffer, int offset, int length) {
+    assert width == VARIABLE_WIDTH || length == width : "length should be the width of a fixed-width key";
+
+    return decoder.decode(buffer, offset, length);
+  }
+
+  @Override
+  public int compare(byte[] key1, byte[] key2) {
+    return comparison.compare(ByteBuffer.wrap(key1), 0, key1.length, ByteBuffer.wrap(key2), 0, key2.length);
+  }
+
+  /**
+   * Compares a key where it lies in a buffer, e.g. the key of a cell in a page, with another key,
+   * without copying it out of the buffer.
+   *
+   * @param buffer the buffer that holds the first key (not null)
+   * @param offset the index in {@code buffer} at which the first key starts
+   * @param length the length in bytes of the first key
+   * @param key    the second key (not null)
+   * @return a negative integer, zero, or a positive integer as the first key is less than, equal to,
+   *         or greater than the second key
+   */
+  int compare(ByteBuffer buffer, int offset, int length, byte[] key) {
+    return comparison.compare(buffer, offset, length, ByteBuffer.wrap(key), 0, key.length);
+  }
+
+  @Override
+  public String toString() {
+    return format("%s<%s>", KeyCodec.class.getSimpleName(), dataType);
+  }
+
+  //region Comparisons
+
+  private static int compareInt(ByteBuffer buffer1, int offset1, int length1, ByteBuffer buffer2, int offset2, int length2) {
+    return Integer.compare(buffer1.getInt(offset1), buffer2.getInt(offset2));
+  }
+
+  private static int compareLong(ByteBuffer buffer1, int offset1, int length1, ByteBuffer buffer2, int offset2, int length2) {
+    return Long.compare(buffer1.getLong(offset1), buffer2.getLong(offset2));
+  }
+
+  /**
+   * Compares two TEXT keys as {@link String#compareTo(String)} compares the strings that they
+   * encode, decoding them only if they first differ in a byte that is not ASCII. (Keys that first
+   * differ in an ASCII byte have equal prefixes, and so are ordered by that byte; and a key that is a
+   * prefix of another encodes a prefix of the other's string.)
+   */
+  private static int compareText(ByteBuffer buffer1, int offset1, int length1, ByteBuffer buffer2, int offset2, int length2) {
+    final int length = Math.min(length1, length2);
+    for (int i = 0; i < length; i++) {
+      final byte byte1 = buffer1.get(offset1 + i);
+      final byte byte2 = buffer2.get(offset2 + i);
+      if (byte1 != byte2) {
+        if (byte1 >= 0 && byte2 >= 0) {
+          return Byte.compare(byte1, byte2);
+        }
+        return decodeText(buffer1, offset1, length1).compareTo(decodeText(buffer2, offset2, length2));
+      }
+    }
+    return Integer.compare(length1, length2);
+  }
+
+  private static String decodeText(ByteBuffer buffer, int offset, int length) {
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + offset, length, TEXT_CHARSET);
+    }
+    final byte[] bytes = new byte[length];
+    final ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset);
+    duplicate.get(bytes);
+    return new String(bytes, TEXT_CHARSET);
+  }
+
+  //endregion
+
+}
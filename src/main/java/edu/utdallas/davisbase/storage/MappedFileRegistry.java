@@ -0,0 +1,264 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The memory mappings of every file that a {@link Storage} has open with the
+ * {@link StorageBackend#MEMORY_MAPPED} backend.
+ * <p>
+ * All handles to the same file share one {@link MappedFile}, and therefore one logical length and
+ * one set of mappings. A file is mapped as a list of fixed-size extents, each mapped once at its own
+ * offset, so growing a file maps only its new extents and a file is not limited to the 2 GiB of a
+ * single mapping. Mappings cannot be released explicitly before Java 9, so none is ever replaced.
+ * Growing in whole extents pads the file on disk; the padding is truncated away when the last handle
+ * to the file is closed.
+ */
+class MappedFileRegistry {
+
+  /**
+   * A file mapped into memory and shared by all of its open handles.
+   */
+  static class MappedFile {
+
+    /** The source of the zeros written by {@link #clear(long, long)}. */
+    private static final byte[] ZEROS = new byte[8192];
+
+    private final String key;
+    private final RandomAccessFile backing;
+    private final FileChannel channel;
+    private final int extentSize;
+    /** The mappings of the extents of the file in order, replaced by a longer copy as it grows. */
+    private volatile MappedByteBuffer[] extents = new MappedByteBuffer[0];
+    private volatile long length;
+    private int openCount = 0;
+
+    private MappedFile(String key, RandomAccessFile backing, int extentSize) throws IOException {
+      this.key = key;
+      this.backing = backing;
+      this.channel = backing.getChannel();
+      this.extentSize = extentSize;
+      this.length = backing.length();
+      mapExtents(Math.max(1, length));
+    }
+
+    /**
+     * @return the logical length of the file in bytes, excluding any extent padding
+     */
+    long getLength() {
+      return length;
+    }
+
+    /**
+     * @param offset the offset of the byte in the file (not negative, and less than the mapped size)
+     * @return the byte at {@code offset}
+     */
+    byte get(long offset) {
+      return extents[(int) (offset / extentSize)].get((int) (offset % extentSize));
+    }
+
+    /**
+     * @param offset the offset of the byte in the file (not negative, and less than the mapped size)
+     * @param b      the byte to write at {@code offset}
+     */
+    void put(long offset, byte b) {
+      extents[(int) (offset / extentSize)].put((int) (offset % extentSize), b);
+    }
+
+    /**
+     * Reads {@code len} bytes starting at {@code offset}, across as many extents as they span.
+     */
+    void get(long offset, byte[] b, int off, int len) {
+      final MappedByteBuffer[] extents = this.extents;
+      while (len > 0) {
+        final int extentOffset = (int) (offset % extentSize);
+        final int count = Math.min(len, extentSize - extentOffset);
+        final ByteBuffer duplicate = extents[(int) (offset / extentSize)].duplicate();
+        duplicate.position(extentOffset);
+        duplicate.get(b, off, count);
+        offset += count;
+        off += count;
+        len -= count;
+      }
+    }
+
+    /**
+     * Writes {@code len} bytes starting at {@code offset}, across as many extents as they span.
+     */
+    void put(long offset, byte[] b, int off, int len) {
+      final MappedByteBuffer[] extents = this.extents;
+      while (len > 0) {
+        final int extentOffset = (int) (offset % extentSize);
+        final int count = Math.min(len, extentSize - extentOffset);
+        final ByteBuffer duplicate = extents[(int) (offset / extentSize)].duplicate();
+        duplicate.position(extentOffset);
+        duplicate.put(b, off, count);
+        offset += count;
+        off += count;
+        len -= count;
+      }
+    }
+
+    /**
+     * Zeroes the {@code len} bytes starting at {@code offset}, a chunk of each extent at a time.
+     */
+    void clear(long offset, long len) {
+      final MappedByteBuffer[] extents = this.extents;
+      while (len > 0) {
+        final int extentOffset = (int) (offset % extentSize);
+        final int extentCount = (int) Math.min(len, extentSize - extentOffset);
+        final ByteBuffer duplicate = extents[(int) (offset / extentSize)].duplicate();
+        duplicate.position(extentOffset);
+        for (int cleared = 0; cleared < extentCount; cleared += ZEROS.length) {
+          duplicate.put(ZEROS, 0, Math.min(ZEROS.length, extentCount - cleared));
+        }
+        offset += extentCount;
+        len -= extentCount;
+      }
+    }
+
+    /**
+     * @return the number of bytes of the file that are mapped, i.e. a whole number of extents
+     */
+    private long getMappedSize() {
+      return (long) extents.length * extentSize;
+    }
+
+    /**
+     * Maps the extents of the file up to {@code size} bytes that are not mapped yet.
+     */
+    private void mapExtents(long size) throws IOException {
+      final int extentCount = (int) ((size + extentSize - 1) / extentSize);
+      final MappedByteBuffer[] extents = Arrays.copyOf(this.extents, Math.max(extentCount, this.extents.length));
+      for (int i = this.extents.length; i < extentCount; i++) {
+        extents[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * extentSize, extentSize);
+      }
+      this.extents = extents;
+    }
+
+    private void force() {
+      for (final MappedByteBuffer extent : extents) {
+        extent.force();
+      }
+    }
+
+  }
+
+  private final int extentSize;
+  private final Map<String, MappedFile> files = new HashMap<>();
+
+  /**
+   * @param extentSize the size in bytes of each mapping of a file (positive, at most
+   *                   {@link Integer#MAX_VALUE})
+   */
+  MappedFileRegistry(long extentSize) {
+    checkArgument(extentSize > 0, "extentSize must be positive");
+    checkArgument(extentSize <= Integer.MAX_VALUE, "extentSize must be at most Integer.MAX_VALUE");
+
+    this.extentSize = (int) extentSize;
+  }
+
+  /**
+   * Opens a handle to the mapping of {@code path}, mapping the file if no handle is open yet.
+   *
+   * @param path the file to map (not null, must exist)
+   * @return the shared mapping of {@code path} (not null)
+   * @throws IOException
+   */
+  synchronized MappedFile open(File path) throws IOException {
+    checkNotNull(path, "path");
+
+    final String key = path.getCanonicalPath();
+    MappedFile file = files.get(key);
+    if (file == null) {
+      file = new MappedFile(key, new RandomAccessFile(path, "rw"), extentSize);
+      files.put(key, file);
+    }
+    file.openCount += 1;
+    return file;
+  }
+
+  /**
+   * Closes a handle previously returned by {@link #open(File)}. Closing the last handle of a file
+   * writes back its mappings and truncates the extent padding.
+   *
+   * @param file the mapping whose handle to close (not null)
+   * @throws IOException
+   */
+  synchronized void close(MappedFile file) throws IOException {
+    assert file != null : "file should not be null";
+    checkState(file.openCount > 0, "file has no open handles");
+
+    file.openCount -= 1;
+    if (file.openCount == 0) {
+      files.remove(file.key);
+      file.force();
+      file.channel.truncate(file.length);
+      file.backing.close();
+    }
+  }
+
+  /**
+   * Forgets any mapping of {@code path} without truncating it. Intended to be called before the file
+   * is deleted or re-created.
+   *
+   * @param path the file to forget (not null)
+   * @throws IOException
+   */
+  synchronized void discard(File path) throws IOException {
+    checkNotNull(path, "path");
+
+    final MappedFile file = files.remove(path.getCanonicalPath());
+    if (file != null) {
+      file.backing.close();
+    }
+  }
+
+  /**
+   * Changes the logical length of {@code file}, mapping any extents that it grows into.
+   *
+   * @param file      the file to resize (not null)
+   * @param newLength the new length in bytes (not negative)
+   * @throws IOException
+   */
+  synchronized void setLength(MappedFile file, long newLength) throws IOException {
+    assert file != null : "file should not be null";
+    checkArgument(newLength >= 0, "newLength may not be negative");
+
+    if (newLength > file.getMappedSize()) {
+      file.mapExtents(newLength);
+    }
+    else {
+      // Clear any bytes dropped by a shrink, so that growing the file again reads them as zero.
+      if (newLength < file.length) {
+        file.clear(newLength, file.length - newLength);
+      }
+    }
+    file.length = newLength;
+  }
+
+  /**
+   * Grows the logical length of {@code file} to {@code minLength} if it is currently shorter.
+   *
+   * @throws IOException
+   */
+  synchronized void extend(MappedFile file, long minLength) throws IOException {
+    assert file != null : "file should not be null";
+
+    if (file.length < minLength) {
+      setLength(file, minLength);
+    }
+  }
+
+}
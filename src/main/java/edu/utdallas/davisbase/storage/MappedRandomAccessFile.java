@@ -0,0 +1,161 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * A {@link RandomAccessFile} whose reads and writes go directly to a memory mapping of the file
+ * shared through a {@link MappedFileRegistry}, so that neither makes a system call.
+ * <p>
+ * As with {@link PooledRandomAccessFile}, every {@code readXxx} and {@code writeXxx} method of
+ * {@link RandomAccessFile} is implemented in terms of the methods overridden here, so existing
+ * {@link Page}, {@link IndexPage}, {@link TableFile}, and {@link IndexFile} code works unmodified.
+ * <p>
+ * The file holds no descriptor of its own: the registry keeps one open file per mapped file, so
+ * {@link #getChannel()} and {@link #getFD()} do not refer to an open file.
+ */
+class MappedRandomAccessFile extends RandomAccessFile implements ReusableFile {
+
+  private final MappedFileRegistry registry;
+  private final MappedFileRegistry.MappedFile mappedFile;
+
+  private long position = 0;
+  private boolean isClosed = false;
+
+  /**
+   * @param file     the file to open for reading and writing (not null, must exist)
+   * @param registry the registry through which to share the mapping of {@code file} (not null)
+   * @throws IOException
+   */
+  MappedRandomAccessFile(File file, MappedFileRegistry registry) throws IOException {
+    // All I/O goes through the registry's mapping, whose open file is the only descriptor of the
+    // file, so the one opened by RandomAccessFile is closed right away.
+    super(file, "r");
+    super.close();
+    checkNotNull(registry, "registry");
+
+    this.registry = registry;
+    this.mappedFile = registry.open(file);
+  }
+
+  @Override
+  public long getFilePointer() {
+    return position;
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    if (pos < 0) {
+      throw new IOException("Negative seek offset");
+    }
+    position = pos;
+  }
+
+  @Override
+  public long length() {
+    return mappedFile.getLength();
+  }
+
+  @Override
+  public void setLength(long newLength) throws IOException {
+    checkOpen();
+    registry.setLength(mappedFile, newLength);
+    if (position > newLength) {
+      position = newLength;
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    checkOpen();
+    if (position >= mappedFile.getLength()) {
+      return -1;
+    }
+    final int b = mappedFile.get(position) & 0xFF;
+    position += 1;
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b) throws IOException {
+    return read(b, 0, b.length);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    checkNotNull(b, "b");
+    checkPositionIndexes(off, off + len, b.length);
+    checkOpen();
+
+    if (len == 0) {
+      return 0;
+    }
+    final long available = mappedFile.getLength() - position;
+    if (available <= 0) {
+      return -1;
+    }
+
+    final int count = (int) Math.min(len, available);
+    mappedFile.get(position, b, off, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkOpen();
+    if (position >= mappedFile.getLength()) {
+      registry.extend(mappedFile, position + 1);
+    }
+    mappedFile.put(position, (byte) b);
+    position += 1;
+  }
+
+  @Override
+  public void write(byte[] b) throws IOException {
+    write(b, 0, b.length);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkNotNull(b, "b");
+    checkPositionIndexes(off, off + len, b.length);
+    checkOpen();
+
+    if (position + len > mappedFile.getLength()) {
+      registry.extend(mappedFile, position + len);
+    }
+    mappedFile.put(position, b, off, len);
+    position += len;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    registry.close(mappedFile);
+  }
+
+  /**
+   * Writes to the mapping are visible to every handle as soon as they are made, so only the file
+   * pointer needs resetting. The extent padding is truncated only once the file is closed.
+   */
+  @Override
+  public void reset() throws IOException {
+    checkOpen();
+    position = 0;
+  }
+
+  private void checkOpen() throws IOException {
+    if (isClosed) {
+      throw new IOException("Stream Closed");
+    }
+  }
+
+}
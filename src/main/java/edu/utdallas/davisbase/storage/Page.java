@@ -14,6 +14,8 @@ class Page {
   static final long FILE_OFFSET_OF_METADATA_PAGE_TYPE_CODE = 0x00;
   static final long FILE_OFFSET_OF_METADATA_CURRENT_ROWID  = 0x01;
   static final long FILE_OFFSET_OF_METADATA_ROOT_PAGENO    = 0x05;  // spell-checker:ignore pageno
+  static final long FILE_OFFSET_OF_METADATA_RIGHTMOST_LEAF_PAGENO = 0x0D;
+  static final long FILE_OFFSET_OF_METADATA_PAGE_COUNT     = 0x11;
 
   static final int PAGE_OFFSET_OF_PAGE_TYPE_CODE         = 0X00;
   static final int PAGE_OFFSET_OF_CELL_COUNT             = 0x01;
@@ -21,29 +23,10 @@ class Page {
   static final int PAGE_OFFSET_OF_RIGHTMOST_PAGENO       = 0x06;
   static final int PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY = 0x10;
 
-  static final int PAGE_CHILDREN_MAX_COUNT = 2;  // inclusive
   static final int PAGE_OFFSET_SIZE = Short.BYTES;
   static final int PAGE_SIZE = StorageConfiguration.Builder.getDefaultPageSize();
 
-  // called when the interior node is overflowed
-  static int AddInteriorPage(RandomAccessFile file) {
-    int numofPages = 0;
-    try {
-      numofPages = (int) (file.length() / PAGE_SIZE);
-      numofPages = numofPages + 1;
-      file.setLength(PAGE_SIZE * numofPages);
-      file.seek((numofPages - 1) * PAGE_SIZE);
-      file.writeByte(0x05);// writing page type
-
-      file.seek(((numofPages - 1) * PAGE_SIZE) + 6);
-      file.writeInt(-1); // setting right most child to -1
-    } catch (Exception e) {
-      System.out.println(e);
-    }
-    return numofPages;
-  }
-
-  // called when the leaf id overflowed.
+  // appends an empty leaf page to the file.
   static int AddLeafPage(RandomAccessFile file) {
     int numofPages = 0;
     try {
@@ -79,296 +62,10 @@ class Page {
     file.seek(0x09);  // QUESTION What is the field at 0x09 in the metadata page?
     file.writeInt(ROWID_NULL_VALUE);
 
-    setPageasRoot(file, rootPageNo);
-  }
-
-  // if no space in leaf node
-  static int splitLeafPage(RandomAccessFile file, int pageNo, int rowId) {
-
-    boolean rootflag = CheckifRootNode(file, pageNo);
-    try {
-      if (rootflag) {
-        int parentPageNo = AddInteriorPage(file);
-        setPageasRoot(file, parentPageNo);
-        setParent(file, pageNo, parentPageNo);
-        insertChild(file, pageNo, parentPageNo, rowId);
-        int newleafPageNo = AddLeafPage(file);
-        setParent(file, newleafPageNo, parentPageNo);
-        insertChild(file, newleafPageNo, parentPageNo, rowId);
-        setRightSibling(file, pageNo, newleafPageNo);
-        setRightMostChild(file, parentPageNo); // Asuming thre is no leaf node after this.
-        return newleafPageNo;
-      } else {
-        int parentPageNo = getParent(file, pageNo);
-        int newleafPageNo = AddLeafPage(file);
-        setParent(file, newleafPageNo, parentPageNo);
-        insertChild(file, newleafPageNo, parentPageNo, rowId);
-        setRightSibling(file, pageNo, newleafPageNo);
-        setRightMostChild(file, parentPageNo);
-        if (!checkParentspace(file, parentPageNo)) {
-          int newPageNo = splitInteriorPage(file, parentPageNo);
-        }
-        return newleafPageNo;
-      }
-    } catch (Exception e) {
-    }
-    return -1;
-  }
-
-  static void appendChildInINteriorPage(RandomAccessFile file, int childpageNo, int currentPageNo, int rowId) {
-    try {
-      long currentPageOffset = convertPageNoToFileOffset(currentPageNo);
-      int payLoad = 8;// childPageNo & rowID
-
-      // get the data Entry point.
-      file.seek(currentPageOffset + 3);
-      short startOFCellContentArea = file.readShort();
-      short dataEntryPointOffset;
-      if (startOFCellContentArea == 0) {
-        startOFCellContentArea = (short) PAGE_SIZE;
-      }
-      dataEntryPointOffset = (short) (startOFCellContentArea - payLoad);
-      file.seek(dataEntryPointOffset + currentPageOffset);
-
-      // writing data
-      file.writeInt(childpageNo);
-      file.writeInt(rowId);
-
-      file.seek(currentPageOffset + 1);
-      int noOfRecordsInPage = file.readShort();
-      noOfRecordsInPage = noOfRecordsInPage + 1;
-      file.seek(currentPageOffset + 1);
-      file.writeShort(noOfRecordsInPage);
-
-      // updateing 0x03
-      file.seek(currentPageOffset + PAGE_OFFSET_OF_CELL_CONTENT_START_POINT);
-      file.writeShort(dataEntryPointOffset);
-
-      // updatign Array
-      file.seek(currentPageOffset + PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY + 2 * (noOfRecordsInPage - 1));
-      file.writeShort(dataEntryPointOffset);
-
-      setRightMostChild(file, currentPageNo);
-
-    } catch (IOException e) {
-      // TODO Auto-generated catch block
-      e.printStackTrace();
-    }
-    // get page offset
-    //
-  }
-
-  static int getMaxRowIdFromChildren(RandomAccessFile file, int interiorPageNo) throws IOException {
-    assert getTablePageType(file, interiorPageNo) == INTERIOR;
-    long currentPageOffset = convertPageNoToFileOffset(interiorPageNo);
-    short noofCellsInPage = getNumberOfCells(file, interiorPageNo);
-    file.seek(currentPageOffset + 16 + (noofCellsInPage - 1) * 2);
-    short lastChildOffset = file.readShort();
-    file.seek(currentPageOffset + lastChildOffset + 4);
-    int maxRowId = file.readInt();
-    return maxRowId;
-  }
-
-  // FIXME This doesn't account for case when childPageNo is actually the special rightPageNo in header and doesn't have an associated cell.
-  static void updateParentwithLeafPageMaxRowID(RandomAccessFile file, int childPageNo, int parentPageNo, int rowId) {
-    long currentPageOffset = convertPageNoToFileOffset(parentPageNo);
-    try {
-      file.seek(currentPageOffset + PAGE_OFFSET_OF_CELL_CONTENT_START_POINT);
-      long seekPoint = file.readShort() + currentPageOffset;
-      file.seek(seekPoint);
-      while (childPageNo != file.readInt()) {
-        seekPoint = seekPoint + 8;
-        file.seek(seekPoint);
-      }
-      file.seek(seekPoint + 4); // child page no is 4 byte integer.
-      file.writeInt(rowId);
-
-      if (!CheckifRootNode(file, parentPageNo)) {
-        updateParentwithLeafPageMaxRowID(file, parentPageNo, getParent(file, parentPageNo), rowId);
-      }
-
-    } catch (IOException e) {
-      // TODO Auto-generated catch block
-      e.printStackTrace();
-    }
-
-    return;
-
-  }
-
-  static int getLeftChild(RandomAccessFile file, int currentPageNo) {
-    try {
-      int currentPageOffset = (currentPageNo-1)*Page.PAGE_SIZE;
-      file.seek(currentPageOffset+16);
-      int leftChildDataOffsetPageNo = file.readShort();
-            int leftChildPageNo = 0;
-            if (leftChildDataOffsetPageNo == 0) {
-                return -1;
-            }
-
-            file.seek(currentPageOffset + leftChildDataOffsetPageNo);
-            leftChildPageNo = file.readInt();
-      return leftChildPageNo;
-    }catch(Exception e) {
-
-    }
-    return -1;
-
-  }
-
-  static int getnextRowIdInterior(RandomAccessFile file) {
-    try {
-      file.seek(0x09);
-      int rowId = file.readInt();
-      return (rowId + 1);
-
-    } catch (Exception e) {
-    }
-    return -1;
-
-  }
-
-  static int splitInteriorPage(RandomAccessFile file, int pageNo) {
-    boolean rootflag = CheckifRootNode(file, pageNo);
-    int siblingInteriorPageNo = AddInteriorPage(file);
-    try {
-      splitInteriorData(file, pageNo, siblingInteriorPageNo);
-      if (rootflag) {
-        int parentPageNo = AddInteriorPage(file);
-        setPageasRoot(file, parentPageNo);
-
-        // get maximum rowId from the children pages
-        int maxRowIdfromChildrenofCurrentPage = getMaxRowIdFromChildren(file, pageNo);
-        insertChild(file, pageNo, parentPageNo, maxRowIdfromChildrenofCurrentPage);
-
-        // get maximum rowId from the children pages
-        int maxRowIdfromChildrenofSiblingPage = getMaxRowIdFromChildren(file, pageNo);
-        insertChild(file, siblingInteriorPageNo, parentPageNo, maxRowIdfromChildrenofSiblingPage);
-        setParent(file, pageNo, parentPageNo);
-        setParent(file, siblingInteriorPageNo, parentPageNo);
-        setRightMostChild(file, parentPageNo);
-
-      } else {
-        int parentPageNo = getParent(file, pageNo);
-        setParent(file, siblingInteriorPageNo, parentPageNo);
-        // get maximum rowId from the children pages
-
-        int maxRowIdfromChildrenofSiblingPage = getMaxRowIdFromChildren(file, pageNo);
-        insertChild(file, siblingInteriorPageNo, parentPageNo, maxRowIdfromChildrenofSiblingPage);
-        setRightMostChild(file, parentPageNo);
-        if (!checkParentspace(file, parentPageNo)) {
-          return splitInteriorPage(file, parentPageNo);
-        }
-      }
-    } catch (Exception e) {
-    }
-    return siblingInteriorPageNo;
-
-  }
-
-  static void splitInteriorData(RandomAccessFile file, int currentPageNo, int siblingInteriorPageNo) {
-    long currentPageOffset = (currentPageNo - 1) * PAGE_SIZE;
-    long siblingPageOffset = (siblingInteriorPageNo - 1) * PAGE_SIZE;
-    int currentPageCellContentReference = 3;
-    try {
-      file.seek(currentPageOffset + currentPageCellContentReference);
-      short currentPageCellContentOffset = file.readShort();
-      file.seek(currentPageOffset + 1);
-      int noofRecords = file.readShort();
-
-      long lastBeforeElementInArray = currentPageOffset + 16 + 2 * (noofRecords - 2);
-      file.seek(lastBeforeElementInArray);
-      short lastBeforeElementOffset = file.readShort();
+    setMetaDataRightmostLeafPageNo(file, rootPageNo);
+    setMetaDataPageCount(file, rootPageNo);
 
-      short noOfBytes = (short) (lastBeforeElementOffset - currentPageCellContentOffset);
-      byte[] lastChildData = new byte[noOfBytes];
-      file.seek(currentPageOffset + currentPageCellContentOffset);
-      file.readFully(lastChildData);
-      noofRecords = noofRecords - 1;
-      file.seek(currentPageOffset + 1);
-      file.writeShort(noofRecords);
-      file.seek(currentPageOffset + currentPageCellContentReference);
-      file.writeShort(lastBeforeElementOffset);
-      setRightMostChild(file, currentPageNo);
-
-      file.seek(siblingPageOffset + 3);
-      short siblingContentStartOffset = file.readShort();
-
-      if (siblingContentStartOffset == 0) {
-        siblingContentStartOffset = (short) PAGE_SIZE;
-      }
-
-      short newStartPoint = (short) (siblingContentStartOffset - noOfBytes);
-
-      file.seek(siblingPageOffset + newStartPoint);
-      file.write(lastChildData);
-
-      file.seek(siblingPageOffset + 1);
-      short noOfSiblingRecords = file.readShort();
-      noOfSiblingRecords = (short) (noOfSiblingRecords + 1);
-
-      file.seek(siblingPageOffset+1);
-      file.writeShort(noOfSiblingRecords);
-
-      file.seek(siblingPageOffset + 16 + 2 * (noOfSiblingRecords - 1));
-      file.writeShort(newStartPoint);
-
-      file.seek(siblingPageOffset + 3);
-      file.writeShort(newStartPoint);
-
-      setRightMostChild(file, siblingInteriorPageNo);
-
-      setParent(file, getRightMostChildPageNo(file, siblingInteriorPageNo), siblingInteriorPageNo);
-
-      updateLeftChildInfo(file, siblingInteriorPageNo);
-
-    } catch (Exception e) {
-
-    }
-    // will split the childrens between the current page and new sibling
-    // child parents to be updated.
-    // rightmost child for current and sibling to be updated.
-    return;
-  }
-
-  static void updateLeftChildInfo(RandomAccessFile file, int currentPageNo) {
-    try {
-        int pageOffset = ((currentPageNo - 1) * Page.PAGE_SIZE);
-        int cellContentOffset = pageOffset + 3;
-        file.seek(cellContentOffset);
-        int firstChilddataOffset = file.readShort();
-        file.seek(pageOffset + firstChilddataOffset + 8);
-        int leftChildPageNo = file.readInt();
-        file.seek(pageOffset+firstChilddataOffset);
-        file.writeInt(leftChildPageNo);
-    } catch (Exception e) {
-
-    }
-
-  }
-
-  static boolean checkParentspace(RandomAccessFile file, int currentPageNo) {
-    long seekNoofRecords = (currentPageNo - 1) * PAGE_SIZE + 1;
-    try {
-      file.seek(seekNoofRecords);
-      int noOfRecords = file.readShort();
-      if (PAGE_CHILDREN_MAX_COUNT > noOfRecords) {
-        return true;
-      }
-    } catch (Exception e) {
-    }
-    return false;
-  }
-
-  static int getParent(RandomAccessFile file, int currentPageNo) {
-    long seekParentByte = (currentPageNo - 1) * PAGE_SIZE + 10;
-    try {
-      file.seek(seekParentByte);
-      return file.readInt();
-    } catch (Exception e) {
-
-    }
-    return -1;
+    setPageasRoot(file, rootPageNo);
   }
 
   static int getRightMostChildPageNo(RandomAccessFile file, int currentPageNo) {
@@ -391,77 +88,6 @@ class Page {
     return 0;
   }
 
-  static void setRightMostChild(RandomAccessFile file, int currentPageNo) {
-    int rightMostChildPageNo = getRightMostChildPageNo(file, currentPageNo);
-    long seekRightMostChildByte = (currentPageNo - 1) * PAGE_SIZE + PAGE_OFFSET_OF_RIGHTMOST_PAGENO;
-    try {
-      file.seek(seekRightMostChildByte);
-      file.writeInt(rightMostChildPageNo);
-    } catch (Exception e) {
-
-    }
-  }
-
-  static void setRightSibling(RandomAccessFile file, int currentPageNo, int newPageNo) {
-    long seekSiblingByte = (currentPageNo - 1) * PAGE_SIZE + 6;
-    try {
-      file.seek(seekSiblingByte);
-      file.writeInt(newPageNo);
-    } catch (Exception e) {
-
-    }
-  }
-
-  /**
-   * @return the page no of the right sibling of the given leaf page; `-1`
-   *         indicates
-   */
-  static int getRightSiblingOfLeafPage(RandomAccessFile file, int pageNo) throws IOException {
-    assert Page.getTablePageType(file, pageNo) == LEAF;
-
-    final long fileOffsetOfPage = convertPageNoToFileOffset(pageNo);
-    final long fileOffsetOfPageRightSiblingPageNo = fileOffsetOfPage + PAGE_OFFSET_OF_RIGHTMOST_PAGENO;
-    file.seek(fileOffsetOfPageRightSiblingPageNo);
-
-    final int rightSiblingPageNo = file.readInt();
-    return rightSiblingPageNo;
-  }
-
-  static void insertChild(RandomAccessFile file, int childpageNo, int currentPageNo, int rowId) {
-    try {
-      appendChildInINteriorPage(file, childpageNo, currentPageNo, rowId);
-      SortRowIds(file, currentPageNo);
-      setRightMostChild(file, currentPageNo);
-    } catch (Exception e) {
-
-    }
-
-  }
-
-  static void updateInteriorRowID(RandomAccessFile file, int rowId) {
-    try {
-      file.seek(0x09);
-      file.writeInt(rowId);
-    }catch(Exception e) {
-
-    }
-    return;
-  }
-
-  static void SortRowIds(RandomAccessFile file, int currentPageNo) {{}
-
-  }
-
-  static void setParent(RandomAccessFile file, int childpageNo, int parentPageNo) {
-    long seekParentByte = (childpageNo - 1) * PAGE_SIZE + 10;
-    try {
-      file.seek(seekParentByte);
-      file.writeInt(parentPageNo);
-    } catch (Exception e) {
-
-    }
-  }
-
   static void setPageasRoot(RandomAccessFile file, int pageNo) {
 
     int seekParentByte = (pageNo - 1) * PAGE_SIZE + 10;
@@ -483,17 +109,33 @@ class Page {
     return file.readInt();
   }
 
-  static boolean CheckifRootNode(RandomAccessFile file, int pageNo) {
+  static void setMetaDataRightmostLeafPageNo(RandomAccessFile file, int rightmostLeafPageNo) throws IOException {
+    file.seek(FILE_OFFSET_OF_METADATA_RIGHTMOST_LEAF_PAGENO);
+    file.writeInt(rightmostLeafPageNo);
+  }
 
-    int seekParentByte = (pageNo - 1) * PAGE_SIZE + 10;
-    try {
-      file.seek(seekParentByte);
-      if (file.readInt() == -1) {
-        return true;
-      }
-    } catch (Exception e) {
-    }
-    return false;
+  /**
+   * @return the page no of the rightmost leaf page, or zero if the file predates the field
+   */
+  static int getMetaDataRightmostLeafPageNo(RandomAccessFile file) throws IOException {
+    file.seek(FILE_OFFSET_OF_METADATA_RIGHTMOST_LEAF_PAGENO);
+    return file.readInt();
+  }
+
+  static void setMetaDataPageCount(RandomAccessFile file, int pageCount) throws IOException {
+    file.seek(FILE_OFFSET_OF_METADATA_PAGE_COUNT);
+    file.writeInt(pageCount);
+  }
+
+  /**
+   * @return the number of pages in the file, including the metadata page, which is therefore also
+   *         the page no of the last page
+   */
+  static int getMetaDataPageCount(RandomAccessFile file) throws IOException {
+    file.seek(FILE_OFFSET_OF_METADATA_PAGE_COUNT);
+    final int pageCount = file.readInt();
+    // Files that predate the field have zero here, so fall back to the file length.
+    return (pageCount > 0) ? pageCount : (int) (file.length() / PAGE_SIZE);
   }
 
   static long convertPageNoToFileOffset(int pageNo) {
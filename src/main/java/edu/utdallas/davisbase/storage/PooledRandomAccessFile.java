@@ -0,0 +1,208 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link RandomAccessFile} whose reads and writes go through a shared {@link BufferPool} instead
+ * of directly to disk.
+ * <p>
+ * Because every {@code readXxx} and {@code writeXxx} method of {@link RandomAccessFile} is
+ * implemented in terms of the single-byte and byte-array methods overridden here, all of the
+ * existing {@link Page}, {@link IndexPage}, {@link TableFile}, and {@link IndexFile} code reads and
+ * writes through the pool without modification.
+ * <p>
+ * The frame of the page under the file pointer stays pinned until the pointer moves to another page
+ * or the file is closed. Closing (or {@link #reset() resetting}) the file writes back all of its
+ * dirty frames.
+ * <p>
+ * The file holds no descriptor of its own: it {@link BufferPool#register(File) registers} with the
+ * pool, which keeps the file open until its last handle is closed. In particular, {@link
+ * #getChannel()} and {@link #getFD()} do not refer to an open file.
+ */
+class PooledRandomAccessFile extends RandomAccessFile implements ReusableFile {
+
+  private final BufferPool pool;
+  private final BufferPool.PooledFile pooledFile;
+  private final int pageSize;
+
+  private long position = 0;
+  private BufferPool.@Nullable Frame frame = null;
+  private boolean isClosed = false;
+
+  /**
+   * @param file the file to open for reading and writing (not null, must exist)
+   * @param pool the pool to read and write through (not null)
+   * @throws IOException
+   */
+  PooledRandomAccessFile(File file, BufferPool pool) throws IOException {
+    // All I/O goes through the pool's open file, which is the only descriptor of the file, so the one
+    // opened by RandomAccessFile is closed right away.
+    super(file, "r");
+    super.close();
+    checkNotNull(pool, "pool");
+
+    this.pool = pool;
+    this.pooledFile = pool.register(file);
+    this.pageSize = pool.getPageSize();
+  }
+
+  @Override
+  public long getFilePointer() {
+    return position;
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    if (pos < 0) {
+      throw new IOException("Negative seek offset");
+    }
+    position = pos;
+  }
+
+  @Override
+  public long length() {
+    return pooledFile.getLength();
+  }
+
+  @Override
+  public void setLength(long newLength) throws IOException {
+    releaseFrame();
+    pool.setLength(pooledFile, newLength);
+    if (position > newLength) {
+      position = newLength;
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (position >= pooledFile.getLength()) {
+      return -1;
+    }
+    final BufferPool.Frame frame = frameAtPosition();
+    final int b = frame.getData()[(int) (position % pageSize)] & 0xFF;
+    position += 1;
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b) throws IOException {
+    return read(b, 0, b.length);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    checkNotNull(b, "b");
+    checkPositionIndexes(off, off + len, b.length);
+
+    if (len == 0) {
+      return 0;
+    }
+    final long available = pooledFile.getLength() - position;
+    if (available <= 0) {
+      return -1;
+    }
+
+    final int count = (int) Math.min(len, available);
+    int copied = 0;
+    while (copied < count) {
+      final BufferPool.Frame frame = frameAtPosition();
+      final int frameOffset = (int) (position % pageSize);
+      final int chunk = Math.min(count - copied, pageSize - frameOffset);
+      System.arraycopy(frame.getData(), frameOffset, b, off + copied, chunk);
+      copied += chunk;
+      position += chunk;
+    }
+    return count;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    final BufferPool.Frame frame = frameAtPosition();
+    frame.getData()[(int) (position % pageSize)] = (byte) b;
+    frame.markDirty();
+    position += 1;
+    if (position > pooledFile.getLength()) {
+      pool.extend(pooledFile, position);
+    }
+  }
+
+  @Override
+  public void write(byte[] b) throws IOException {
+    write(b, 0, b.length);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkNotNull(b, "b");
+    checkPositionIndexes(off, off + len, b.length);
+
+    int copied = 0;
+    while (copied < len) {
+      final BufferPool.Frame frame = frameAtPosition();
+      final int frameOffset = (int) (position % pageSize);
+      final int chunk = Math.min(len - copied, pageSize - frameOffset);
+      System.arraycopy(b, off + copied, frame.getData(), frameOffset, chunk);
+      frame.markDirty();
+      copied += chunk;
+      position += chunk;
+      // Before the next page is pinned, which may evict this one, so that all of it is written back.
+      if (position > pooledFile.getLength()) {
+        pool.extend(pooledFile, position);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    try {
+      releaseFrame();
+    }
+    finally {
+      pool.release(pooledFile);
+    }
+  }
+
+  @Override
+  public void reset() throws IOException {
+    if (isClosed) {
+      throw new IOException("Stream Closed");
+    }
+    releaseFrame();
+    pool.flush(pooledFile);
+    position = 0;
+  }
+
+  private BufferPool.Frame frameAtPosition() throws IOException {
+    if (isClosed) {
+      throw new IOException("Stream Closed");
+    }
+
+    final int pageIndex = (int) (position / pageSize);
+    BufferPool.@Nullable Frame current = frame;
+    if (current == null || !current.isResident() || current.getPageIndex() != pageIndex) {
+      releaseFrame();
+      current = pool.pin(pooledFile, pageIndex);
+      frame = current;
+    }
+    return current;
+  }
+
+  private void releaseFrame() {
+    final BufferPool.@Nullable Frame current = frame;
+    if (current != null) {
+      frame = null;
+      pool.unpin(current);
+    }
+  }
+
+}
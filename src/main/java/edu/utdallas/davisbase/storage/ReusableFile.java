@@ -0,0 +1,19 @@
+package edu.utdallas.davisbase.storage;
+
+import java.io.IOException;
+
+/**
+ * A {@link java.io.RandomAccessFile RandomAccessFile} that a {@link FileHandleCache} may hand out
+ * again once it is released, rather than closing it and opening the file anew.
+ */
+interface ReusableFile {
+
+  /**
+   * Returns this file to the state of a newly opened one, without closing it: the file pointer is
+   * moved to 0, and its writes are made as durable as closing it would make them.
+   *
+   * @throws IOException if this file is closed, or its writes cannot be made durable
+   */
+  void reset() throws IOException;
+
+}
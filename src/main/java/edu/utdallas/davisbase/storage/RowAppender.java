@@ -0,0 +1,24 @@
+package edu.utdallas.davisbase.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A session appending rows to the end of a DavisBase "Table" file, each with the next rowid of the
+ * table, which are only guaranteed to be written once the session is closed.
+ *
+ * @see TableFile.Appender
+ * @see BulkLoader
+ */
+public interface RowAppender extends Closeable {
+
+  /**
+   * Appends a row, allocating it the next rowid of the table.
+   *
+   * @param tableRowBuilder the row to append, not including its rowid (not null)
+   * @return the rowid allocated to the row
+   * @throws IOException
+   */
+  int appendRow(TableRowBuilder tableRowBuilder) throws IOException;
+
+}
@@ -0,0 +1,83 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A read-only, allocation-free view of the current row of a {@link TableFile}.
+ * <p>
+ * Each {@link TableFile} has exactly one {@link RowView}, which always reflects the row that the
+ * file currently points to. The same instance can therefore be held for a whole scan and handed to
+ * code (e.g. WHERE evaluation) that should read the row without being able to move the cursor.
+ *
+ * @see TableFile#getRowView()
+ */
+public class RowView {
+
+  private final TableFile tableFile;
+
+  RowView(TableFile tableFile) {
+    checkNotNull(tableFile, "tableFile");
+    this.tableFile = tableFile;
+  }
+
+  public boolean isNull(int columnIndex) throws IOException, StorageException {
+    return tableFile.isNull(columnIndex);
+  }
+
+  public int getRowId() throws IOException, StorageException {
+    return tableFile.getRowId();
+  }
+
+  public byte getTinyInt(int columnIndex) throws IOException, StorageException {
+    return tableFile.getTinyInt(columnIndex);
+  }
+
+  public short getSmallInt(int columnIndex) throws IOException, StorageException {
+    return tableFile.getSmallInt(columnIndex);
+  }
+
+  public int getInt(int columnIndex) throws IOException, StorageException {
+    return tableFile.getInt(columnIndex);
+  }
+
+  public long getBigInt(int columnIndex) throws IOException, StorageException {
+    return tableFile.getBigInt(columnIndex);
+  }
+
+  public float getFloat(int columnIndex) throws IOException, StorageException {
+    return tableFile.getFloat(columnIndex);
+  }
+
+  public double getDouble(int columnIndex) throws IOException, StorageException {
+    return tableFile.getDouble(columnIndex);
+  }
+
+  public @Nullable Year readYear(int columnIndex) throws IOException, StorageException {
+    return tableFile.readYear(columnIndex);
+  }
+
+  public @Nullable LocalTime readTime(int columnIndex) throws IOException, StorageException {
+    return tableFile.readTime(columnIndex);
+  }
+
+  public @Nullable LocalDateTime readDateTime(int columnIndex)
+      throws IOException, StorageException {
+    return tableFile.readDateTime(columnIndex);
+  }
+
+  public @Nullable LocalDate readDate(int columnIndex) throws IOException, StorageException {
+    return tableFile.readDate(columnIndex);
+  }
+
+  public @Nullable String readText(int columnIndex) throws IOException, StorageException {
+    return tableFile.readText(columnIndex);
+  }
+
+}
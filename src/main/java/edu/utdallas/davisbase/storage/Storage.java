@@ -1,23 +1,35 @@
 package edu.utdallas.davisbase.storage;
 
 import edu.utdallas.davisbase.BooleanUtils;
+import edu.utdallas.davisbase.DataType;
 import edu.utdallas.davisbase.PrimaryKeyUtils;
 import edu.utdallas.davisbase.catalog.CatalogTable;
 import edu.utdallas.davisbase.catalog.CatalogTableColumn;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import static com.google.common.base.Preconditions.*;
 import static java.lang.String.format;
 
-public class Storage {
+public class Storage implements Closeable {
+
+  /**
+   * The number of pages by which a memory mapping grows at a time.
+   */
+  private static final int MAPPED_EXTENT_PAGE_COUNT = 128;
 
   private final StorageConfiguration configuration;
   private final StorageState state;
+  private final BufferPool bufferPool;
+  private final MappedFileRegistry mappedFileRegistry;
+  private final FileHandleCache fileHandleCache;
 
   @SuppressWarnings("initialization")
   public Storage(StorageConfiguration configuration, StorageState state) {
@@ -26,6 +38,12 @@ public class Storage {
 
     this.configuration = configuration;
     this.state = state;
+    this.bufferPool = new BufferPool(
+        configuration.getPageSize(),
+        configuration.getBufferPoolSize());
+    this.mappedFileRegistry = new MappedFileRegistry(
+        (long) configuration.getPageSize() * MAPPED_EXTENT_PAGE_COUNT);
+    this.fileHandleCache = new FileHandleCache(configuration.getMaxOpenFileCount());
 
     initDavisBase();
   }
@@ -39,11 +57,22 @@ public class Storage {
             tableFileHandle.toString(),
             tableName));
 
+    discardCachedFile(tableFileHandle);
     try (final RandomAccessFile randomAccessFile = new RandomAccessFile(tableFileHandle, "rw")) {}
   }
 
-  public void createIndexFile(String indexName) throws IOException {
+  /**
+   * Creates an empty index file, which records the column that it indexes so that the index can be
+   * found again by {@link #getIndexNames()}.
+   *
+   * @param indexName   the name of the index (not null)
+   * @param tableName   the name of the indexed table (not null)
+   * @param columnIndex the index of the indexed column in the table
+   * @throws IOException
+   */
+  public void createIndexFile(String indexName, String tableName, byte columnIndex) throws IOException {
     checkNotNull(indexName, "indexName");
+    checkNotNull(tableName, "tableName");
 
     final File indexFileHandle = getIndexFileHandle(indexName);
     checkArgument(!indexFileHandle.exists(),
@@ -51,13 +80,47 @@ public class Storage {
         indexFileHandle.toString(),
         indexName));
 
-    try (final RandomAccessFile randomAccessFile = new RandomAccessFile(indexFileHandle, "rw")) {}
+    discardCachedFile(indexFileHandle);
+    try (final RandomAccessFile randomAccessFile = new RandomAccessFile(indexFileHandle, "rw")) {
+      IndexPage.addTableMetaDataPage(randomAccessFile);
+      IndexPage.setMetaDataIndexedColumn(randomAccessFile, tableName, columnIndex);
+    }
   }
 
+  /**
+   * @return the names of every index in the data directory, in no particular order (not null)
+   */
+  public List<String> getIndexNames() {
+    final String indexFileSuffix = "." + configuration.getIndexFileExtension();
+    final List<String> indexNames = new ArrayList<>();
+    final String @Nullable [] fileNames = state.getDataDirectory().list();
+    if (fileNames != null) {
+      for (String fileName : fileNames) {
+        if (fileName.endsWith(indexFileSuffix) && fileName.length() > indexFileSuffix.length()) {
+          indexNames.add(fileName.substring(0, fileName.length() - indexFileSuffix.length()));
+        }
+      }
+    }
+    return indexNames;
+  }
+
+  /**
+   * Opens a table file, reusing an idle handle of the file if one is cached, in which case the file
+   * is neither opened nor checked again.
+   *
+   * @param tableName the name of the table (not null)
+   * @return a table file, whose closing returns its handle to the cache (not null)
+   * @throws IOException
+   */
   public TableFile openTableFile(String tableName) throws IOException {
     checkNotNull(tableName);
 
     final File tableFileHandle = getTableFileHandle(tableName);
+    final FileHandleCache.@Nullable Lease idleLease = fileHandleCache.acquireIdle(tableFileHandle);
+    if (idleLease != null) {
+      return new TableFile(idleLease.getHandle(), idleLease);
+    }
+
     checkArgument(tableFileHandle.exists(),
         format("File '%s' for table '%s' does not exist.",
             tableFileHandle.toString(),
@@ -67,14 +130,106 @@ public class Storage {
             tableFileHandle.toString(),
             tableName));
 
-    final RandomAccessFile randomAccessFile = new RandomAccessFile(tableFileHandle, "rw");
-    final long length = randomAccessFile.length();
-    checkState(length % configuration.getPageSize() == 0,
-        format("File length %d is not a multiple of page size %d.",
-            length,
-            configuration.getPageSize()));
+    final FileHandleCache.Lease lease = fileHandleCache.acquireNew(tableFileHandle, this::openRandomAccessFile);
+    try {
+      final long length = lease.getHandle().length();
+      checkState(length % configuration.getPageSize() == 0,
+          format("File length %d is not a multiple of page size %d.",
+              length,
+              configuration.getPageSize()));
+
+      return new TableFile(lease.getHandle(), lease);
+    }
+    catch (RuntimeException e) {
+      lease.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens a {@link BulkLoader} for the initial load of a table that has never had any rows.
+   *
+   * @param tableName the name of the table to load (not null)
+   * @return a new bulk loader that fills pages to {@link StorageConfiguration#getBulkLoadFillFactor()}
+   *         (not null)
+   * @throws IOException
+   */
+  public BulkLoader openBulkLoader(String tableName) throws IOException {
+    checkNotNull(tableName);
 
-    return new TableFile(randomAccessFile);
+    final File tableFileHandle = getTableFileHandle(tableName);
+    checkArgument(tableFileHandle.exists(),
+        format("File '%s' for table '%s' does not exist.",
+            tableFileHandle.toString(),
+            tableName));
+
+    final RandomAccessFile randomAccessFile = openRandomAccessFile(tableFileHandle);
+    try {
+      return new BulkLoader(randomAccessFile, configuration.getBulkLoadFillFactor());
+    }
+    catch (RuntimeException | IOException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens an {@link IndexBuilder} for the initial build of an index that has never had any entries.
+   *
+   * @param indexName the name of the index to build (not null)
+   * @param dataType  the type of the indexed column (not null)
+   * @return a new index builder that sorts up to
+   *         {@link StorageConfiguration#getIndexBuildRunLength()} entries in memory at a time (not
+   *         null)
+   * @throws IOException
+   */
+  public IndexBuilder openIndexBuilder(String indexName, DataType dataType) throws IOException {
+    checkNotNull(indexName);
+    checkNotNull(dataType);
+
+    final File indexFileHandle = getIndexFileHandle(indexName);
+    checkArgument(indexFileHandle.exists(),
+      format("File '%s' for index '%s' does not exist.",
+        indexFileHandle.toString(),
+        indexName));
+
+    final RandomAccessFile randomAccessFile = openRandomAccessFile(indexFileHandle);
+    try {
+      return new IndexBuilder(randomAccessFile, KeyCodec.of(dataType), state.getDataDirectory(),
+          configuration.getIndexBuildRunLength());
+    }
+    catch (RuntimeException | IOException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens an {@link IndexUpdater} for a batch of changes to the entries of a built index.
+   *
+   * @param indexName the name of the index to update (not null)
+   * @param dataType  the type of the indexed column (not null)
+   * @return a new index updater, which applies the batch when it is closed (not null)
+   * @throws IOException
+   */
+  public IndexUpdater openIndexUpdater(String indexName, DataType dataType) throws IOException {
+    checkNotNull(indexName);
+    checkNotNull(dataType);
+
+    final File indexFileHandle = getIndexFileHandle(indexName);
+    checkArgument(indexFileHandle.exists(),
+      format("File '%s' for index '%s' does not exist.",
+        indexFileHandle.toString(),
+        indexName));
+
+    final RandomAccessFile randomAccessFile = openRandomAccessFile(indexFileHandle);
+    try {
+      return new IndexUpdater(randomAccessFile, KeyCodec.of(dataType));
+    }
+    catch (RuntimeException e) {
+      randomAccessFile.close();
+      throw e;
+    }
   }
 
   public IndexFile openIndexFile(String indexName) throws IOException {
@@ -90,7 +245,7 @@ public class Storage {
         indexFileHandle.toString(),
         indexName));
 
-    final RandomAccessFile randomAccessFile = new RandomAccessFile(indexFileHandle, "rw");
+    final RandomAccessFile randomAccessFile = openRandomAccessFile(indexFileHandle);
     final long length = randomAccessFile.length();
     checkState(length % configuration.getPageSize() == 0,
       format("File length %d is not a multiple of page size %d.",
@@ -100,6 +255,18 @@ public class Storage {
     return new IndexFile(randomAccessFile);
   }
 
+  /**
+   * Closes every cached table file handle, which writes back (and, with the
+   * {@link StorageBackend#MEMORY_MAPPED} backend, truncates) their files. A handle that is in use is
+   * closed once its table file is closed.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    fileHandleCache.close();
+  }
+
   public void deleteTableFile(String tableName) throws IOException {
     checkNotNull(tableName, "tableName");
 
@@ -115,9 +282,45 @@ public class Storage {
 
     // Use java.nio.file.Files#delete(Path) instead of java.io.File#delete() because the former
     // throws a descriptive exception on failure whereas the latter doesn't.
+    discardCachedFile(tableFileHandle);
     Files.delete(tableFileHandle.toPath());
   }
 
+  public void deleteIndexFile(String indexName) throws IOException {
+    checkNotNull(indexName, "indexName");
+
+    final File indexFileHandle = getIndexFileHandle(indexName);
+    checkArgument(indexFileHandle.exists(),
+      format("File '%s' for index '%s' does not exist.",
+        indexFileHandle.toString(),
+        indexName));
+
+    discardCachedFile(indexFileHandle);
+    Files.delete(indexFileHandle.toPath());
+  }
+
+  private RandomAccessFile openRandomAccessFile(File fileHandle) throws IOException {
+    assert fileHandle != null : "fileHandle should not be null";
+
+    switch (configuration.getBackend()) {
+      case BUFFER_POOL:
+        return new PooledRandomAccessFile(fileHandle, bufferPool);
+      case MEMORY_MAPPED:
+        return new MappedRandomAccessFile(fileHandle, mappedFileRegistry);
+      default:
+        throw new IllegalStateException(
+            format("Unrecognized StorageBackend: %s", configuration.getBackend()));
+    }
+  }
+
+  private void discardCachedFile(File fileHandle) throws IOException {
+    assert fileHandle != null : "fileHandle should not be null";
+
+    fileHandleCache.discard(fileHandle);
+    bufferPool.discard(fileHandle);
+    mappedFileRegistry.discard(fileHandle);
+  }
+
   private File getTableFileHandle(String tableName) throws IOException {
     assert tableName != null : "tableName should not be null";
 
@@ -0,0 +1,19 @@
+package edu.utdallas.davisbase.storage;
+
+/**
+ * How {@link Storage} accesses the bytes of table and index files.
+ */
+public enum StorageBackend {
+
+  /**
+   * Pages are cached in a shared {@link BufferPool} and written back on eviction or close.
+   */
+  BUFFER_POOL,
+
+  /**
+   * Files are mapped into memory with {@link java.nio.channels.FileChannel#map} and pages are read
+   * and written directly in the mapping.
+   */
+  MEMORY_MAPPED;
+
+}
@@ -37,12 +37,60 @@ public class StorageConfiguration {
       return 512;
     }
 
+    public static int getDefaultBufferPoolSize() {
+      return 1024;
+    }
+
+    public static int getMinimumBufferPoolSize() {
+      return 16;
+    }
+
+    public static StorageBackend getDefaultBackend() {
+      return StorageBackend.BUFFER_POOL;
+    }
+
+    /**
+     * Rows are only ever appended at the right edge of a table, so pages are packed full by default.
+     */
+    public static double getDefaultBulkLoadFillFactor() {
+      return 1.0;
+    }
+
+    /**
+     * Enough for every handle of the catalog tables and of a few hot tables, each scanned by up to a
+     * few parallel splits, while staying far below the usual per-process limit of open files.
+     */
+    public static int getDefaultMaxOpenFileCount() {
+      return 64;
+    }
+
+    public static int getMinimumMaxOpenFileCount() {
+      return 1;
+    }
+
+    /**
+     * About 64 MiB of heap for entries with INT keys, so that the index of a table of up to a million
+     * rows is sorted entirely in memory.
+     */
+    public static int getDefaultIndexBuildRunLength() {
+      return 1 << 20;
+    }
+
+    public static int getMinimumIndexBuildRunLength() {
+      return 1;
+    }
+
     private @Nullable String dataDirectoryName = null;
     private @Nullable String tableFileExtension = null;
     private @Nullable String indexFileExtension = null;
     private @Nullable String catalogTablesTableName = null;
     private @Nullable String catalogColumnsTableName = null;
     private @Nullable Integer pageSize = null;
+    private @Nullable Integer bufferPoolSize = null;
+    private @Nullable StorageBackend backend = null;
+    private @Nullable Double bulkLoadFillFactor = null;
+    private @Nullable Integer maxOpenFileCount = null;
+    private @Nullable Integer indexBuildRunLength = null;
 
     public Builder() {}
 
@@ -79,6 +127,43 @@ public class StorageConfiguration {
       this.pageSize = pageSize;
     }
 
+    public void setBufferPoolSize(int bufferPoolSize) {
+      checkArgument(getMinimumBufferPoolSize() <= bufferPoolSize,
+          String.format("Buffer pool size must be at least %d (pages)",
+              getMinimumBufferPoolSize()));
+
+      this.bufferPoolSize = bufferPoolSize;
+    }
+
+    public void setBackend(StorageBackend backend) {
+      checkNotNull(backend);
+      this.backend = backend;
+    }
+
+    public void setBulkLoadFillFactor(double bulkLoadFillFactor) {
+      checkArgument(0 < bulkLoadFillFactor && bulkLoadFillFactor <= 1,
+          String.format("Bulk load fill factor must be in the range (0, 1], but was %s",
+              bulkLoadFillFactor));
+
+      this.bulkLoadFillFactor = bulkLoadFillFactor;
+    }
+
+    public void setMaxOpenFileCount(int maxOpenFileCount) {
+      checkArgument(getMinimumMaxOpenFileCount() <= maxOpenFileCount,
+          String.format("Maximum open file count must be at least %d",
+              getMinimumMaxOpenFileCount()));
+
+      this.maxOpenFileCount = maxOpenFileCount;
+    }
+
+    public void setIndexBuildRunLength(int indexBuildRunLength) {
+      checkArgument(getMinimumIndexBuildRunLength() <= indexBuildRunLength,
+          String.format("Index build run length must be at least %d",
+              getMinimumIndexBuildRunLength()));
+
+      this.indexBuildRunLength = indexBuildRunLength;
+    }
+
     public StorageConfiguration build() {
       String dataDirectoryName = getDefaultDataDirectoryName();
       if (this.dataDirectoryName != null) {
@@ -110,13 +195,43 @@ public class StorageConfiguration {
         pageSize = this.pageSize;
       }
 
+      int bufferPoolSize = getDefaultBufferPoolSize();
+      if (this.bufferPoolSize != null) {
+        bufferPoolSize = this.bufferPoolSize;
+      }
+
+      StorageBackend backend = getDefaultBackend();
+      if (this.backend != null) {
+        backend = this.backend;
+      }
+
+      double bulkLoadFillFactor = getDefaultBulkLoadFillFactor();
+      if (this.bulkLoadFillFactor != null) {
+        bulkLoadFillFactor = this.bulkLoadFillFactor;
+      }
+
+      int maxOpenFileCount = getDefaultMaxOpenFileCount();
+      if (this.maxOpenFileCount != null) {
+        maxOpenFileCount = this.maxOpenFileCount;
+      }
+
+      int indexBuildRunLength = getDefaultIndexBuildRunLength();
+      if (this.indexBuildRunLength != null) {
+        indexBuildRunLength = this.indexBuildRunLength;
+      }
+
       return new StorageConfiguration(
           dataDirectoryName,
           tableFileExtension,
           indexFileExtension,
           catalogTablesTableName,
           catalogColumnsTableName,
-          pageSize);
+          pageSize,
+          bufferPoolSize,
+          backend,
+          bulkLoadFillFactor,
+          maxOpenFileCount,
+          indexBuildRunLength);
     }
   }
 
@@ -126,6 +241,11 @@ public class StorageConfiguration {
   private final String catalogTablesTableName;
   private final String catalogColumnsTableName;
   private final int pageSize;
+  private final int bufferPoolSize;
+  private final StorageBackend backend;
+  private final double bulkLoadFillFactor;
+  private final int maxOpenFileCount;
+  private final int indexBuildRunLength;
 
   private StorageConfiguration(
       String dataDirectoryName,
@@ -133,7 +253,12 @@ public class StorageConfiguration {
       String indexFileExtension,
       String catalogTablesTableName,
       String catalogColumnsTableName,
-      int pageSize
+      int pageSize,
+      int bufferPoolSize,
+      StorageBackend backend,
+      double bulkLoadFillFactor,
+      int maxOpenFileCount,
+      int indexBuildRunLength
   ) {
     this.dataDirectoryName = dataDirectoryName;
     this.tableFileExtension = tableFileExtension;
@@ -141,6 +266,11 @@ public class StorageConfiguration {
     this.catalogTablesTableName = catalogTablesTableName;
     this.catalogColumnsTableName = catalogColumnsTableName;
     this.pageSize = pageSize;
+    this.bufferPoolSize = bufferPoolSize;
+    this.backend = backend;
+    this.bulkLoadFillFactor = bulkLoadFillFactor;
+    this.maxOpenFileCount = maxOpenFileCount;
+    this.indexBuildRunLength = indexBuildRunLength;
   }
 
   /**
@@ -184,4 +314,42 @@ public class StorageConfiguration {
   public int getPageSize() {
     return pageSize;
   }
+
+  /**
+   * @return the bufferPoolSize, i.e. the maximum number of pages cached in memory at once
+   */
+  public int getBufferPoolSize() {
+    return bufferPoolSize;
+  }
+
+  /**
+   * @return the backend through which table and index files are read and written
+   */
+  public StorageBackend getBackend() {
+    return backend;
+  }
+
+  /**
+   * @return the fraction of each page that a {@link BulkLoader} fills, in the range (0, 1]
+   */
+  public double getBulkLoadFillFactor() {
+    return bulkLoadFillFactor;
+  }
+
+  /**
+   * @return the maximum number of table file handles that a {@link Storage} keeps open at once,
+   *         including the idle ones that it caches for reuse, and so of the table files that it
+   *         keeps open unless more handles than that are in use
+   */
+  public int getMaxOpenFileCount() {
+    return maxOpenFileCount;
+  }
+
+  /**
+   * @return the most (key, rowid) entries that an {@link IndexBuilder} sorts in memory before
+   *         spilling them to a temporary file
+   */
+  public int getIndexBuildRunLength() {
+    return indexBuildRunLength;
+  }
 }
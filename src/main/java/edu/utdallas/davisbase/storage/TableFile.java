@@ -4,24 +4,23 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static edu.utdallas.davisbase.RowIdUtils.ROWID_MAX_VALUE;
+import static edu.utdallas.davisbase.RowIdUtils.ROWID_NULL_VALUE;
+import static edu.utdallas.davisbase.TextUtils.TEXT_CHARSET;
 import static edu.utdallas.davisbase.storage.DataUtils.convertToBytes;
+import static edu.utdallas.davisbase.storage.BulkLoader.INTERIOR_CELL_SIZE;
+import static edu.utdallas.davisbase.storage.BulkLoader.newPageBuffer;
+import static edu.utdallas.davisbase.storage.BulkLoader.toInteriorCell;
 import static edu.utdallas.davisbase.storage.Page.FILE_OFFSET_OF_METADATA_CURRENT_ROWID;
 import static edu.utdallas.davisbase.storage.Page.FILE_OFFSET_OF_METADATA_ROOT_PAGENO;  // spell-checker:ignore pageno
-import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_RIGHTMOST_PAGENO;
 import static edu.utdallas.davisbase.storage.Page.convertPageNoToFileOffset;
-import static edu.utdallas.davisbase.storage.Page.getNumberOfCells;
-import static edu.utdallas.davisbase.storage.Page.getPageOffsetOfCell;
-import static edu.utdallas.davisbase.storage.Page.getParent;
-import static edu.utdallas.davisbase.storage.Page.getRightSiblingOfLeafPage;
-import static edu.utdallas.davisbase.storage.Page.splitLeafPage;
-import static edu.utdallas.davisbase.storage.Page.updateParentwithLeafPageMaxRowID;
 import static edu.utdallas.davisbase.storage.TablePageType.INTERIOR;
 import static edu.utdallas.davisbase.storage.TablePageType.LEAF;
 import static java.lang.String.format;
 import static java.util.Arrays.stream;
 
+import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.primitives.Ints;
-import com.google.common.primitives.Shorts;
 import edu.utdallas.davisbase.DataType;
 import edu.utdallas.davisbase.YearUtils;
 import java.io.Closeable;
@@ -33,6 +32,7 @@ import java.time.LocalTime;
 import java.time.Year;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -58,16 +58,49 @@ public class TableFile implements Closeable {
   private static final int   NULL_PAGE_NO    = -1;
   private static final short NULL_CELL_INDEX = -1;
 
+  /**
+   * The most right siblings of the current leaf page that {@link #goToRow(int)} reads before it
+   * descends the B+tree instead.
+   */
+  private static final int GO_TO_ROW_MAX_SIBLING_COUNT = 4;
+
   protected final RandomAccessFile file;
+  private final Closeable closer;
 
   private int   currentLeafPageNo    = NULL_PAGE_NO;
   private short currentLeafCellIndex = NULL_CELL_INDEX;
   private boolean isCurrentRowDeleted = false;
 
+  /**
+   * The decoded copy of the current leaf page, or null if it has not been read yet or may be stale
+   * because of a modification.
+   */
+  private @Nullable TableLeafPage currentLeafPage = null;
+
+  /**
+   * The leaf pages to which this cursor is restricted, in the order to visit them, or null to visit
+   * every leaf page by following right siblings.
+   */
+  private @Nullable ImmutableIntArray scanLeafPageNos = null;
+  private int scanLeafPageNoIndex = 0;
+
+  private final TableRowDecoder rowDecoder = new TableRowDecoder();
+  private final RowView rowView = new RowView(this);
+
   public TableFile(RandomAccessFile file) {
+    this(file, file);
+  }
+
+  /**
+   * @param file   the open file of the table (not null)
+   * @param closer closed instead of {@code file} when this table file is closed, e.g. to return
+   *               {@code file} to a cache of open handles rather than closing it (not null)
+   */
+  TableFile(RandomAccessFile file, Closeable closer) {
     checkNotNull(file);
-    checkArgument(file.getChannel().isOpen());
+    checkNotNull(closer);
     this.file = file;
+    this.closer = closer;
 
     try {
 
@@ -81,150 +114,288 @@ public class TableFile implements Closeable {
 
   @Override
   public void close() throws IOException {
-    file.close();
+    closer.close();
   }
 
   //region Append
 
   public void appendRow(TableRowBuilder tableRowBuilder) throws IOException {
+    checkNotNull(tableRowBuilder, "tableRowBuilder");
 
-    final int newRowId = getNextRowId();
-    incrementMetaDataCurrentRowId();
-
-    tableRowBuilder.prependRowId(newRowId);
-    final TableLeafCellBuffer newLeafCellBuffer = tableRowBuilder.toLeafCellBuffer();
-
-    this.appendRow(newRowId, newLeafCellBuffer);
+    try (final Appender appender = this.openAppender()) {
+      appender.appendRow(tableRowBuilder);
+    }
   }
 
-  private void appendRow(int newRowId, TableLeafCellBuffer newLeafCellBuffer) throws IOException {
-    assert newRowId == Ints.fromByteArray(newLeafCellBuffer.get((byte) 0));
+  /**
+   * Appends every row in {@code tableRowBuilders}, in order, within a single {@link Appender}
+   * session.
+   *
+   * @param tableRowBuilders the rows to append (not null)
+   * @throws IOException
+   */
+  public void appendRows(Iterable<TableRowBuilder> tableRowBuilders) throws IOException {
+    checkNotNull(tableRowBuilders, "tableRowBuilders");
 
-    //region Find rightmost leaf page.
+    try (final Appender appender = this.openAppender()) {
+      for (final TableRowBuilder tableRowBuilder : tableRowBuilders) {
+        appender.appendRow(tableRowBuilder);
+      }
+    }
+  }
 
-    int  pageNo = this.getMetaDataRootPageNo();
-    long pageFileOffset = convertPageNoToFileOffset(pageNo);
-    byte pageTypeCode;
+  /**
+   * Opens a session for appending many rows to this table file.
+   * <p>
+   * No other method of this {@link TableFile} may be called until the returned {@link Appender} is
+   * closed.
+   *
+   * @return a new append session positioned at the rightmost leaf page (not null)
+   * @throws IOException
+   */
+  public Appender openAppender() throws IOException {
+    return new Appender();
+  }
 
-    // TODO Refactor the following two lines to a new method Page+getRightPageNo(file, pageNo)
-    file.seek(pageFileOffset + 6);
-    int rightPageNo = file.readInt();
+  /**
+   * @return whether this table has never had any rows, and so may be loaded by a
+   *         {@link BulkLoader} instead
+   * @throws IOException
+   */
+  public boolean canBulkLoad() throws IOException {
+    return BulkLoader.canLoad(file);
+  }
 
-    while (rightPageNo != -1) {  // FIXME magic number
-      pageNo = rightPageNo;
-      pageFileOffset = convertPageNoToFileOffset(pageNo);
+  private void appendRow(int newRowId, TableLeafCellBuffer newLeafCellBuffer) throws IOException {
+    assert newRowId == Ints.fromByteArray(newLeafCellBuffer.get((byte) 0));
 
-      file.seek(pageFileOffset + 6);
-      rightPageNo = file.readInt();
+    try (final Appender appender = this.openAppender()) {
+      appender.appendCell(newRowId, newLeafCellBuffer.toBytes());
     }
+  }
 
-    file.seek(pageFileOffset);
-    pageTypeCode = file.readByte();
-
-    //endregion
+  /**
+   * A session appending rows to the end of a {@link TableFile}.
+   * <p>
+   * The rightmost leaf page, and the current rowid of the table, are read from its metadata once when
+   * the session is opened and then kept in memory, as is its page count once a page is allocated.
+   * Rows are only ever appended to the rightmost leaf page, so no page is split: when the leaf page
+   * is full, a new leaf page is started to its right, and its cell is appended to the parent on the
+   * rightmost path of the B+tree, which is read into memory once, when it is first needed. A full
+   * interior page on that path is likewise followed by a new one to its right, up to a new root. Each
+   * page is therefore written once when it leaves the rightmost path, and the pages still on it,
+   * together with the metadata of the table, are written back only when the session is closed.
+   */
+  public final class Appender implements RowAppender {
 
-    //region Check ahead for overflow, and preemptively "split" page if so.
+    private TableLeafPage page;
+    private int currentRowId;
+    private boolean isCurrentRowIdDirty = false;
 
-    final byte[] newLeafCellData = newLeafCellBuffer.toBytes();
-    final boolean overflowFlag = wouldPageOverflow(newLeafCellData.length, pageNo);
+    private int pageMaxRowId = ROWID_NULL_VALUE;
+    private boolean isPageMaxRowIdDirty = false;
 
-    if (overflowFlag && pageTypeCode == 0x0D) {
-      pageNo = splitLeafPage(file, pageNo, newRowId);  // VERIFY Page+splitLeafPage(file, pageNo)
+    /**
+     * The interior pages on the path from the root to the parent of the current leaf page, or null
+     * until they are first needed.
+     */
+    private @Nullable List<TableInteriorPage> path = null;
+    private int pageCount = 0;
+    private boolean isMetaDataDirty = false;
 
-      pageFileOffset = convertPageNoToFileOffset(pageNo);
+    private boolean isClosed = false;
 
-      file.seek(pageFileOffset);
-      pageTypeCode = file.readByte();
+    private Appender() throws IOException {
+      this.page = TableLeafPage.read(file, getRightmostLeafPageNo());
+      this.currentRowId = getCurrentMaxRowId();
     }
 
-    //endregion
-
-    //region Calculate new "cell content area" page offset.
-
-    file.seek(pageFileOffset + 3);  // FIXME magic number
-    short oldContentPageOffset = file.readShort();
-    assert oldContentPageOffset >= 0;
-
-    if (oldContentPageOffset <= 0) {
-      oldContentPageOffset = Shorts.checkedCast(PAGE_SIZE);
+    /**
+     * Appends a row, allocating it the next rowid of the table.
+     *
+     * @param tableRowBuilder the row to append, not including its rowid (not null)
+     * @return the rowid allocated to the row
+     * @throws IOException
+     */
+    @Override
+    public int appendRow(TableRowBuilder tableRowBuilder) throws IOException {
+      checkNotNull(tableRowBuilder, "tableRowBuilder");
+      checkState(!isClosed, "This Appender is closed.");
+      checkState(currentRowId < ROWID_MAX_VALUE,
+          format("Cannot get the next allocatable ROWID value because the maximum ROWID of %d has already been allocated for this table.",
+              ROWID_MAX_VALUE));
+
+      final int newRowId = currentRowId + 1;
+      currentRowId = newRowId;
+      isCurrentRowIdDirty = true;
+
+      tableRowBuilder.prependRowId(newRowId);
+      appendCell(newRowId, tableRowBuilder.toLeafCellBuffer().toBytes());
+      return newRowId;
     }
 
-    final short newContentPageOffset = Shorts.checkedCast(oldContentPageOffset - newLeafCellData.length);
-
-    //endregion
-
-    //region Insert cell in content area of page.
-
-    file.seek(pageFileOffset + newContentPageOffset);
-    file.write(newLeafCellData);
-
-    //endregion
-
-    //region Increment cell count in page.
-
-    file.seek(pageFileOffset + 1);  // FIXME magic number
-    final short oldPageCellCount = file.readShort();
-
-    final short newPageCellCount = Shorts.checkedCast(oldPageCellCount + 1);
-
-    file.seek(pageFileOffset + 1);  // FIXME magic number
-    file.writeShort(newPageCellCount);
-
-    //endregion
-
-    //region Update "cell content area" page offset in page.
+    private void appendCell(int rowId, byte[] cellData) throws IOException {
+      assert cellData != null : "cellData should not be null";
+      checkState(!isClosed, "This Appender is closed.");
 
-    file.seek(pageFileOffset + 3);  // FIXME magic number
-    file.writeShort(newContentPageOffset);
+      if (page.getCellCount() > 0 && !page.canFit(cellData.length)) {
+        startNextLeafPage(rowId);
+      }
 
-    //endregion
+      page.appendCell(cellData);
+      pageMaxRowId = rowId;
+      isPageMaxRowIdDirty = true;
+      currentLeafPage = null;
+    }
 
-    //region Append the new cell's page offset to the array of such in page.
+    /**
+     * Writes the full current leaf page, and starts a new, empty leaf page to its right, whose cell
+     * is appended to the rightmost path.
+     *
+     * @param firstRowId the rowid of the first row of the new leaf page
+     */
+    private void startNextLeafPage(int firstRowId) throws IOException {
+      final List<TableInteriorPage> path = getPath();
+      setPathMaxRowId(path, pageMaxRowId);
+
+      final TableLeafPage fullPage = page;
+      final AbstractPage oldRootPage = path.isEmpty() ? fullPage : path.get(0);
+      final TableLeafPage nextPage = new TableLeafPage(allocatePageNo(), newPageBuffer(LEAF));
+      fullPage.setRightSiblingPageNo(nextPage.getPageNo());
+
+      // Append the cell of the new child to the lowest page of the path that has room for it, each
+      // full page below that being followed by a new page whose only child is the new child.
+      final List<TableInteriorPage> fullPathPages = new ArrayList<>();
+      AbstractPage childPage = nextPage;
+      int level = path.size() - 1;
+      while (level >= 0 && !path.get(level).canFit(INTERIOR_CELL_SIZE)) {
+        fullPathPages.add(path.get(level));
+        final TableInteriorPage nextPathPage = new TableInteriorPage(allocatePageNo(), newPageBuffer(INTERIOR));
+        appendChild(nextPathPage, childPage, firstRowId);
+        path.set(level, nextPathPage);
+        childPage = nextPathPage;
+        level -= 1;
+      }
+      if (level >= 0) {
+        appendChild(path.get(level), childPage, firstRowId);
+      }
+      else {
+        final TableInteriorPage rootPage = new TableInteriorPage(allocatePageNo(), newPageBuffer(INTERIOR));
+        appendChild(rootPage, oldRootPage, pageMaxRowId);
+        appendChild(rootPage, childPage, firstRowId);
+        path.add(0, rootPage);
+      }
 
-    file.seek(pageFileOffset + 16 + 2 * (newPageCellCount - 1));  // FIXME magic numbers
-    file.writeShort(newContentPageOffset);
+      fullPage.flush(file);
+      for (final TableInteriorPage fullPathPage : fullPathPages) {
+        fullPathPage.flush(file);
+      }
+      page = nextPage;
+      isPageMaxRowIdDirty = false;
+    }
 
-    /* NOTE newContentPageOffset
-     *
-     * The cell was inserted beginning at newContentPageOffset, and so newContentPageOffset is
-     * exactly the newCellPageOffset for this cell.
+    /**
+     * @return the interior pages on the path from the root to the parent of the current leaf page,
+     *         which are read the first time that they are needed (not null)
      */
+    private List<TableInteriorPage> getPath() throws IOException {
+      @Nullable List<TableInteriorPage> path = this.path;
+      if (path == null) {
+        path = new ArrayList<>();
+        int parentPageNo = page.getParentPageNo();
+        while (parentPageNo != NULL_PAGE_NO) {
+          final TableInteriorPage parentPage = TableInteriorPage.read(file, parentPageNo);
+          path.add(0, parentPage);
+          parentPageNo = parentPage.getParentPageNo();
+        }
+        this.path = path;
+      }
+      return path;
+    }
 
-    //endregion
+    /**
+     * Sets the maximum rowid of the cell of each page of the rightmost path in its parent, all of
+     * which end with the current leaf page. A page that has lost its cell, e.g. a leaf page that was
+     * emptied by a delete, gets a new one.
+     */
+    private void setPathMaxRowId(List<TableInteriorPage> path, int maxRowId) {
+      for (int level = 0; level < path.size(); level++) {
+        final TableInteriorPage parentPage = path.get(level);
+        final AbstractPage childPage = (level + 1 < path.size()) ? path.get(level + 1) : page;
+
+        int cellIndex = parentPage.getCellCount() - 1;
+        while (cellIndex >= 0 && parentPage.getCellChildPageNo(cellIndex) != childPage.getPageNo()) {
+          cellIndex -= 1;
+        }
+        if (cellIndex >= 0) {
+          parentPage.setCellMaxRowId(cellIndex, maxRowId);
+        }
+        else if (parentPage.canFit(INTERIOR_CELL_SIZE)) {
+          appendChild(parentPage, childPage, maxRowId);
+        }
+      }
+    }
 
-    // Update maximum row ID of the respective page in parent.
-    int parentPageNo = getParent(file, pageNo);
-    if (parentPageNo != -1) {
-      updateParentwithLeafPageMaxRowID(file, pageNo, parentPageNo, newRowId);
+    private void appendChild(TableInteriorPage parentPage, AbstractPage childPage, int maxRowId) {
+      parentPage.appendCell(toInteriorCell(childPage.getPageNo(), maxRowId));
+      parentPage.setRightmostChildPageNo(childPage.getPageNo());
+      childPage.setParentPageNo(parentPage.getPageNo());
     }
-  }
 
-  // VERIFY -wouldPageOverflow(newCellDataSize, pageNo): boolean
-  private boolean wouldPageOverflow(int newCellDataSize, int pageNo) {
-    try {
-      file.seek((pageNo - 1) * PAGE_SIZE);
-      byte pageType = file.readByte();
-      if (pageType == 0x0D) {
+    /**
+     * @return the page no of a new page after the last page of the table, as counted by its
+     *         metadata, which is written later
+     */
+    private int allocatePageNo() throws IOException {
+      if (pageCount == 0) {
+        pageCount = Page.getMetaDataPageCount(file);
+      }
+      pageCount += 1;
+      file.setLength(pageCount * (long) Page.PAGE_SIZE);
+      isMetaDataDirty = true;
+      return pageCount;
+    }
 
-        this.file.seek((pageNo - 1) * PAGE_SIZE + 1);
-        short noOfRecords = this.file.readShort();
+    /**
+     * Writes back the current leaf page, the rightmost path with the maximum rowid of the table, the
+     * current rowid, and the root, rightmost leaf page and page count of the table, if any of them
+     * have changed.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
 
-        this.file.seek((pageNo - 1) * PAGE_SIZE + 3);
-        short startofCellConcent = file.readShort();
-        if (startofCellConcent == 0) {
-          startofCellConcent = (short) (PAGE_SIZE);
-        }
-        short arryLastEntry = (short) (16 + (noOfRecords * 2));
-        if ((startofCellConcent - arryLastEntry - 1) < newCellDataSize) {
-          return true;
+      if (isPageMaxRowIdDirty) {
+        setPathMaxRowId(getPath(), pageMaxRowId);
+        isPageMaxRowIdDirty = false;
+      }
+      page.flush(file);
+      final @Nullable List<TableInteriorPage> path = this.path;
+      if (path != null) {
+        for (final TableInteriorPage pathPage : path) {
+          pathPage.flush(file);
         }
-      } else {// TODO Update in Part 2 for the remainig page types
-        return false;
       }
-    } catch (Exception e) {
 
+      if (isMetaDataDirty) {
+        Page.setMetaDataRootPageNo(file, (path == null || path.isEmpty()) ? page.getPageNo() : path.get(0).getPageNo());
+        Page.setMetaDataRightmostLeafPageNo(file, page.getPageNo());
+        Page.setMetaDataPageCount(file, pageCount);
+        isMetaDataDirty = false;
+      }
+      if (isCurrentRowIdDirty) {
+        file.seek(FILE_OFFSET_OF_METADATA_CURRENT_ROWID);
+        file.writeInt(currentRowId);
+        isCurrentRowIdDirty = false;
+      }
+      currentLeafPage = null;
     }
-    return false;
+
   }
 
   //endregion
@@ -243,47 +414,57 @@ public class TableFile implements Closeable {
       }
     }
     else { // Very first time goToNextRow() has been called for this TableFile instance.
-      this.currentLeafPageNo = getLeftmostLeafPageNo();
+      final @Nullable ImmutableIntArray scanLeafPageNos = this.scanLeafPageNos;
+      this.currentLeafPageNo = (scanLeafPageNos != null) ? scanLeafPageNos.get(0) : getLeftmostLeafPageNo();
       this.currentLeafCellIndex = 0;
     }
 
-    short countCells = getNumberOfCells(file, this.currentLeafPageNo);
-    if (!(this.currentLeafCellIndex < countCells)) {
+    TableLeafPage page = this.getCurrentLeafPage();
+    while (!(this.currentLeafCellIndex < page.getCellCount())) {  // Skips any empty leaf pages.
 
-      final int rightSiblingPageNo = getRightSiblingOfLeafPage(file, this.currentLeafPageNo);
-      if (!Page.exists(file, rightSiblingPageNo)) {
+      final int nextLeafPageNo = getNextScanLeafPageNo(page);
+      if (nextLeafPageNo == NULL_PAGE_NO) {
         return false;
       }
 
-      this.currentLeafPageNo = rightSiblingPageNo;
+      this.currentLeafPageNo = nextLeafPageNo;
       this.currentLeafCellIndex = 0;
 
-      countCells = getNumberOfCells(file, this.currentLeafPageNo);
-      if (!(this.currentLeafCellIndex < countCells)) {
-        return false;
-      }
+      page = this.getCurrentLeafPage();
     }
 
     return true;
   }
 
-  private boolean valueOfCurrentRowColumnIsNull(int columnIndex) throws IOException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        format("columnIndex (%d) is not in range [0, %d)",
-            columnIndex,
-            Byte.MAX_VALUE));
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    final long fileOffsetOfPage = Page.convertPageNoToFileOffset(this.currentLeafPageNo);
-    final short pageOffsetOfCell = Page.getPageOffsetOfCell(file, this.currentLeafPageNo, this.currentLeafCellIndex);
-    final long fileOffsetOfPageCell = fileOffsetOfPage + pageOffsetOfCell;
+  /**
+   * @param page the current leaf page, whose rows have all been visited
+   * @return the page no of the leaf page to visit next, which is the right sibling of {@code page}
+   *         unless this cursor is {@link #restrictToLeafPages(ImmutableIntArray) restricted}, or
+   *         {@link #NULL_PAGE_NO} if there is none
+   */
+  private int getNextScanLeafPageNo(TableLeafPage page) throws IOException {
+    final @Nullable ImmutableIntArray scanLeafPageNos = this.scanLeafPageNos;
+    if (scanLeafPageNos != null) {
+      if (!(scanLeafPageNoIndex + 1 < scanLeafPageNos.length())) {
+        return NULL_PAGE_NO;
+      }
+      scanLeafPageNoIndex += 1;
+      return scanLeafPageNos.get(scanLeafPageNoIndex);
+    }
 
-    final int valueSizeInBytes = Page.getSizeOfTableLeafCellColumn(file, fileOffsetOfPageCell, columnIndex);
-    return valueSizeInBytes <= 0;
+    final int rightSiblingPageNo = page.getRightSiblingPageNo();
+    return Page.exists(file, rightSiblingPageNo) ? rightSiblingPageNo : NULL_PAGE_NO;
   }
 
-  private void goToCurrentLeafPageCellColumnValue(int columnIndex) throws IOException, StorageException {
+  /**
+   * Decodes the layout of the current row, if it is not already decoded, so that the value of any
+   * of its columns can be read directly from the current leaf page.
+   *
+   * @param columnIndex the column that is about to be read
+   * @return the decoder of the current row (not null)
+   * @throws StorageException if the current row has no column {@code columnIndex}
+   */
+  private TableRowDecoder decodeCurrentRow(int columnIndex) throws IOException, StorageException {
     checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
         format("columnIndex (%d) is not in range [0, %d)",
             columnIndex,
@@ -291,193 +472,378 @@ public class TableFile implements Closeable {
     checkState(this.hasCurrentRow(),
         "tableFile is not pointing to a current row from which to read");
 
-    final long fileOffsetOfPage = Page.convertPageNoToFileOffset(this.currentLeafPageNo);
-    final short pageOffsetOfCell = Page.getPageOffsetOfCell(file, this.currentLeafPageNo, this.currentLeafCellIndex);
-    final long fileOffsetOfPageCell = fileOffsetOfPage + pageOffsetOfCell;
+    checkArgument(rowDecoder.isProjected(columnIndex),
+        format("columnIndex (%d) is not one of the columns to which this TableFile is restricted",
+            columnIndex));
 
-    final byte columnCount = Page.getNumberOfColumnsOfTableLeafCell(file, fileOffsetOfPageCell);
+    rowDecoder.decode(this.getCurrentLeafPage(), this.currentLeafCellIndex);
+
+    final byte columnCount = rowDecoder.getColumnCount();
     if (!(columnIndex < columnCount)) {
       throw new StorageException(
           format("columnIndex (%d) is not less than columnCount (%d)",
               columnIndex,
               columnCount));
     }
+    return rowDecoder;
+  }
+
+  //endregion
+
+  //region Go To Row
+
+  /**
+   * Moves this cursor directly to the row of the given rowid, e.g. to fetch a row that was found
+   * through an index. The row is looked for on the current leaf page and on the few leaf pages to its
+   * right, so that moving through ascending rowids reads each leaf page once; and otherwise by a
+   * descent of the B+tree from the root by the maximum rowid of each child.
+   * <p>
+   * A subsequent call to {@link #goToNextRow()} moves on to the row after it.
+   *
+   * @param rowId the rowid of the row
+   * @return whether the table has a row of rowid {@code rowId}, which is then the current row (if
+   *         not, the position of this cursor is unchanged)
+   * @throws IOException
+   */
+  public boolean goToRow(int rowId) throws IOException {
+    checkState(scanLeafPageNos == null, "This TableFile is restricted to a range of leaf pages.");
+
+    @Nullable TableLeafPage page = null;
+    if (this.hasCurrentLeafPageNo()) {
+      page = findLeafPageFrom(this.getCurrentLeafPage(), rowId, GO_TO_ROW_MAX_SIBLING_COUNT);
+    }
+    if (page == null) {
+      final int leafPageNo = findLeafPageNo(rowId);
+      if (leafPageNo == NULL_PAGE_NO) {
+        return false;
+      }
+      // A split records the rowid of the row that caused it as the maximum of the page that was
+      // split, so that row (and any after it) may be in the right sibling of the page found.
+      page = findLeafPageFrom(TableLeafPage.read(file, leafPageNo), rowId, Integer.MAX_VALUE);
+      if (page == null) {
+        return false;
+      }
+    }
 
-    int cellOffset = 1 + columnCount; // 1 to account for the initial byte of column count.
-    for (int i = 0; i < columnIndex; i++) {
-      cellOffset += Page.getSizeOfTableLeafCellColumn(file, fileOffsetOfPageCell, i);
+    final int cellIndex = findCellIndex(page, rowId);
+    if (cellIndex < 0) {
+      return false;
     }
 
-    final long fileOffsetOfPageCellColumnValue = fileOffsetOfPageCell + cellOffset;
-    file.seek(fileOffsetOfPageCellColumnValue);
+    this.currentLeafPageNo = page.getPageNo();
+    this.currentLeafCellIndex = (short) cellIndex;
+    this.currentLeafPage = page;
+    this.isCurrentRowDeleted = false;
+    return true;
+  }
+
+  /**
+   * @param page            the leaf page from which to look (not null)
+   * @param maxSiblingCount the most right siblings of {@code page} to look at
+   * @return the leaf page that may hold the row of rowid {@code rowId}, which is {@code page} or one
+   *         of the right siblings looked at, or null if none of them may
+   */
+  private @Nullable TableLeafPage findLeafPageFrom(TableLeafPage page, int rowId, int maxSiblingCount) throws IOException {
+    if (page.getCellCount() > 0 && page.getCellRowId(0) > rowId) {
+      return null;
+    }
+    int siblingCount = 0;
+    while (page.getCellCount() == 0 || page.getCellRowId(page.getCellCount() - 1) < rowId) {
+      final int rightSiblingPageNo = page.getRightSiblingPageNo();
+      if (siblingCount == maxSiblingCount || !Page.exists(file, rightSiblingPageNo)) {
+        return null;
+      }
+      page = TableLeafPage.read(file, rightSiblingPageNo);
+      siblingCount += 1;
+      if (page.getCellCount() > 0 && page.getCellRowId(0) > rowId) {
+        return null;
+      }
+    }
+    return page;
+  }
+
+  /**
+   * @return the page no of the only leaf page that may hold the row of rowid {@code rowId}, or
+   *         {@link #NULL_PAGE_NO} if no leaf page may
+   */
+  private int findLeafPageNo(int rowId) throws IOException {
+    int pageNo = this.getMetaDataRootPageNo();
+    while (Page.getTablePageType(file, pageNo) == INTERIOR) {
+      final TableInteriorPage page = TableInteriorPage.read(file, pageNo);
+      final int cellCount = page.getCellCount();
+
+      // Binary search for the first child whose maximum rowid is at least rowId.
+      int low = 0;
+      int high = cellCount;
+      while (low < high) {
+        final int middle = (low + high) >>> 1;
+        if (page.getCellMaxRowId(middle) < rowId) {
+          low = middle + 1;
+        }
+        else {
+          high = middle;
+        }
+      }
+
+      if (low < cellCount) {
+        pageNo = page.getCellChildPageNo(low);
+      }
+      else if (Page.exists(file, page.getRightmostChildPageNo())) {
+        pageNo = page.getRightmostChildPageNo();
+      }
+      else if (cellCount > 0) {
+        pageNo = page.getCellChildPageNo(cellCount - 1);
+      }
+      else {
+        return NULL_PAGE_NO;
+      }
+    }
+    return pageNo;
+  }
+
+  /**
+   * @return the index of the cell of rowid {@code rowId} in {@code page}, or -1 if there is none
+   */
+  private static int findCellIndex(TableLeafPage page, int rowId) {
+    int low = 0;
+    int high = page.getCellCount() - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int middleRowId = page.getCellRowId(middle);
+      if (middleRowId < rowId) {
+        low = middle + 1;
+      }
+      else if (middleRowId > rowId) {
+        high = middle - 1;
+      }
+      else {
+        return middle;
+      }
+    }
+    return -1;
   }
 
   //endregion
 
-  //region Read
+  //region Split
 
-  public @Nullable Byte readTinyInt(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
+  /**
+   * Lists the page nos of every leaf page of this table file in rowid order, e.g. to partition a
+   * scan into ranges of leaf pages that are scanned independently. Only the interior pages are read.
+   *
+   * @return the page nos of every leaf page, in rowid order (not null, not empty)
+   * @throws IOException
+   */
+  public ImmutableIntArray getLeafPageNos() throws IOException {
+    final ImmutableIntArray.Builder leafPageNos = ImmutableIntArray.builder();
+    addLeafPageNos(this.getMetaDataRootPageNo(), leafPageNos);
+    return leafPageNos.build();
+  }
 
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
-      return null;
+  private void addLeafPageNos(int pageNo, ImmutableIntArray.Builder leafPageNos) throws IOException {
+    if (Page.getTablePageType(file, pageNo) != INTERIOR) {
+      leafPageNos.add(pageNo);
+      return;
     }
 
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return file.readByte();
+    // Every child has a cell, and the rightmost child is normally also the child of the last cell.
+    final TableInteriorPage page = TableInteriorPage.read(file, pageNo);
+    int childPageNo = NULL_PAGE_NO;
+    for (int i = 0; i < page.getCellCount(); i++) {
+      childPageNo = page.getCellChildPageNo(i);
+      addLeafPageNos(childPageNo, leafPageNos);
+    }
+    if (page.getRightmostChildPageNo() != childPageNo && Page.exists(file, page.getRightmostChildPageNo())) {
+      addLeafPageNos(page.getRightmostChildPageNo(), leafPageNos);
+    }
   }
 
-  public @Nullable Short readSmallInt(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
+  /**
+   * Restricts this cursor to the given leaf pages, which it visits in order instead of following the
+   * right sibling of each leaf page, e.g. to scan one range of {@link #getLeafPageNos()}.
+   * <p>
+   * Must be called before the first call to {@link #goToNextRow()}.
+   *
+   * @param leafPageNos the page nos of the leaf pages to visit, in order (not null, not empty)
+   */
+  public void restrictToLeafPages(ImmutableIntArray leafPageNos) {
+    checkNotNull(leafPageNos, "leafPageNos");
+    checkArgument(!leafPageNos.isEmpty(), "leafPageNos is empty");
+    checkState(!this.hasCurrentLeafPageNo(), "This TableFile has already started its scan.");
+
+    this.scanLeafPageNos = leafPageNos;
+    this.scanLeafPageNoIndex = 0;
+  }
 
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+  //endregion
+
+  //region Project
+
+  /**
+   * Restricts the reads of each row to the given columns, so that the layout of each row is decoded
+   * only as far as the last of them, e.g. to scan only the columns that a query references.
+   * <p>
+   * Reading any other column afterward throws an {@link IllegalArgumentException}.
+   *
+   * @param columnIndexes the indexes of the columns that may be read (not null, not empty)
+   */
+  public void restrictToColumns(byte... columnIndexes) {
+    checkNotNull(columnIndexes, "columnIndexes");
+    checkArgument(columnIndexes.length > 0, "columnIndexes is empty");
+
+    rowDecoder.restrictToColumns(columnIndexes);
+  }
+
+  //endregion
+
+  //region Read
+
+  public @Nullable Byte readTinyInt(int columnIndex) throws IOException, StorageException {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
+    return row.getByte(columnIndex);
+  }
 
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return file.readShort();
+  public @Nullable Short readSmallInt(int columnIndex) throws IOException, StorageException {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
+      return null;
+    }
+    return row.getShort(columnIndex);
   }
 
   public @Nullable Integer readInt(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return file.readInt();
+    return row.getInt(columnIndex);
   }
 
   public @Nullable Long readBigInt(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return file.readLong();
+    return row.getLong(columnIndex);
   }
 
   public @Nullable Float readFloat(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return file.readFloat();
+    return row.getFloat(columnIndex);
   }
 
   public @Nullable Double readDouble(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return file.readDouble();
+    return row.getDouble(columnIndex);
   }
 
   public @Nullable Year readYear(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return Year.of(file.readByte() + YearUtils.YEAR_OFFSET);
+    return Year.of(row.getByte(columnIndex) + YearUtils.YEAR_OFFSET);
   }
 
   public @Nullable LocalTime readTime(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return LocalTime.ofSecondOfDay(file.readInt());
+    return LocalTime.ofSecondOfDay(row.getInt(columnIndex));
   }
 
   public @Nullable LocalDateTime readDateTime(int columnIndex)
       throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
-
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
-
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return LocalDateTime.ofEpochSecond(file.readLong(), 0, ZoneOffset.UTC);
+    return LocalDateTime.ofEpochSecond(row.getLong(columnIndex), 0, ZoneOffset.UTC);
   }
 
   public @Nullable LocalDate readDate(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
+      return null;
+    }
+    return LocalDate.ofEpochDay(row.getLong(columnIndex));
+  }
 
-    if (valueOfCurrentRowColumnIsNull(columnIndex)) {
+  public @Nullable String readText(int columnIndex) throws IOException, StorageException {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
       return null;
     }
+    return new String(row.getBytes(columnIndex), TEXT_CHARSET);
+  }
+
+  //endregion
 
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    return LocalDate.ofEpochDay(file.readLong());
+  //region Primitive Read
+
+  /*
+   * The following accessors read the current row without boxing. The getXxx accessors must not be
+   * called for a column whose value is null, which can be checked with isNull(columnIndex).
+   */
+
+  public boolean isNull(int columnIndex) throws IOException, StorageException {
+    return decodeCurrentRow(columnIndex).isNull(columnIndex);
   }
 
-  public @Nullable String readText(int columnIndex) throws IOException, StorageException {
-    checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE,
-        "columnIndex (%d) is not in range [0, %d)", columnIndex, Byte.MAX_VALUE);
-    checkState(this.hasCurrentRow(),
-        "tableFile is not pointing to a current row from which to read");
+  public byte getTinyInt(int columnIndex) throws IOException, StorageException {
+    return decodeNonNullColumnOfCurrentRow(columnIndex).getByte(columnIndex);
+  }
 
-    final long fileOffsetOfPage = Page.convertPageNoToFileOffset(this.currentLeafPageNo);
-    final short pageOffsetOfCell =
-        Page.getPageOffsetOfCell(file, this.currentLeafPageNo, this.currentLeafCellIndex);
-    final long fileOffsetOfPageCell = fileOffsetOfPage + pageOffsetOfCell;
+  public short getSmallInt(int columnIndex) throws IOException, StorageException {
+    return decodeNonNullColumnOfCurrentRow(columnIndex).getShort(columnIndex);
+  }
 
-    final int valueSizeInBytes =
-        Page.getSizeOfTableLeafCellColumn(file, fileOffsetOfPageCell, columnIndex);
-    if (valueSizeInBytes <= 0) {
-      return null;
-    }
+  public int getInt(int columnIndex) throws IOException, StorageException {
+    return decodeNonNullColumnOfCurrentRow(columnIndex).getInt(columnIndex);
+  }
+
+  public long getBigInt(int columnIndex) throws IOException, StorageException {
+    return decodeNonNullColumnOfCurrentRow(columnIndex).getLong(columnIndex);
+  }
 
-    goToCurrentLeafPageCellColumnValue(columnIndex);
-    final byte[] bytes = new byte[valueSizeInBytes];
-    file.read(bytes);
-    return new String(bytes);
+  public float getFloat(int columnIndex) throws IOException, StorageException {
+    return decodeNonNullColumnOfCurrentRow(columnIndex).getFloat(columnIndex);
+  }
+
+  public double getDouble(int columnIndex) throws IOException, StorageException {
+    return decodeNonNullColumnOfCurrentRow(columnIndex).getDouble(columnIndex);
+  }
+
+  public int getRowId() throws IOException, StorageException {
+    return getInt(0);
+  }
+
+  /**
+   * @return the single reusable view of whichever row this {@link TableFile} currently points to
+   *         (not null)
+   */
+  public RowView getRowView() {
+    return rowView;
+  }
+
+  private TableRowDecoder decodeNonNullColumnOfCurrentRow(int columnIndex)
+      throws IOException, StorageException {
+    final TableRowDecoder row = decodeCurrentRow(columnIndex);
+    if (row.isNull(columnIndex)) {
+      throw new IllegalStateException(
+          format("Column %d of the current row is null.", columnIndex));
+    }
+    return row;
   }
 
   //endregion
@@ -526,6 +892,8 @@ public class TableFile implements Closeable {
 
     file.seek(cellCountOffset);
     file.writeShort(cellCount - 1);
+
+    this.currentLeafPage = null;
   }
 
   private void removeRow(long currentCellOffset, long cellCount) throws IOException {
@@ -590,8 +958,7 @@ public class TableFile implements Closeable {
 
     ArrayList<Short> offsetLocationList = new ArrayList<>();
     for (int i = 0; i < cellCount; i++) {
-      currentCellLocationOffset += 0x02 * i;
-      file.seek(currentCellLocationOffset);
+      file.seek(currentCellLocationOffset + 0x02 * i);
       short offsetLocation = file.readShort();
       offsetLocationList.add(offsetLocation);
       // System.out.println("offsetLocation ::: " + offsetLocation);
@@ -622,6 +989,10 @@ public class TableFile implements Closeable {
 
   public void removeLeafFromParent() throws IOException {
     int parentPageNo = getParentPageNo();
+    if (parentPageNo == NULL_PAGE_NO) {
+      return;
+    }
+
     long cellOffsetOffset = 0x0010;
     long fileOffsetOfPage = (parentPageNo - 1) * 512;
     long cellCountOffset = fileOffsetOfPage + 1;
@@ -633,8 +1004,7 @@ public class TableFile implements Closeable {
 
     ArrayList<Short> offsetLocationList = new ArrayList<>();
     for (int i = 0; i < cellCount; i++) {
-      currentCellLocationOffset += 0x02 * i;
-      file.seek(currentCellLocationOffset);
+      file.seek(currentCellLocationOffset + 0x02 * i);
       short offsetLocation = file.readShort();
       offsetLocationList.add(offsetLocation);
       // System.out.println("offsetLocation ::: " + offsetLocation);
@@ -662,6 +1032,10 @@ public class TableFile implements Closeable {
          * file.seek(maxRowIdOffset); file.writeInt(maxRowId - 1);
          */
         // System.out.println("maxRowId ::: " + maxRowId);
+
+        file.seek(cellCountOffset);
+        file.writeShort(cellCount - 1);
+        break;
       }
       cellIndexId++;
     }
@@ -705,10 +1079,12 @@ public class TableFile implements Closeable {
    *
    * @param row the set of zero-or-more {@code columnIndex}-keyed nullable values with which to
    *        update the current row
+   * @return the {@code rowid} of the row as written, which is a new one if the row was deleted and
+   *         re-appended
    * @throws IOException
    * @see TableRowWrite
    */
-  public void writeRow(TableRowWrite rowWrite) throws IOException {
+  public int writeRow(TableRowWrite rowWrite) throws IOException {
     checkNotNull(rowWrite, "rowWrite");
     checkState(this.hasCurrentRow(),
         format("This %s{currentLeafPageNo=%d, currentLeafCellIndex=%d, fileLength=%d} is not currently pointing to any row to which to write.",
@@ -719,12 +1095,14 @@ public class TableFile implements Closeable {
 
     //region Locate and read "old" cell.
 
-    final short pageOffsetOfCell = getPageOffsetOfCell(this.file, this.currentLeafPageNo, this.currentLeafCellIndex);
+    final short pageOffsetOfCell =
+        this.getCurrentLeafPage().getCellPageOffset(this.currentLeafCellIndex);
     final long fileOffsetOfCell = convertPageNoToFileOffset(this.currentLeafPageNo) + pageOffsetOfCell;
     file.seek(fileOffsetOfCell);
     final TableLeafCellBuffer cellBuffer = TableLeafCellBuffer.fromBytes(file);
 
     final int oldCellLength = cellBuffer.length();
+    int rowId = Ints.fromByteArray(cellBuffer.get((byte) 0));
 
     //endregion
 
@@ -733,7 +1111,7 @@ public class TableFile implements Closeable {
     // Apply the column-wise updates to the "old" cell data in the cell buffer.
     for (final Map.Entry<Byte, @Nullable Object> column : rowWrite) {
       assert 1 <= column.getKey() && column.getKey() < cellBuffer.size();  // Cannot be zero because that is built-in reserved for rowId, which is not user-writable.
-      assert column.getValue() == null || stream(DataType.values()).allMatch(dt -> dt.getJavaClass().isInstance(column.getValue()));
+      assert column.getValue() == null || stream(DataType.values()).anyMatch(dt -> dt.getJavaClass().isInstance(column.getValue()));
 
       final byte columnIndex = column.getKey();
       final byte[] data = convertToBytes(column.getValue());
@@ -751,6 +1129,7 @@ public class TableFile implements Closeable {
       final byte[] newCellData = cellBuffer.toBytes();
       file.seek(fileOffsetOfCell);
       file.write(newCellData);
+      this.currentLeafPage = null;
     }
 
     // CASE 2/2 : The new cell *is* larger, so we have to do some reorganizing to make it fit.
@@ -788,7 +1167,11 @@ public class TableFile implements Closeable {
       cellBuffer.set((byte) 0, newRowIdData);
 
       this.appendRow(newRowId, cellBuffer);
+      rowId = newRowId;
     }
+
+    this.currentLeafPage = null;
+    return rowId;
   }
 
   //endregion
@@ -859,13 +1242,51 @@ public class TableFile implements Closeable {
     return
         this.hasCurrentLeafPageNo() &&
         Page.exists(file, this.currentLeafPageNo) &&
-        this.currentLeafCellIndex < Page.getNumberOfCells(file, currentLeafPageNo);
+        this.currentLeafCellIndex < this.getCurrentLeafPage().getCellCount();
+  }
+
+  /**
+   * @return the decoded current leaf page, reading it from the file only if it is not already cached
+   */
+  private TableLeafPage getCurrentLeafPage() throws IOException {
+    assert this.hasCurrentLeafPageNo();
+
+    @Nullable TableLeafPage page = this.currentLeafPage;
+    if (page == null || page.getPageNo() != this.currentLeafPageNo) {
+      page = TableLeafPage.read(file, this.currentLeafPageNo);
+      this.currentLeafPage = page;
+    }
+    return page;
+  }
+
+  private int getRightmostLeafPageNo() throws IOException {
+    final int rightmostLeafPageNo = Page.getMetaDataRightmostLeafPageNo(file);
+    if (rightmostLeafPageNo > 0) {
+      assert Page.getTablePageType(file, rightmostLeafPageNo) == LEAF;
+      return rightmostLeafPageNo;
+    }
+
+    // The file predates the metadata field, so find the rightmost leaf the slow way (once) and
+    // record it. The page no at header offset 0x06 is the rightmost child of an interior page, or
+    // the right sibling of a leaf page (which is null for the rightmost leaf).
+    int pageNo = this.getMetaDataRootPageNo();
+    file.seek(convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_RIGHTMOST_PAGENO);
+    int rightPageNo = file.readInt();
+    while (rightPageNo != NULL_PAGE_NO) {
+      pageNo = rightPageNo;
+      file.seek(convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_RIGHTMOST_PAGENO);
+      rightPageNo = file.readInt();
+    }
+    assert Page.getTablePageType(file, pageNo) == LEAF;
+
+    Page.setMetaDataRightmostLeafPageNo(file, pageNo);
+    return pageNo;
   }
 
   private int getLeftmostLeafPageNo() throws IOException {
     int pageNo = this.getMetaDataRootPageNo();
     while (Page.getTablePageType(file, pageNo) == INTERIOR) {
-      pageNo = Page.getLeftmostChildPageNoOfInteriorPage(file, pageNo);
+      pageNo = TableInteriorPage.read(file, pageNo).getLeftmostChildPageNo();
     }
     assert Page.getTablePageType(file, pageNo) == LEAF;
     return pageNo;
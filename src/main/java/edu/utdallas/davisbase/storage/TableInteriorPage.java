@@ -0,0 +1,70 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.storage.TablePageType.INTERIOR;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * An in-memory copy of a table interior page (type code 0x05).
+ * <p>
+ * Each cell of a table interior page is eight bytes: the page no of a child, then the maximum rowid
+ * stored under that child.
+ */
+class TableInteriorPage extends AbstractPage {
+
+  TableInteriorPage(int pageNo, ByteBuffer buffer) {
+    super(pageNo, buffer);
+    checkState(getPageTypeCode() == INTERIOR.toCode(),
+        "Page %s is not a table interior page (type code %s).", pageNo, Integer.toHexString(getPageTypeCode() & 0xFF));
+  }
+
+  /**
+   * @param file   the table file from which to read the page (not null)
+   * @param pageNo the one-based number of a table interior page in the file
+   * @return the decoded page (not null)
+   * @throws IOException
+   */
+  static TableInteriorPage read(RandomAccessFile file, int pageNo) throws IOException {
+    return new TableInteriorPage(pageNo, readPageBuffer(file, pageNo));
+  }
+
+  int getRightmostChildPageNo() {
+    return getRightPageNo();
+  }
+
+  void setRightmostChildPageNo(int rightmostChildPageNo) {
+    setRightPageNo(rightmostChildPageNo);
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the page no of the child referenced by the cell
+   */
+  int getCellChildPageNo(int cellIndex) {
+    return buffer.getInt(getCellPageOffset(cellIndex));
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the maximum rowid stored under the child referenced by the cell
+   */
+  int getCellMaxRowId(int cellIndex) {
+    return buffer.getInt(getCellPageOffset(cellIndex) + Integer.BYTES);
+  }
+
+  void setCellMaxRowId(int cellIndex, int maxRowId) {
+    buffer.putInt(getCellPageOffset(cellIndex) + Integer.BYTES, maxRowId);
+    markDirty();
+  }
+
+  /**
+   * @return the page no of the leftmost child, which is the rightmost child if the page has no cells
+   */
+  int getLeftmostChildPageNo() {
+    return (getCellCount() <= 0) ? getRightmostChildPageNo() : getCellChildPageNo(0);
+  }
+
+}
@@ -0,0 +1,76 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+import static edu.utdallas.davisbase.storage.TablePageType.LEAF;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * An in-memory copy of a table leaf page (type code 0x0D).
+ * <p>
+ * Each cell of a table leaf page is laid out as one byte of column count, then one byte of value
+ * size per column (zero or less meaning null), then the values themselves. Column 0 is the rowid.
+ */
+class TableLeafPage extends AbstractPage {
+
+  TableLeafPage(int pageNo, ByteBuffer buffer) {
+    super(pageNo, buffer);
+    checkState(getPageTypeCode() == LEAF.toCode(),
+        "Page %s is not a table leaf page (type code %s).", pageNo, Integer.toHexString(getPageTypeCode() & 0xFF));
+  }
+
+  /**
+   * @param file   the table file from which to read the page (not null)
+   * @param pageNo the one-based number of a table leaf page in the file
+   * @return the decoded page (not null)
+   * @throws IOException
+   */
+  static TableLeafPage read(RandomAccessFile file, int pageNo) throws IOException {
+    return new TableLeafPage(pageNo, readPageBuffer(file, pageNo));
+  }
+
+  int getRightSiblingPageNo() {
+    return getRightPageNo();
+  }
+
+  void setRightSiblingPageNo(int rightSiblingPageNo) {
+    setRightPageNo(rightSiblingPageNo);
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the number of columns (including rowid) in the cell
+   */
+  byte getCellColumnCount(int cellIndex) {
+    return buffer.get(getCellPageOffset(cellIndex));
+  }
+
+  /**
+   * @param cellIndex   the zero-based index of the cell in the page
+   * @param columnIndex the zero-based index of the column in the cell
+   * @return the size in bytes of the column's value, where zero or less means null
+   */
+  byte getCellColumnSize(int cellIndex, int columnIndex) {
+    return buffer.get(getCellPageOffset(cellIndex) + 1 + columnIndex);
+  }
+
+  /**
+   * @param cellIndex the zero-based index of the cell in the page
+   * @return the rowid of the cell
+   */
+  int getCellRowId(int cellIndex) {
+    final int cellPageOffset = getCellPageOffset(cellIndex);
+    final byte columnCount = buffer.get(cellPageOffset);
+    return buffer.getInt(cellPageOffset + 1 + columnCount);
+  }
+
+  /**
+   * @return a read-only view of the whole page, for decoding cells in place (not null)
+   */
+  ByteBuffer getBuffer() {
+    return buffer.asReadOnlyBuffer();
+  }
+
+}
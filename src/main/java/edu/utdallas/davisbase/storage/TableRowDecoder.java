@@ -0,0 +1,172 @@
+package edu.utdallas.davisbase.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A reusable decoder of the layout of one table leaf cell.
+ * <p>
+ * {@link #decode(TableLeafPage, int)} reads the cell header once and precomputes the page offset of
+ * every column value, so that each subsequent column read is a single absolute get on the page
+ * buffer. Decoding the same cell of the same page object again is a no-op.
+ * <p>
+ * The decoder can be {@link #restrictToColumns(byte[]) restricted} to the columns that are actually
+ * read, in which case it stops reading the cell header after the last of them, and only they can be
+ * read.
+ */
+class TableRowDecoder {
+
+  private @Nullable TableLeafPage page = null;
+  private @Nullable ByteBuffer buffer = null;
+  private int cellIndex = -1;
+
+  private byte columnCount = 0;
+  private final byte[] valueSizes = new byte[Byte.MAX_VALUE];
+  private final int[] valuePageOffsets = new int[Byte.MAX_VALUE];
+
+  private boolean @Nullable [] isProjected = null;
+  private int projectedColumnCount = Byte.MAX_VALUE;
+
+  /**
+   * Restricts the decoded layout of each cell to only the given columns.
+   *
+   * @param columnIndexes the indexes of the columns to decode (not null, not empty, every element in
+   *                      range [0, {@link Byte#MAX_VALUE}))
+   */
+  void restrictToColumns(byte[] columnIndexes) {
+    checkNotNull(columnIndexes, "columnIndexes");
+    checkArgument(columnIndexes.length > 0, "columnIndexes is empty");
+
+    final boolean[] isProjected = new boolean[Byte.MAX_VALUE];
+    int projectedColumnCount = 0;
+    for (final byte columnIndex : columnIndexes) {
+      checkArgument(0 <= columnIndex && columnIndex < Byte.MAX_VALUE, "columnIndexes contains the out-of-range index %s", columnIndex);
+      isProjected[columnIndex] = true;
+      projectedColumnCount = Math.max(projectedColumnCount, columnIndex + 1);
+    }
+
+    this.isProjected = isProjected;
+    this.projectedColumnCount = projectedColumnCount;
+    reset();
+  }
+
+  /**
+   * @return whether the column is decoded, i.e. whether this decoder is not
+   *         {@link #restrictToColumns(byte[]) restricted} to other columns
+   */
+  boolean isProjected(int columnIndex) {
+    final boolean @Nullable [] isProjected = this.isProjected;
+    return isProjected == null || isProjected[columnIndex];
+  }
+
+  /**
+   * @param page      the page containing the cell (not null)
+   * @param cellIndex the zero-based index of the cell in the page
+   */
+  void decode(TableLeafPage page, int cellIndex) {
+    checkNotNull(page, "page");
+
+    if (page == this.page && cellIndex == this.cellIndex) {
+      return;
+    }
+
+    // Checks the cell index before any state changes, so that a failed decode is not taken for a
+    // decoded cell.
+    final int cellPageOffset = page.getCellPageOffset(cellIndex);
+
+    @Nullable ByteBuffer buffer = this.buffer;
+    if (page != this.page || buffer == null) {
+      buffer = page.getBuffer();
+      this.buffer = buffer;
+      this.page = page;
+    }
+
+    final byte columnCount = buffer.get(cellPageOffset);
+    final int decodedColumnCount = Math.min(columnCount, projectedColumnCount);
+    int valuePageOffset = cellPageOffset + 1 + columnCount;
+    for (int i = 0; i < decodedColumnCount; i++) {
+      final byte valueSize = buffer.get(cellPageOffset + 1 + i);
+      valueSizes[i] = valueSize;
+      valuePageOffsets[i] = valuePageOffset;
+      valuePageOffset += valueSize;
+    }
+
+    this.columnCount = columnCount;
+    this.cellIndex = cellIndex;
+  }
+
+  /**
+   * Forgets the decoded cell, e.g. because its page may have been modified.
+   */
+  void reset() {
+    this.page = null;
+    this.buffer = null;
+    this.cellIndex = -1;
+    this.columnCount = 0;
+  }
+
+  /**
+   * @return the number of columns (including rowid) in the decoded cell
+   */
+  byte getColumnCount() {
+    return columnCount;
+  }
+
+  boolean isNull(int columnIndex) {
+    return valueSizes[columnIndex] <= 0;
+  }
+
+  /**
+   * @return the size in bytes of the value of the column, where zero or less means null
+   */
+  byte getValueSize(int columnIndex) {
+    return valueSizes[columnIndex];
+  }
+
+  byte getByte(int columnIndex) {
+    return getBuffer().get(valuePageOffsets[columnIndex]);
+  }
+
+  short getShort(int columnIndex) {
+    return getBuffer().getShort(valuePageOffsets[columnIndex]);
+  }
+
+  int getInt(int columnIndex) {
+    return getBuffer().getInt(valuePageOffsets[columnIndex]);
+  }
+
+  long getLong(int columnIndex) {
+    return getBuffer().getLong(valuePageOffsets[columnIndex]);
+  }
+
+  float getFloat(int columnIndex) {
+    return getBuffer().getFloat(valuePageOffsets[columnIndex]);
+  }
+
+  double getDouble(int columnIndex) {
+    return getBuffer().getDouble(valuePageOffsets[columnIndex]);
+  }
+
+  /**
+   * @return a copy of the raw bytes of the value of the column (not null, empty if null)
+   */
+  byte[] getBytes(int columnIndex) {
+    final byte[] bytes = new byte[Math.max(0, valueSizes[columnIndex])];
+    final ByteBuffer duplicate = getBuffer().duplicate();
+    duplicate.position(valuePageOffsets[columnIndex]);
+    duplicate.get(bytes);
+    return bytes;
+  }
+
+  private ByteBuffer getBuffer() {
+    final @Nullable ByteBuffer buffer = this.buffer;
+    checkState(buffer != null, format("%s has not decoded any cell.", getClass().getSimpleName()));
+    return buffer;
+  }
+
+}
@@ -0,0 +1,180 @@
+package edu.utdallas.davisbase.catalog;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.executor.ExecuteException;
+import edu.utdallas.davisbase.executor.Executor;
+import edu.utdallas.davisbase.executor.ExecutorConfiguration;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CatalogTest {
+
+  private Path dataDirectory;
+  private Storage storage;
+  private Catalog catalog;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor executor;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    catalog = new Catalog(storage);
+    executor = new Executor(new ExecutorConfiguration.Builder().build(), storage, catalog);
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testCreateTableInvalidates() throws Exception {
+    // Loaded into the cache before the table exists.
+    assertFalse(catalog.hasTable("t"));
+    final List<String> tableNamesBefore = catalog.getTableNames();
+
+    execute("CREATE TABLE t (a INT, b TEXT NOT NULL);");
+
+    assertTrue(catalog.hasTable("t"));
+    final List<String> expectedTableNames = new ArrayList<>(tableNamesBefore);
+    expectedTableNames.add("t");
+    assertEquals(expectedTableNames, catalog.getTableNames());
+
+    final Catalog.@Nullable TableSchema table = catalog.getTable("t");
+    assertNotNull(table);
+    assertEquals(Arrays.asList("rowid", "a", "b"), columnNames(table));
+    final Catalog.@Nullable ColumnSchema b = table.getColumn("b");
+    assertNotNull(b);
+    assertEquals(DataType.TEXT, b.getDataType());
+    assertEquals(2, b.getOrdinalPosition());
+    assertFalse(b.isNullable());
+    assertSame(b, table.getColumn(2));
+    assertNull(table.getColumn(3));
+    assertNull(table.getColumn("c"));
+  }
+
+  @Test
+  public void testDropTableInvalidates() throws Exception {
+    execute("CREATE TABLE t (a INT);");
+    execute("CREATE TABLE u (a INT);");
+    execute("CREATE INDEX t_a ON t (a);");
+    assertNotNull(catalog.getTable("t"));
+
+    execute("DROP TABLE t;");
+
+    assertFalse(catalog.hasTable("t"));
+    assertNull(catalog.getTable("t"));
+    assertFalse(catalog.getTableNames().contains("t"));
+    assertTrue(catalog.hasTable("u"));
+
+    // A table of the same name starts without the index of the dropped one.
+    execute("CREATE TABLE t (a INT, b INT);");
+    final Catalog.@Nullable TableSchema table = catalog.getTable("t");
+    assertNotNull(table);
+    assertEquals(Arrays.asList("rowid", "a", "b"), columnNames(table));
+    assertEquals(Collections.emptyList(), table.getIndexNames());
+  }
+
+  @Test
+  public void testCreateIndexInvalidates() throws Exception {
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    final Catalog.@Nullable TableSchema tableBefore = catalog.getTable("t");
+    assertNotNull(tableBefore);
+    assertEquals(Collections.emptyList(), tableBefore.getIndexNames());
+    assertNull(tableBefore.getColumn("b").getIndexName());
+
+    execute("CREATE INDEX t_b ON t (b);");
+
+    final Catalog.@Nullable TableSchema table = catalog.getTable("t");
+    assertNotNull(table);
+    assertEquals(Collections.singletonList("t_b"), table.getIndexNames());
+    assertEquals("t_b", table.getColumn("b").getIndexName());
+    assertNull(table.getColumn("a").getIndexName());
+    assertSame(table.getColumn("b"), table.getIndexColumn("t_b"));
+    assertNull(table.getIndexColumn("t_a"));
+  }
+
+  @Test
+  public void testCaseInsensitiveLookup() throws Exception {
+    execute("CREATE TABLE MixedCase (SomeColumn INT);");
+
+    assertTrue(catalog.hasTable("MixedCase"));
+    assertTrue(catalog.hasTable("mixedcase"));
+    assertTrue(catalog.hasTable("MIXEDCASE"));
+
+    final Catalog.@Nullable TableSchema table = catalog.getTable("mIxEdCaSe");
+    assertNotNull(table);
+    assertSame(table, catalog.getTable("MixedCase"));
+    assertEquals("MixedCase", table.getName());
+    final Catalog.@Nullable ColumnSchema column = table.getColumn("somecolumn");
+    assertNotNull(column);
+    assertSame(column, table.getColumn("SOMECOLUMN"));
+    assertSame(column, table.getColumn("SomeColumn"));
+    assertEquals(1, column.getOrdinalPosition());
+  }
+
+  @Test
+  public void testCachedUntilInvalidated() throws Exception {
+    assertFalse(catalog.hasTable("t"));
+
+    // Another catalog of the same storage, whose DDL this catalog does not hear of.
+    final Catalog otherCatalog = new Catalog(storage);
+    final Executor otherExecutor = new Executor(new ExecutorConfiguration.Builder().build(), storage, otherCatalog);
+    final Result result = otherExecutor.execute(new Compiler(storage, otherCatalog).compile(parser.parse("CREATE TABLE t (a INT);")));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    assertTrue(otherCatalog.hasTable("t"));
+
+    assertFalse(catalog.hasTable("t"));
+    catalog.invalidate();
+    assertTrue(catalog.hasTable("t"));
+  }
+
+  private static List<String> columnNames(Catalog.TableSchema table) {
+    final List<String> names = new ArrayList<>();
+    for (final Catalog.ColumnSchema column : table.getColumns()) {
+      names.add(column.getName());
+    }
+    return names;
+  }
+
+  private void execute(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+  }
+
+}
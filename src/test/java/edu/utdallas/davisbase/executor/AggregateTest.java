@@ -0,0 +1,147 @@
+package edu.utdallas.davisbase.executor;
+
+import static edu.utdallas.davisbase.executor.ListOperator.drain;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.SelectCommandAggregate;
+import edu.utdallas.davisbase.command.SelectCommandAggregate.Function;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class AggregateTest {
+
+  private static final SelectCommandColumn A = new SelectCommandColumn((byte) 0, "a", DataType.INT);
+  private static final SelectCommandColumn B = new SelectCommandColumn((byte) 1, "b", DataType.TEXT);
+
+  /**
+   * {@code COUNT(*), COUNT(a), MIN(a), MAX(b), SUM(a), AVG(a)}.
+   */
+  private static final List<SelectCommandAggregate> AGGREGATES = Arrays.asList(
+      new SelectCommandAggregate(Function.COUNT, null, "COUNT(*)", DataType.BIGINT),
+      new SelectCommandAggregate(Function.COUNT, A, "COUNT(a)", DataType.BIGINT),
+      new SelectCommandAggregate(Function.MIN, A, "MIN(a)", DataType.INT),
+      new SelectCommandAggregate(Function.MAX, B, "MAX(b)", DataType.TEXT),
+      new SelectCommandAggregate(Function.SUM, A, "SUM(a)", DataType.BIGINT),
+      new SelectCommandAggregate(Function.AVG, A, "AVG(a)", DataType.DOUBLE));
+
+  @Test
+  public void testAggregatesEveryRow() throws Exception {
+    final ListOperator child = new ListOperator(
+        row(3, "b"),
+        row(-7, "c"),
+        row(Integer.MAX_VALUE, "a"),
+        row(Integer.MAX_VALUE, "bb"));
+
+    final SelectResultDataRow result = drainOneRow(new Aggregate(child, AGGREGATES));
+    // The sum of the INTs is a BIGINT, so it does not overflow.
+    assertEquals(row(4L, 4L, -7, "c", 3L - 7 + 2L * Integer.MAX_VALUE, (3.0 - 7 + 2.0 * Integer.MAX_VALUE) / 4), result);
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testEmptyInput() throws Exception {
+    final SelectResultDataRow result = drainOneRow(new Aggregate(new ListOperator(), AGGREGATES));
+    assertEquals(row(0L, 0L, null, null, null, null), result);
+  }
+
+  @Test
+  public void testIgnoresNulls() throws Exception {
+    final ListOperator child = new ListOperator(
+        row(null, "x"),
+        row(4, null),
+        row(null, null),
+        row(1, "y"));
+
+    final SelectResultDataRow result = drainOneRow(new Aggregate(child, AGGREGATES));
+    assertEquals(row(4L, 2L, 1, "y", 5L, 2.5), result);
+  }
+
+  @Test
+  public void testOnlyNulls() throws Exception {
+    final ListOperator child = new ListOperator(row(null, null), row(null, null));
+
+    final SelectResultDataRow result = drainOneRow(new Aggregate(child, AGGREGATES));
+    assertEquals(row(2L, 0L, null, null, null, null), result);
+  }
+
+  @Test
+  public void testSumOfFloatingPointIsDouble() throws Exception {
+    final SelectCommandColumn c = new SelectCommandColumn((byte) 0, "c", DataType.DOUBLE);
+    final List<SelectCommandAggregate> aggregates = Arrays.asList(
+        new SelectCommandAggregate(Function.SUM, c, "SUM(c)", DataType.DOUBLE),
+        new SelectCommandAggregate(Function.AVG, c, "AVG(c)", DataType.DOUBLE),
+        new SelectCommandAggregate(Function.MIN, c, "MIN(c)", DataType.DOUBLE));
+
+    final ListOperator child = new ListOperator(
+        doubleRow(1.5),
+        doubleRow(null),
+        doubleRow(-0.25));
+    assertEquals(row(1.25, 0.625, -0.25), drainOneRow(new Aggregate(child, aggregates)));
+  }
+
+  @Test
+  public void testMergedAccumulatorsMatchOne() throws Exception {
+    final List<SelectResultDataRow> rows = Arrays.asList(
+        row(5, "e"), row(null, "a"), row(2, null), row(9, "z"), row(-1, "m"));
+
+    final Aggregate.Accumulator whole = new Aggregate.Accumulator(AGGREGATES);
+    for (final SelectResultDataRow row : rows) {
+      whole.accumulate(new MaterializedRow(row));
+    }
+
+    final Aggregate.Accumulator left = new Aggregate.Accumulator(AGGREGATES);
+    final Aggregate.Accumulator right = new Aggregate.Accumulator(AGGREGATES);
+    final Aggregate.Accumulator empty = new Aggregate.Accumulator(AGGREGATES);
+    for (int i = 0; i < rows.size(); i++) {
+      (i < 2 ? left : right).accumulate(new MaterializedRow(rows.get(i)));
+    }
+    left.merge(right);
+    left.merge(empty);
+
+    assertEquals(whole.toRow().getDataRow(), left.toRow().getDataRow());
+    assertThrows(IllegalArgumentException.class,
+        () -> left.merge(new Aggregate.Accumulator(Collections.singletonList(AGGREGATES.get(0)))));
+  }
+
+  /**
+   * @return the single row that {@code aggregate} produces
+   */
+  private static SelectResultDataRow drainOneRow(Aggregate aggregate) throws Exception {
+    final List<SelectResultDataRow> rows = drain(aggregate);
+    assertEquals(1, rows.size());
+    return rows.get(0);
+  }
+
+  private static SelectResultDataRow doubleRow(Double value) {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(1);
+    builder.addDouble(value);
+    return builder.build();
+  }
+
+  private static SelectResultDataRow row(Object... values) {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(values.length);
+    for (final Object value : values) {
+      if (value == null || value instanceof Long) {
+        builder.addBigInt((Long) value);
+      }
+      else if (value instanceof Integer) {
+        builder.addInt((Integer) value);
+      }
+      else if (value instanceof Double) {
+        builder.addDouble((Double) value);
+      }
+      else {
+        builder.addText((String) value);
+      }
+    }
+    return builder.build();
+  }
+
+}
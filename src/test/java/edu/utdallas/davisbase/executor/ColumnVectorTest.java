@@ -0,0 +1,179 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageState;
+import edu.utdallas.davisbase.storage.TableFile;
+import edu.utdallas.davisbase.storage.TableRowBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ColumnVectorTest {
+
+  /**
+   * A batch that spans three words of the null bitmap, the last of which is partial.
+   */
+  private static final int CAPACITY = 130;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    // Rows (i, 'v' + i % 3), except that both are null at the first and last position of each word,
+    // and at the last position of the batch.
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int i = 0; i < 2 * CAPACITY; i++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        if (isNull(i % CAPACITY)) {
+          row.appendNull();
+          row.appendNull();
+        }
+        else {
+          row.appendInt(i);
+          row.appendText("v" + i % 3);
+        }
+        tableFile.appendRow(row);
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testNullBitmapAcrossWords() throws Exception {
+    final ColumnVector ints = new ColumnVector(DataType.INT, CAPACITY);
+    final ColumnVector texts = new ColumnVector(DataType.TEXT, CAPACITY);
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      readBatch(tableFile, ints, texts);
+    }
+
+    for (int position = 0; position < CAPACITY; position++) {
+      assertEquals(isNull(position), ints.isNull(position), "position " + position);
+      assertEquals(isNull(position), texts.isNull(position), "position " + position);
+      if (!isNull(position)) {
+        assertEquals(position, ints.getInt(position));
+        assertEquals(Integer.valueOf(position), ints.readValue(position));
+      }
+      else {
+        assertNull(ints.readValue(position));
+        assertNull(texts.readValue(position));
+      }
+    }
+  }
+
+  @Test
+  public void testClearEmptiesTheBatch() throws Exception {
+    final ColumnVector ints = new ColumnVector(DataType.INT, CAPACITY);
+    final ColumnVector texts = new ColumnVector(DataType.TEXT, CAPACITY);
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      readBatch(tableFile, ints, texts);
+      ints.clear();
+      texts.clear();
+      assertFalse(ints.isNull(0));
+      assertFalse(ints.isNull(CAPACITY - 1));
+
+      // The second batch has the same nulls, and its texts are coded afresh.
+      readBatch(tableFile, ints, texts);
+    }
+    assertEquals(0, texts.getInt(1));
+    for (int position = 0; position < CAPACITY; position++) {
+      assertEquals(isNull(position), ints.isNull(position), "position " + position);
+      if (!isNull(position)) {
+        assertEquals(CAPACITY + position, ints.getInt(position));
+        assertEquals("v" + (CAPACITY + position) % 3, texts.readValue(position));
+      }
+    }
+  }
+
+  @Test
+  public void testDictionaryEncodedText() throws Exception {
+    final ColumnVector ints = new ColumnVector(DataType.INT, CAPACITY);
+    final ColumnVector texts = new ColumnVector(DataType.TEXT, CAPACITY);
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      readBatch(tableFile, ints, texts);
+    }
+
+    // Three distinct texts, each coded once in order of appearance, so that equal texts share a code.
+    final Map<Object, Integer> codes = new HashMap<>();
+    for (int position = 0; position < CAPACITY; position++) {
+      if (!isNull(position)) {
+        assertEquals("v" + position % 3, texts.readValue(position));
+        final Integer code = codes.computeIfAbsent(texts.readValue(position), text -> codes.size());
+        assertEquals(code.intValue(), texts.getInt(position));
+      }
+    }
+    assertEquals(3, codes.size());
+
+    final boolean[] matches = new boolean[CAPACITY];
+    texts.evaluate(CommandWhere.Operator.GREATER_THAN_OR_EQUAL, "v1", CAPACITY, matches);
+    for (int position = 0; position < CAPACITY; position++) {
+      assertEquals(!isNull(position) && position % 3 != 0, matches[position], "position " + position);
+    }
+  }
+
+  @Test
+  public void testEvaluateAtPositions() throws Exception {
+    final ColumnVector ints = new ColumnVector(DataType.INT, CAPACITY);
+    final ColumnVector texts = new ColumnVector(DataType.TEXT, CAPACITY);
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      readBatch(tableFile, ints, texts);
+    }
+
+    // Every other position, including nulls; the other positions are left as they are.
+    final int[] positions = new int[CAPACITY / 2];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = 2 * i + 1;
+    }
+    final boolean[] intMatches = new boolean[CAPACITY];
+    final boolean[] textMatches = new boolean[CAPACITY];
+    ints.evaluate(CommandWhere.Operator.LESS_THAN, 100, positions, positions.length, intMatches);
+    texts.evaluate(CommandWhere.Operator.NOT_EQUAL, "v2", positions, positions.length, textMatches);
+    for (int position = 0; position < CAPACITY; position++) {
+      final boolean isEvaluated = position % 2 == 1 && !isNull(position);
+      assertEquals(isEvaluated && position < 100, intMatches[position], "position " + position);
+      assertEquals(isEvaluated && position % 3 != 2, textMatches[position], "position " + position);
+    }
+
+    ints.evaluate(CommandWhere.Operator.GREATER_THAN_OR_EQUAL, 0, CAPACITY, intMatches);
+    for (int position = 0; position < CAPACITY; position++) {
+      assertEquals(!isNull(position), intMatches[position], "position " + position);
+    }
+  }
+
+  private static void readBatch(TableFile tableFile, ColumnVector ints, ColumnVector texts) throws Exception {
+    for (int position = 0; position < CAPACITY; position++) {
+      assertTrue(tableFile.goToNextRow());
+      ints.read(tableFile, 1, position);
+      texts.read(tableFile, 2, position);
+    }
+  }
+
+  private static boolean isNull(int position) {
+    return position % 64 == 0 || position % 64 == 63 || position == CAPACITY - 1;
+  }
+
+}
@@ -0,0 +1,175 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.CopyFromResult;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CopyFromTest {
+
+  /**
+   * Enough rows for more leaf pages than one interior page can hold children, so that the B+tree of
+   * the table has at least three levels.
+   */
+  private static final int ROW_COUNT = 60000;
+
+  /**
+   * The most children of a table interior page of 512 bytes, each with a cell of 8 bytes and a
+   * 2-byte offset after a 16-byte header.
+   */
+  private static final int INTERIOR_PAGE_MAX_CHILD_COUNT = (512 - 16) / (8 + 2);
+
+  private Path dataDirectory;
+  private Path csvFile;
+  private Storage storage;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor executor;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    csvFile = dataDirectory.resolve("t.csv");
+    try (Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.US_ASCII)) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        writer.write(i + ",row" + (i % 10) + "\n");
+      }
+    }
+
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    final Catalog catalog = new Catalog(storage);
+    executor = new Executor(new ExecutorConfiguration.Builder().build(), storage, catalog);
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testCopyIntoEmptyTable() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    assertEquals(ROW_COUNT, copy());
+
+    assertRows(0, ROW_COUNT, 0);
+    assertAtLeastThreeLevels();
+  }
+
+  @Test
+  public void testCopyIntoNonEmptyTable() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    execute("INSERT INTO t (a, b) VALUES (999999, 'first');");
+    assertEquals(ROW_COUNT, copy());
+
+    assertRows(1, ROW_COUNT, 1);
+    assertAtLeastThreeLevels();
+  }
+
+  @Test
+  public void testCopyTwice() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    assertEquals(ROW_COUNT, copy());
+    assertEquals(ROW_COUNT, copy());
+
+    assertRows(0, ROW_COUNT, 0);
+    assertRows(ROW_COUNT, ROW_COUNT, ROW_COUNT);
+  }
+
+  @Test
+  public void testCopyIntoEmptiedTable() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    execute("INSERT INTO t (a, b) VALUES (999999, 'first');");
+    execute("DELETE FROM t WHERE a = 999999;");
+    assertEquals(ROW_COUNT, copy());
+
+    // The rowid of the deleted row is not reused.
+    assertRows(1, ROW_COUNT, 1);
+  }
+
+  @Test
+  public void testCopyFromMissingFile() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    final String statement = format("COPY t FROM '%s';", dataDirectory.resolve("missing.csv"));
+    assertThrows(ExecuteException.class, () -> execute(statement));
+
+    // The table can still be loaded afterwards.
+    assertEquals(ROW_COUNT, copy());
+    assertRows(0, ROW_COUNT, 0);
+  }
+
+  private int copy() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = execute(format("COPY t FROM '%s';", csvFile));
+    return ((CopyFromResult) result).getRowsCopied();
+  }
+
+  private Result execute(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    return result;
+  }
+
+  /**
+   * Checks that the rows of rowids {@code firstRowId} to {@code firstRowId + rowCount - 1} are the
+   * records of the CSV file in order, both by a scan and by looking rows up by rowid.
+   */
+  private void assertRows(int firstRowId, int rowCount, int firstRowIdOfCopy) throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      int count = 0;
+      while (tableFile.goToNextRow()) {
+        final int rowId = tableFile.getRowId();
+        if (firstRowId <= rowId && rowId < firstRowId + rowCount) {
+          assertEquals(firstRowId + count, rowId);
+          assertEquals(rowId - firstRowIdOfCopy, tableFile.getInt(1));
+          count += 1;
+        }
+      }
+      assertEquals(rowCount, count);
+    }
+
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int rowId : new int[] { firstRowId + rowCount - 1, firstRowId + rowCount / 2, firstRowId }) {
+        assertTrue(tableFile.goToRow(rowId), "row " + rowId);
+        assertEquals(rowId - firstRowIdOfCopy, tableFile.getInt(1));
+      }
+    }
+  }
+
+  private void assertAtLeastThreeLevels() throws IOException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      final int leafPageCount = tableFile.getLeafPageNos().length();
+      assertTrue(leafPageCount > INTERIOR_PAGE_MAX_CHILD_COUNT,
+          leafPageCount + " leaf pages fit under a single interior page");
+    }
+  }
+
+}
@@ -0,0 +1,179 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.CopyToResult;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CopyToTest {
+
+  /**
+   * Records of the columns (a INT, b TEXT, c DOUBLE, d DATE, e BIGINT), each written the way that
+   * COPY TO writes them, i.e. with quotes only where they are needed, so that a copy of the table
+   * reproduces the file exactly.
+   */
+  private static final String RECORDS =
+      "1,plain,0.5,2020-01-02,10\n" +
+      ",\"a,b\",-1.0E10,,-9223372036854775808\n" +
+      "3,\"say \"\"hi\"\"\",NaN,1999-12-31,\n" +
+      "4,\"two\nlines\",-0.0,2000-02-29,9223372036854775807\n" +
+      "5,,Infinity,,0\n" +
+      "-2147483648, padded ,4.9E-324,0001-01-01,-1\n" +
+      "7,tab\there,1.7976931348623157E308,9999-12-31,7\n";
+
+  /**
+   * Enough rows for several leaf pages.
+   */
+  private static final int ROW_COUNT = 2000;
+
+  private Path dataDirectory;
+  private Storage storage;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor executor;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    final Catalog catalog = new Catalog(storage);
+    executor = new Executor(new ExecutorConfiguration.Builder().build(), storage, catalog);
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testCopyTableReproducesFile() throws Exception {
+    createTable("t", RECORDS);
+
+    final Path file = dataDirectory.resolve("t_out.csv");
+    assertEquals(7, copyTo(format("COPY t TO '%s';", file)));
+    // Without rowid, and with every value, null and quote of the loaded file.
+    assertEquals(RECORDS, read(file));
+  }
+
+  @Test
+  public void testCopyWithHeader() throws Exception {
+    createTable("t", RECORDS);
+
+    final Path file = dataDirectory.resolve("t_out.csv");
+    assertEquals(7, copyTo(format("COPY t TO '%s' WITH HEADER;", file)));
+    assertEquals("a,b,c,d,e\n" + RECORDS, read(file));
+
+    // The file is read back by COPY FROM into a table of the same columns.
+    execute("CREATE TABLE u (a INT, b TEXT, c DOUBLE, d DATE, e BIGINT);");
+    execute(format("COPY u FROM '%s' WITH HEADER;", file));
+    final Path copiedFile = dataDirectory.resolve("u_out.csv");
+    copyTo(format("COPY u TO '%s';", copiedFile));
+    assertEquals(RECORDS, read(copiedFile));
+  }
+
+  @Test
+  public void testCopySelect() throws Exception {
+    createTable("t", RECORDS);
+
+    final Path file = dataDirectory.resolve("select.csv");
+    final int rowsCopied = copyTo(format("COPY (SELECT e, b, rowid FROM t WHERE a >= 3) TO '%s' WITH HEADER;", file));
+    assertEquals(4, rowsCopied);
+    assertEquals(
+        "e,b,rowid\n" +
+        ",\"say \"\"hi\"\"\",2\n" +
+        "9223372036854775807,\"two\nlines\",3\n" +
+        "0,,4\n" +
+        "7,tab\there,6\n",
+        read(file));
+  }
+
+  @Test
+  public void testCopyToTsv() throws Exception {
+    createTable("t", RECORDS);
+
+    final Path file = dataDirectory.resolve("t_out.tsv");
+    copyTo(format("COPY (SELECT a, b FROM t WHERE a = 1 OR e < 0 OR a = 7) TO '%s';", file));
+    // Commas need no quotes in a TSV file, whereas tabs do.
+    assertEquals("1\tplain\n\ta,b\n-2147483648\t padded \n7\t\"tab\there\"\n", read(file));
+  }
+
+  @Test
+  public void testCopyManyRows() throws Exception {
+    final StringBuilder records = new StringBuilder();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      records.append(format("%d,row%d,%s,%s,%d\n", i, i % 10, Double.toString(i / 4.0), i % 3 == 0 ? "" : "2020-01-01", -i));
+    }
+    createTable("t", records.toString());
+
+    final Path file = dataDirectory.resolve("t_out.csv");
+    assertEquals(ROW_COUNT, copyTo(format("COPY t TO '%s';", file)));
+    assertEquals(records.toString(), read(file));
+
+    final Path emptyFile = dataDirectory.resolve("empty.csv");
+    assertEquals(0, copyTo(format("COPY (SELECT a FROM t WHERE a < 0) TO '%s' WITH HEADER;", emptyFile)));
+    assertEquals("a\n", read(emptyFile));
+  }
+
+  @Test
+  public void testCopyToUnwritableFile() throws Exception {
+    createTable("t", RECORDS);
+
+    final String statement = format("COPY t TO '%s';", dataDirectory.resolve("missing").resolve("t.csv"));
+    assertThrows(ExecuteException.class, () -> execute(statement));
+  }
+
+  /**
+   * Creates the table {@code tableName} of the columns of {@link #RECORDS} and loads the given
+   * records into it.
+   */
+  private void createTable(String tableName, String records) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Path file = dataDirectory.resolve(tableName + ".csv");
+    Files.write(file, records.getBytes(StandardCharsets.UTF_8));
+    execute(format("CREATE TABLE %s (a INT, b TEXT, c DOUBLE, d DATE, e BIGINT);", tableName));
+    execute(format("COPY %s FROM '%s';", tableName, file));
+  }
+
+  private int copyTo(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = execute(statement);
+    return ((CopyToResult) result).getRowsCopied();
+  }
+
+  private Result execute(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    return result;
+  }
+
+  private static String read(Path file) throws IOException {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,104 @@
+package edu.utdallas.davisbase.executor;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CsvWriterTest {
+
+  @Test
+  public void testPlainFieldsAreNotQuoted() throws IOException {
+    assertEquals("a,1,-2.5, x y \n", write(',', Arrays.asList("a", "1", "-2.5", " x y ")));
+    // Each delimiter only needs quotes when it is the delimiter of the file.
+    assertEquals("a,b\tc;d\n", write(',', Arrays.asList("a", "b\tc;d")));
+    assertEquals("a,b\tc;d\n", write('\t', Arrays.asList("a,b", "c;d")));
+  }
+
+  @Test
+  public void testFieldsThatNeedQuotes() throws IOException {
+    assertEquals("\"a,b\"\n", write(',', Arrays.asList("a,b")));
+    assertEquals("\"a\tb\"\n", write('\t', Arrays.asList("a\tb")));
+    assertEquals("\"say \"\"hi\"\"\"\n", write(',', Arrays.asList("say \"hi\"")));
+    assertEquals("\"\"\"\"\n", write(',', Arrays.asList("\"")));
+    assertEquals("\"line\nbreak\",\"carriage\rreturn\"\n", write(',', Arrays.asList("line\nbreak", "carriage\rreturn")));
+  }
+
+  @Test
+  public void testNullAndEmpty() throws IOException {
+    // A null field is empty and unquoted, whereas an empty string is quoted.
+    assertEquals(",\"\",\n", write(',', Arrays.asList(null, "", null)));
+    assertEquals("\n", write(',', Arrays.asList((String) null)));
+    assertEquals("\"\"\n", write(',', Arrays.asList("")));
+  }
+
+  @Test
+  public void testRecords() throws IOException {
+    final StringWriter output = new StringWriter();
+    try (CsvWriter writer = new CsvWriter(output, ',')) {
+      writer.writeField("a");
+      writer.writeField("b");
+      writer.endRecord();
+      writer.endRecord();
+      writer.writeField("c");
+      writer.endRecord();
+    }
+    assertEquals("a,b\n\nc\n", output.toString());
+  }
+
+  @Test
+  public void testReadBackByCsvReader() throws IOException, ExecuteException {
+    final List<List<@Nullable String>> records = Arrays.asList(
+        Arrays.asList("plain", null, ""),
+        Arrays.asList("a,b", "a\tb", "\"quoted\""),
+        Arrays.asList("multi\nline\r\nfield", " ", "\"\""),
+        Arrays.asList(null, null, "last"));
+
+    for (final char delimiter : new char[] { ',', '\t', ';' }) {
+      final StringWriter output = new StringWriter();
+      try (CsvWriter writer = new CsvWriter(output, delimiter)) {
+        for (final List<@Nullable String> record : records) {
+          for (final @Nullable String field : record) {
+            writer.writeField(field);
+          }
+          writer.endRecord();
+        }
+      }
+
+      final List<List<@Nullable String>> readRecords = new ArrayList<>();
+      try (CsvReader reader = new CsvReader(new StringReader(output.toString()), delimiter)) {
+        @Nullable List<@Nullable String> record;
+        while ((record = reader.readRecord()) != null) {
+          readRecords.add(record);
+        }
+      }
+      assertEquals(records, readRecords, "delimiter " + (int) delimiter);
+    }
+  }
+
+  @Test
+  public void testRejectsInvalidDelimiter() {
+    for (final char delimiter : new char[] { '"', '\r', '\n' }) {
+      assertThrows(IllegalArgumentException.class, () -> new CsvWriter(new StringWriter(), delimiter));
+    }
+  }
+
+  private static String write(char delimiter, List<@Nullable String> fields) throws IOException {
+    final StringWriter output = new StringWriter();
+    try (CsvWriter writer = new CsvWriter(output, delimiter)) {
+      for (final @Nullable String field : fields) {
+        writer.writeField(field);
+      }
+      writer.endRecord();
+    }
+    return output.toString();
+  }
+
+}
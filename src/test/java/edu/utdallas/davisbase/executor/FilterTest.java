@@ -0,0 +1,61 @@
+package edu.utdallas.davisbase.executor;
+
+import static edu.utdallas.davisbase.executor.ListOperator.row;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class FilterTest {
+
+  private static final CommandWhereColumn A = new CommandWhereColumn((byte) 0, "a", DataType.INT, true, false);
+  private static final CommandWhereColumn B = new CommandWhereColumn((byte) 1, "b", DataType.TEXT, true, false);
+
+  @Test
+  public void testProducesOnlyMatchingRowsUnchanged() throws Exception {
+    final ListOperator child = new ListOperator(
+        row(1, "x"), row(5, "y"), row(null, "z"), row(7, null), row(2, "w"));
+    final Filter filter = new Filter(child, new CommandWhere(A, CommandWhere.Operator.GREATER_THAN_OR_EQUAL, 2));
+
+    filter.open();
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    @Nullable Row row;
+    while ((row = filter.next()) != null) {
+      // The very rows of the child, rather than copies.
+      assertTrue(row instanceof MaterializedRow);
+      rows.add(((MaterializedRow) row).getDataRow());
+    }
+    filter.close();
+
+    assertEquals(Arrays.asList(row(5, "y"), row(7, null), row(2, "w")), rows);
+    assertEquals(6, child.nextCount);
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testTextComparison() throws Exception {
+    final ListOperator child = new ListOperator(row(1, "apple"), row(2, "banana"), row(3, null));
+    final Filter filter = new Filter(child, new CommandWhere(B, CommandWhere.Operator.NOT_EQUAL, "apple"));
+
+    assertEquals(Arrays.asList(row(2, "banana")), ListOperator.drain(filter));
+  }
+
+  @Test
+  public void testNoMatchingRows() throws Exception {
+    final ListOperator child = new ListOperator(row(1, "x"), row(2, "y"));
+    final Filter filter = new Filter(child, new CommandWhere(A, CommandWhere.Operator.LESS_THAN, 0));
+
+    assertTrue(ListOperator.drain(filter).isEmpty());
+    assertEquals(3, child.nextCount);
+  }
+
+}
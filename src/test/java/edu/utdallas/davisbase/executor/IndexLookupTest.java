@@ -0,0 +1,238 @@
+package edu.utdallas.davisbase.executor;
+
+import static edu.utdallas.davisbase.executor.ListOperator.row;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.primitives.ImmutableIntArray;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.result.SelectResult;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.storage.IndexFile;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IndexLookupTest {
+
+  /**
+   * Rows {@code (i % 50, 'row' + i % 3)} for each i, so that each value of a is the key of many
+   * entries of the index.
+   */
+  private static final int ROW_COUNT = 2000;
+
+  private static final CommandWhereColumn A = new CommandWhereColumn((byte) 1, "a", DataType.INT, true, true);
+  private static final CommandWhereColumn B = new CommandWhereColumn((byte) 2, "b", DataType.TEXT, true, false);
+
+  private Path dataDirectory;
+  private Storage storage;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor executor;
+
+  @BeforeEach
+  public void setUp() throws IOException, ParseException, CompileException, ExecuteException, StorageException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final Path csvFile = dataDirectory.resolve("t.csv");
+    try (Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.US_ASCII)) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        writer.write(format("%d,row%d\n", i % 50, i % 3));
+      }
+    }
+
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    final Catalog catalog = new Catalog(storage);
+    executor = new Executor(new ExecutorConfiguration.Builder().build(), storage, catalog);
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    execute(format("COPY t FROM '%s';", csvFile));
+    execute("CREATE INDEX t_a ON t (a);");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testEqualityFindsEveryDuplicateKey() throws Exception {
+    final IndexLookup lookup = lookUp(new CommandWhere(A, CommandWhere.Operator.EQUAL, 7));
+    assertEquals(rowIdsWhere(i -> i % 50 == 7), findRowIds(lookup));
+
+    assertEquals(rowsWhere(i -> i % 50 == 7), selectRows("SELECT a, b FROM t WHERE a = 7;"));
+    assertEquals(rowsWhere(i -> false), selectRows("SELECT a, b FROM t WHERE a = 50;"));
+  }
+
+  @Test
+  public void testRangeIsNarrowedByEveryComparison() throws Exception {
+    final IndexLookup lookup = lookUp(and(
+        new CommandWhere(A, CommandWhere.Operator.GREATER_THAN, 5),
+        new CommandWhere(A, CommandWhere.Operator.GREATER_THAN_OR_EQUAL, 5),
+        new CommandWhere(A, CommandWhere.Operator.LESS_THAN_OR_EQUAL, 9),
+        new CommandWhere(A, CommandWhere.Operator.LESS_THAN, 8)));
+    assertEquals(rowIdsWhere(i -> i % 50 == 6 || i % 50 == 7), findRowIds(lookup));
+
+    // NOT_EQUAL is left to the filter.
+    final IndexLookup notEqualLookup = lookUp(and(
+        new CommandWhere(A, CommandWhere.Operator.NOT_EQUAL, 6),
+        new CommandWhere(A, CommandWhere.Operator.LESS_THAN, 8),
+        new CommandWhere(A, CommandWhere.Operator.GREATER_THAN, 5)));
+    assertEquals(rowIdsWhere(i -> i % 50 == 6 || i % 50 == 7), findRowIds(notEqualLookup));
+
+    assertEquals(rowsWhere(i -> i % 50 == 7), selectRows("SELECT a, b FROM t WHERE a <> 6 AND a < 8 AND a > 5;"));
+  }
+
+  @Test
+  public void testAndWhoseOtherOperandRejectsRows() throws Exception {
+    // The lookup finds every row of the key, which the other operand then filters.
+    final IndexLookup lookup = lookUp(and(
+        new CommandWhere(B, CommandWhere.Operator.EQUAL, "row1"),
+        new CommandWhere(A, CommandWhere.Operator.EQUAL, 7)));
+    assertEquals(A, lookup.getColumn());
+    assertEquals(rowIdsWhere(i -> i % 50 == 7), findRowIds(lookup));
+
+    assertEquals(rowsWhere(i -> i % 50 == 7 && i % 3 == 1), selectRows("SELECT a, b FROM t WHERE b = 'row1' AND a = 7;"));
+    assertEquals(rowsWhere(i -> i % 50 > 45 && i % 3 != 2), selectRows("SELECT a, b FROM t WHERE a > 45 AND b <> 'row2';"));
+    assertEquals(rowsWhere(i -> false), selectRows("SELECT a, b FROM t WHERE a = 7 AND b = 'none';"));
+  }
+
+  @Test
+  public void testNoLookupWithoutAnIndexedComparison() {
+    assertNull(IndexLookup.of(new CommandWhere(B, CommandWhere.Operator.EQUAL, "row1")));
+    assertNull(IndexLookup.of(new CommandWhere(A, CommandWhere.Operator.NOT_EQUAL, 7)));
+    assertNull(IndexLookup.of(new CommandWhere(CommandWhere.LogicalOperator.OR, Arrays.asList(
+        new CommandWhere(A, CommandWhere.Operator.EQUAL, 7),
+        new CommandWhere(A, CommandWhere.Operator.EQUAL, 8)))));
+  }
+
+  @Test
+  public void testComparisonWithNullIsEmpty() throws Exception {
+    final IndexLookup lookup = lookUp(new CommandWhere(A, CommandWhere.Operator.EQUAL, null));
+    assertTrue(lookup.isEmpty());
+    assertEquals(ImmutableIntArray.of(), findRowIds(lookup));
+
+    final IndexLookup andLookup = lookUp(and(
+        new CommandWhere(A, CommandWhere.Operator.GREATER_THAN, 3),
+        new CommandWhere(A, CommandWhere.Operator.LESS_THAN, null)));
+    assertTrue(andLookup.isEmpty());
+    assertEquals(ImmutableIntArray.of(), findRowIds(andLookup));
+
+    assertFalse(lookUp(new CommandWhere(A, CommandWhere.Operator.GREATER_THAN, 3)).isEmpty());
+  }
+
+  @Test
+  public void testSkipsRowsDeletedAfterTheLookup() throws Exception {
+    final ImmutableIntArray rowIds = findRowIds(lookUp(new CommandWhere(A, CommandWhere.Operator.EQUAL, 7)));
+    execute("DELETE FROM t WHERE b = 'row1';");
+
+    final List<Integer> producedRowIds = new ArrayList<>();
+    try (IndexScan scan = new IndexScan(storage, "t", null, rowIds)) {
+      scan.open();
+      @Nullable Row row;
+      while ((row = scan.next()) != null) {
+        producedRowIds.add(scan.getTableFile().getRowId());
+        assertEquals(7, row.getInt(1));
+        assertEquals("row" + producedRowIds.get(producedRowIds.size() - 1) % 3, row.readValue(2, DataType.TEXT));
+      }
+      assertNull(scan.next());
+    }
+    assertEquals(rowIdsWhere(i -> i % 50 == 7 && i % 3 != 1).asList(), producedRowIds);
+  }
+
+  @Test
+  public void testRejectsUnorderedRowIds() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new IndexScan(storage, "t", null, ImmutableIntArray.of(3, 2)));
+    assertThrows(IllegalArgumentException.class,
+        () -> new IndexScan(storage, "t", null, ImmutableIntArray.of(2, 2)));
+  }
+
+  private static IndexLookup lookUp(CommandWhere where) {
+    final @Nullable IndexLookup lookup = IndexLookup.of(where);
+    assertNotNull(lookup);
+    return lookup;
+  }
+
+  private static CommandWhere and(CommandWhere... operands) {
+    return new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(operands));
+  }
+
+  private ImmutableIntArray findRowIds(IndexLookup lookup) throws IOException {
+    try (IndexFile index = storage.openIndexFile("t_a")) {
+      return lookup.findRowIds(index);
+    }
+  }
+
+  /**
+   * @return the rowIds of the rows of the table whose i satisfies {@code predicate}, where the rowId of
+   *         each row is its i
+   */
+  private static ImmutableIntArray rowIdsWhere(IntPredicate predicate) {
+    final ImmutableIntArray.Builder rowIds = ImmutableIntArray.builder();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (predicate.test(i)) {
+        rowIds.add(i);
+      }
+    }
+    return rowIds.build();
+  }
+
+  private static List<SelectResultDataRow> rowsWhere(IntPredicate predicate) {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (predicate.test(i)) {
+        rows.add(row(i % 50, "row" + i % 3));
+      }
+    }
+    return rows;
+  }
+
+  private List<SelectResultDataRow> selectRows(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    try (SelectResult result = (SelectResult) executor.execute(compiler.compile(parser.parse(statement)))) {
+      result.getData().forEach(rows::add);
+    }
+    return rows;
+  }
+
+  private Result execute(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,182 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.storage.IndexFile;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IndexMaintenanceTest {
+
+  private static final int ROW_COUNT = 3000;
+
+  private Path dataDirectory;
+  private Path csvFile;
+  private Storage storage;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor executor;
+
+  @BeforeEach
+  public void setUp() throws IOException, ParseException, CompileException, ExecuteException, StorageException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    csvFile = dataDirectory.resolve("t.csv");
+    try (Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.US_ASCII)) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        writer.write(i + ",row" + (i % 10) + "\n");
+      }
+    }
+
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    final Catalog catalog = new Catalog(storage);
+    executor = new Executor(new ExecutorConfiguration.Builder().build(), storage, catalog);
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+
+    execute("CREATE TABLE t (a INT, b TEXT);");
+    execute(format("COPY t FROM '%s';", csvFile));
+    execute("CREATE INDEX t_a ON t (a);");
+    execute("CREATE INDEX t_b ON t (b);");
+    assertIndexesMatchTable();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testInsert() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    for (int i = 0; i < ROW_COUNT; i += 50) {
+      final StringBuilder statement = new StringBuilder("INSERT INTO t (a, b) VALUES ");
+      for (int j = i; j < i + 50; j++) {
+        statement.append(format("%s(%d, 'new%d')", (j > i) ? ", " : "", j % 700, j % 7));
+      }
+      execute(statement.append(";").toString());
+    }
+    assertIndexesMatchTable();
+  }
+
+  @Test
+  public void testUpdate() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("UPDATE t SET a = 7 WHERE a < 1000;");
+    execute("UPDATE t SET b = 'updated' WHERE b = 'row3';");
+    execute("UPDATE t SET b = 'row3' WHERE a > 2500;");
+    assertIndexesMatchTable();
+  }
+
+  @Test
+  public void testDelete() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute("DELETE FROM t WHERE a < 1500;");
+    execute("DELETE FROM t WHERE b = 'row3';");
+    execute("DELETE FROM t WHERE a > 2000 AND a < 2600;");
+    assertIndexesMatchTable();
+
+    execute("DELETE FROM t WHERE a >= 0;");
+    assertIndexesMatchTable();
+  }
+
+  @Test
+  public void testCopy() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    execute(format("COPY t FROM '%s';", csvFile));
+    execute("DELETE FROM t WHERE a < 2000;");
+    execute(format("COPY t FROM '%s';", csvFile));
+    assertIndexesMatchTable();
+  }
+
+  @Test
+  public void testCostsGrowWithEveryWrite() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final List<String> statements = Arrays.asList(
+        "INSERT INTO t (a, b) VALUES (5000, 'new');",
+        "UPDATE t SET a = 5001 WHERE a = 5000;",
+        "DELETE FROM t WHERE a = 5001;",
+        format("COPY t FROM '%s';", csvFile));
+
+    long insertedEntryCount = 0;
+    long deletedEntryCount = 0;
+    for (int i = 0; i < statements.size(); i++) {
+      execute(statements.get(i));
+
+      final @Nullable IndexMaintenanceCost cost = executor.getIndexMaintenanceCosts().get("t_a");
+      assertNotNull(cost, statements.get(i));
+      assertEquals(i + 1, cost.getBatchCount(), statements.get(i));
+      assertTrue(cost.getInsertedEntryCount() + cost.getDeletedEntryCount() > insertedEntryCount + deletedEntryCount,
+          statements.get(i));
+      assertTrue(cost.getPageReadCount() > 0, statements.get(i));
+      assertTrue(cost.getPageWriteCount() > 0, statements.get(i));
+      insertedEntryCount = cost.getInsertedEntryCount();
+      deletedEntryCount = cost.getDeletedEntryCount();
+    }
+    assertEquals(1 + 1 + ROW_COUNT, insertedEntryCount);
+    assertEquals(1 + 1, deletedEntryCount);
+  }
+
+  private Result execute(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    return result;
+  }
+
+  /**
+   * Checks that the entries of both indexes are exactly the (value, rowid) pairs of a full scan of
+   * the table.
+   */
+  private void assertIndexesMatchTable() throws IOException, StorageException {
+    final Multiset<String> aEntries = HashMultiset.create();
+    final Multiset<String> bEntries = HashMultiset.create();
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      while (tableFile.goToNextRow()) {
+        aEntries.add(tableFile.readInt(1) + "@" + tableFile.getRowId());
+        bEntries.add(tableFile.readText(2) + "@" + tableFile.getRowId());
+      }
+    }
+
+    assertEquals(aEntries, readIndexEntries("t_a", DataType.INT));
+    assertEquals(bEntries, readIndexEntries("t_b", DataType.TEXT));
+  }
+
+  private Multiset<String> readIndexEntries(String indexName, DataType dataType) throws IOException {
+    final Multiset<String> entries = HashMultiset.create();
+    try (IndexFile indexFile = storage.openIndexFile(indexName)) {
+      final IndexFile.Cursor<?> cursor = indexFile.openCursor(dataType, null, false, null, false);
+      while (cursor.goToNextEntry()) {
+        entries.add(cursor.getKey() + "@" + cursor.getRowId());
+      }
+    }
+    return entries;
+  }
+
+}
@@ -0,0 +1,65 @@
+package edu.utdallas.davisbase.executor;
+
+import static edu.utdallas.davisbase.executor.ListOperator.drain;
+import static edu.utdallas.davisbase.executor.ListOperator.row;
+
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class LimitTest {
+
+  @Test
+  public void testStopsPullingAtTheLimit() throws Exception {
+    final ListOperator child = new ListOperator(newRows(10));
+    assertEquals(newRows(3), drain(new Limit(child, 3)));
+
+    // The child is not pulled from again once the limit is reached, and is closed early.
+    assertEquals(3, child.nextCount);
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testZeroLimitPullsNothing() throws Exception {
+    final ListOperator child = new ListOperator(newRows(10));
+    assertEquals(Collections.emptyList(), drain(new Limit(child, 0)));
+    assertEquals(0, child.nextCount);
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testLimitBeyondTheChild() throws Exception {
+    final ListOperator child = new ListOperator(newRows(4));
+    assertEquals(newRows(4), drain(new Limit(child, 100)));
+    assertEquals(5, child.nextCount);
+  }
+
+  @Test
+  public void testReopenStartsOver() throws Exception {
+    final ListOperator child = new ListOperator(newRows(10));
+    final Limit limit = new Limit(child, 2);
+    assertEquals(newRows(2), drain(limit));
+    assertEquals(newRows(2), drain(limit));
+    assertEquals(2, child.openCount);
+    assertEquals(2, child.closeCount);
+  }
+
+  @Test
+  public void testRejectsNegativeLimit() {
+    assertThrows(IllegalArgumentException.class, () -> new Limit(new ListOperator(), -1));
+  }
+
+  private static List<SelectResultDataRow> newRows(int count) {
+    final List<SelectResultDataRow> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(row(i, "row" + i));
+    }
+    return rows;
+  }
+
+}
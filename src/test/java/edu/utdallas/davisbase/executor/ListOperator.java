@@ -0,0 +1,84 @@
+package edu.utdallas.davisbase.executor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Operator} that produces the given rows as {@link MaterializedRow}s, and counts how often
+ * it is opened, pulled from, and closed, for testing the operators above it.
+ */
+class ListOperator implements Operator {
+
+  private final List<SelectResultDataRow> rows;
+  private int rowIndex = 0;
+  private boolean isOpen = false;
+
+  int openCount = 0;
+  int nextCount = 0;
+  int closeCount = 0;
+
+  ListOperator(List<SelectResultDataRow> rows) {
+    this.rows = new ArrayList<>(rows);
+  }
+
+  ListOperator(SelectResultDataRow... rows) {
+    this(Arrays.asList(rows));
+  }
+
+  @Override
+  public void open() {
+    openCount += 1;
+    rowIndex = 0;
+    isOpen = true;
+  }
+
+  @Override
+  public @Nullable Row next() {
+    checkState(isOpen, "This ListOperator is not open.");
+    nextCount += 1;
+    return rowIndex < rows.size() ? new MaterializedRow(rows.get(rowIndex++)) : null;
+  }
+
+  @Override
+  public void close() {
+    if (isOpen) {
+      closeCount += 1;
+      isOpen = false;
+    }
+  }
+
+  /**
+   * @return a row of the given INT and TEXT values
+   */
+  static SelectResultDataRow row(@Nullable Integer a, @Nullable String b) {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(2);
+    builder.addInt(a);
+    builder.addText(b);
+    return builder.build();
+  }
+
+  /**
+   * @return the data rows of every row that {@code operator} produces, which must be
+   *         {@link MaterializedRow}s, from opening it until it is exhausted, after which it is closed
+   */
+  static List<SelectResultDataRow> drain(Operator operator) throws Exception {
+    final List<SelectResultDataRow> dataRows = new ArrayList<>();
+    try {
+      operator.open();
+      @Nullable Row row;
+      while ((row = operator.next()) != null) {
+        dataRows.add(((MaterializedRow) row).getDataRow());
+      }
+    }
+    finally {
+      operator.close();
+    }
+    return dataRows;
+  }
+
+}
@@ -0,0 +1,258 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.result.SelectResult;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class LogicalWhereTest {
+
+  /**
+   * Rows {@code (a, b, c)} for each i, where a is {@code i % 10} and b is {@code 'row' + i % 4},
+   * except that a is null for every 7th row and b for every 5th, and c is i.
+   */
+  private static final int ROW_COUNT = 300;
+
+  private Path dataDirectory;
+  private Storage storage;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor executor;
+
+  @BeforeEach
+  public void setUp() throws IOException, ParseException, CompileException, ExecuteException, StorageException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final Path csvFile = dataDirectory.resolve("t.csv");
+    try (Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.US_ASCII)) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        final @Nullable Integer a = a(i);
+        final @Nullable String b = b(i);
+        writer.write(format("%s,%s,%d\n", a == null ? "" : a, b == null ? "" : b, i));
+      }
+    }
+
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    final Catalog catalog = new Catalog(storage);
+    executor = new Executor(new ExecutorConfiguration.Builder().build(), storage, catalog);
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+
+    execute("CREATE TABLE t (a INT, b TEXT, c INT);");
+    execute(format("COPY t FROM '%s';", csvFile));
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testNegatedComparisonExcludesNulls() throws Exception {
+    // NOT of an unknown comparison is unknown, so no row whose a is null is selected either way.
+    assertSelects("NOT a = 3", i -> a(i) != null && a(i) != 3);
+    assertSelects("NOT (a = 3)", i -> a(i) != null && a(i) != 3);
+    assertSelects("NOT a > 6", i -> a(i) != null && a(i) <= 6);
+    assertSelects("NOT b <> 'row1'", i -> "row1".equals(b(i)));
+    assertSelects("NOT (NOT a = 3)", i -> a(i) != null && a(i) == 3);
+    assertSelects("NOT a = 3 OR a = 3", i -> a(i) != null);
+  }
+
+  @Test
+  public void testNegatedAndOr() throws Exception {
+    // De Morgan: NOT (x OR y) is (NOT x) AND (NOT y), and NOT (x AND y) is (NOT x) OR (NOT y).
+    assertSelects("NOT (a = 3 OR b = 'row1')",
+        i -> a(i) != null && a(i) != 3 && b(i) != null && !b(i).equals("row1"));
+    assertSelects("NOT (a < 3 AND b <> 'row2')",
+        i -> (a(i) != null && a(i) >= 3) || "row2".equals(b(i)));
+    assertSelects("NOT (NOT (a > 5) OR c < 50)",
+        i -> a(i) != null && a(i) > 5 && i >= 50);
+    assertSelects("NOT (a = 1 OR (b = 'row2' AND NOT c >= 100))",
+        i -> a(i) != null && a(i) != 1 && (b(i) != null && !b(i).equals("row2") || i >= 100));
+  }
+
+  @Test
+  public void testNestedAndOr() throws Exception {
+    assertSelects("a = 1 OR (b = 'row2' AND NOT c >= 100)",
+        i -> a(i) != null && a(i) == 1 || "row2".equals(b(i)) && i < 100);
+    assertSelects("(a = 1 OR a = 2) AND (b = 'row1' OR b = 'row3') AND c < 200",
+        i -> a(i) != null && (a(i) == 1 || a(i) == 2) && ("row1".equals(b(i)) || "row3".equals(b(i))) && i < 200);
+    assertSelects("a = 1 AND b = 'row0' OR a = 2 AND b = 'row3' OR c = 299",
+        i -> a(i) != null && (a(i) == 1 && "row0".equals(b(i)) || a(i) == 2 && "row3".equals(b(i))) || i == 299);
+    assertSelects("a = 1 AND a = 2", i -> false);
+  }
+
+  @Test
+  public void testRandomExpressionTrees() throws Exception {
+    final Random random = new Random(17);
+    for (int n = 0; n < 60; n++) {
+      final Expression expression = newExpression(random, 3);
+      assertSelects(expression.sql, i -> Boolean.TRUE.equals(expression.evaluate(i)));
+    }
+  }
+
+  /**
+   * A {@code WHERE} clause, along with its outcome under SQL's three-valued logic, where an unknown
+   * outcome is null.
+   */
+  private static abstract class Expression {
+
+    final String sql;
+
+    Expression(String sql) {
+      this.sql = sql;
+    }
+
+    abstract @Nullable Boolean evaluate(int i);
+
+  }
+
+  private static Expression newExpression(Random random, int depth) {
+    final int kind = (depth == 0) ? 0 : random.nextInt(4);
+    switch (kind) {
+      case 1: {
+        final Expression operand = newExpression(random, depth - 1);
+        return new Expression("NOT (" + operand.sql + ")") {
+          @Override
+          @Nullable Boolean evaluate(int i) {
+            final @Nullable Boolean value = operand.evaluate(i);
+            return value == null ? null : !value;
+          }
+        };
+      }
+
+      case 2:
+      case 3: {
+        final boolean isAnd = kind == 2;
+        final Expression left = newExpression(random, depth - 1);
+        final Expression right = newExpression(random, depth - 1);
+        return new Expression("(" + left.sql + (isAnd ? " AND " : " OR ") + right.sql + ")") {
+          @Override
+          @Nullable Boolean evaluate(int i) {
+            final @Nullable Boolean leftValue = left.evaluate(i);
+            final @Nullable Boolean rightValue = right.evaluate(i);
+            // The value that decides an AND is false, and the value that decides an OR is true.
+            if (Boolean.valueOf(!isAnd).equals(leftValue) || Boolean.valueOf(!isAnd).equals(rightValue)) {
+              return !isAnd;
+            }
+            return (leftValue == null || rightValue == null) ? null : isAnd;
+          }
+        };
+      }
+
+      default: {
+        final String[] operators = { "=", "<>", ">", ">=", "<", "<=" };
+        final String operator = operators[random.nextInt(operators.length)];
+        final int column = random.nextInt(3);
+        final int literal = random.nextInt(column == 0 ? 10 : column == 1 ? 4 : ROW_COUNT);
+        final String sql = (column == 0) ? "a " + operator + " " + literal :
+            (column == 1) ? "b " + operator + " 'row" + literal + "'" :
+            "c " + operator + " " + literal;
+        return new Expression(sql) {
+          @Override
+          @Nullable Boolean evaluate(int i) {
+            final int comparison;
+            if (column == 0) {
+              if (a(i) == null) {
+                return null;
+              }
+              comparison = Integer.compare(a(i), literal);
+            }
+            else if (column == 1) {
+              if (b(i) == null) {
+                return null;
+              }
+              comparison = b(i).compareTo("row" + literal);
+            }
+            else {
+              comparison = Integer.compare(i, literal);
+            }
+            switch (operator) {
+              case "=":  return comparison == 0;
+              case "<>": return comparison != 0;
+              case ">":  return comparison > 0;
+              case ">=": return comparison >= 0;
+              case "<":  return comparison < 0;
+              default:   return comparison <= 0;
+            }
+          }
+        };
+      }
+    }
+  }
+
+  private interface RowCondition {
+
+    boolean test(int i);
+
+  }
+
+  /**
+   * Checks that {@code SELECT a, b, c FROM t WHERE <where>} selects exactly the rows whose i
+   * satisfies {@code condition}, in order.
+   */
+  private void assertSelects(String where, RowCondition condition) throws Exception {
+    final List<SelectResultDataRow> expectedRows = new ArrayList<>();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (condition.test(i)) {
+        final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(3);
+        builder.addInt(a(i));
+        builder.addText(b(i));
+        builder.addInt(i);
+        expectedRows.add(builder.build());
+      }
+    }
+
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    try (SelectResult result = (SelectResult) executor.execute(compiler.compile(parser.parse("SELECT a, b, c FROM t WHERE " + where + ";")))) {
+      result.getData().forEach(rows::add);
+    }
+    assertEquals(expectedRows, rows, where);
+  }
+
+  private static @Nullable Integer a(int i) {
+    return (i % 7 == 0) ? null : i % 10;
+  }
+
+  private static @Nullable String b(int i) {
+    return (i % 5 == 0) ? null : "row" + i % 4;
+  }
+
+  private Result execute(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,234 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.primitives.ImmutableIntArray;
+import edu.utdallas.davisbase.catalog.Catalog;
+import edu.utdallas.davisbase.compiler.CompileException;
+import edu.utdallas.davisbase.compiler.Compiler;
+import edu.utdallas.davisbase.parser.ParseException;
+import edu.utdallas.davisbase.parser.Parser;
+import edu.utdallas.davisbase.result.Result;
+import edu.utdallas.davisbase.result.SelectResult;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageException;
+import edu.utdallas.davisbase.storage.StorageState;
+import edu.utdallas.davisbase.storage.TableFile;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ParallelScanTest {
+
+  private static final int ROW_COUNT = 20000;
+
+  /**
+   * Few enough leaf pages per split that the table has dozens of splits.
+   */
+  private static final int SPLIT_LEAF_PAGE_COUNT = 4;
+
+  private Path dataDirectory;
+  private Storage storage;
+  private Parser parser;
+  private Compiler compiler;
+  private Executor serialExecutor;
+  private Executor parallelExecutor;
+
+  @BeforeEach
+  public void setUp() throws IOException, ParseException, CompileException, ExecuteException, StorageException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final Path csvFile = dataDirectory.resolve("t.csv");
+    try (Writer writer = Files.newBufferedWriter(csvFile, StandardCharsets.US_ASCII)) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        // Every 7th row has a null c.
+        writer.write(format("%d,row%d,%s\n", i, i % 10, (i % 7 == 0) ? "" : Double.toString((i % 1000) * 0.5)));
+      }
+    }
+
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    final Catalog catalog = new Catalog(storage);
+
+    final ExecutorConfiguration.Builder serialConfigurationBuilder = new ExecutorConfiguration.Builder();
+    serialConfigurationBuilder.setScanParallelism(1);
+    serialExecutor = new Executor(serialConfigurationBuilder.build(), storage, catalog);
+
+    final ExecutorConfiguration.Builder parallelConfigurationBuilder = new ExecutorConfiguration.Builder();
+    parallelConfigurationBuilder.setScanParallelism(4);
+    parallelConfigurationBuilder.setScanSplitLeafPageCount(SPLIT_LEAF_PAGE_COUNT);
+    parallelExecutor = new Executor(parallelConfigurationBuilder.build(), storage, catalog);
+
+    compiler = new Compiler(storage, catalog);
+    parser = new Parser();
+
+    execute(serialExecutor, "CREATE TABLE t (a INT, b TEXT, c DOUBLE);");
+    execute(serialExecutor, format("COPY t FROM '%s';", csvFile));
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testDefaultIsSerial() {
+    assertEquals(1, new ExecutorConfiguration.Builder().build().getScanParallelism());
+  }
+
+  @Test
+  public void testTableHasManySplits() throws IOException {
+    final List<ImmutableIntArray> splits = ParallelScan.getSplits(storage, "t", SPLIT_LEAF_PAGE_COUNT);
+    assertTrue(splits.size() > 10, splits.size() + " splits");
+
+    final List<Integer> leafPageNos = new ArrayList<>();
+    for (final ImmutableIntArray split : splits) {
+      assertTrue(0 < split.length() && split.length() <= SPLIT_LEAF_PAGE_COUNT);
+      leafPageNos.addAll(split.asList());
+    }
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      assertEquals(tableFile.getLeafPageNos().asList(), leafPageNos);
+    }
+  }
+
+  @Test
+  public void testFilteredSelect() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    assertSameResults("SELECT * FROM t;");
+    assertSameResults("SELECT a, c FROM t WHERE c < 100.0;");
+    assertSameResults("SELECT b, a FROM t WHERE a > 5000 AND NOT b = 'row3';");
+    assertSameResults("SELECT a FROM t WHERE a < 0;");
+  }
+
+  @Test
+  public void testAggregateSelect() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    assertSameResults("SELECT COUNT(*), COUNT(c), MIN(a), MAX(b), SUM(a), AVG(c) FROM t;");
+    assertSameResults("SELECT COUNT(*), MAX(c) FROM t WHERE b = 'row7';");
+    assertSameResults("SELECT COUNT(*), MIN(c) FROM t WHERE a < 0;");
+  }
+
+  @Test
+  public void testLimitSelect() throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    assertSameResults("SELECT a, b FROM t LIMIT 5;");
+    assertSameResults("SELECT a FROM t WHERE b = 'row3' LIMIT 1500;");
+    assertSameResults("SELECT a, c FROM t WHERE c > 10.0 ORDER BY c DESC LIMIT 30;");
+
+    // A write right after a LIMIT, which stops the scan early.
+    execute(parallelExecutor, "SELECT a FROM t LIMIT 1;");
+    execute(parallelExecutor, "DELETE FROM t WHERE a < 10000;");
+    assertSameResults("SELECT COUNT(*), MIN(a) FROM t;");
+  }
+
+  @Test
+  public void testCloseWaitsForRunningSplits() throws ExecuteException, StorageException, IOException {
+    final AtomicInteger openCount = new AtomicInteger();
+    final AtomicInteger closeCount = new AtomicInteger();
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final ParallelScan scan = new ParallelScan(storage, "t",
+          leafPageNos -> new SlowOperator(openCount, closeCount),
+          pool,
+          SPLIT_LEAF_PAGE_COUNT);
+      scan.open();
+      assertNotNull(scan.next());
+      scan.close();
+
+      assertTrue(openCount.get() > 0);
+      assertEquals(openCount.get(), closeCount.get());
+      Thread.sleep(50);
+      assertEquals(openCount.get(), closeCount.get(), "a split opened its plan after the scan was closed");
+    }
+    catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Checks that a statement produces the same rows, in the same order, with a serial and a parallel
+   * scan.
+   */
+  private void assertSameResults(String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    assertEquals(selectRows(serialExecutor, statement), selectRows(parallelExecutor, statement), statement);
+  }
+
+  private List<SelectResultDataRow> selectRows(Executor executor, String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    try (SelectResult result = (SelectResult) executor.execute(compiler.compile(parser.parse(statement)))) {
+      result.getData().forEach(rows::add);
+    }
+    return rows;
+  }
+
+  private Result execute(Executor executor, String statement) throws ParseException, CompileException, ExecuteException, StorageException, IOException {
+    final Result result = executor.execute(compiler.compile(parser.parse(statement)));
+    if (result instanceof Closeable) {
+      ((Closeable) result).close();
+    }
+    return result;
+  }
+
+  /**
+   * A split plan of many rows, each of which takes a millisecond, that counts how often it is opened
+   * and closed.
+   */
+  private static class SlowOperator implements Operator {
+
+    private final AtomicInteger openCount;
+    private final AtomicInteger closeCount;
+    private int rowCount = 0;
+
+    SlowOperator(AtomicInteger openCount, AtomicInteger closeCount) {
+      this.openCount = openCount;
+      this.closeCount = closeCount;
+    }
+
+    @Override
+    public void open() {
+      openCount.incrementAndGet();
+    }
+
+    @Override
+    public @Nullable Row next() {
+      if (rowCount == 100) {
+        return null;
+      }
+      rowCount += 1;
+      try {
+        Thread.sleep(1);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(1);
+      builder.addInt(rowCount);
+      return new MaterializedRow(builder.build());
+    }
+
+    @Override
+    public void close() {
+      closeCount.incrementAndGet();
+    }
+
+  }
+
+}
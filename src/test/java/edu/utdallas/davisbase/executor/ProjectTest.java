@@ -0,0 +1,81 @@
+package edu.utdallas.davisbase.executor;
+
+import static edu.utdallas.davisbase.executor.ListOperator.drain;
+import static edu.utdallas.davisbase.executor.ListOperator.row;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ProjectTest {
+
+  private static final SelectCommandColumn A = new SelectCommandColumn((byte) 0, "a", DataType.INT);
+  private static final SelectCommandColumn B = new SelectCommandColumn((byte) 1, "b", DataType.TEXT);
+
+  @Test
+  public void testProducesTheColumnsInOrder() throws Exception {
+    final ListOperator child = new ListOperator(row(1, "x"), row(null, "y"), row(3, null));
+    final Project project = new Project(child, Arrays.asList(B, A, B));
+
+    assertEquals(Arrays.asList(
+        textIntTextRow("x", 1, "x"),
+        textIntTextRow("y", null, "y"),
+        textIntTextRow(null, 3, null)),
+        drain(project));
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testNoColumns() throws Exception {
+    final Project project = new Project(new ListOperator(row(1, "x")), Collections.emptyList());
+    assertEquals(Collections.singletonList(new SelectResultDataRow.Builder(0).build()), drain(project));
+  }
+
+  @Test
+  public void testProducesEveryDataType() throws Exception {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(11);
+    builder.addTinyInt((byte) -1);
+    builder.addSmallInt((short) 300);
+    builder.addInt(70000);
+    builder.addBigInt(1L << 40);
+    builder.addFloat(1.5f);
+    builder.addDouble(-2.25);
+    builder.addYear(Year.of(1999));
+    builder.addTime(LocalTime.of(12, 30, 15));
+    builder.addDateTime(LocalDateTime.of(2020, 2, 29, 23, 59, 58));
+    builder.addDate(LocalDate.of(1970, 1, 2));
+    builder.addText("text");
+    final SelectResultDataRow row = builder.build();
+
+    final DataType[] dataTypes = {
+        DataType.TINYINT, DataType.SMALLINT, DataType.INT, DataType.BIGINT, DataType.FLOAT,
+        DataType.DOUBLE, DataType.YEAR, DataType.TIME, DataType.DATETIME, DataType.DATE,
+        DataType.TEXT };
+    final SelectCommandColumn[] columns = new SelectCommandColumn[dataTypes.length];
+    for (int i = 0; i < dataTypes.length; i++) {
+      columns[i] = new SelectCommandColumn((byte) i, "c" + i, dataTypes[i]);
+    }
+
+    final Project project = new Project(new ListOperator(row), Arrays.asList(columns));
+    assertEquals(Collections.singletonList(row), drain(project));
+  }
+
+  private static SelectResultDataRow textIntTextRow(String first, Integer second, String third) {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(3);
+    builder.addText(first);
+    builder.addInt(second);
+    builder.addText(third);
+    return builder.build();
+  }
+
+}
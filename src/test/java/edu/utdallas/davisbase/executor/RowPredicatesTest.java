@@ -0,0 +1,235 @@
+package edu.utdallas.davisbase.executor;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class RowPredicatesTest {
+
+  @Test
+  public void testEveryOperatorOfEveryType() throws Exception {
+    assertOperators(DataType.TINYINT, (byte) -128, (byte) 3, (byte) 127);
+    assertOperators(DataType.SMALLINT, (short) -300, (short) 0, (short) 300);
+    assertOperators(DataType.INT, Integer.MIN_VALUE, -1, Integer.MAX_VALUE);
+    assertOperators(DataType.BIGINT, -5_000_000_000L, 1L << 40, Long.MAX_VALUE);
+    assertOperators(DataType.FLOAT, Float.NEGATIVE_INFINITY, 1.5f, 1.5000001f);
+    assertOperators(DataType.DOUBLE, -1e300, 0.1, 0.1 + 1e-16);
+    assertOperators(DataType.YEAR, Year.of(1999), Year.of(2000), Year.of(2001));
+    assertOperators(DataType.TIME, LocalTime.of(9, 30), LocalTime.of(9, 30, 1), LocalTime.MAX);
+    assertOperators(DataType.DATETIME,
+        LocalDateTime.of(2019, 12, 31, 23, 59), LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 1, 1, 0, 1));
+    assertOperators(DataType.DATE, LocalDate.of(2020, 2, 28), LocalDate.of(2020, 2, 29), LocalDate.of(2020, 3, 1));
+    assertOperators(DataType.TEXT, "apple", "apples", "b");
+  }
+
+  @Test
+  public void testFloatingPointNaN() throws Exception {
+    // NaN equals itself, and is greater than every other value, even positive infinity.
+    for (final CommandWhere.Operator operator : CommandWhere.Operator.values()) {
+      final boolean isEqualAccepted = operator == CommandWhere.Operator.EQUAL ||
+          operator == CommandWhere.Operator.GREATER_THAN_OR_EQUAL ||
+          operator == CommandWhere.Operator.LESS_THAN_OR_EQUAL;
+      assertEquals(isEqualAccepted, test(DataType.DOUBLE, operator, Double.NaN, Double.NaN), operator.toString());
+      assertEquals(isEqualAccepted, test(DataType.FLOAT, operator, Float.NaN, Float.NaN), operator.toString());
+    }
+    assertTrue(test(DataType.DOUBLE, CommandWhere.Operator.GREATER_THAN, Double.NaN, Double.POSITIVE_INFINITY));
+    assertTrue(test(DataType.DOUBLE, CommandWhere.Operator.LESS_THAN, Double.POSITIVE_INFINITY, Double.NaN));
+    assertTrue(test(DataType.FLOAT, CommandWhere.Operator.GREATER_THAN, Float.NaN, Float.POSITIVE_INFINITY));
+    assertFalse(test(DataType.FLOAT, CommandWhere.Operator.EQUAL, 0.0f, Float.NaN));
+    assertTrue(test(DataType.FLOAT, CommandWhere.Operator.NOT_EQUAL, 0.0f, Float.NaN));
+  }
+
+  @Test
+  public void testFloatingPointNegativeZero() throws Exception {
+    // -0.0 is less than 0.0, rather than equal to it.
+    assertFalse(test(DataType.DOUBLE, CommandWhere.Operator.EQUAL, -0.0, 0.0));
+    assertTrue(test(DataType.DOUBLE, CommandWhere.Operator.NOT_EQUAL, -0.0, 0.0));
+    assertTrue(test(DataType.DOUBLE, CommandWhere.Operator.LESS_THAN, -0.0, 0.0));
+    assertTrue(test(DataType.DOUBLE, CommandWhere.Operator.GREATER_THAN, 0.0, -0.0));
+    assertTrue(test(DataType.DOUBLE, CommandWhere.Operator.EQUAL, -0.0, -0.0));
+
+    assertFalse(test(DataType.FLOAT, CommandWhere.Operator.EQUAL, -0.0f, 0.0f));
+    assertTrue(test(DataType.FLOAT, CommandWhere.Operator.LESS_THAN, -0.0f, 0.0f));
+    assertFalse(test(DataType.FLOAT, CommandWhere.Operator.GREATER_THAN_OR_EQUAL, -0.0f, 0.0f));
+    assertTrue(test(DataType.FLOAT, CommandWhere.Operator.LESS_THAN_OR_EQUAL, -0.0f, -0.0f));
+  }
+
+  @Test
+  public void testNullNeverMatches() throws Exception {
+    final Object[] literals = { (byte) 1, (short) 1, 1, 1L, 1.0f, 1.0, Year.of(2000), LocalTime.NOON,
+        LocalDateTime.of(2000, 1, 1, 0, 0), LocalDate.of(2000, 1, 1), "a" };
+    for (int i = 0; i < literals.length; i++) {
+      final DataType dataType = DataType.values()[i];
+      for (final CommandWhere.Operator operator : CommandWhere.Operator.values()) {
+        final String message = dataType + " " + operator;
+        // A null column, compared with a literal.
+        assertFalse(test(dataType, operator, null, literals[i]), message);
+        // A column, compared with a null literal.
+        assertFalse(test(dataType, operator, literals[i], null), message);
+        assertFalse(test(dataType, operator, null, null), message);
+      }
+    }
+  }
+
+  @Test
+  public void testAndShortCircuits() throws Exception {
+    final SelectResultDataRow row = intRow(1, 2, 3);
+
+    assertReads(false, Arrays.asList(0), row, and(equal(0, 0), equal(1, 2), equal(2, 3)));
+    assertReads(false, Arrays.asList(0, 1), row, and(equal(0, 1), equal(1, 0), equal(2, 3)));
+    assertReads(true, Arrays.asList(0, 1, 2), row, and(equal(0, 1), equal(1, 2), equal(2, 3)));
+    // The operands are evaluated in the given order.
+    assertReads(false, Arrays.asList(2), row, and(equal(2, 0), equal(1, 2), equal(0, 1)));
+  }
+
+  @Test
+  public void testOrShortCircuits() throws Exception {
+    final SelectResultDataRow row = intRow(1, 2, 3);
+
+    assertReads(true, Arrays.asList(0), row, or(equal(0, 1), equal(1, 0), equal(2, 0)));
+    assertReads(true, Arrays.asList(0, 1), row, or(equal(0, 0), equal(1, 2), equal(2, 0)));
+    assertReads(false, Arrays.asList(0, 1, 2), row, or(equal(0, 0), equal(1, 0), equal(2, 0)));
+    assertReads(true, Arrays.asList(2), row, or(equal(2, 3), equal(1, 0), equal(0, 0)));
+  }
+
+  @Test
+  public void testNestedAndOr() throws Exception {
+    final SelectResultDataRow row = intRow(1, null, 3);
+
+    // The AND stops at a, so b is not read before the OR moves on to c.
+    assertReads(true, Arrays.asList(0, 2), row, or(and(equal(0, 0), equal(1, 2)), equal(2, 3)));
+    // A comparison with the null b is false, so the AND is too, and the OR moves on.
+    assertReads(true, Arrays.asList(0, 1, 2), row, or(and(equal(0, 1), equal(1, 2)), equal(2, 3)));
+    assertReads(false, Arrays.asList(0, 1), row, and(or(equal(0, 1), equal(2, 0)), equal(1, 2)));
+    assertReads(true, Arrays.asList(1, 2, 2), row,
+        and(or(new CommandWhere(column(1, DataType.INT), CommandWhere.Operator.NOT_EQUAL, 2), equal(2, 3)), equal(2, 3)));
+  }
+
+  /**
+   * Checks the outcome of every operator, for a column of {@code dataType} compared with
+   * {@code literal}, for values less than, equal to, and greater than {@code literal}.
+   */
+  private static void assertOperators(DataType dataType, Object smaller, Object literal, Object larger) throws Exception {
+    final Object[] values = { smaller, literal, larger };
+    for (final CommandWhere.Operator operator : CommandWhere.Operator.values()) {
+      for (int i = 0; i < values.length; i++) {
+        final int comparison = i - 1;
+        final boolean expected;
+        switch (operator) {
+          case EQUAL:                 expected = comparison == 0; break;
+          case NOT_EQUAL:             expected = comparison != 0; break;
+          case GREATER_THAN:          expected = comparison > 0;  break;
+          case GREATER_THAN_OR_EQUAL: expected = comparison >= 0; break;
+          case LESS_THAN:             expected = comparison < 0;  break;
+          case LESS_THAN_OR_EQUAL:    expected = comparison <= 0; break;
+          default:
+            throw new AssertionError(operator);
+        }
+        assertEquals(expected, test(dataType, operator, values[i], literal), dataType + " " + values[i] + " " + operator + " " + literal);
+      }
+    }
+  }
+
+  /**
+   * @return whether a row whose only column, of {@code dataType}, is {@code value} satisfies
+   *         {@code value <operator> literal}
+   */
+  private static boolean test(DataType dataType, CommandWhere.Operator operator, @Nullable Object value, @Nullable Object literal) throws Exception {
+    final RowPredicate predicate = RowPredicates.compile(new CommandWhere(column(0, dataType), operator, literal));
+    return predicate.test(new MaterializedRow(row(dataType, value)));
+  }
+
+  /**
+   * Checks that {@code where} evaluates to {@code expected} for {@code row}, having read exactly
+   * the columns of {@code readIndexes}, in that order.
+   */
+  private static void assertReads(boolean expected, List<Integer> readIndexes, SelectResultDataRow row, CommandWhere where) throws Exception {
+    final ReadRecordingRow recordingRow = new ReadRecordingRow(row);
+    assertEquals(expected, RowPredicates.compile(where).test(recordingRow), where.toString());
+    assertEquals(readIndexes, recordingRow.readIndexes, where.toString());
+  }
+
+  private static CommandWhere equal(int index, int literal) {
+    return new CommandWhere(column(index, DataType.INT), CommandWhere.Operator.EQUAL, literal);
+  }
+
+  private static CommandWhere and(CommandWhere... operands) {
+    return new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(operands));
+  }
+
+  private static CommandWhere or(CommandWhere... operands) {
+    return new CommandWhere(CommandWhere.LogicalOperator.OR, Arrays.asList(operands));
+  }
+
+  private static CommandWhereColumn column(int index, DataType dataType) {
+    return new CommandWhereColumn((byte) index, "c" + index, dataType, true, false);
+  }
+
+  private static SelectResultDataRow intRow(@Nullable Integer... values) {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(values.length);
+    for (final @Nullable Integer value : values) {
+      builder.addInt(value);
+    }
+    return builder.build();
+  }
+
+  private static SelectResultDataRow row(DataType dataType, @Nullable Object value) {
+    final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(1);
+    switch (dataType) {
+      case TINYINT:  builder.addTinyInt((Byte) value);         break;
+      case SMALLINT: builder.addSmallInt((Short) value);       break;
+      case INT:      builder.addInt((Integer) value);          break;
+      case BIGINT:   builder.addBigInt((Long) value);          break;
+      case FLOAT:    builder.addFloat((Float) value);          break;
+      case DOUBLE:   builder.addDouble((Double) value);        break;
+      case YEAR:     builder.addYear((Year) value);            break;
+      case TIME:     builder.addTime((LocalTime) value);       break;
+      case DATETIME: builder.addDateTime((LocalDateTime) value); break;
+      case DATE:     builder.addDate((LocalDate) value);       break;
+      case TEXT:     builder.addText((String) value);          break;
+      default:
+        throw new AssertionError(dataType);
+    }
+    return builder.build();
+  }
+
+  /**
+   * A {@link MaterializedRow} that records the index of each column whose nullness is checked,
+   * which each compiled comparison does once before reading its column.
+   */
+  private static class ReadRecordingRow extends MaterializedRow {
+
+    private final List<Integer> readIndexes = new ArrayList<>();
+
+    ReadRecordingRow(SelectResultDataRow dataRow) {
+      super(dataRow);
+    }
+
+    @Override
+    public boolean isNull(int index) {
+      readIndexes.add(index);
+      return super.isNull(index);
+    }
+
+    @Override
+    public @Nullable Object readValue(int index, DataType dataType) {
+      readIndexes.add(index);
+      return super.readValue(index, dataType);
+    }
+
+  }
+
+}
@@ -0,0 +1,152 @@
+package edu.utdallas.davisbase.executor;
+
+import static edu.utdallas.davisbase.executor.ListOperator.drain;
+import static edu.utdallas.davisbase.executor.ListOperator.row;
+
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.SelectCommandOrderBy;
+import edu.utdallas.davisbase.result.SelectResultDataRow;
+import edu.utdallas.davisbase.result.SelectResultSchema;
+import edu.utdallas.davisbase.result.SelectResultSchemaColumn;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SortTest {
+
+  private static final SelectResultSchema SCHEMA = new SelectResultSchema(Arrays.asList(
+      new SelectResultSchemaColumn("a", DataType.INT),
+      new SelectResultSchemaColumn("b", DataType.TEXT)));
+
+  private static final SelectCommandOrderBy A_ASCENDING = new SelectCommandOrderBy(0, DataType.INT, true);
+  private static final SelectCommandOrderBy B_DESCENDING = new SelectCommandOrderBy(1, DataType.TEXT, false);
+
+  @Test
+  public void testSortsByEveryKeyWithNullsFirst() throws Exception {
+    final ListOperator child = new ListOperator(
+        row(2, "x"),
+        row(null, "y"),
+        row(1, "a"),
+        row(2, "z"),
+        row(1, null),
+        row(null, null));
+    final Sort sort = new Sort(child, Arrays.asList(A_ASCENDING, B_DESCENDING), SCHEMA, 100, 1 << 20);
+
+    // Descending puts the null b last.
+    assertEquals(Arrays.asList(
+        row(null, "y"),
+        row(null, null),
+        row(1, "a"),
+        row(1, null),
+        row(2, "z"),
+        row(2, "x")),
+        drain(sort));
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testKeepsTheOrderOfEqualRows() throws Exception {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      rows.add(row(i % 3, "row" + i));
+    }
+    final Sort sort = new Sort(new ListOperator(rows), Collections.singletonList(A_ASCENDING), SCHEMA, 100, 1 << 20);
+
+    final List<SelectResultDataRow> expected = new ArrayList<>(rows);
+    expected.sort((left, right) -> Integer.compare(left.getInt(0), right.getInt(0)));
+    assertEquals(expected, drain(sort));
+  }
+
+  @Test
+  public void testSpillsRunsAndMergesThem() throws Exception {
+    final List<SelectResultDataRow> rows = newRows(500);
+    final List<SelectResultDataRow> expected = drain(
+        new Sort(new ListOperator(rows), Arrays.asList(A_ASCENDING, B_DESCENDING), SCHEMA, rows.size(), Long.MAX_VALUE));
+
+    // Runs of at most 7 rows, and of at most 64 bytes, each spilled through a SelectResultData.Builder
+    // that holds no rows in memory.
+    assertEquals(expected, drainAndCheckSpillFilesDeleted(
+        new Sort(new ListOperator(rows), Arrays.asList(A_ASCENDING, B_DESCENDING), SCHEMA, 7, Long.MAX_VALUE)));
+    assertEquals(expected, drainAndCheckSpillFilesDeleted(
+        new Sort(new ListOperator(rows), Arrays.asList(A_ASCENDING, B_DESCENDING), SCHEMA, Integer.MAX_VALUE, 64)));
+    assertEquals(expected, drainAndCheckSpillFilesDeleted(
+        new Sort(new ListOperator(rows), Arrays.asList(A_ASCENDING, B_DESCENDING), SCHEMA, 0, 0)));
+  }
+
+  @Test
+  public void testSpilledRunsKeepTheOrderOfEqualRows() throws Exception {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rows.add(row(i % 4, "row" + i));
+    }
+    final Sort sort = new Sort(new ListOperator(rows), Collections.singletonList(A_ASCENDING), SCHEMA, 5, Long.MAX_VALUE);
+
+    final List<SelectResultDataRow> expected = new ArrayList<>(rows);
+    expected.sort((left, right) -> Integer.compare(left.getInt(0), right.getInt(0)));
+    assertEquals(expected, drainAndCheckSpillFilesDeleted(sort));
+  }
+
+  @Test
+  public void testCloseBeforeExhaustedDeletesRuns() throws Exception {
+    final ListOperator child = new ListOperator(newRows(100));
+    final Sort sort = new Sort(child, Collections.singletonList(A_ASCENDING), SCHEMA, 3, Long.MAX_VALUE);
+    final Set<Path> filesBefore = listTempFiles();
+
+    sort.open();
+    assertNotNull(sort.next());
+    assertTrue(listTempFiles().size() > filesBefore.size(), "no run was spilled");
+    sort.close();
+    assertEquals(filesBefore, listTempFiles());
+    assertEquals(1, child.closeCount);
+  }
+
+  @Test
+  public void testEmptyChild() throws Exception {
+    assertEquals(Collections.emptyList(),
+        drain(new Sort(new ListOperator(), Collections.singletonList(A_ASCENDING), SCHEMA, 0, 0)));
+  }
+
+  /**
+   * @return {@code count} rows in no particular order, some of whose values are null
+   */
+  private static List<SelectResultDataRow> newRows(int count) {
+    final List<SelectResultDataRow> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(row(
+          (i % 11 == 0) ? null : (i * 37) % 101,
+          (i % 13 == 0) ? null : "row" + (i * 7) % 23));
+    }
+    return rows;
+  }
+
+  private static List<SelectResultDataRow> drainAndCheckSpillFilesDeleted(Sort sort) throws Exception {
+    final Set<Path> filesBefore = listTempFiles();
+    final List<SelectResultDataRow> rows = drain(sort);
+    assertEquals(filesBefore, listTempFiles(), "a spilled run was not deleted");
+    return rows;
+  }
+
+  /**
+   * @return the files in the directory of temporary files, where the runs are spilled
+   */
+  private static Set<Path> listTempFiles() throws IOException {
+    final Set<Path> files = new HashSet<>();
+    try (Stream<Path> stream = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+      stream.filter(path -> path.toString().endsWith(".tmp")).forEach(files::add);
+    }
+    return files;
+  }
+
+}
@@ -0,0 +1,146 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageState;
+import edu.utdallas.davisbase.storage.TableFile;
+import edu.utdallas.davisbase.storage.TableRowBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableScanTest {
+
+  /**
+   * Enough rows for several leaf pages.
+   */
+  private static final int ROW_COUNT = 300;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        row.appendInt(i * 3);
+        if (i % 5 == 0) {
+          row.appendNull();
+        }
+        else {
+          row.appendText("row" + i);
+        }
+        tableFile.appendRow(row);
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testProducesEveryRowInRowIdOrder() throws Exception {
+    final List<String> values = new ArrayList<>();
+    try (TableScan scan = new TableScan(storage, "t")) {
+      scan.open();
+      @Nullable Row row;
+      int expectedRowId = 0;
+      while ((row = scan.next()) != null) {
+        assertEquals(expectedRowId, scan.getTableFile().getRowId());
+        assertEquals(expectedRowId * 3, row.getInt(1));
+        assertEquals(expectedRowId % 5 == 0, row.isNull(2));
+        values.add((String) row.readValue(2, DataType.TEXT));
+        expectedRowId += 1;
+      }
+      assertNull(scan.next());
+    }
+
+    assertEquals(ROW_COUNT, values.size());
+    assertNull(values.get(0));
+    assertEquals("row1", values.get(1));
+    assertEquals("row" + (ROW_COUNT - 1), values.get(ROW_COUNT - 1));
+  }
+
+  @Test
+  public void testRestrictedToColumns() throws Exception {
+    try (TableScan scan = new TableScan(storage, "t", new byte[] { 1 })) {
+      scan.open();
+      final @Nullable Row row = scan.next();
+      assertNotNull(row);
+      assertEquals(0, row.getInt(1));
+      assertThrows(IllegalArgumentException.class, () -> row.readValue(2, DataType.TEXT));
+    }
+  }
+
+  @Test
+  public void testRemoveCurrentRow() throws Exception {
+    try (TableScan scan = new TableScan(storage, "t")) {
+      scan.open();
+      @Nullable Row row;
+      while ((row = scan.next()) != null) {
+        if (row.getInt(1) % 2 == 0) {
+          scan.removeCurrentRow();
+        }
+      }
+    }
+
+    final List<Integer> values = new ArrayList<>();
+    try (TableScan scan = new TableScan(storage, "t")) {
+      scan.open();
+      @Nullable Row row;
+      while ((row = scan.next()) != null) {
+        values.add(row.getInt(1));
+      }
+    }
+    assertEquals(ROW_COUNT / 2, values.size());
+    for (final int value : values) {
+      assertEquals(1, value % 2, "row " + value + " should have been removed");
+    }
+    assertEquals(Arrays.asList(3, 9, 15), values.subList(0, 3));
+  }
+
+  @Test
+  public void testOpenAndClose() throws Exception {
+    final TableScan scan = new TableScan(storage, "t");
+    assertThrows(IllegalStateException.class, scan::next);
+    scan.close();
+
+    scan.open();
+    assertThrows(IllegalStateException.class, scan::open);
+    assertNotNull(scan.next());
+    scan.close();
+    scan.close();
+    assertThrows(IllegalStateException.class, scan::next);
+
+    // Reopened, the scan starts over.
+    scan.open();
+    final @Nullable Row row = scan.next();
+    assertNotNull(row);
+    assertEquals(0, row.getInt(1));
+    scan.close();
+  }
+
+}
@@ -0,0 +1,236 @@
+package edu.utdallas.davisbase.executor;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import edu.utdallas.davisbase.command.CommandWhere;
+import edu.utdallas.davisbase.command.CommandWhereColumn;
+import edu.utdallas.davisbase.command.SelectCommandColumn;
+import edu.utdallas.davisbase.storage.Storage;
+import edu.utdallas.davisbase.storage.StorageConfiguration;
+import edu.utdallas.davisbase.storage.StorageState;
+import edu.utdallas.davisbase.storage.TableFile;
+import edu.utdallas.davisbase.storage.TableRowBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class VectorScanTest {
+
+  /**
+   * Enough rows for several batches of the default 1024 rows, the last of which is partial.
+   */
+  private static final int ROW_COUNT = 2500;
+
+  private static final List<SelectCommandColumn> COLUMNS = Arrays.asList(
+      new SelectCommandColumn((byte) 1, "tiny", DataType.TINYINT),
+      new SelectCommandColumn((byte) 2, "i", DataType.INT),
+      new SelectCommandColumn((byte) 3, "big", DataType.BIGINT),
+      new SelectCommandColumn((byte) 4, "d", DataType.DOUBLE),
+      new SelectCommandColumn((byte) 5, "text", DataType.TEXT),
+      new SelectCommandColumn((byte) 6, "date", DataType.DATE),
+      new SelectCommandColumn((byte) 7, "f", DataType.FLOAT),
+      new SelectCommandColumn((byte) 8, "small", DataType.SMALLINT));
+
+  private static final CommandWhereColumn TINY = whereColumn(0);
+  private static final CommandWhereColumn I = whereColumn(1);
+  private static final CommandWhereColumn BIG = whereColumn(2);
+  private static final CommandWhereColumn D = whereColumn(3);
+  private static final CommandWhereColumn TEXT = whereColumn(4);
+  private static final CommandWhereColumn DATE = whereColumn(5);
+  private static final CommandWhereColumn F = whereColumn(6);
+  private static final CommandWhereColumn SMALL = whereColumn(7);
+
+  private static final int[] BATCH_ROW_COUNTS = { 1024, 1, 7, 63, 64, 65, ROW_COUNT, 2 * ROW_COUNT };
+
+  /**
+   * The batch sizes over which each {@code WHERE} clause is evaluated: the default, and sizes whose
+   * batches do and do not end on a word of the null bitmap.
+   */
+  private static final int[] WHERE_BATCH_ROW_COUNTS = { 1024, 7, 64, 65 };
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        if (i % 11 == 0) row.appendNull(); else row.appendTinyInt((byte) (i % 200 - 100));
+        // The nulls of i fall at the end of each 64-bit word of the null bitmap.
+        if (i % 64 == 63) row.appendNull(); else row.appendInt(i);
+        if (i % 13 == 0) row.appendNull(); else row.appendBigInt(i * 1_000_000_007L);
+        if (i % 23 == 0) row.appendNull();
+        else if (i % 17 == 0) row.appendDouble(Double.NaN);
+        else if (i % 19 == 0) row.appendDouble(-0.0);
+        else row.appendDouble((i % 100) / 4.0);
+        // The distinct texts differ from one batch to the next.
+        if (i % 7 == 0) row.appendNull(); else row.appendText("t" + (i / 100 + i % 3));
+        if (i % 29 == 0) row.appendNull(); else row.appendDate(LocalDate.of(2000, 1, 1).plusDays(i % 400));
+        if (i % 3 == 0) row.appendNull(); else row.appendFloat(i / 8.0f);
+        row.appendSmallInt((short) (i % 1000 - 500));
+        tableFile.appendRow(row);
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testProducesEveryRowAcrossBatches() throws Exception {
+    final List<List<Object>> expectedRows = scanRowByRow(null);
+    assertEquals(ROW_COUNT, expectedRows.size());
+    for (final int batchRowCount : BATCH_ROW_COUNTS) {
+      assertEquals(expectedRows, scanByBatch(null, batchRowCount), "batches of " + batchRowCount);
+    }
+  }
+
+  @Test
+  public void testComparisonsOfEveryType() throws Exception {
+    assertMatchesFilter(new CommandWhere(TINY, CommandWhere.Operator.GREATER_THAN, (byte) 50));
+    assertMatchesFilter(new CommandWhere(SMALL, CommandWhere.Operator.LESS_THAN_OR_EQUAL, (short) -250));
+    assertMatchesFilter(new CommandWhere(BIG, CommandWhere.Operator.NOT_EQUAL, 7_000_000_049L));
+    assertMatchesFilter(new CommandWhere(F, CommandWhere.Operator.GREATER_THAN_OR_EQUAL, 100.5f));
+    assertMatchesFilter(new CommandWhere(DATE, CommandWhere.Operator.EQUAL, LocalDate.of(2000, 3, 1)));
+    assertMatchesFilter(new CommandWhere(TEXT, CommandWhere.Operator.LESS_THAN, "t13"));
+    assertMatchesFilter(new CommandWhere(I, CommandWhere.Operator.EQUAL, null));
+  }
+
+  @Test
+  public void testNullsAreNeverSelected() throws Exception {
+    // The primitive slot of a null holds the value of the previous batch, which must not match.
+    final List<List<Object>> rows = scanByBatch(new CommandWhere(I, CommandWhere.Operator.GREATER_THAN_OR_EQUAL, 0), 1024);
+    assertEquals(ROW_COUNT - ROW_COUNT / 64, rows.size());
+    for (final List<Object> row : rows) {
+      assertNotEquals(63, (Integer) row.get(1) % 64);
+    }
+    assertMatchesFilter(new CommandWhere(I, CommandWhere.Operator.NOT_EQUAL, -1));
+    assertMatchesFilter(new CommandWhere(CommandWhere.LogicalOperator.OR, Arrays.asList(
+        new CommandWhere(TINY, CommandWhere.Operator.EQUAL, (byte) 0),
+        new CommandWhere(I, CommandWhere.Operator.LESS_THAN, 1000))));
+  }
+
+  @Test
+  public void testFloatingPointNaNAndNegativeZero() throws Exception {
+    assertMatchesFilter(new CommandWhere(D, CommandWhere.Operator.EQUAL, Double.NaN));
+    assertMatchesFilter(new CommandWhere(D, CommandWhere.Operator.GREATER_THAN, 24.0));
+    assertMatchesFilter(new CommandWhere(D, CommandWhere.Operator.EQUAL, 0.0));
+    assertMatchesFilter(new CommandWhere(D, CommandWhere.Operator.LESS_THAN, 0.0));
+    assertMatchesFilter(new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(
+        new CommandWhere(TINY, CommandWhere.Operator.GREATER_THAN, (byte) 0),
+        new CommandWhere(D, CommandWhere.Operator.LESS_THAN_OR_EQUAL, -0.0))));
+  }
+
+  @Test
+  public void testDictionaryEncodedText() throws Exception {
+    for (final CommandWhere.Operator operator : CommandWhere.Operator.values()) {
+      assertMatchesFilter(new CommandWhere(TEXT, operator, "t12"));
+      // Only the rows that are still undecided are compared, each of whose texts is compared once.
+      assertMatchesFilter(new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(
+          new CommandWhere(I, CommandWhere.Operator.GREATER_THAN, 500),
+          new CommandWhere(TEXT, operator, "t20"))));
+      assertMatchesFilter(new CommandWhere(CommandWhere.LogicalOperator.OR, Arrays.asList(
+          new CommandWhere(SMALL, CommandWhere.Operator.LESS_THAN, (short) 0),
+          new CommandWhere(TEXT, operator, "t5"))));
+    }
+    assertMatchesFilter(new CommandWhere(TEXT, CommandWhere.Operator.EQUAL, "absent"));
+  }
+
+  @Test
+  public void testNestedAndOr() throws Exception {
+    assertMatchesFilter(new CommandWhere(CommandWhere.LogicalOperator.OR, Arrays.asList(
+        new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(
+            new CommandWhere(I, CommandWhere.Operator.LESS_THAN, 1200),
+            new CommandWhere(TEXT, CommandWhere.Operator.NOT_EQUAL, "t3"),
+            new CommandWhere(D, CommandWhere.Operator.GREATER_THAN, 10.0))),
+        new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(
+            new CommandWhere(BIG, CommandWhere.Operator.GREATER_THAN, 2_000_000_000_000L),
+            new CommandWhere(F, CommandWhere.Operator.LESS_THAN, 270.0f))),
+        new CommandWhere(DATE, CommandWhere.Operator.EQUAL, LocalDate.of(2000, 1, 2)))));
+    assertMatchesFilter(new CommandWhere(CommandWhere.LogicalOperator.AND, Arrays.asList(
+        new CommandWhere(I, CommandWhere.Operator.GREATER_THAN, ROW_COUNT),
+        new CommandWhere(TEXT, CommandWhere.Operator.EQUAL, "t1"))));
+  }
+
+  @Test
+  public void testRowsReadOnlyTheGivenColumns() throws Exception {
+    try (VectorScan scan = new VectorScan(storage, "t", Collections.singletonList(COLUMNS.get(1)), null, 1024)) {
+      scan.open();
+      final @Nullable Row row = scan.next();
+      assertNotNull(row);
+      assertEquals(0, row.getInt(2));
+      assertThrows(IllegalArgumentException.class, () -> row.isNull(1));
+      assertThrows(IllegalArgumentException.class, () -> row.readValue(5, DataType.TEXT));
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> new VectorScan(storage, "t",
+        Collections.singletonList(COLUMNS.get(1)), new CommandWhere(TEXT, CommandWhere.Operator.EQUAL, "t1"), 1024));
+  }
+
+  /**
+   * Checks that a {@link VectorScan} with {@code where} produces the same rows as a {@link Filter}
+   * of a {@link TableScan}, for each of several batch sizes.
+   */
+  private void assertMatchesFilter(CommandWhere where) throws Exception {
+    final List<List<Object>> expectedRows = scanRowByRow(where);
+    for (final int batchRowCount : WHERE_BATCH_ROW_COUNTS) {
+      assertEquals(expectedRows, scanByBatch(where, batchRowCount), where + " in batches of " + batchRowCount);
+    }
+  }
+
+  private List<List<Object>> scanRowByRow(@Nullable CommandWhere where) throws Exception {
+    final TableScan scan = new TableScan(storage, "t");
+    try (Operator operator = where == null ? scan : new Filter(scan, where)) {
+      return readRows(operator);
+    }
+  }
+
+  private List<List<Object>> scanByBatch(@Nullable CommandWhere where, int batchRowCount) throws Exception {
+    try (VectorScan scan = new VectorScan(storage, "t", COLUMNS, where, batchRowCount)) {
+      return readRows(scan);
+    }
+  }
+
+  private static List<List<Object>> readRows(Operator operator) throws Exception {
+    final List<List<Object>> rows = new ArrayList<>();
+    operator.open();
+    @Nullable Row row;
+    while ((row = operator.next()) != null) {
+      final List<Object> values = new ArrayList<>();
+      for (final SelectCommandColumn column : COLUMNS) {
+        values.add(row.readValue(column.getIndex(), column.getDataType()));
+      }
+      rows.add(values);
+    }
+    return rows;
+  }
+
+  private static CommandWhereColumn whereColumn(int i) {
+    final SelectCommandColumn column = COLUMNS.get(i);
+    return new CommandWhereColumn(column.getIndex(), column.getName(), column.getDataType(), true, false);
+  }
+
+}
@@ -12,9 +12,14 @@ public class ParserTest {
 
   private final String createTable= "CREATE TABLE Persons (PersonID BIGINT, PreferredName TEXT [NOT NULL]);";
   private final String insertRecord= "INSERT INTO Customers (CustomerName, ContactName, Address) VALUES ('Cardinal', 'Tom B. Erichsen', 'Skagen 21');";
+  private final String insertRecords= "INSERT INTO Customers VALUES ('Cardinal', 1), ('Wilman Kala', 2), ('Around the Horn', 3);";
   private final String selectAllCols= "SELECT * FROM Customers;";
   private final String selectCols= "SELECT CustomerName, ContactName FROM Customers;";
+  private final String selectOrderByLimit= "SELECT CustomerName FROM Customers ORDER BY CustomerName DESC LIMIT 5;";
+  private final String selectCompoundWhere= "SELECT CustomerName FROM Customers WHERE CustomerID > 10 AND NOT (Country = 'UK' OR Country = 'US') AND CustomerID < 90;";
   private final String showTable= "SHOW TABLES;";
+  private final String copyFrom= "COPY Customers FROM '/data/o''brien.csv' WITH HEADER;";
+  private final String copyTo= "COPY (SELECT CustomerName FROM Customers WHERE CustomerID > 10) TO 'customers.tsv';";
   private final String exit="EXIT;";
   private final Parser parser = new Parser();
 
@@ -50,6 +55,20 @@ public class ParserTest {
     assertEquals(insertRecord.getValues().get(2).toString(), "'Skagen 21'");
   }
 
+  @Test
+  public void testParseInsertRecordsStatement() throws ParseException{
+    CommandRepresentation command = parser.parse(insertRecords);
+    assertTrue(command instanceof InsertCommandRepresentation);
+    InsertCommandRepresentation insertRecords = (InsertCommandRepresentation) command;
+    assertEquals(insertRecords.getTable(),"Customers");
+    assertTrue(insertRecords.getColumns().isEmpty());
+    assertEquals(insertRecords.getRows().size(),3);
+    assertEquals(insertRecords.getRows().get(0).size(),2);
+    assertEquals(insertRecords.getRows().get(1).get(0).toString(),"'Wilman Kala'");
+    assertEquals(insertRecords.getRows().get(2).get(1).toString(),"3");
+    assertEquals(insertRecords.getValues(),insertRecords.getRows().get(0));
+  }
+
   @Test
   public void testParseSelectAllColsStatement() throws ParseException{
     CommandRepresentation command = parser.parse(selectAllCols);
@@ -69,12 +88,61 @@ public class ParserTest {
     assertEquals(((SelectExpressionItem) selectCommand.getColumns().get(1)).getExpression().toString(),"ContactName");
   }
 
+  @Test
+  public void testParseSelectOrderByLimitStatement() throws ParseException{
+    CommandRepresentation command = parser.parse(selectOrderByLimit);
+    assertTrue(command instanceof SelectCommandRepresentation);
+    SelectCommandRepresentation selectCommand = (SelectCommandRepresentation) command;
+    assertEquals(selectCommand.getOrderBy().size(), 1);
+    assertEquals(selectCommand.getOrderBy().get(0).getExpression().toString(),"CustomerName");
+    assertFalse(selectCommand.getOrderBy().get(0).isAsc());
+    assertEquals(selectCommand.getLimit(), Long.valueOf(5));
+  }
+
+  @Test
+  public void testParseSelectCompoundWhereStatement() throws ParseException{
+    CommandRepresentation command = parser.parse(selectCompoundWhere);
+    assertTrue(command instanceof SelectCommandRepresentation);
+    WhereExpression where = ((SelectCommandRepresentation) command).getWhereClause();
+    assertNotNull(where);
+    assertFalse(where.isComparison());
+    assertEquals(where.getLogicalOperator(), WhereExpression.LogicalOperator.AND);
+    assertEquals(where.getOperands().size(), 3);
+    assertEquals(where.getOperands().get(0).getOperator(), WhereExpression.Operator.GREATERTHAN);
+    WhereExpression negated = where.getOperands().get(1);
+    assertTrue(negated.isNot());
+    assertEquals(negated.getLogicalOperator(), WhereExpression.LogicalOperator.OR);
+    assertEquals(negated.getOperands().get(1).getColumn().getColumnName(), "Country");
+    assertEquals(where.getOperands().get(2).getOperator(), WhereExpression.Operator.LESSTHAN);
+  }
+
   @Test
   public void testParseShowTablesStatement() throws ParseException {
     CommandRepresentation command = parser.parse(showTable);
     assertTrue(command instanceof ShowTablesCommandRepresentation);
   }
 
+  @Test
+  public void testParseCopyFromStatement() throws ParseException {
+    CommandRepresentation command = parser.parse(copyFrom);
+    assertTrue(command instanceof CopyFromCommandRepresentation);
+    CopyFromCommandRepresentation copyFromCommand = (CopyFromCommandRepresentation) command;
+    assertEquals(copyFromCommand.getTable(), "Customers");
+    assertEquals(copyFromCommand.getFilePath(), "/data/o'brien.csv");
+    assertTrue(copyFromCommand.hasHeader());
+  }
+
+  @Test
+  public void testParseCopyToStatement() throws ParseException {
+    CommandRepresentation command = parser.parse(copyTo);
+    assertTrue(command instanceof CopyToCommandRepresentation);
+    CopyToCommandRepresentation copyToCommand = (CopyToCommandRepresentation) command;
+    assertEquals(copyToCommand.getSelect().getTable(), "Customers");
+    assertFalse(copyToCommand.getSelect().isAll());
+    assertEquals(copyToCommand.getFilePath(), "customers.tsv");
+    assertFalse(copyToCommand.hasHeader());
+  }
+
   @Test
   public void testParseExitStatement() throws ParseException {
     CommandRepresentation command = parser.parse(exit);
@@ -0,0 +1,243 @@
+package edu.utdallas.davisbase.result;
+
+import edu.utdallas.davisbase.DataType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SelectResultDataTest {
+
+  /**
+   * A column of every {@link DataType}, and then a second column of each of the first six, so that
+   * the null bitmap of each row spans three bytes.
+   */
+  private static final SelectResultSchema SCHEMA;
+  static {
+    final List<SelectResultSchemaColumn> columns = new ArrayList<>();
+    for (final DataType dataType : DataType.values()) {
+      columns.add(new SelectResultSchemaColumn("c" + columns.size(), dataType));
+    }
+    for (int i = 0; i < 6; i++) {
+      columns.add(new SelectResultSchemaColumn("c" + columns.size(), DataType.values()[i]));
+    }
+    SCHEMA = new SelectResultSchema(columns);
+  }
+
+  private static final int ROW_COUNT = 300;
+
+  @Test
+  public void testInMemory() throws IOException {
+    final List<SelectResultDataRow> rows = newRows();
+    try (SelectResultData data = build(rows, ROW_COUNT, Long.MAX_VALUE)) {
+      assertFalse(data.isSpilled());
+      assertEquals(ROW_COUNT, data.size());
+      assertEquals(rows, readRows(data));
+      assertEquals(rows, readRows(data));
+    }
+  }
+
+  @Test
+  public void testSpilledRoundTripsEveryValue() throws IOException {
+    final List<SelectResultDataRow> rows = newRows();
+    // Spilled by the row threshold, by the byte threshold, and from the first row.
+    for (final long[] thresholds : new long[][] { { 10, Long.MAX_VALUE }, { Integer.MAX_VALUE, 1000 }, { 0, 0 } }) {
+      try (SelectResultData data = build(rows, (int) thresholds[0], thresholds[1])) {
+        assertTrue(data.isSpilled());
+        assertEquals(ROW_COUNT, data.size());
+        assertEquals(rows, readRows(data));
+        // A spilled file can be read again.
+        assertEquals(rows, readRows(data));
+      }
+    }
+  }
+
+  @Test
+  public void testSpillsOnlyPastTheThresholds() throws IOException {
+    final List<SelectResultDataRow> rows = newRows().subList(0, 10);
+    try (SelectResultData data = build(rows, 10, Long.MAX_VALUE)) {
+      assertFalse(data.isSpilled());
+    }
+    try (SelectResultData data = build(rows, 9, Long.MAX_VALUE)) {
+      assertTrue(data.isSpilled());
+      assertEquals(rows, readRows(data));
+    }
+
+    long byteCount = 0;
+    for (final SelectResultDataRow row : rows) {
+      byteCount += SelectResultData.getEncodedSize(SCHEMA, row);
+    }
+    try (SelectResultData data = build(rows, Integer.MAX_VALUE, byteCount)) {
+      assertFalse(data.isSpilled());
+    }
+    try (SelectResultData data = build(rows, Integer.MAX_VALUE, byteCount - 1)) {
+      assertTrue(data.isSpilled());
+      assertEquals(rows, readRows(data));
+    }
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    try (SelectResultData data = build(rows, 0, 0)) {
+      assertFalse(data.isSpilled());
+      assertEquals(0, data.size());
+      assertFalse(data.iterator().hasNext());
+    }
+  }
+
+  @Test
+  public void testCloseDeletesSpillFile() throws IOException {
+    final Set<Path> filesBefore = listTempFiles();
+    final SelectResultData data = build(newRows(), 0, 0);
+    assertTrue(data.isSpilled());
+    assertEquals(filesBefore.size() + 1, listTempFiles().size());
+    data.close();
+    assertEquals(filesBefore, listTempFiles());
+
+    // Also when an iteration of it stopped early.
+    final SelectResultData partlyReadData = build(newRows(), 0, 0);
+    final Iterator<SelectResultDataRow> iterator = partlyReadData.iterator();
+    iterator.next();
+    iterator.next();
+    partlyReadData.close();
+    assertEquals(filesBefore, listTempFiles());
+  }
+
+  @Test
+  public void testRejectsRowOfWrongSize() {
+    final SelectResultData.Builder builder = new SelectResultData.Builder(SCHEMA, 0, 0);
+    final SelectResultDataRow.Builder rowBuilder = new SelectResultDataRow.Builder(1);
+    rowBuilder.addInt(1);
+    assertThrows(IllegalArgumentException.class, () -> builder.writeRow(rowBuilder.build()));
+  }
+
+  private static SelectResultData build(List<SelectResultDataRow> rows, int maxInMemoryRowCount, long maxInMemoryByteCount) throws IOException {
+    final SelectResultData.Builder builder = new SelectResultData.Builder(SCHEMA, maxInMemoryRowCount, maxInMemoryByteCount);
+    for (final SelectResultDataRow row : rows) {
+      builder.writeRow(row);
+    }
+    return builder.build();
+  }
+
+  private static List<SelectResultDataRow> readRows(SelectResultData data) {
+    final List<SelectResultDataRow> rows = new ArrayList<>();
+    data.forEach(rows::add);
+    return rows;
+  }
+
+  /**
+   * @return rows of edge and ordinary values of every column, where each column is null in a
+   *         different pattern of rows, and where the first row is all null and the second has no null
+   */
+  private static List<SelectResultDataRow> newRows() {
+    final List<SelectResultDataRow> rows = new ArrayList<>(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      final SelectResultDataRow.Builder builder = new SelectResultDataRow.Builder(SCHEMA.size());
+      for (int column = 0; column < SCHEMA.size(); column++) {
+        final boolean isNull = i == 0 || (i != 1 && (i + column) % (column + 2) == 0);
+        addValue(builder, SCHEMA.getColumnDataType(column), isNull ? -1 : i);
+      }
+      rows.add(builder.build());
+    }
+    return rows;
+  }
+
+  /**
+   * Adds the {@code i}th value of {@code dataType}, where the first few are edge values, or null if
+   * {@code i} is negative.
+   */
+  private static void addValue(SelectResultDataRow.Builder builder, DataType dataType, int i) {
+    switch (dataType) {
+      case TINYINT:
+        builder.addTinyInt(i < 0 ? null : pick(i, Byte.MIN_VALUE, Byte.MAX_VALUE, (byte) 0, (byte) i));
+        break;
+
+      case SMALLINT:
+        builder.addSmallInt(i < 0 ? null : pick(i, Short.MIN_VALUE, Short.MAX_VALUE, (short) -1, (short) (i * 101)));
+        break;
+
+      case INT:
+        builder.addInt(i < 0 ? null : pick(i, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, i * 1_000_003));
+        break;
+
+      case BIGINT:
+        builder.addBigInt(i < 0 ? null : pick(i, Long.MIN_VALUE, Long.MAX_VALUE, 0L, i * 1_000_000_000_039L));
+        break;
+
+      case FLOAT:
+        builder.addFloat(i < 0 ? null : pick(i, Float.NaN, -0.0f, Float.NEGATIVE_INFINITY, i / 7.0f));
+        break;
+
+      case DOUBLE:
+        builder.addDouble(i < 0 ? null : pick(i, Double.NaN, -0.0, Double.MIN_VALUE, i / 7.0));
+        break;
+
+      case YEAR:
+        builder.addYear(i < 0 ? null : pick(i, Year.of(Year.MIN_VALUE), Year.of(Year.MAX_VALUE), Year.of(0), Year.of(1900 + i)));
+        break;
+
+      case TIME:
+        builder.addTime(i < 0 ? null : pick(i, LocalTime.MIN, LocalTime.MAX, LocalTime.NOON, LocalTime.ofSecondOfDay(i * 271)));
+        break;
+
+      case DATETIME:
+        builder.addDateTime(i < 0 ? null : pick(i, LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(1969, 12, 31, 23, 59, 59), LocalDateTime.of(2000, 1, 1, 0, 0).plusMinutes(i * 997L)));
+        break;
+
+      case DATE:
+        builder.addDate(i < 0 ? null : pick(i, LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(1969, 12, 31), LocalDate.ofEpochDay(i * 37L)));
+        break;
+
+      case TEXT:
+        final StringBuilder text = new StringBuilder();
+        for (int j = 0; j < i % 50; j++) {
+          text.append((char) (' ' + (i + j) % 95));
+        }
+        builder.addText(i < 0 ? null : pick(i, "", "'\"\n,", text.toString(), text.toString()));
+        break;
+
+      default:
+        throw new AssertionError(dataType);
+    }
+  }
+
+  /**
+   * @return one of the three edge values for the first few {@code i}, and then {@code value}
+   */
+  private static <T> T pick(int i, T first, T second, T third, T value) {
+    switch (i) {
+      case 2:  return first;
+      case 3:  return second;
+      case 4:  return third;
+      default: return value;
+    }
+  }
+
+  /**
+   * @return the files in the directory of temporary files, where the data is spilled
+   */
+  private static Set<Path> listTempFiles() throws IOException {
+    final Set<Path> files = new HashSet<>();
+    try (Stream<Path> stream = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+      stream.filter(path -> path.toString().endsWith(".tmp")).forEach(files::add);
+    }
+    return files;
+  }
+
+}
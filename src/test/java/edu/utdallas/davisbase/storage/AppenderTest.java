@@ -0,0 +1,152 @@
+package edu.utdallas.davisbase.storage;
+
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.primitives.ImmutableIntArray;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class AppenderTest {
+
+  /**
+   * Enough rows for more leaf pages than one interior page can hold children, so that the B+tree of
+   * the table has at least three levels.
+   */
+  private static final int ROW_COUNT = 60000;
+
+  private Path dataDirectory;
+  private @Nullable Storage storage = null;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    closeStorage();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testReopenAndAppendAfterMultiLevelInsert() throws IOException, StorageException {
+    openStorage().createTableFile("t");
+    appendRows(0, ROW_COUNT);
+    closeStorage();
+    assertTrue(assertMetaData() > (PAGE_SIZE - 16) / (8 + 2), "the table has fewer than three levels");
+
+    // Each session starts from the rightmost leaf page and page count of the metadata.
+    for (int session = 0; session < 3; session++) {
+      openStorage();
+      appendRows(ROW_COUNT + session * 700, 700);
+      closeStorage();
+      assertMetaData();
+    }
+
+    openStorage();
+    assertRows(ROW_COUNT + 3 * 700);
+  }
+
+  @Test
+  public void testAppendInManySmallSessions() throws IOException, StorageException {
+    openStorage().createTableFile("t");
+    for (int rowId = 0; rowId < 3000; rowId += 10) {
+      appendRows(rowId, 10);
+    }
+    closeStorage();
+    assertMetaData();
+
+    openStorage();
+    assertRows(3000);
+  }
+
+  private Storage openStorage() {
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    final Storage storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+    this.storage = storage;
+    return storage;
+  }
+
+  private void closeStorage() throws IOException {
+    final @Nullable Storage storage = this.storage;
+    this.storage = null;
+    if (storage != null) {
+      storage.close();
+    }
+  }
+
+  private void appendRows(int firstRowId, int rowCount) throws IOException {
+    try (TableFile tableFile = storage.openTableFile("t");
+         TableFile.Appender appender = tableFile.openAppender()) {
+      for (int rowId = firstRowId; rowId < firstRowId + rowCount; rowId++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        row.appendInt(rowId * 2);
+        row.appendText("row" + rowId);
+        assertEquals(rowId, appender.appendRow(row));
+      }
+    }
+  }
+
+  /**
+   * Checks, in the closed file, that the page count of the metadata is the number of pages in the
+   * file, and that its rightmost leaf page is the last of the chain of leaf pages.
+   *
+   * @return the number of leaf pages of the table
+   */
+  private int assertMetaData() throws IOException {
+    final ImmutableIntArray leafPageNos;
+    try (Storage storage = openStorage();
+         TableFile tableFile = storage.openTableFile("t")) {
+      leafPageNos = tableFile.getLeafPageNos();
+    }
+    this.storage = null;
+
+    final File file = dataDirectory.resolve("t." + StorageConfiguration.Builder.getDefaultTableFileExtension()).toFile();
+    try (RandomAccessFile raw = new RandomAccessFile(file, "r")) {
+      assertEquals(raw.length() / PAGE_SIZE, Page.getMetaDataPageCount(raw));
+      assertEquals(leafPageNos.get(leafPageNos.length() - 1), Page.getMetaDataRightmostLeafPageNo(raw));
+    }
+    return leafPageNos.length();
+  }
+
+  /**
+   * Checks that the table has rows 0 to {@code rowCount - 1} in rowid order, both by a scan and by
+   * looking rows up by rowid.
+   */
+  private void assertRows(int rowCount) throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      int expectedRowId = 0;
+      while (tableFile.goToNextRow()) {
+        assertEquals(expectedRowId, tableFile.getRowId());
+        assertEquals(expectedRowId * 2, tableFile.getInt(1));
+        assertEquals("row" + expectedRowId, tableFile.readText(2));
+        expectedRowId += 1;
+      }
+      assertEquals(rowCount, expectedRowId);
+    }
+
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int rowId : new int[] { rowCount - 1, rowCount / 2, ROW_COUNT - 1, 0 }) {
+        if (0 <= rowId && rowId < rowCount) {
+          assertTrue(tableFile.goToRow(rowId), "row " + rowId);
+          assertEquals(rowId * 2, tableFile.getInt(1));
+        }
+      }
+      assertFalse(tableFile.goToRow(rowCount));
+    }
+  }
+
+}
@@ -0,0 +1,174 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class BufferPoolTest {
+
+  private static final int PAGE_SIZE = 16;
+  private static final int CAPACITY = 2;
+
+  private Path directory;
+  private File file;
+  private BufferPool pool;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("davisbase");
+    file = directory.resolve("t.tbl").toFile();
+    assertTrue(file.createNewFile());
+    pool = new BufferPool(PAGE_SIZE, CAPACITY);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    pool.discard(file);
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedFrame() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    final BufferPool.Frame frame0 = pinAndUnpin(pooledFile, 0);
+    final BufferPool.Frame frame1 = pinAndUnpin(pooledFile, 1);
+
+    // Page 0 is used again, so page 1 becomes the least recently used.
+    assertSame(frame0, pinAndUnpin(pooledFile, 0));
+    final BufferPool.Frame frame2 = pinAndUnpin(pooledFile, 2);
+
+    assertTrue(frame0.isResident());
+    assertFalse(frame1.isResident());
+    assertTrue(frame2.isResident());
+    assertNotSame(frame1, pinAndUnpin(pooledFile, 1));
+  }
+
+  @Test
+  public void testPinnedFramesAreNotEvicted() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    final BufferPool.Frame frame0 = pool.pin(pooledFile, 0);
+    pinAndUnpin(pooledFile, 1);
+    pinAndUnpin(pooledFile, 2);
+    assertTrue(frame0.isResident());
+
+    pool.pin(pooledFile, 3);
+    assertThrows(IllegalStateException.class, () -> pool.pin(pooledFile, 4));
+  }
+
+  @Test
+  public void testWritesBackDirtyFrameOnEviction() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    pool.extend(pooledFile, 3 * PAGE_SIZE);
+    final BufferPool.Frame frame0 = pool.pin(pooledFile, 0);
+    frame0.getData()[5] = 42;
+    frame0.markDirty();
+    pool.unpin(frame0);
+
+    assertEquals(0, readByte(5));
+    pinAndUnpin(pooledFile, 1);
+    pinAndUnpin(pooledFile, 2);
+    assertFalse(frame0.isResident());
+    assertEquals(42, readByte(5));
+
+    // Read back from disk when it is pinned again.
+    assertEquals(42, pinAndUnpin(pooledFile, 0).getData()[5]);
+  }
+
+  @Test
+  public void testFlushWritesBackDirtyFramesAndLength() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    pool.extend(pooledFile, PAGE_SIZE + 3);
+    final BufferPool.Frame frame1 = pool.pin(pooledFile, 1);
+    frame1.getData()[2] = 7;
+    frame1.markDirty();
+    pool.unpin(frame1);
+    assertEquals(0, file.length());
+
+    pool.flush(pooledFile);
+    assertTrue(frame1.isResident());
+    assertEquals(PAGE_SIZE + 3, file.length());
+    assertEquals(7, readByte(PAGE_SIZE + 2));
+  }
+
+  @Test
+  public void testDiscardDropsDirtyFrames() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    pool.extend(pooledFile, PAGE_SIZE);
+    final BufferPool.Frame frame0 = pool.pin(pooledFile, 0);
+    frame0.getData()[0] = 9;
+    frame0.markDirty();
+    pool.unpin(frame0);
+
+    pool.discard(file);
+    assertFalse(frame0.isResident());
+    assertEquals(0, file.length());
+    assertNotSame(pooledFile, pool.register(file));
+  }
+
+  @Test
+  public void testReleaseClosesFileAfterLastHandle() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    assertSame(pooledFile, pool.register(file));
+    pool.extend(pooledFile, PAGE_SIZE);
+    final BufferPool.Frame frame0 = pool.pin(pooledFile, 0);
+    frame0.getData()[3] = 5;
+    frame0.markDirty();
+    pool.unpin(frame0);
+
+    pool.release(pooledFile);
+    assertTrue(pooledFile.isOpen());
+    pool.release(pooledFile);
+    assertFalse(pooledFile.isOpen());
+    assertThrows(IllegalStateException.class, () -> pool.release(pooledFile));
+
+    // The dirty frame was written back before the file was closed, and stays resident.
+    assertEquals(5, readByte(3));
+    assertTrue(frame0.isResident());
+    assertThrows(IllegalStateException.class, () -> pool.pin(pooledFile, 1));
+
+    // The next handle reopens the file and finds the frame still cached.
+    assertSame(pooledFile, pool.register(file));
+    assertTrue(pooledFile.isOpen());
+    assertSame(frame0, pinAndUnpin(pooledFile, 0));
+    pinAndUnpin(pooledFile, 1);
+    pinAndUnpin(pooledFile, 2);
+    assertEquals(5, pinAndUnpin(pooledFile, 0).getData()[3]);
+  }
+
+  @Test
+  public void testDiscardClosesFile() throws IOException {
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    pool.discard(file);
+    assertFalse(pooledFile.isOpen());
+  }
+
+  private BufferPool.Frame pinAndUnpin(BufferPool.PooledFile pooledFile, int pageIndex) throws IOException {
+    final BufferPool.Frame frame = pool.pin(pooledFile, pageIndex);
+    pool.unpin(frame);
+    return frame;
+  }
+
+  /**
+   * @return the byte at {@code offset} of the file on disk, bypassing the pool
+   */
+  private int readByte(long offset) throws IOException {
+    try (RandomAccessFile raw = new RandomAccessFile(file, "r")) {
+      if (offset >= raw.length()) {
+        return 0;
+      }
+      raw.seek(offset);
+      return raw.readByte();
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class BulkLoaderTest {
+
+  private static final int ROW_COUNT = 20000;
+
+  private Path dataDirectory;
+  private final List<Storage> storages = new ArrayList<>();
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    for (Storage storage : storages) {
+      storage.close();
+    }
+    storages.clear();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testLoadAtFullFillFactor() throws IOException, StorageException {
+    final Storage storage = openStorage(1.0);
+    storage.createTableFile("t");
+    loadRows(storage, "t", ROW_COUNT);
+    assertRows(storage, "t", ROW_COUNT);
+  }
+
+  @Test
+  public void testLoadAtPartialFillFactor() throws IOException, StorageException {
+    final Storage storage = openStorage(0.5);
+    storage.createTableFile("t");
+    loadRows(storage, "t", ROW_COUNT);
+    assertRows(storage, "t", ROW_COUNT);
+  }
+
+  @Test
+  public void testLowerFillFactorUsesMoreLeafPages() throws IOException {
+    final Storage fullStorage = openStorage(1.0);
+    fullStorage.createTableFile("full");
+    loadRows(fullStorage, "full", ROW_COUNT);
+
+    final Storage partialStorage = openStorage(0.5);
+    partialStorage.createTableFile("partial");
+    loadRows(partialStorage, "partial", ROW_COUNT);
+
+    final int fullLeafPageCount = getLeafPageCount(fullStorage, "full");
+    final int partialLeafPageCount = getLeafPageCount(partialStorage, "partial");
+    assertTrue(partialLeafPageCount > fullLeafPageCount,
+        partialLeafPageCount + " leaf pages at 0.5, but " + fullLeafPageCount + " at 1.0");
+  }
+
+  @Test
+  public void testAppendAfterLoad() throws IOException, StorageException {
+    final Storage storage = openStorage(0.5);
+    storage.createTableFile("t");
+    loadRows(storage, "t", ROW_COUNT);
+
+    try (TableFile tableFile = storage.openTableFile("t");
+         TableFile.Appender appender = tableFile.openAppender()) {
+      for (int rowId = ROW_COUNT; rowId < ROW_COUNT + 1000; rowId++) {
+        assertEquals(rowId, appender.appendRow(newRow(rowId)));
+      }
+    }
+    assertRows(storage, "t", ROW_COUNT + 1000);
+  }
+
+  @Test
+  public void testLoadNoRows() throws IOException, StorageException {
+    final Storage storage = openStorage(1.0);
+    storage.createTableFile("t");
+    loadRows(storage, "t", 0);
+    assertRows(storage, "t", 0);
+  }
+
+  @Test
+  public void testCanBulkLoadOnlyTableWithoutRows() throws IOException {
+    final Storage storage = openStorage(1.0);
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      assertTrue(tableFile.canBulkLoad());
+    }
+
+    loadRows(storage, "t", 1);
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      assertFalse(tableFile.canBulkLoad());
+    }
+    assertThrows(IllegalStateException.class, () -> storage.openBulkLoader("t"));
+  }
+
+  private Storage openStorage(double fillFactor) {
+    final StorageConfiguration.Builder configurationBuilder = new StorageConfiguration.Builder();
+    configurationBuilder.setBulkLoadFillFactor(fillFactor);
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+
+    final Storage storage = new Storage(configurationBuilder.build(), stateBuilder.build());
+    storages.add(storage);
+    return storage;
+  }
+
+  private static void loadRows(Storage storage, String tableName, int rowCount) throws IOException {
+    try (BulkLoader loader = storage.openBulkLoader(tableName)) {
+      for (int rowId = 0; rowId < rowCount; rowId++) {
+        assertEquals(rowId, loader.appendRow(newRow(rowId)));
+      }
+    }
+  }
+
+  private static TableRowBuilder newRow(int rowId) {
+    final TableRowBuilder row = new TableRowBuilder();
+    row.appendInt(rowId * 2);
+    row.appendText("row" + rowId);
+    return row;
+  }
+
+  private static int getLeafPageCount(Storage storage, String tableName) throws IOException {
+    try (TableFile tableFile = storage.openTableFile(tableName)) {
+      return tableFile.getLeafPageNos().length();
+    }
+  }
+
+  /**
+   * Checks that the table has rows 0 to {@code rowCount - 1} in rowid order, both by a scan and by
+   * looking rows up by rowid.
+   */
+  private static void assertRows(Storage storage, String tableName, int rowCount) throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile(tableName)) {
+      int expectedRowId = 0;
+      while (tableFile.goToNextRow()) {
+        assertEquals(expectedRowId, tableFile.getRowId());
+        assertEquals(expectedRowId * 2, tableFile.getInt(1));
+        assertEquals("row" + expectedRowId, tableFile.readText(2));
+        expectedRowId += 1;
+      }
+      assertEquals(rowCount, expectedRowId);
+    }
+
+    try (TableFile tableFile = storage.openTableFile(tableName)) {
+      for (int rowId : new int[] { rowCount - 1, rowCount / 2, 0 }) {
+        if (0 <= rowId && rowId < rowCount) {
+          assertTrue(tableFile.goToRow(rowId), "row " + rowId);
+          assertEquals(rowId, tableFile.getRowId());
+          assertEquals(rowId * 2, tableFile.getInt(1));
+        }
+      }
+      assertFalse(tableFile.goToRow(rowCount));
+    }
+  }
+
+}
@@ -0,0 +1,219 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class FileHandleCacheTest {
+
+  private Path directory;
+  private File fileA;
+  private File fileB;
+  private File fileC;
+
+  /**
+   * Every handle opened by {@link #open(File)}, in order.
+   */
+  private final List<TestFile> openedHandles = new ArrayList<>();
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("davisbase");
+    fileA = createFile("a.tbl");
+    fileB = createFile("b.tbl");
+    fileC = createFile("c.tbl");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    for (final TestFile handle : openedHandles) {
+      handle.close();
+    }
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testReleasedHandleIsReused() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(4);
+    assertNull(cache.acquireIdle(fileA));
+
+    final FileHandleCache.Lease lease = cache.acquireNew(fileA, this::open);
+    final TestFile handle = (TestFile) lease.getHandle();
+    lease.close();
+    lease.close();
+    assertEquals(1, handle.resetCount);
+    assertFalse(handle.isClosed);
+
+    final FileHandleCache.@Nullable Lease idleLease = cache.acquireIdle(fileA);
+    assertNotNull(idleLease);
+    assertSame(handle, idleLease.getHandle());
+    assertNull(cache.acquireIdle(fileA), "an idle handle was leased twice");
+    assertNull(cache.acquireIdle(fileB));
+
+    idleLease.close();
+    assertEquals(2, handle.resetCount);
+    assertEquals(1, openedHandles.size());
+  }
+
+  @Test
+  public void testConcurrentLeasesGetDistinctHandles() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(4);
+    final FileHandleCache.Lease first = cache.acquireNew(fileA, this::open);
+    assertNull(cache.acquireIdle(fileA));
+    final FileHandleCache.Lease second = cache.acquireNew(fileA, this::open);
+    assertNotSame(first.getHandle(), second.getHandle());
+
+    first.close();
+    second.close();
+    assertNotNull(cache.acquireIdle(fileA));
+    assertNotNull(cache.acquireIdle(fileA));
+    assertNull(cache.acquireIdle(fileA));
+  }
+
+  @Test
+  public void testEvictsIdleHandlesOfLeastRecentlyUsedFile() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(2);
+    cache.acquireNew(fileA, this::open).close();
+    cache.acquireNew(fileB, this::open).close();
+
+    // A is used again, so B becomes the least recently used.
+    final FileHandleCache.@Nullable Lease leaseA = cache.acquireIdle(fileA);
+    assertNotNull(leaseA);
+    leaseA.close();
+    cache.acquireNew(fileC, this::open).close();
+
+    final TestFile handleA = openedHandles.get(0);
+    final TestFile handleB = openedHandles.get(1);
+    final TestFile handleC = openedHandles.get(2);
+    assertFalse(handleA.isClosed);
+    assertTrue(handleB.isClosed);
+    assertFalse(handleC.isClosed);
+    assertNull(cache.acquireIdle(fileB));
+  }
+
+  @Test
+  public void testLeasedHandlesAreNotEvicted() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(1);
+    final FileHandleCache.Lease leaseA = cache.acquireNew(fileA, this::open);
+    final FileHandleCache.Lease leaseB = cache.acquireNew(fileB, this::open);
+    assertFalse(((TestFile) leaseA.getHandle()).isClosed);
+    assertFalse(((TestFile) leaseB.getHandle()).isClosed);
+
+    // Released while both are open, which exceeds the maximum.
+    leaseA.close();
+    assertTrue(((TestFile) leaseA.getHandle()).isClosed);
+    leaseB.close();
+    assertFalse(((TestFile) leaseB.getHandle()).isClosed);
+    assertNotNull(cache.acquireIdle(fileB));
+  }
+
+  @Test
+  public void testDiscardWhileLeased() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(4);
+    final FileHandleCache.Lease idle = cache.acquireNew(fileA, this::open);
+    final FileHandleCache.Lease leased = cache.acquireNew(fileA, this::open);
+    idle.close();
+
+    cache.discard(fileA);
+    assertTrue(((TestFile) idle.getHandle()).isClosed);
+    assertFalse(((TestFile) leased.getHandle()).isClosed);
+    assertNull(cache.acquireIdle(fileA));
+
+    // A handle of the re-created file, which is not discarded.
+    final FileHandleCache.Lease recreated = cache.acquireNew(fileA, this::open);
+
+    leased.close();
+    assertTrue(((TestFile) leased.getHandle()).isClosed);
+    assertNull(cache.acquireIdle(fileA));
+
+    recreated.close();
+    assertFalse(((TestFile) recreated.getHandle()).isClosed);
+    final FileHandleCache.@Nullable Lease idleLease = cache.acquireIdle(fileA);
+    assertNotNull(idleLease);
+    assertSame(recreated.getHandle(), idleLease.getHandle());
+  }
+
+  @Test
+  public void testBrokenHandleIsClosed() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(4);
+    final FileHandleCache.Lease lease = cache.acquireNew(fileA, this::open);
+    final TestFile handle = (TestFile) lease.getHandle();
+    handle.isBroken = true;
+
+    assertThrows(IOException.class, lease::close);
+    assertTrue(handle.isClosed);
+    assertNull(cache.acquireIdle(fileA));
+  }
+
+  @Test
+  public void testCloseWhileLeased() throws IOException {
+    final FileHandleCache cache = new FileHandleCache(4);
+    final FileHandleCache.Lease idle = cache.acquireNew(fileA, this::open);
+    final FileHandleCache.Lease leased = cache.acquireNew(fileB, this::open);
+    idle.close();
+
+    cache.close();
+    assertTrue(((TestFile) idle.getHandle()).isClosed);
+    assertFalse(((TestFile) leased.getHandle()).isClosed);
+
+    leased.close();
+    assertEquals(1, ((TestFile) leased.getHandle()).resetCount);
+    assertTrue(((TestFile) leased.getHandle()).isClosed);
+    assertNull(cache.acquireIdle(fileB));
+  }
+
+  private File createFile(String name) throws IOException {
+    final File file = directory.resolve(name).toFile();
+    assertTrue(file.createNewFile());
+    return file;
+  }
+
+  private RandomAccessFile open(File path) throws IOException {
+    final TestFile handle = new TestFile(path);
+    openedHandles.add(handle);
+    return handle;
+  }
+
+  /**
+   * A handle that counts how often it is reset, and records whether it was closed.
+   */
+  private static class TestFile extends RandomAccessFile implements ReusableFile {
+
+    private int resetCount = 0;
+    private boolean isBroken = false;
+    private boolean isClosed = false;
+
+    TestFile(File path) throws IOException {
+      super(path, "r");
+    }
+
+    @Override
+    public void reset() throws IOException {
+      if (isBroken) {
+        throw new IOException("broken");
+      }
+      resetCount += 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+      isClosed = true;
+      super.close();
+    }
+
+  }
+
+}
@@ -0,0 +1,180 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IndexBuilderTest {
+
+  private static final int ENTRY_COUNT = 30000;
+
+  /**
+   * Far fewer entries than {@link #ENTRY_COUNT}, so that the builder spills and merges many runs.
+   */
+  private static final int RUN_LENGTH = 1000;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+
+    final StorageConfiguration.Builder configurationBuilder = new StorageConfiguration.Builder();
+    configurationBuilder.setIndexBuildRunLength(RUN_LENGTH);
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(configurationBuilder.build(), stateBuilder.build());
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testBuildIntIndexFromSpilledRuns() throws IOException {
+    final Random random = new Random(21);
+    final List<@Nullable Integer> keys = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      if (i % 100 == 0) {
+        keys.add(null);
+      }
+      else if (i % 50 == 0) {
+        // More rowids for one key than a single cell can hold.
+        keys.add(7);
+      }
+      else {
+        keys.add(random.nextInt(20001) - 10000);
+      }
+    }
+
+    buildIndex(DataType.INT, keys);
+    assertIndex(KeyCodec.INT, keys, Comparator.naturalOrder());
+    assertRangeCounts(KeyCodec.INT, keys, Comparator.naturalOrder(), random);
+  }
+
+  @Test
+  public void testBuildTextIndexFromSpilledRuns() throws IOException {
+    final Random random = new Random(21);
+    final List<@Nullable String> keys = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      if (i % 100 == 0) {
+        keys.add(null);
+      }
+      else {
+        final StringBuilder key = new StringBuilder();
+        final int length = random.nextInt(12);
+        for (int j = 0; j < length; j++) {
+          key.append((char) (' ' + random.nextInt('~' - ' ' + 1)));
+        }
+        keys.add(key.toString());
+      }
+    }
+
+    buildIndex(DataType.TEXT, keys);
+    assertIndex(KeyCodec.TEXT, keys, Comparator.naturalOrder());
+    assertRangeCounts(KeyCodec.TEXT, keys, Comparator.naturalOrder(), random);
+  }
+
+  @Test
+  public void testBuildDeletesSpilledRuns() throws IOException {
+    final List<@Nullable Integer> keys = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      keys.add(ENTRY_COUNT - i);
+    }
+
+    buildIndex(DataType.INT, keys);
+    try (Stream<Path> files = Files.list(dataDirectory)) {
+      assertEquals(0, files.filter(file -> file.toString().endsWith(".run")).count());
+    }
+  }
+
+  /**
+   * Builds the index "i" of the given keys, the key of rowid {@code i} being {@code keys.get(i)}.
+   */
+  private void buildIndex(DataType dataType, List<?> keys) throws IOException {
+    storage.createIndexFile("i", "t", (byte) 1);
+    try (IndexBuilder builder = storage.openIndexBuilder("i", dataType)) {
+      for (int rowId = 0; rowId < keys.size(); rowId++) {
+        builder.addEntry(keys.get(rowId), rowId);
+      }
+    }
+  }
+
+  /**
+   * Checks that a cursor over the whole index returns every non-null key, in key order and then
+   * rowid order.
+   */
+  private <T> void assertIndex(KeyCodec<T> codec, List<@Nullable T> keys, Comparator<T> comparator) throws IOException {
+    final List<Integer> expectedRowIds = new ArrayList<>();
+    for (int rowId = 0; rowId < keys.size(); rowId++) {
+      if (keys.get(rowId) != null) {
+        expectedRowIds.add(rowId);
+      }
+    }
+    expectedRowIds.sort((rowId1, rowId2) -> {
+      final int comparison = comparator.compare(keys.get(rowId1), keys.get(rowId2));
+      return comparison != 0 ? comparison : Integer.compare(rowId1, rowId2);
+    });
+
+    try (IndexFile indexFile = storage.openIndexFile("i")) {
+      final IndexFile.Cursor<T> cursor = indexFile.openCursor(codec, null, false, null, false);
+      for (final int expectedRowId : expectedRowIds) {
+        assertTrue(cursor.goToNextEntry(), "entry of rowid " + expectedRowId);
+        assertEquals(expectedRowId, cursor.getRowId());
+        assertEquals(keys.get(expectedRowId), cursor.getKey());
+      }
+      assertFalse(cursor.goToNextEntry());
+    }
+  }
+
+  /**
+   * Checks the number of entries within ranges between random keys, with every combination of
+   * inclusive and exclusive bounds, against a count of the keys themselves.
+   */
+  private <T> void assertRangeCounts(KeyCodec<T> codec, List<@Nullable T> keys, Comparator<T> comparator, Random random) throws IOException {
+    try (IndexFile indexFile = storage.openIndexFile("i")) {
+      for (int i = 0; i < 20; i++) {
+        final @Nullable T lower = keys.get(random.nextInt(keys.size()));
+        final @Nullable T upper = keys.get(random.nextInt(keys.size()));
+        for (final boolean isLowerInclusive : new boolean[] { false, true }) {
+          for (final boolean isUpperInclusive : new boolean[] { false, true }) {
+            int expectedCount = 0;
+            for (final @Nullable T key : keys) {
+              if (key != null &&
+                  (lower == null || comparator.compare(key, lower) > (isLowerInclusive ? -1 : 0)) &&
+                  (upper == null || comparator.compare(key, upper) < (isUpperInclusive ? 1 : 0))) {
+                expectedCount += 1;
+              }
+            }
+
+            final IndexFile.Cursor<T> cursor = indexFile.openCursor(codec, lower, isLowerInclusive, upper, isUpperInclusive);
+            int count = 0;
+            while (cursor.goToNextEntry()) {
+              count += 1;
+            }
+            assertEquals(expectedCount, count, lower + " to " + upper);
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,222 @@
+package edu.utdallas.davisbase.storage;
+
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IndexCursorTest {
+
+  /**
+   * Enough entries for many leaf pages, whose keys are {@code 2 * (rowId / 3)}, so that every key has
+   * three entries and no key is odd, except that every 100th rowid has a null key.
+   */
+  private static final int ENTRY_COUNT = 6000;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    storage.createIndexFile("i", "t", (byte) 1);
+    try (IndexBuilder builder = storage.openIndexBuilder("i", DataType.INT)) {
+      for (int rowId = 0; rowId < ENTRY_COUNT; rowId++) {
+        builder.addEntry(keyOf(rowId), rowId);
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testInclusiveAndExclusiveBounds() throws IOException {
+    assertRange(100, true, 200, true);
+    assertRange(100, false, 200, true);
+    assertRange(100, true, 200, false);
+    assertRange(100, false, 200, false);
+
+    // A single key.
+    assertEquals(3, assertRange(100, true, 100, true));
+    assertEquals(0, assertRange(100, false, 100, true));
+    assertEquals(0, assertRange(100, true, 100, false));
+  }
+
+  @Test
+  public void testBoundsBetweenKeys() throws IOException {
+    // No key is odd, so whether an odd bound is inclusive makes no difference.
+    final int count = assertRange(101, false, 199, false);
+    assertTrue(count > 0);
+    assertEquals(count, assertRange(101, true, 199, false));
+    assertEquals(count, assertRange(101, false, 199, true));
+    assertEquals(count, assertRange(101, true, 199, true));
+    assertEquals(count, assertRange(102, true, 198, true));
+  }
+
+  @Test
+  public void testUnboundedSides() throws IOException {
+    final int nonNullCount = ENTRY_COUNT - ENTRY_COUNT / 100;
+    assertEquals(nonNullCount, assertRange(null, false, null, false));
+    assertEquals(nonNullCount, assertRange(null, true, null, true));
+
+    assertRange(null, false, 50, true);
+    assertRange(null, false, 50, false);
+    assertRange(3000, true, null, false);
+    assertRange(3000, false, null, false);
+  }
+
+  @Test
+  public void testEmptyRanges() throws IOException {
+    assertEquals(0, assertRange(200, true, 100, true));
+    assertEquals(0, assertRange(-10, true, -1, true));
+    assertEquals(0, assertRange(null, false, 0, false));
+    assertEquals(0, assertRange(maxKey(), false, null, false));
+    assertEquals(0, assertRange(maxKey() + 1, true, maxKey() + 100, true));
+  }
+
+  @Test
+  public void testRangesCrossingLeafSiblings() throws IOException {
+    try (IndexFile index = storage.openIndexFile("i")) {
+      assertTrue(index.file.length() / PAGE_SIZE > 20, "the index has too few pages");
+    }
+
+    // Ranges from every leaf page to far along its right siblings.
+    for (int lower = 0; lower < maxKey(); lower += 250) {
+      assertRange(lower, true, lower + 1500, false);
+    }
+    assertRange(1, false, maxKey() - 1, false);
+  }
+
+  @Test
+  public void testMatchesFullScanOfTable() throws IOException, StorageException {
+    final Random random = new Random(23);
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int rowId = 0; rowId < ENTRY_COUNT; rowId++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        if (rowId % 17 == 0) {
+          row.appendNull();
+        }
+        else {
+          row.appendInt(random.nextInt(1000) - 500);
+        }
+        tableFile.appendRow(row);
+      }
+    }
+    storage.createIndexFile("t_a", "t", (byte) 1);
+    try (IndexBuilder builder = storage.openIndexBuilder("t_a", DataType.INT);
+         TableFile tableFile = storage.openTableFile("t")) {
+      while (tableFile.goToNextRow()) {
+        builder.addEntry(tableFile.readInt(1), tableFile.getRowId());
+      }
+    }
+
+    for (int i = 0; i < 30; i++) {
+      final @Nullable Integer lower = (i % 5 == 0) ? null : random.nextInt(1100) - 550;
+      final @Nullable Integer upper = (i % 7 == 0) ? null : random.nextInt(1100) - 550;
+      final boolean isLowerInclusive = random.nextBoolean();
+      final boolean isUpperInclusive = random.nextBoolean();
+
+      final List<Integer> expectedRowIds = new ArrayList<>();
+      try (TableFile tableFile = storage.openTableFile("t")) {
+        while (tableFile.goToNextRow()) {
+          final @Nullable Integer value = tableFile.readInt(1);
+          if (value != null && isWithin(value, lower, isLowerInclusive, upper, isUpperInclusive)) {
+            expectedRowIds.add(tableFile.getRowId());
+          }
+        }
+      }
+
+      final List<Integer> rowIds = new ArrayList<>();
+      try (IndexFile index = storage.openIndexFile("t_a")) {
+        final IndexFile.Cursor<Integer> cursor = index.openCursor(KeyCodec.INT, lower, isLowerInclusive, upper, isUpperInclusive);
+        @Nullable Integer previousKey = null;
+        while (cursor.goToNextEntry()) {
+          assertTrue(previousKey == null || previousKey <= cursor.getKey(), "keys out of order");
+          previousKey = cursor.getKey();
+          rowIds.add(cursor.getRowId());
+        }
+      }
+      rowIds.sort(null);
+      assertEquals(expectedRowIds, rowIds, lower + " to " + upper);
+    }
+  }
+
+  @Test
+  public void testCursorNotOnAnEntry() throws IOException {
+    try (IndexFile index = storage.openIndexFile("i")) {
+      final IndexFile.Cursor<Integer> cursor = index.openCursor(KeyCodec.INT, 10, true, 10, true);
+      assertThrows(IllegalStateException.class, cursor::getRowId);
+      for (int i = 0; i < 3; i++) {
+        assertTrue(cursor.goToNextEntry());
+      }
+      assertFalse(cursor.goToNextEntry());
+      assertFalse(cursor.goToNextEntry());
+      assertThrows(IllegalStateException.class, cursor::getKey);
+    }
+  }
+
+  /**
+   * Checks that a cursor over the given range produces exactly the entries of the keys within it, in
+   * key order and then rowid order.
+   *
+   * @return the number of entries in the range
+   */
+  private int assertRange(@Nullable Integer lower, boolean isLowerInclusive, @Nullable Integer upper, boolean isUpperInclusive) throws IOException {
+    final List<Integer> expectedRowIds = new ArrayList<>();
+    for (int rowId = 0; rowId < ENTRY_COUNT; rowId++) {
+      final @Nullable Integer key = keyOf(rowId);
+      if (key != null && isWithin(key, lower, isLowerInclusive, upper, isUpperInclusive)) {
+        expectedRowIds.add(rowId);
+      }
+    }
+
+    final String range = (isLowerInclusive ? "[" : "(") + lower + ", " + upper + (isUpperInclusive ? "]" : ")");
+    try (IndexFile index = storage.openIndexFile("i")) {
+      final IndexFile.Cursor<Integer> cursor = index.openCursor(KeyCodec.INT, lower, isLowerInclusive, upper, isUpperInclusive);
+      for (final int expectedRowId : expectedRowIds) {
+        assertTrue(cursor.goToNextEntry(), range + " entry of rowid " + expectedRowId);
+        assertEquals(expectedRowId, cursor.getRowId(), range);
+        assertEquals(keyOf(expectedRowId), cursor.getKey(), range);
+      }
+      assertFalse(cursor.goToNextEntry(), range + " has too many entries");
+    }
+    return expectedRowIds.size();
+  }
+
+  private static boolean isWithin(int key, @Nullable Integer lower, boolean isLowerInclusive, @Nullable Integer upper, boolean isUpperInclusive) {
+    return (lower == null || key > lower || (isLowerInclusive && key == lower)) &&
+        (upper == null || key < upper || (isUpperInclusive && key == upper));
+  }
+
+  private static @Nullable Integer keyOf(int rowId) {
+    return (rowId % 100 == 0) ? null : 2 * (rowId / 3);
+  }
+
+  private static int maxKey() {
+    return 2 * ((ENTRY_COUNT - 1) / 3);
+  }
+
+}
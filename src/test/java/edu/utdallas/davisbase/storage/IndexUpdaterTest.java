@@ -0,0 +1,228 @@
+package edu.utdallas.davisbase.storage;
+
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_COUNT;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_PAGE_TYPE_CODE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import edu.utdallas.davisbase.DataType;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IndexUpdaterTest {
+
+  private static final int ENTRY_COUNT = 20000;
+  private static final int BATCH_SIZE = 1000;
+
+  /**
+   * A key given to every 25th row, so that it has more rowids than a single cell can hold.
+   */
+  private static final int FREQUENT_KEY = 7;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  /**
+   * The entries that the index should hold, each as {@link #toEntry(int, int)}.
+   */
+  private NavigableSet<Long> expectedEntries;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    storage.createIndexFile("i", "t", (byte) 1);
+    try (IndexBuilder builder = storage.openIndexBuilder("i", DataType.INT)) {
+      // An empty index, i.e. a single empty leaf page, that only the updater fills.
+    }
+    expectedEntries = new TreeSet<>();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testInsertSplitsLeavesAndInteriors() throws IOException {
+    insertEntries(new Random(25));
+
+    assertTrue(countPages(IndexLeafPage.PAGE_TYPE_CODE) > 1, "no leaf page was split");
+    assertTrue(countPages(IndexInteriorPage.PAGE_TYPE_CODE) > 1, "no interior page was split");
+  }
+
+  @Test
+  public void testDeleteUntilLeavesAreEmpty() throws IOException {
+    final Random random = new Random(25);
+    final List<Integer> keys = insertEntries(random);
+    final int leafPageCount = countPages(IndexLeafPage.PAGE_TYPE_CODE);
+
+    final List<Integer> rowIds = new ArrayList<>(keys.size());
+    for (int rowId = 0; rowId < keys.size(); rowId++) {
+      rowIds.add(rowId);
+    }
+    Collections.shuffle(rowIds, random);
+
+    for (int i = 0; i < rowIds.size(); i += 2 * BATCH_SIZE) {
+      try (IndexUpdater updater = storage.openIndexUpdater("i", DataType.INT)) {
+        for (final int rowId : rowIds.subList(i, Math.min(i + 2 * BATCH_SIZE, rowIds.size()))) {
+          updater.deleteEntry(keys.get(rowId), rowId);
+          expectedEntries.remove(toEntry(keys.get(rowId), rowId));
+        }
+        updater.close();
+        assertEquals(0, updater.getInsertedEntryCount());
+        assertEquals(Math.min(2 * BATCH_SIZE, rowIds.size() - i), updater.getDeletedEntryCount());
+      }
+      assertIndex();
+    }
+
+    // Empty leaves are left in the tree, and are filled again by later insertions.
+    assertEquals(leafPageCount, countPages(IndexLeafPage.PAGE_TYPE_CODE));
+    assertEquals(leafPageCount, countEmptyLeafPages());
+
+    try (IndexUpdater updater = storage.openIndexUpdater("i", DataType.INT)) {
+      for (int rowId = 0; rowId < keys.size(); rowId += 100) {
+        updater.insertEntry(keys.get(rowId), rowId);
+        expectedEntries.add(toEntry(keys.get(rowId), rowId));
+      }
+    }
+    assertIndex();
+  }
+
+  @Test
+  public void testMixedBatch() throws IOException {
+    final Random random = new Random(25);
+    final List<Integer> keys = insertEntries(random);
+
+    try (IndexUpdater updater = storage.openIndexUpdater("i", DataType.INT)) {
+      for (int rowId = 0; rowId < keys.size(); rowId += 3) {
+        // As an UPDATE of the key of the row does.
+        updater.deleteEntry(keys.get(rowId), rowId);
+        expectedEntries.remove(toEntry(keys.get(rowId), rowId));
+        updater.insertEntry(keys.get(rowId) + 1, rowId);
+        expectedEntries.add(toEntry(keys.get(rowId) + 1, rowId));
+      }
+      // An entry that is not in the index, and a null key, which is never indexed.
+      updater.deleteEntry(123456, 0);
+      updater.insertEntry(null, keys.size());
+      updater.close();
+      assertEquals((keys.size() + 2) / 3, updater.getDeletedEntryCount());
+      assertEquals((keys.size() + 2) / 3, updater.getInsertedEntryCount());
+      assertTrue(updater.getPageReadCount() > 0);
+      assertTrue(updater.getPageWriteCount() > 0);
+    }
+    assertIndex();
+  }
+
+  /**
+   * Inserts {@link #ENTRY_COUNT} entries of random keys in batches of {@link #BATCH_SIZE}, checking
+   * the index after each batch.
+   *
+   * @return the key of each rowid, i.e. of rowid {@code i} at index {@code i}
+   */
+  private List<Integer> insertEntries(Random random) throws IOException {
+    final List<Integer> keys = new ArrayList<>(ENTRY_COUNT);
+    for (int rowId = 0; rowId < ENTRY_COUNT; rowId++) {
+      keys.add((rowId % 25 == 0) ? FREQUENT_KEY : random.nextInt(10001) - 5000);
+    }
+
+    for (int i = 0; i < ENTRY_COUNT; i += BATCH_SIZE) {
+      try (IndexUpdater updater = storage.openIndexUpdater("i", DataType.INT)) {
+        for (int rowId = i; rowId < i + BATCH_SIZE; rowId++) {
+          updater.insertEntry(keys.get(rowId), rowId);
+          expectedEntries.add(toEntry(keys.get(rowId), rowId));
+        }
+        updater.close();
+        assertEquals(BATCH_SIZE, updater.getInsertedEntryCount());
+        assertEquals(0, updater.getDeletedEntryCount());
+      }
+      assertIndex();
+    }
+    return keys;
+  }
+
+  /**
+   * Checks that a cursor over the whole index returns exactly the expected entries, in key order.
+   * The rowids of a key that spans several leaves need not be in order, as the rowids that a batch
+   * adds to it go into its first leaf.
+   */
+  private void assertIndex() throws IOException {
+    final NavigableSet<Long> entries = new TreeSet<>();
+    try (IndexFile indexFile = storage.openIndexFile("i")) {
+      final IndexFile.Cursor<Integer> cursor = indexFile.openCursor(KeyCodec.INT, null, false, null, false);
+      int previousKey = Integer.MIN_VALUE;
+      while (cursor.goToNextEntry()) {
+        assertTrue(previousKey <= cursor.getKey(), cursor.getKey() + " after " + previousKey);
+        assertTrue(entries.add(toEntry(cursor.getKey(), cursor.getRowId())),
+            "duplicate entry of rowid " + cursor.getRowId());
+        previousKey = cursor.getKey();
+      }
+    }
+    assertEquals(expectedEntries, entries);
+  }
+
+  private int countPages(byte pageTypeCode) throws IOException {
+    int count = 0;
+    try (RandomAccessFile file = openIndexFile()) {
+      for (int pageNo = 2; pageNo <= file.length() / PAGE_SIZE; pageNo++) {
+        file.seek(Page.convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_PAGE_TYPE_CODE);
+        if (file.readByte() == pageTypeCode) {
+          count += 1;
+        }
+      }
+    }
+    return count;
+  }
+
+  private int countEmptyLeafPages() throws IOException {
+    int count = 0;
+    try (RandomAccessFile file = openIndexFile()) {
+      for (int pageNo = 2; pageNo <= file.length() / PAGE_SIZE; pageNo++) {
+        file.seek(Page.convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_PAGE_TYPE_CODE);
+        final byte pageTypeCode = file.readByte();
+        file.seek(Page.convertPageNoToFileOffset(pageNo) + PAGE_OFFSET_OF_CELL_COUNT);
+        if (pageTypeCode == IndexLeafPage.PAGE_TYPE_CODE && file.readShort() == 0) {
+          count += 1;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Opens the index file directly, which is up to date with the buffer pool once every updater has
+   * been closed.
+   */
+  private RandomAccessFile openIndexFile() throws IOException {
+    final String fileName = "i." + StorageConfiguration.Builder.getDefaultIndexFileExtension();
+    return new RandomAccessFile(dataDirectory.resolve(fileName).toFile(), "r");
+  }
+
+  /**
+   * @return a value by which entries are ordered by key and then by rowid
+   */
+  private static long toEntry(int key, int rowId) {
+    return ((long) key << Integer.SIZE) | rowId;
+  }
+
+}
@@ -0,0 +1,152 @@
+package edu.utdallas.davisbase.storage;
+
+import edu.utdallas.davisbase.DataType;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class KeyCodecTest {
+
+  @Test
+  public void testOfEveryDataType() {
+    for (DataType dataType : DataType.values()) {
+      final KeyCodec<?> codec = KeyCodec.of(dataType);
+      assertEquals(dataType, codec.getDataType());
+      assertEquals(dataType.getJavaClass(), codec.getJavaClass());
+      assertEquals(dataType != DataType.TEXT, codec.isFixedWidth());
+    }
+  }
+
+  @Test
+  public void testTinyInt() {
+    assertCodec(KeyCodec.TINYINT, Arrays.asList(Byte.MIN_VALUE, (byte) -100, (byte) -1, (byte) 0, (byte) 1, (byte) 100, Byte.MAX_VALUE));
+  }
+
+  @Test
+  public void testSmallInt() {
+    assertCodec(KeyCodec.SMALLINT, Arrays.asList(Short.MIN_VALUE, (short) -300, (short) -1, (short) 0, (short) 1, (short) 300, Short.MAX_VALUE));
+  }
+
+  @Test
+  public void testInt() {
+    assertCodec(KeyCodec.INT, Arrays.asList(Integer.MIN_VALUE, -70000, -256, -1, 0, 1, 255, 70000, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testBigInt() {
+    assertCodec(KeyCodec.BIGINT, Arrays.asList(Long.MIN_VALUE, -5000000000L, -1L, 0L, 1L, 5000000000L, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testFloat() {
+    assertCodec(KeyCodec.FLOAT, Arrays.asList(Float.NEGATIVE_INFINITY, -Float.MAX_VALUE, -2.5f, -Float.MIN_VALUE, -0.0f, 0.0f, Float.MIN_VALUE, 2.5f, Float.MAX_VALUE, Float.POSITIVE_INFINITY));
+  }
+
+  @Test
+  public void testDouble() {
+    assertCodec(KeyCodec.DOUBLE, Arrays.asList(Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -2.5, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 2.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY));
+  }
+
+  @Test
+  public void testYear() {
+    assertCodec(KeyCodec.YEAR, Arrays.asList(Year.of(1872), Year.of(1999), Year.of(2000), Year.of(2001), Year.of(2127)));
+  }
+
+  @Test
+  public void testTime() {
+    assertCodec(KeyCodec.TIME, Arrays.asList(LocalTime.MIN, LocalTime.of(0, 0, 1), LocalTime.NOON, LocalTime.of(23, 59, 59)));
+  }
+
+  @Test
+  public void testDateTime() {
+    assertCodec(KeyCodec.DATETIME, Arrays.asList(
+        LocalDateTime.of(1900, 1, 1, 0, 0, 0),
+        LocalDateTime.of(1969, 12, 31, 23, 59, 59),
+        LocalDateTime.of(1970, 1, 1, 0, 0, 0),
+        LocalDateTime.of(2019, 8, 1, 12, 30, 15)));
+  }
+
+  @Test
+  public void testDate() {
+    assertCodec(KeyCodec.DATE, Arrays.asList(
+        LocalDate.of(1, 1, 1),
+        LocalDate.of(1969, 12, 31),
+        LocalDate.of(1970, 1, 1),
+        LocalDate.of(9999, 12, 31)));
+  }
+
+  @Test
+  public void testText() {
+    assertCodec(KeyCodec.TEXT, Arrays.asList("", " ", "A", "AB", "Z", "a", "ab", "abc", "b", "~"));
+  }
+
+  /**
+   * TEXT is stored as {@link edu.utdallas.davisbase.TextUtils#TEXT_CHARSET}, i.e. US-ASCII, so
+   * non-ASCII characters do not survive encoding. Keys must still be ordered as the strings that they
+   * decode to.
+   */
+  @Test
+  public void testNonAsciiText() {
+    assertEquals("caf?", KeyCodec.TEXT.decode(KeyCodec.TEXT.encode("café")));
+
+    final List<String> values = Arrays.asList("", "café", "cafe", "caf", "été", "ete", "?", "日本", "aéb", "a?c", "z");
+    for (String value1 : values) {
+      for (String value2 : values) {
+        final String decoded1 = KeyCodec.TEXT.decode(KeyCodec.TEXT.encode(value1));
+        final String decoded2 = KeyCodec.TEXT.decode(KeyCodec.TEXT.encode(value2));
+        assertEquals(Integer.signum(decoded1.compareTo(decoded2)),
+            Integer.signum(KeyCodec.TEXT.compare(KeyCodec.TEXT.encode(value1), KeyCodec.TEXT.encode(value2))),
+            value1 + " vs " + value2);
+      }
+    }
+  }
+
+  @Test
+  public void testCastRejectsOtherClasses() {
+    assertNull(KeyCodec.INT.cast(null));
+    assertEquals(Integer.valueOf(5), KeyCodec.INT.cast(5));
+    assertThrows(IllegalArgumentException.class, () -> KeyCodec.INT.cast(5L));
+    assertThrows(IllegalArgumentException.class, () -> KeyCodec.TEXT.cast(5));
+  }
+
+  /**
+   * Checks that every value round-trips through its key, that keys have the width of the codec, and
+   * that keys compare, both as arrays and where they lie in a buffer, as the values do.
+   *
+   * @param values distinct values in ascending order
+   */
+  private static <T extends Comparable<? super T>> void assertCodec(KeyCodec<T> codec, List<T> values) {
+    for (int i = 0; i < values.size(); i++) {
+      final T value = values.get(i);
+      final byte[] key = codec.encode(value);
+      assertEquals(value, codec.decode(key));
+      assertArrayEquals(key, codec.castAndEncode(value));
+      if (codec.isFixedWidth()) {
+        assertEquals(codec.getWidth(), key.length);
+      }
+
+      // The same key at an offset within a larger buffer, as in a page.
+      final ByteBuffer buffer = ByteBuffer.allocate(key.length + 7);
+      buffer.position(3);
+      buffer.put(key);
+      assertEquals(value, codec.decode(buffer, 3, key.length));
+
+      for (int j = 0; j < values.size(); j++) {
+        final byte[] otherKey = codec.encode(values.get(j));
+        final int expected = Integer.compare(i, j);
+        assertEquals(expected, Integer.signum(codec.compare(key, otherKey)), value + " vs " + values.get(j));
+        assertEquals(expected, Integer.signum(codec.compare(buffer, 3, key.length, otherKey)), value + " vs " + values.get(j));
+        assertEquals(expected, Integer.signum(value.compareTo(values.get(j))), "values out of order");
+      }
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class MappedRandomAccessFileTest {
+
+  private static final int EXTENT_SIZE = 1024;
+
+  private Path directory;
+  private File file;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("davisbase");
+    file = directory.resolve("t.tbl").toFile();
+    assertTrue(file.createNewFile());
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testWriteAndReadAcrossExtents() throws IOException {
+    final MappedFileRegistry registry = new MappedFileRegistry(EXTENT_SIZE);
+    final byte[] data = newData(5 * EXTENT_SIZE + 100);
+
+    try (MappedRandomAccessFile handle = new MappedRandomAccessFile(file, registry)) {
+      handle.seek(EXTENT_SIZE - 50);
+      handle.write(data);
+      assertEquals(EXTENT_SIZE - 50 + data.length, handle.length());
+
+      final byte[] read = new byte[data.length];
+      handle.seek(EXTENT_SIZE - 50);
+      handle.readFully(read);
+      assertArrayEquals(data, read);
+
+      handle.seek(EXTENT_SIZE - 2);
+      assertEquals(data[48], handle.readByte());
+
+      // An int that straddles the boundary of two extents.
+      handle.seek(3 * EXTENT_SIZE - 2);
+      handle.writeInt(Integer.MIN_VALUE + 1);
+      handle.seek(3 * EXTENT_SIZE - 2);
+      assertEquals(Integer.MIN_VALUE + 1, handle.readInt());
+    }
+
+    assertEquals(EXTENT_SIZE - 50 + data.length, file.length());
+  }
+
+  @Test
+  public void testHandlesShareGrowth() throws IOException {
+    final MappedFileRegistry registry = new MappedFileRegistry(EXTENT_SIZE);
+
+    try (MappedRandomAccessFile first = new MappedRandomAccessFile(file, registry);
+         MappedRandomAccessFile second = new MappedRandomAccessFile(file, registry)) {
+      first.setLength(10 * EXTENT_SIZE);
+      first.seek(9 * EXTENT_SIZE + 7);
+      first.writeLong(0x0123456789ABCDEFL);
+
+      assertEquals(10 * EXTENT_SIZE, second.length());
+      second.seek(9 * EXTENT_SIZE + 7);
+      assertEquals(0x0123456789ABCDEFL, second.readLong());
+    }
+  }
+
+  @Test
+  public void testShrinkClearsDroppedBytes() throws IOException {
+    final MappedFileRegistry registry = new MappedFileRegistry(EXTENT_SIZE);
+
+    try (MappedRandomAccessFile handle = new MappedRandomAccessFile(file, registry)) {
+      handle.setLength(3 * EXTENT_SIZE);
+      handle.seek(2 * EXTENT_SIZE + 10);
+      handle.writeInt(42);
+
+      handle.setLength(EXTENT_SIZE);
+      handle.setLength(3 * EXTENT_SIZE);
+      handle.seek(2 * EXTENT_SIZE + 10);
+      assertEquals(0, handle.readInt());
+    }
+    assertEquals(3 * EXTENT_SIZE, file.length());
+  }
+
+  @Test
+  public void testShrinkAcrossExtentsClearsOnlyDroppedBytes() throws IOException {
+    // Extents larger than, and not a multiple of, the chunk of zeros written at a time.
+    final int extentSize = 20000;
+    final MappedFileRegistry registry = new MappedFileRegistry(extentSize);
+    final byte[] data = newData(4 * extentSize + 300);
+    final int newLength = extentSize + 12345;
+
+    try (MappedRandomAccessFile handle = new MappedRandomAccessFile(file, registry)) {
+      handle.write(data);
+      handle.setLength(newLength);
+      handle.setLength(data.length);
+
+      final byte[] read = new byte[data.length];
+      handle.seek(0);
+      handle.readFully(read);
+      for (int i = 0; i < data.length; i++) {
+        assertEquals(i < newLength ? data[i] : 0, read[i], "byte " + i);
+      }
+    }
+  }
+
+  @Test
+  public void testRegistryHoldsTheOnlyOpenFile() throws IOException {
+    final MappedFileRegistry registry = new MappedFileRegistry(EXTENT_SIZE);
+
+    try (MappedRandomAccessFile handle = new MappedRandomAccessFile(file, registry)) {
+      assertFalse(handle.getFD().valid());
+      handle.writeInt(7);
+      handle.seek(0);
+      assertEquals(7, handle.readInt());
+    }
+    assertEquals(Integer.BYTES, file.length());
+  }
+
+  @Test
+  public void testFileLargerThanTwoGibibytes() throws IOException {
+    final long extentSize = 256L * 1024 * 1024;
+    final MappedFileRegistry registry = new MappedFileRegistry(extentSize);
+    final long offset = 3L * 1024 * 1024 * 1024 + 5;
+
+    try (MappedRandomAccessFile handle = new MappedRandomAccessFile(file, registry)) {
+      handle.seek(offset);
+      handle.writeInt(0xCAFEBABE);
+      assertEquals(offset + Integer.BYTES, handle.length());
+
+      handle.seek(offset);
+      assertEquals(0xCAFEBABE, handle.readInt());
+    }
+    assertEquals(offset + Integer.BYTES, file.length());
+  }
+
+  private static byte[] newData(int size) {
+    final byte[] data = new byte[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = (byte) (i * 31);
+    }
+    return data;
+  }
+
+}
@@ -0,0 +1,167 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PooledRandomAccessFileTest {
+
+  private static final int PAGE_SIZE = 64;
+
+  /**
+   * Far fewer frames than the pages written by the tests, so that most of them are evicted.
+   */
+  private static final int CAPACITY = 3;
+
+  private Path directory;
+  private File file;
+  private BufferPool pool;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("davisbase");
+    file = directory.resolve("t.tbl").toFile();
+    assertTrue(file.createNewFile());
+    pool = new BufferPool(PAGE_SIZE, CAPACITY);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    pool.discard(file);
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testWriteAndReadAcrossEvictedPages() throws IOException {
+    final byte[] data = newData(20 * PAGE_SIZE + 10);
+
+    try (PooledRandomAccessFile handle = new PooledRandomAccessFile(file, pool)) {
+      handle.seek(PAGE_SIZE - 5);
+      handle.write(data);
+      assertEquals(PAGE_SIZE - 5 + data.length, handle.length());
+
+      // The first pages were evicted, and so written back, before the handle is closed.
+      assertArrayEquals(Arrays.copyOfRange(data, 0, PAGE_SIZE + 5), readFromDisk(PAGE_SIZE - 5, PAGE_SIZE + 5));
+
+      final byte[] read = new byte[data.length];
+      handle.seek(PAGE_SIZE - 5);
+      handle.readFully(read);
+      assertArrayEquals(data, read);
+
+      // An int that straddles the boundary of two pages.
+      handle.seek(7 * PAGE_SIZE - 2);
+      handle.writeInt(Integer.MIN_VALUE + 1);
+      handle.seek(7 * PAGE_SIZE - 2);
+      assertEquals(Integer.MIN_VALUE + 1, handle.readInt());
+    }
+  }
+
+  @Test
+  public void testCloseWritesBackDirtyPages() throws IOException {
+    try (PooledRandomAccessFile handle = new PooledRandomAccessFile(file, pool)) {
+      handle.seek(2 * PAGE_SIZE + 3);
+      handle.writeLong(0x0123456789ABCDEFL);
+      assertEquals(0, file.length());
+    }
+
+    assertEquals(2 * PAGE_SIZE + 3 + Long.BYTES, file.length());
+    try (RandomAccessFile raw = new RandomAccessFile(file, "r")) {
+      raw.seek(2 * PAGE_SIZE + 3);
+      assertEquals(0x0123456789ABCDEFL, raw.readLong());
+    }
+  }
+
+  @Test
+  public void testHandlesSeeEachOthersWrites() throws IOException {
+    try (PooledRandomAccessFile first = new PooledRandomAccessFile(file, pool);
+         PooledRandomAccessFile second = new PooledRandomAccessFile(file, pool)) {
+      first.seek(PAGE_SIZE + 1);
+      first.writeInt(42);
+      assertEquals(PAGE_SIZE + 1 + Integer.BYTES, second.length());
+      second.seek(PAGE_SIZE + 1);
+      assertEquals(42, second.readInt());
+
+      // A write to the page that the other handle has pinned.
+      second.seek(PAGE_SIZE + 1);
+      second.writeInt(43);
+      first.seek(PAGE_SIZE + 1);
+      assertEquals(43, first.readInt());
+
+      second.setLength(PAGE_SIZE);
+      assertEquals(PAGE_SIZE, first.length());
+      first.seek(PAGE_SIZE);
+      assertEquals(-1, first.read());
+    }
+    assertEquals(PAGE_SIZE, file.length());
+  }
+
+  @Test
+  public void testPoolHoldsTheOnlyOpenFile() throws IOException {
+    final PooledRandomAccessFile first = new PooledRandomAccessFile(file, pool);
+    assertFalse(first.getFD().valid());
+    final BufferPool.PooledFile pooledFile = pool.register(file);
+    pool.release(pooledFile);
+    assertTrue(pooledFile.isOpen());
+
+    try (PooledRandomAccessFile second = new PooledRandomAccessFile(file, pool)) {
+      first.writeInt(7);
+      first.close();
+      assertTrue(pooledFile.isOpen());
+      assertEquals(Integer.BYTES, file.length());
+      assertEquals(7, second.readInt());
+    }
+    assertFalse(pooledFile.isOpen());
+
+    // A handle opened after the file was closed by the pool.
+    try (PooledRandomAccessFile third = new PooledRandomAccessFile(file, pool)) {
+      assertTrue(pooledFile.isOpen());
+      third.seek(Integer.BYTES);
+      third.writeInt(8);
+      third.seek(0);
+      assertEquals(7, third.readInt());
+      assertEquals(8, third.readInt());
+    }
+    assertEquals(2 * Integer.BYTES, file.length());
+  }
+
+  @Test
+  public void testClosedHandleRejectsReads() throws IOException {
+    final PooledRandomAccessFile handle = new PooledRandomAccessFile(file, pool);
+    handle.writeInt(1);
+    handle.close();
+    handle.close();
+
+    handle.seek(0);
+    assertThrows(IOException.class, handle::readInt);
+    assertThrows(IOException.class, handle::reset);
+  }
+
+  private byte[] readFromDisk(long offset, int length) throws IOException {
+    try (RandomAccessFile raw = new RandomAccessFile(file, "r")) {
+      final byte[] bytes = new byte[length];
+      raw.seek(offset);
+      raw.readFully(bytes);
+      return bytes;
+    }
+  }
+
+  private static byte[] newData(int size) {
+    final byte[] data = new byte[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = (byte) (i * 31);
+    }
+    return data;
+  }
+
+}
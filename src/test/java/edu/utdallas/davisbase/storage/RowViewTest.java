@@ -0,0 +1,232 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class RowViewTest {
+
+  /**
+   * Enough rows for several leaf pages.
+   */
+  private static final int ROW_COUNT = 300;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    // Rows (tinyint, smallint, int, bigint, float, double, year, time, datetime, date, text), where
+    // the ith column of the rowid r is null if r % (i + 2) == 0. Rowids start at zero, so the first
+    // row is null in every column.
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int rowId = 0; rowId < ROW_COUNT; rowId++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        if (isNull(rowId, 1)) row.appendNull(); else row.appendTinyInt(getTinyInt(rowId));
+        if (isNull(rowId, 2)) row.appendNull(); else row.appendSmallInt(getSmallInt(rowId));
+        if (isNull(rowId, 3)) row.appendNull(); else row.appendInt(getInt(rowId));
+        if (isNull(rowId, 4)) row.appendNull(); else row.appendBigInt(getBigInt(rowId));
+        if (isNull(rowId, 5)) row.appendNull(); else row.appendFloat(getFloat(rowId));
+        if (isNull(rowId, 6)) row.appendNull(); else row.appendDouble(getDouble(rowId));
+        if (isNull(rowId, 7)) row.appendNull(); else row.appendYear(getYear(rowId));
+        if (isNull(rowId, 8)) row.appendNull(); else row.appendTime(getTime(rowId));
+        if (isNull(rowId, 9)) row.appendNull(); else row.appendDateTime(getDateTime(rowId));
+        if (isNull(rowId, 10)) row.appendNull(); else row.appendDate(getDate(rowId));
+        if (isNull(rowId, 11)) row.appendNull(); else row.appendText(getText(rowId));
+        tableFile.appendRow(row);
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testPrimitiveGettersMatchReaders() throws IOException, StorageException {
+    int rowCount = 0;
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      while (tableFile.goToNextRow()) {
+        final int rowId = tableFile.getRowId();
+        assertEquals(rowCount++, rowId);
+        for (int columnIndex = 1; columnIndex <= 6; columnIndex++) {
+          assertEquals(isNull(rowId, columnIndex), tableFile.isNull(columnIndex), "rowid " + rowId + ", column " + columnIndex);
+        }
+
+        if (!isNull(rowId, 1)) {
+          assertEquals(getTinyInt(rowId), tableFile.getTinyInt(1));
+          assertEquals(Byte.valueOf(tableFile.getTinyInt(1)), tableFile.readTinyInt(1));
+        }
+        if (!isNull(rowId, 2)) {
+          assertEquals(getSmallInt(rowId), tableFile.getSmallInt(2));
+          assertEquals(Short.valueOf(tableFile.getSmallInt(2)), tableFile.readSmallInt(2));
+        }
+        if (!isNull(rowId, 3)) {
+          assertEquals(getInt(rowId), tableFile.getInt(3));
+          assertEquals(Integer.valueOf(tableFile.getInt(3)), tableFile.readInt(3));
+        }
+        if (!isNull(rowId, 4)) {
+          assertEquals(getBigInt(rowId), tableFile.getBigInt(4));
+          assertEquals(Long.valueOf(tableFile.getBigInt(4)), tableFile.readBigInt(4));
+        }
+        if (!isNull(rowId, 5)) {
+          assertEquals(getFloat(rowId), tableFile.getFloat(5));
+          assertEquals(Float.valueOf(tableFile.getFloat(5)), tableFile.readFloat(5));
+        }
+        if (!isNull(rowId, 6)) {
+          assertEquals(getDouble(rowId), tableFile.getDouble(6));
+          assertEquals(Double.valueOf(tableFile.getDouble(6)), tableFile.readDouble(6));
+        }
+      }
+    }
+    assertEquals(ROW_COUNT, rowCount);
+  }
+
+  @Test
+  public void testRowViewFollowsCurrentRow() throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      final RowView rowView = tableFile.getRowView();
+      while (tableFile.goToNextRow()) {
+        assertSame(rowView, tableFile.getRowView());
+        final int rowId = rowView.getRowId();
+        assertEquals(tableFile.getRowId(), rowId);
+
+        for (int columnIndex = 1; columnIndex <= 11; columnIndex++) {
+          assertEquals(tableFile.isNull(columnIndex), rowView.isNull(columnIndex));
+        }
+        if (!isNull(rowId, 1)) assertEquals(getTinyInt(rowId), rowView.getTinyInt(1));
+        if (!isNull(rowId, 2)) assertEquals(getSmallInt(rowId), rowView.getSmallInt(2));
+        if (!isNull(rowId, 3)) assertEquals(getInt(rowId), rowView.getInt(3));
+        if (!isNull(rowId, 4)) assertEquals(getBigInt(rowId), rowView.getBigInt(4));
+        if (!isNull(rowId, 5)) assertEquals(getFloat(rowId), rowView.getFloat(5));
+        if (!isNull(rowId, 6)) assertEquals(getDouble(rowId), rowView.getDouble(6));
+        assertEquals(isNull(rowId, 7) ? null : getYear(rowId), rowView.readYear(7));
+        assertEquals(isNull(rowId, 8) ? null : getTime(rowId), rowView.readTime(8));
+        assertEquals(isNull(rowId, 9) ? null : getDateTime(rowId), rowView.readDateTime(9));
+        assertEquals(isNull(rowId, 10) ? null : getDate(rowId), rowView.readDate(10));
+        assertEquals(isNull(rowId, 11) ? null : getText(rowId), rowView.readText(11));
+      }
+    }
+  }
+
+  @Test
+  public void testGetterOfNullColumnThrows() throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      final RowView rowView = tableFile.getRowView();
+      // Null in columns 1 through 4, but not in column 5.
+      while (tableFile.goToNextRow() && tableFile.getRowId() != 60) {
+      }
+      assertEquals(60, tableFile.getRowId());
+
+      assertThrows(IllegalStateException.class, () -> tableFile.getTinyInt(1));
+      assertThrows(IllegalStateException.class, () -> tableFile.getSmallInt(2));
+      assertThrows(IllegalStateException.class, () -> tableFile.getInt(3));
+      assertThrows(IllegalStateException.class, () -> tableFile.getBigInt(4));
+      assertThrows(IllegalStateException.class, () -> rowView.getTinyInt(1));
+      assertThrows(IllegalStateException.class, () -> rowView.getBigInt(4));
+      assertNull(tableFile.readTinyInt(1));
+      assertNull(tableFile.readBigInt(4));
+
+      // A null column does not affect reads of the other columns of the row.
+      assertFalse(tableFile.isNull(5));
+      assertEquals(getFloat(60), rowView.getFloat(5));
+    }
+  }
+
+  @Test
+  public void testReadWithoutCurrentRowThrows() throws IOException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      final RowView rowView = tableFile.getRowView();
+      assertThrows(IllegalStateException.class, () -> tableFile.getInt(3));
+      assertThrows(IllegalStateException.class, rowView::getRowId);
+      assertThrows(IllegalStateException.class, () -> rowView.isNull(1));
+
+      while (tableFile.goToNextRow()) {
+      }
+      assertThrows(IllegalStateException.class, rowView::getRowId);
+    }
+  }
+
+  @Test
+  public void testReadBeyondTheLastColumnThrows() throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      assertTrue(tableFile.goToNextRow());
+      assertThrows(StorageException.class, () -> tableFile.isNull(12));
+      assertThrows(StorageException.class, () -> tableFile.getRowView().getInt(12));
+      assertThrows(IllegalArgumentException.class, () -> tableFile.getInt(-1));
+      assertThrows(IllegalArgumentException.class, () -> tableFile.getInt(Byte.MAX_VALUE));
+    }
+  }
+
+  private static boolean isNull(int rowId, int columnIndex) {
+    return rowId % (columnIndex + 2) == 0;
+  }
+
+  private static byte getTinyInt(int rowId) {
+    return (byte) (rowId % 2 == 0 ? Byte.MIN_VALUE + rowId : Byte.MAX_VALUE - rowId);
+  }
+
+  private static short getSmallInt(int rowId) {
+    return (short) (rowId * -211);
+  }
+
+  private static int getInt(int rowId) {
+    return rowId % 7 == 1 ? Integer.MIN_VALUE + rowId : rowId * 1_000_003;
+  }
+
+  private static long getBigInt(int rowId) {
+    return rowId % 11 == 1 ? Long.MAX_VALUE - rowId : rowId * -1_000_000_000_039L;
+  }
+
+  private static float getFloat(int rowId) {
+    return rowId % 13 == 1 ? Float.NaN : rowId / -7.0f;
+  }
+
+  private static double getDouble(int rowId) {
+    return rowId % 17 == 1 ? -0.0 : rowId / 7.0;
+  }
+
+  private static Year getYear(int rowId) {
+    return Year.of(1900 + rowId % 200);
+  }
+
+  private static LocalTime getTime(int rowId) {
+    return LocalTime.ofSecondOfDay(rowId * 271L);
+  }
+
+  private static LocalDateTime getDateTime(int rowId) {
+    return LocalDateTime.of(2000, 1, 1, 0, 0).plusMinutes(rowId * 997L);
+  }
+
+  private static LocalDate getDate(int rowId) {
+    return LocalDate.of(2000, 1, 1).plusDays(rowId * 37L);
+  }
+
+  private static String getText(int rowId) {
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i <= rowId % 30; i++) {
+      text.append((char) ('a' + (rowId + i) % 26));
+    }
+    return text.toString();
+  }
+
+}
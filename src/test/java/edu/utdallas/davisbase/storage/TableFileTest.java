@@ -0,0 +1,170 @@
+package edu.utdallas.davisbase.storage;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableFileTest {
+
+  /**
+   * Enough rows for several leaf pages.
+   */
+  private static final int ROW_COUNT = 400;
+
+  private Path dataDirectory;
+  private Storage storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    final StorageState.Builder stateBuilder = new StorageState.Builder();
+    stateBuilder.setDataDirectory(dataDirectory.toString());
+    storage = new Storage(new StorageConfiguration.Builder().build(), stateBuilder.build());
+
+    // Rows (tinyint, text, int, double, date, bigint), whose texts vary in length so that the offsets
+    // of the later columns vary from row to row.
+    storage.createTableFile("t");
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        final TableRowBuilder row = new TableRowBuilder();
+        row.appendTinyInt((byte) i);
+        if (i % 6 == 0) row.appendNull(); else row.appendText(repeat('x', i % 40));
+        if (i % 5 == 0) row.appendNull(); else row.appendInt(-i);
+        row.appendDouble(i / 3.0);
+        if (i % 4 == 0) row.appendNull(); else row.appendDate(LocalDate.of(2020, 1, 1).plusDays(i));
+        row.appendBigInt(1L << (i % 63));
+        tableFile.appendRow(row);
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testRestrictedColumnsDecodeCorrectly() throws IOException, StorageException {
+    final List<List<Object>> expectedRows = readRows(null, 0, 1, 2, 3, 4, 5, 6);
+    assertEquals(ROW_COUNT, expectedRows.size());
+
+    assertEquals(project(expectedRows, 2, 4), readRows(new byte[] { 2, 4 }, 2, 4));
+    assertEquals(project(expectedRows, 0, 5), readRows(new byte[] { 0, 5 }, 0, 5));
+    // The last column, whose offset depends on every column before it.
+    assertEquals(project(expectedRows, 6), readRows(new byte[] { 6 }, 6));
+    // Given in any order, and with repeats.
+    assertEquals(project(expectedRows, 2, 3, 4), readRows(new byte[] { 4, 2, 3, 2 }, 2, 3, 4));
+  }
+
+  @Test
+  public void testReadingAnotherColumnThrows() throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      tableFile.restrictToColumns((byte) 2, (byte) 3);
+      assertTrue(tableFile.goToNextRow());
+      assertTrue(tableFile.goToNextRow());
+
+      for (final int columnIndex : new int[] { 0, 1, 4, 5, 6 }) {
+        assertThrows(IllegalArgumentException.class, () -> tableFile.isNull(columnIndex), "column " + columnIndex);
+        assertThrows(IllegalArgumentException.class, () -> tableFile.readInt(columnIndex), "column " + columnIndex);
+      }
+      assertThrows(IllegalArgumentException.class, () -> tableFile.getTinyInt(1));
+      assertThrows(IllegalArgumentException.class, () -> tableFile.getBigInt(6));
+      assertThrows(IllegalArgumentException.class, () -> tableFile.readDate(5));
+      // The rowid is column 0, so it can only be read if that column is included.
+      assertThrows(IllegalArgumentException.class, tableFile::getRowId);
+      assertThrows(IllegalArgumentException.class, () -> tableFile.getRowView().getRowId());
+
+      // The restricted columns are still readable after the failed reads.
+      assertEquals("x", tableFile.readText(2));
+      assertEquals(-1, tableFile.getInt(3));
+      assertFalse(tableFile.isNull(2));
+    }
+  }
+
+  @Test
+  public void testRestrictedBeyondTheLastColumn() throws IOException, StorageException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      tableFile.restrictToColumns((byte) 3, (byte) 9);
+      assertTrue(tableFile.goToNextRow());
+      assertTrue(tableFile.isNull(3));
+      // The column is allowed, but the row does not have it.
+      assertThrows(StorageException.class, () -> tableFile.isNull(9));
+    }
+  }
+
+  @Test
+  public void testRejectsInvalidColumnIndexes() throws IOException {
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      assertThrows(IllegalArgumentException.class, () -> tableFile.restrictToColumns());
+      assertThrows(IllegalArgumentException.class, () -> tableFile.restrictToColumns((byte) -1));
+      assertThrows(IllegalArgumentException.class, () -> tableFile.restrictToColumns(Byte.MAX_VALUE));
+    }
+  }
+
+  /**
+   * @param restrictedColumnIndexes the columns to which to restrict the table file, or null for every
+   *                                column
+   * @param columnIndexes           the columns to read of each row
+   * @return the values of the given columns of every row, in rowid order
+   */
+  private List<List<Object>> readRows(byte @Nullable [] restrictedColumnIndexes, int... columnIndexes) throws IOException, StorageException {
+    final List<List<Object>> rows = new ArrayList<>();
+    try (TableFile tableFile = storage.openTableFile("t")) {
+      if (restrictedColumnIndexes != null) {
+        tableFile.restrictToColumns(restrictedColumnIndexes);
+      }
+      while (tableFile.goToNextRow()) {
+        final List<Object> row = new ArrayList<>();
+        for (final int columnIndex : columnIndexes) {
+          switch (columnIndex) {
+            case 0: row.add(tableFile.getRowId());           break;
+            case 1: row.add(tableFile.readTinyInt(1));       break;
+            case 2: row.add(tableFile.readText(2));          break;
+            case 3: row.add(tableFile.readInt(3));           break;
+            case 4: row.add(tableFile.readDouble(4));        break;
+            case 5: row.add(tableFile.readDate(5));          break;
+            default: row.add(tableFile.readBigInt(6));       break;
+          }
+        }
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * @return the values at the given positions of each row
+   */
+  private static List<List<Object>> project(List<List<Object>> rows, int... positions) {
+    final List<List<Object>> projectedRows = new ArrayList<>();
+    for (final List<Object> row : rows) {
+      final Object[] values = new Object[positions.length];
+      for (int i = 0; i < positions.length; i++) {
+        values[i] = row.get(positions[i]);
+      }
+      projectedRows.add(Arrays.asList(values));
+    }
+    return projectedRows;
+  }
+
+  private static String repeat(char c, int count) {
+    final char[] chars = new char[count];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+
+}
@@ -0,0 +1,141 @@
+package edu.utdallas.davisbase.storage;
+
+import static edu.utdallas.davisbase.storage.AbstractPage.NULL_PAGE_NO;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+import static edu.utdallas.davisbase.storage.TableLeafPageTest.newPageBuffer;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableInteriorPageTest {
+
+  private static final int CELL_SIZE = 2 * Integer.BYTES;
+
+  private Path dataDirectory;
+  private RandomAccessFile file;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    file = new RandomAccessFile(dataDirectory.resolve("t.tbl").toFile(), "rw");
+    file.setLength(2 * (long) PAGE_SIZE);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    file.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testEmptyPage() {
+    final TableInteriorPage page = new TableInteriorPage(1, newPageBuffer(TablePageType.INTERIOR));
+    assertEquals(TablePageType.INTERIOR.toCode(), page.getPageTypeCode());
+    assertEquals(0, page.getCellCount());
+    assertEquals(NULL_PAGE_NO, page.getRightmostChildPageNo());
+    assertTrue(page.isRoot());
+
+    // Without cells, the only child is the rightmost one.
+    page.setRightmostChildPageNo(7);
+    assertTrue(page.isDirty());
+    assertEquals(7, page.getRightmostChildPageNo());
+    assertEquals(7, page.getLeftmostChildPageNo());
+  }
+
+  @Test
+  public void testChildCells() {
+    final TableInteriorPage page = new TableInteriorPage(1, newPageBuffer(TablePageType.INTERIOR));
+    for (int i = 0; i < 20; i++) {
+      page.appendCell(toCell(i + 2, 100 * (i + 1)));
+    }
+    page.setRightmostChildPageNo(22);
+
+    assertEquals(20, page.getCellCount());
+    assertEquals(PAGE_SIZE - 20 * CELL_SIZE, page.getContentStart());
+    assertEquals(PAGE_SIZE - 20 * CELL_SIZE - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY - 20 * PAGE_OFFSET_SIZE, page.getFreeSpace());
+    for (int cellIndex = 0; cellIndex < 20; cellIndex++) {
+      assertEquals(cellIndex + 2, page.getCellChildPageNo(cellIndex));
+      assertEquals(100 * (cellIndex + 1), page.getCellMaxRowId(cellIndex));
+    }
+    assertEquals(2, page.getLeftmostChildPageNo());
+    assertEquals(22, page.getRightmostChildPageNo());
+    assertThrows(IndexOutOfBoundsException.class, () -> page.getCellChildPageNo(20));
+    assertThrows(IndexOutOfBoundsException.class, () -> page.getCellMaxRowId(20));
+  }
+
+  @Test
+  public void testSetCellMaxRowId() {
+    final TableInteriorPage page = new TableInteriorPage(1, newPageBuffer(TablePageType.INTERIOR));
+    for (int i = 0; i < 3; i++) {
+      page.appendCell(toCell(i + 2, 10 * (i + 1)));
+    }
+
+    page.setCellMaxRowId(2, 35);
+    assertEquals(10, page.getCellMaxRowId(0));
+    assertEquals(20, page.getCellMaxRowId(1));
+    assertEquals(35, page.getCellMaxRowId(2));
+    // The child is left as it was.
+    assertEquals(4, page.getCellChildPageNo(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> page.setCellMaxRowId(3, 40));
+  }
+
+  @Test
+  public void testFlushAndRead() throws IOException {
+    final TableInteriorPage page = new TableInteriorPage(2, newPageBuffer(TablePageType.INTERIOR));
+    for (int i = 0; i < 5; i++) {
+      page.appendCell(toCell(i + 3, 10 * (i + 1)));
+    }
+    page.setRightmostChildPageNo(8);
+    page.setParentPageNo(1);
+    page.flush(file);
+    assertFalse(page.isDirty());
+
+    final TableInteriorPage readPage = TableInteriorPage.read(file, 2);
+    assertEquals(5, readPage.getCellCount());
+    assertEquals(page.getContentStart(), readPage.getContentStart());
+    assertEquals(8, readPage.getRightmostChildPageNo());
+    assertEquals(1, readPage.getParentPageNo());
+    assertFalse(readPage.isRoot());
+    for (int cellIndex = 0; cellIndex < 5; cellIndex++) {
+      assertEquals(cellIndex + 3, readPage.getCellChildPageNo(cellIndex));
+      assertEquals(10 * (cellIndex + 1), readPage.getCellMaxRowId(cellIndex));
+    }
+
+    // A change to a cell alone makes the page dirty, and is written by the next flush.
+    readPage.setCellMaxRowId(4, 55);
+    assertTrue(readPage.isDirty());
+    readPage.flush(file);
+    assertEquals(55, TableInteriorPage.read(file, 2).getCellMaxRowId(4));
+  }
+
+  @Test
+  public void testRejectsLeafPage() throws IOException {
+    assertThrows(IllegalStateException.class, () -> new TableInteriorPage(1, newPageBuffer(TablePageType.LEAF)));
+
+    final TableLeafPage leafPage = new TableLeafPage(1, newPageBuffer(TablePageType.LEAF));
+    leafPage.setRightSiblingPageNo(2);
+    leafPage.flush(file);
+    assertThrows(IllegalStateException.class, () -> TableInteriorPage.read(file, 1));
+  }
+
+  private static byte[] toCell(int childPageNo, int maxRowId) {
+    return ByteBuffer.allocate(CELL_SIZE)
+        .putInt(childPageNo)
+        .putInt(maxRowId)
+        .array();
+  }
+
+}
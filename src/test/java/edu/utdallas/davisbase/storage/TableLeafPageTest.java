@@ -0,0 +1,232 @@
+package edu.utdallas.davisbase.storage;
+
+import static edu.utdallas.davisbase.storage.AbstractPage.NULL_PAGE_NO;
+import static edu.utdallas.davisbase.storage.AbstractPage.PAGE_OFFSET_OF_PARENT_PAGENO;  // spell-checker:ignore pageno
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_PAGE_TYPE_CODE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_OF_RIGHTMOST_PAGENO;
+import static edu.utdallas.davisbase.storage.Page.PAGE_OFFSET_SIZE;
+import static edu.utdallas.davisbase.storage.Page.PAGE_SIZE;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableLeafPageTest {
+
+  private static final int PAGE_COUNT = 3;
+
+  private Path dataDirectory;
+  private RandomAccessFile file;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("davisbase");
+    file = new RandomAccessFile(dataDirectory.resolve("t.tbl").toFile(), "rw");
+    file.setLength(PAGE_COUNT * (long) PAGE_SIZE);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    file.close();
+    MoreFiles.deleteRecursively(dataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testEmptyPage() {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    assertEquals(2, page.getPageNo());
+    assertEquals(TablePageType.LEAF.toCode(), page.getPageTypeCode());
+    assertEquals(0, page.getCellCount());
+    assertEquals(PAGE_SIZE, page.getContentStart());
+    assertEquals(PAGE_SIZE - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY, page.getFreeSpace());
+    assertEquals(NULL_PAGE_NO, page.getRightSiblingPageNo());
+    assertEquals(NULL_PAGE_NO, page.getParentPageNo());
+    assertTrue(page.isRoot());
+    assertFalse(page.isDirty());
+    assertThrows(IndexOutOfBoundsException.class, () -> page.getCellPageOffset(0));
+  }
+
+  @Test
+  public void testAppendedCells() {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    int contentStart = PAGE_SIZE;
+    for (int rowId = 1; rowId <= 10; rowId++) {
+      final byte[] cell = newCell(rowId);
+      final short cellPageOffset = page.appendCell(cell);
+      contentStart -= cell.length;
+      assertEquals(contentStart, cellPageOffset);
+      assertEquals(contentStart, page.getContentStart());
+    }
+    assertTrue(page.isDirty());
+    assertEquals(10, page.getCellCount());
+    assertEquals(contentStart - PAGE_OFFSET_OF_CELL_PAGE_OFFSET_ARRAY - 10 * PAGE_OFFSET_SIZE, page.getFreeSpace());
+
+    for (int cellIndex = 0; cellIndex < 10; cellIndex++) {
+      final int rowId = cellIndex + 1;
+      assertEquals(3, page.getCellColumnCount(cellIndex));
+      assertEquals(Integer.BYTES, page.getCellColumnSize(cellIndex, 0));
+      assertEquals(rowId % 2 == 0 ? 0 : Short.BYTES, page.getCellColumnSize(cellIndex, 1));
+      assertEquals(rowId % 3, page.getCellColumnSize(cellIndex, 2));
+      assertEquals(rowId, page.getCellRowId(cellIndex));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> page.getCellRowId(10));
+    assertThrows(IndexOutOfBoundsException.class, () -> page.getCellRowId(-1));
+  }
+
+  @Test
+  public void testCellsFillThePage() {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    final int cellSize = newCell(1).length;
+    int rowId = 1;
+    while (page.canFit(cellSize)) {
+      page.appendCell(newCell(rowId++));
+    }
+    // Room is reserved for the entry of the cell in the cell page offset array, too.
+    assertTrue(page.getFreeSpace() < cellSize + PAGE_OFFSET_SIZE);
+    assertTrue(page.canFit(page.getFreeSpace() - PAGE_OFFSET_SIZE));
+    assertFalse(page.canFit(page.getFreeSpace() - PAGE_OFFSET_SIZE + 1));
+
+    final short cellCount = page.getCellCount();
+    assertThrows(IllegalStateException.class, () -> page.appendCell(newCell(Integer.MAX_VALUE)));
+    assertEquals(cellCount, page.getCellCount());
+    for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+      assertEquals(cellIndex + 1, page.getCellRowId(cellIndex));
+    }
+  }
+
+  @Test
+  public void testRemoveCell() {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    for (int rowId = 1; rowId <= 5; rowId++) {
+      page.appendCell(newCell(rowId));
+    }
+    final int freeSpace = page.getFreeSpace();
+
+    page.removeCell(1);
+    page.removeCell(3);
+    assertEquals(3, page.getCellCount());
+    assertEquals(1, page.getCellRowId(0));
+    assertEquals(3, page.getCellRowId(1));
+    assertEquals(4, page.getCellRowId(2));
+    // Only the entries are removed, not the cell content.
+    assertEquals(freeSpace + 2 * PAGE_OFFSET_SIZE, page.getFreeSpace());
+
+    assertThrows(IndexOutOfBoundsException.class, () -> page.removeCell(3));
+  }
+
+  @Test
+  public void testFlushAndRead() throws IOException {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    for (int rowId = 1; rowId <= 5; rowId++) {
+      page.appendCell(newCell(rowId));
+    }
+    page.setRightSiblingPageNo(3);
+    page.setParentPageNo(1);
+    page.flush(file);
+    assertFalse(page.isDirty());
+
+    final TableLeafPage readPage = TableLeafPage.read(file, 2);
+    assertFalse(readPage.isDirty());
+    assertEquals(5, readPage.getCellCount());
+    assertEquals(page.getContentStart(), readPage.getContentStart());
+    assertEquals(page.getFreeSpace(), readPage.getFreeSpace());
+    assertEquals(3, readPage.getRightSiblingPageNo());
+    assertEquals(1, readPage.getParentPageNo());
+    assertFalse(readPage.isRoot());
+    for (int cellIndex = 0; cellIndex < 5; cellIndex++) {
+      assertEquals(cellIndex + 1, readPage.getCellRowId(cellIndex));
+      assertEquals(page.getCellColumnSize(cellIndex, 2), readPage.getCellColumnSize(cellIndex, 2));
+    }
+
+    // The pages around it are untouched.
+    assertEquals(0, readByte(1, PAGE_OFFSET_OF_PAGE_TYPE_CODE));
+    assertEquals(0, readByte(3, PAGE_OFFSET_OF_PAGE_TYPE_CODE));
+  }
+
+  @Test
+  public void testFlushWritesOnlyDirtyPage() throws IOException {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    page.flush(file);
+    // Nothing has been modified since the page was built.
+    assertEquals(0, readByte(2, PAGE_OFFSET_OF_PAGE_TYPE_CODE));
+
+    page.appendCell(newCell(1));
+    page.flush(file);
+    assertEquals(TablePageType.LEAF.toCode(), readByte(2, PAGE_OFFSET_OF_PAGE_TYPE_CODE));
+
+    // A clean page does not overwrite a change made to its file since.
+    file.seek(Page.convertPageNoToFileOffset(2) + PAGE_OFFSET_OF_PAGE_TYPE_CODE);
+    file.writeByte(0x7F);
+    page.flush(file);
+    assertEquals(0x7F, readByte(2, PAGE_OFFSET_OF_PAGE_TYPE_CODE));
+  }
+
+  @Test
+  public void testReadOnlyBuffer() {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    page.appendCell(newCell(7));
+    final ByteBuffer buffer = page.getBuffer();
+    assertTrue(buffer.isReadOnly());
+    assertEquals(7, buffer.getInt(page.getCellPageOffset(0) + 1 + 3));
+    assertThrows(ReadOnlyBufferException.class, () -> buffer.put(0, (byte) 0));
+  }
+
+  @Test
+  public void testRejectsInvalidPages() {
+    assertThrows(IllegalStateException.class, () -> new TableLeafPage(2, newPageBuffer(TablePageType.INTERIOR)));
+    assertThrows(IllegalArgumentException.class, () -> new TableLeafPage(0, newPageBuffer(TablePageType.LEAF)));
+    assertThrows(IllegalArgumentException.class, () -> new TableLeafPage(2, ByteBuffer.allocate(PAGE_SIZE - 1)));
+    assertThrows(NullPointerException.class, () -> new TableLeafPage(2, null));
+  }
+
+  /**
+   * @return a zero-filled page with the given type code, no right page, and no parent (not null)
+   */
+  static ByteBuffer newPageBuffer(TablePageType pageType) {
+    final ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+    buffer.put(PAGE_OFFSET_OF_PAGE_TYPE_CODE, pageType.toCode());
+    buffer.putInt(PAGE_OFFSET_OF_RIGHTMOST_PAGENO, NULL_PAGE_NO);
+    buffer.putInt(PAGE_OFFSET_OF_PARENT_PAGENO, NULL_PAGE_NO);
+    return buffer;
+  }
+
+  /**
+   * @return a cell of (rowid, smallint, text), whose smallint is null for even rowids and whose text
+   *         is {@code rowId % 3} bytes long
+   */
+  private static byte[] newCell(int rowId) {
+    final boolean isSmallIntNull = rowId % 2 == 0;
+    final int textSize = rowId % 3;
+    final ByteBuffer cell = ByteBuffer.allocate(1 + 3 + Integer.BYTES + (isSmallIntNull ? 0 : Short.BYTES) + textSize);
+    cell.put((byte) 3);
+    cell.put((byte) Integer.BYTES);
+    cell.put((byte) (isSmallIntNull ? 0 : Short.BYTES));
+    cell.put((byte) textSize);
+    cell.putInt(rowId);
+    if (!isSmallIntNull) {
+      cell.putShort((short) -rowId);
+    }
+    for (int i = 0; i < textSize; i++) {
+      cell.put((byte) 'x');
+    }
+    return cell.array();
+  }
+
+  private int readByte(int pageNo, int pageOffset) throws IOException {
+    file.seek(Page.convertPageNoToFileOffset(pageNo) + pageOffset);
+    return file.readByte();
+  }
+
+}
@@ -0,0 +1,171 @@
+package edu.utdallas.davisbase.storage;
+
+import static edu.utdallas.davisbase.storage.TableLeafPageTest.newPageBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableRowDecoderTest {
+
+  private static final int CELL_COUNT = 12;
+
+  @Test
+  public void testDecodesEveryColumn() {
+    final TableLeafPage page = newPage(CELL_COUNT);
+    final TableRowDecoder decoder = new TableRowDecoder();
+    // In an order that moves both forward and backward through the page.
+    for (final int rowId : new int[] { 1, 2, 7, 3, 12, 5, 4, 6, 11, 8, 10, 9 }) {
+      decoder.decode(page, rowId - 1);
+      assertRow(rowId, decoder);
+    }
+  }
+
+  @Test
+  public void testDecodesCellsOfAnotherPage() {
+    final TableLeafPage page = newPage(CELL_COUNT);
+    final TableLeafPage otherPage = newPage(CELL_COUNT);
+    otherPage.removeCell(0);
+    final TableRowDecoder decoder = new TableRowDecoder();
+
+    decoder.decode(page, 0);
+    assertRow(1, decoder);
+    // The same cell index of another page is another cell.
+    decoder.decode(otherPage, 0);
+    assertRow(2, decoder);
+    decoder.decode(page, 0);
+    assertRow(1, decoder);
+  }
+
+  @Test
+  public void testDecodesSameCellOnceUntilReset() {
+    final TableLeafPage page = newPage(CELL_COUNT);
+    final TableRowDecoder decoder = new TableRowDecoder();
+    decoder.decode(page, 0);
+    assertRow(1, decoder);
+
+    // The cell at index 0 is now another one, but the decoder keeps the layout that it decoded.
+    page.removeCell(0);
+    decoder.decode(page, 0);
+    assertEquals(1, decoder.getInt(0));
+
+    decoder.reset();
+    assertEquals(0, decoder.getColumnCount());
+    decoder.decode(page, 0);
+    assertRow(2, decoder);
+  }
+
+  @Test
+  public void testRejectsReadBeforeDecode() {
+    final TableRowDecoder decoder = new TableRowDecoder();
+    assertThrows(IllegalStateException.class, () -> decoder.getInt(0));
+    assertThrows(IllegalStateException.class, () -> decoder.getBytes(0));
+
+    decoder.decode(newPage(1), 0);
+    decoder.reset();
+    assertThrows(IllegalStateException.class, () -> decoder.getInt(0));
+  }
+
+  @Test
+  public void testRejectsInvalidCell() {
+    final TableLeafPage page = newPage(CELL_COUNT);
+    final TableRowDecoder decoder = new TableRowDecoder();
+    assertThrows(IndexOutOfBoundsException.class, () -> decoder.decode(page, CELL_COUNT));
+    assertThrows(IndexOutOfBoundsException.class, () -> decoder.decode(page, -1));
+    assertThrows(NullPointerException.class, () -> decoder.decode(null, 0));
+  }
+
+  /**
+   * Asserts that {@code decoder} has decoded the cell built by {@link #newCell(int)}.
+   */
+  private static void assertRow(int rowId, TableRowDecoder decoder) {
+    assertEquals(7, decoder.getColumnCount());
+    assertEquals(Integer.BYTES, decoder.getValueSize(0));
+    assertEquals(rowId, decoder.getInt(0));
+
+    assertEquals(rowId % 2 == 0, decoder.isNull(1));
+    if (rowId % 2 != 0) {
+      assertEquals((byte) -rowId, decoder.getByte(1));
+    }
+    assertFalse(decoder.isNull(2));
+    assertEquals((short) (rowId * 1000), decoder.getShort(2));
+    assertEquals(rowId % 3 == 0, decoder.isNull(3));
+    if (rowId % 3 != 0) {
+      assertEquals(Long.MIN_VALUE + rowId, decoder.getLong(3));
+    }
+    assertEquals(rowId / 4.0f, decoder.getFloat(4));
+    assertEquals(-rowId / 3.0, decoder.getDouble(5));
+
+    final String text = newText(rowId);
+    assertEquals(text.isEmpty(), decoder.isNull(6));
+    assertEquals(text.length(), Math.max(0, decoder.getValueSize(6)));
+    assertEquals(text, new String(decoder.getBytes(6), StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * @return a table leaf page of the cells built by {@link #newCell(int)} for rowids 1 through
+   *         {@code cellCount}
+   */
+  private static TableLeafPage newPage(int cellCount) {
+    final TableLeafPage page = new TableLeafPage(2, newPageBuffer(TablePageType.LEAF));
+    for (int rowId = 1; rowId <= cellCount; rowId++) {
+      page.appendCell(newCell(rowId));
+    }
+    return page;
+  }
+
+  /**
+   * @return a cell of (rowid, tinyint, smallint, bigint, float, double, text), whose tinyint is null
+   *         for even rowids, whose bigint is null for rowids divisible by three, and whose text is null
+   *         when empty
+   */
+  private static byte[] newCell(int rowId) {
+    final ByteBuffer values = ByteBuffer.allocate(64);
+    final ByteArrayOutputStream sizes = new ByteArrayOutputStream();
+
+    values.putInt(rowId);
+    sizes.write(Integer.BYTES);
+    if (rowId % 2 == 0) {
+      sizes.write(0);
+    }
+    else {
+      values.put((byte) -rowId);
+      sizes.write(Byte.BYTES);
+    }
+    values.putShort((short) (rowId * 1000));
+    sizes.write(Short.BYTES);
+    if (rowId % 3 == 0) {
+      sizes.write(0);
+    }
+    else {
+      values.putLong(Long.MIN_VALUE + rowId);
+      sizes.write(Long.BYTES);
+    }
+    values.putFloat(rowId / 4.0f);
+    sizes.write(Float.BYTES);
+    values.putDouble(-rowId / 3.0);
+    sizes.write(Double.BYTES);
+    final byte[] text = newText(rowId).getBytes(StandardCharsets.US_ASCII);
+    values.put(text);
+    sizes.write(text.length);
+
+    final ByteBuffer cell = ByteBuffer.allocate(1 + sizes.size() + values.position());
+    cell.put((byte) sizes.size());
+    cell.put(sizes.toByteArray());
+    cell.put(values.array(), 0, values.position());
+    return cell.array();
+  }
+
+  private static String newText(int rowId) {
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < rowId % 5; i++) {
+      text.append((char) ('a' + rowId + i));
+    }
+    return text.toString();
+  }
+
+}